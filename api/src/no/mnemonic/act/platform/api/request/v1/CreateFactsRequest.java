@@ -0,0 +1,37 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import no.mnemonic.act.platform.api.request.ValidatingRequest;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@ApiModel(description = "Create multiple new Facts in one batch.")
+public class CreateFactsRequest implements ValidatingRequest {
+
+  private static final int MAX_BATCH_SIZE = 1000;
+
+  @ApiModelProperty(value = "Facts to create (at most " + MAX_BATCH_SIZE + " per batch)", required = true)
+  @NotEmpty
+  @Size(max = MAX_BATCH_SIZE)
+  private List<@Valid CreateFactRequest> facts;
+
+  public List<CreateFactRequest> getFacts() {
+    return facts;
+  }
+
+  public CreateFactsRequest setFacts(List<CreateFactRequest> facts) {
+    this.facts = facts;
+    return this;
+  }
+
+  public CreateFactsRequest addFact(CreateFactRequest fact) {
+    this.facts = ListUtils.addToList(this.facts, fact);
+    return this;
+  }
+
+}
@@ -0,0 +1,91 @@
+package no.mnemonic.act.platform.api.service.v1;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * The StreamingResultSet is a container holding the values returned from a service method which produces too many
+ * results to be held in memory at once. In contrast to {@link ResultSet} the values are produced lazily while
+ * iterating over them, thus, the REST layer is able to stream the values to the client.
+ * <p>
+ * The StreamingResultSet holds resources in the backend until all values have been consumed. Clients must call
+ * {@link #close()} after consuming the values, also if iteration is aborted early.
+ *
+ * @param <T> Type of result values
+ */
+public class StreamingResultSet<T> implements AutoCloseable {
+
+  private final int limit;
+  private final int count;
+  private final Iterator<T> values;
+  private final Runnable onClose;
+
+  private StreamingResultSet(int limit, int count, Iterator<T> values, Runnable onClose) {
+    this.limit = limit;
+    this.count = count;
+    this.values = ObjectUtils.ifNull(values, Collections.emptyIterator());
+    this.onClose = onClose;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public Iterator<T> getValues() {
+    return values;
+  }
+
+  @Override
+  public void close() {
+    onClose.run();
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  public static class Builder<T> {
+    private int limit;
+    private int count;
+    private Iterator<T> values;
+    private Runnable onClose = () -> {
+    };
+
+    private Builder() {
+    }
+
+    public StreamingResultSet<T> build() {
+      return new StreamingResultSet<>(limit, count, values, onClose);
+    }
+
+    public Builder<T> setLimit(int limit) {
+      this.limit = limit;
+      return this;
+    }
+
+    public Builder<T> setCount(int count) {
+      this.count = count;
+      return this;
+    }
+
+    public Builder<T> setValues(Iterator<T> values) {
+      this.values = values;
+      return this;
+    }
+
+    /**
+     * Invoked when the StreamingResultSet is closed in order to release resources held in the backend.
+     */
+    public Builder<T> setOnClose(Runnable onClose) {
+      this.onClose = ObjectUtils.notNull(onClose, "'onClose' is required!");
+      return this;
+    }
+  }
+
+}
@@ -225,6 +225,23 @@ public interface ThreatIntelligenceService {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Search existing Facts and stream the results. In contrast to {@link #searchFacts(RequestHeader, SearchFactRequest)}
+   * the number of returned Facts is not capped and the Facts are resolved lazily while iterating over the result.
+   * The returned {@link StreamingResultSet} must be closed after consumption.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request limiting the returned Facts.
+   * @return All Facts fulfilling the request parameters.
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   */
+  default StreamingResultSet<Fact> streamFacts(RequestHeader rh, SearchFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Create a new Fact.
    *
@@ -240,6 +257,21 @@ public interface ThreatIntelligenceService {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Create multiple new Facts in one batch.
+   *
+   * @param rh      Contains meta data about the request.
+   * @param request Request containing new Facts.
+   * @return Newly created Facts (in the same order as requested).
+   * @throws AccessDeniedException         If the user is not allowed to perform this operation.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   * @throws InvalidArgumentException      If the request contains invalid parameters.
+   */
+  default ResultSet<Fact> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Retract an existing Fact.
    *
@@ -0,0 +1,65 @@
+package no.mnemonic.act.platform.api.request.v1;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import javax.validation.ConstraintViolation;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CreateFactsRequestTest extends AbstractRequestTest {
+
+  @Test
+  public void testDecodeRequest() throws Exception {
+    String json = "{" +
+            "facts : [" +
+            "{ type : 'factType1', value : 'factValue1', bindings : [{ objectType : 'objectType', objectValue : 'objectValue', direction : 'BiDirectional' }] }," +
+            "{ type : 'factType2', value : 'factValue2', bindings : [{ objectType : 'objectType', objectValue : 'objectValue', direction : 'FactIsSource' }] }" +
+            "]}";
+
+    CreateFactsRequest request = getMapper().readValue(json, CreateFactsRequest.class);
+    assertEquals(2, request.getFacts().size());
+    assertEquals("factType1", request.getFacts().get(0).getType());
+    assertEquals("factValue1", request.getFacts().get(0).getValue());
+    assertEquals("factType2", request.getFacts().get(1).getType());
+    assertEquals(Direction.FactIsSource, request.getFacts().get(1).getBindings().get(0).getDirection());
+  }
+
+  @Test
+  public void testRequestValidationFailsOnNull() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest());
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnEmpty() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest().setFacts(ListUtils.list()));
+    assertEquals(1, violations.size());
+    assertPropertyInvalid(violations, "facts");
+  }
+
+  @Test
+  public void testRequestValidationFailsOnInvalidFact() {
+    Set<ConstraintViolation<CreateFactsRequest>> violations = getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest())
+    );
+    assertEquals(3, violations.size());
+    assertPropertyInvalid(violations, "type");
+    assertPropertyInvalid(violations, "value");
+    assertPropertyInvalid(violations, "bindings");
+  }
+
+  @Test
+  public void testRequestValidationSucceeds() {
+    assertTrue(getValidator().validate(new CreateFactsRequest()
+            .addFact(new CreateFactRequest()
+                    .setType("type")
+                    .setValue("value")
+                    .addBinding(new CreateFactRequest.FactObjectBinding().setDirection(Direction.BiDirectional)))
+    ).isEmpty());
+  }
+
+}
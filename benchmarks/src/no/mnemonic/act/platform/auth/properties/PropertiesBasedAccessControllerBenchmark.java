@@ -0,0 +1,79 @@
+package no.mnemonic.act.platform.auth.properties;
+
+import no.mnemonic.act.platform.auth.properties.model.OrganizationIdentifier;
+import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
+import no.mnemonic.services.common.auth.InvalidCredentialsException;
+import no.mnemonic.services.common.auth.model.Credentials;
+import no.mnemonic.services.common.auth.model.NamedFunction;
+import no.mnemonic.services.common.auth.model.OrganizationIdentity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures permission checks which are performed at least once for every service call and once per Fact during
+ * access checks. The subject is granted a function group, thus, the function tree must be walked for every check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PropertiesBasedAccessControllerBenchmark {
+
+  private static final String PROPERTIES = "" +
+          "function.group1.members = group2\n" +
+          "function.group2.members = group3,function1\n" +
+          "function.group3.members = function2,function3\n" +
+          "subject.1.name = subject\n" +
+          "subject.1.affiliation = 1\n" +
+          "subject.1.permission.3 = group1\n" +
+          "organization.1.name = organization1\n" +
+          "organization.2.name = organization2\n" +
+          "organization.3.name = organization3\n" +
+          "organization.3.type = group\n" +
+          "organization.3.members = 1,2\n";
+
+  private PropertiesBasedAccessController accessController;
+  private Path propertiesFile;
+  private Credentials credentials;
+  private NamedFunction function;
+  private OrganizationIdentity organization;
+
+  @Setup
+  public void setup() throws Exception {
+    propertiesFile = Files.createTempFile(UUID.randomUUID().toString(), ".properties");
+    try (FileWriter writer = new FileWriter(propertiesFile.toFile())) {
+      writer.write(PROPERTIES);
+    }
+
+    accessController = PropertiesBasedAccessController.builder().setPropertiesFile(propertiesFile.toString()).build();
+    accessController.startComponent();
+
+    credentials = SubjectCredentials.builder().setSubjectID(1).build();
+    function = () -> "function3";
+    organization = OrganizationIdentifier.builder().setInternalID(2).build();
+  }
+
+  @TearDown
+  public void teardown() throws Exception {
+    accessController.stopComponent();
+    Files.deleteIfExists(propertiesFile);
+  }
+
+  @Benchmark
+  public boolean hasPermission() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function);
+  }
+
+  @Benchmark
+  public boolean hasPermissionForOrganization() throws InvalidCredentialsException {
+    return accessController.hasPermission(credentials, function, organization);
+  }
+
+}
@@ -0,0 +1,136 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.UUID;
+
+/**
+ * Populates the in-memory managers with a star-shaped graph: one hub Object which is linked to a configurable number
+ * of other Objects, each via its own Fact. This mimics popular Objects (e.g. well-known IP addresses or domains) which
+ * dominate the cost of graph traversals and access checks in production.
+ */
+public class BenchmarkData {
+
+  private final InMemoryFactManager factManager = new InMemoryFactManager();
+  private final InMemoryObjectManager objectManager = new InMemoryObjectManager();
+  private final ObjectTypeEntity objectType;
+  private final FactTypeEntity factType;
+  private final ObjectEntity hub;
+
+  /**
+   * Create a new star-shaped graph.
+   *
+   * @param fanOut Number of Facts linking the hub Object to other Objects
+   */
+  public BenchmarkData(int fanOut) {
+    this.objectType = objectManager.saveObjectType(new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("ObjectType")
+            .setValidator("TrueValidator")
+            .setEntityHandler("IdentityHandler"));
+    this.factType = factManager.saveFactType(new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("FactType")
+            .setValidator("TrueValidator")
+            .setEntityHandler("IdentityHandler"));
+    this.hub = createObject("hub");
+
+    for (int i = 0; i < fanOut; i++) {
+      ObjectEntity leaf = createObject("leaf" + i);
+      createFact("fact" + i, hub, leaf);
+    }
+  }
+
+  public InMemoryFactManager getFactManager() {
+    return factManager;
+  }
+
+  public InMemoryObjectManager getObjectManager() {
+    return objectManager;
+  }
+
+  public ObjectTypeEntity getObjectType() {
+    return objectType;
+  }
+
+  public FactTypeEntity getFactType() {
+    return factType;
+  }
+
+  public ObjectEntity getHub() {
+    return hub;
+  }
+
+  /**
+   * Create a Fact which is not stored, i.e. it is not linked to any Objects in the graph.
+   *
+   * @param bindings Number of (random) bindings of the Fact
+   * @return New Fact
+   */
+  public FactEntity createDetachedFact(int bindings) {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(factType.getId())
+            .setValue("value")
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased)
+            .setConfidenceLevel(1)
+            .setTimestamp(System.currentTimeMillis())
+            .setLastSeenTimestamp(System.currentTimeMillis());
+
+    FactEntity.FactObjectBinding[] factBindings = new FactEntity.FactObjectBinding[bindings];
+    for (int i = 0; i < bindings; i++) {
+      factBindings[i] = new FactEntity.FactObjectBinding()
+              .setObjectID(UUID.randomUUID())
+              .setDirection(i % 2 == 0 ? Direction.FactIsSource : Direction.FactIsDestination);
+    }
+
+    return fact.setBindings(ListUtils.list(factBindings));
+  }
+
+  private ObjectEntity createObject(String value) {
+    return objectManager.saveObject(new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(objectType.getId())
+            .setValue(value));
+  }
+
+  private void createFact(String value, ObjectEntity source, ObjectEntity destination) {
+    FactEntity fact = factManager.saveFact(new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(factType.getId())
+            .setValue(value)
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setAccessMode(AccessMode.Public)
+            .setConfidenceLevel(1)
+            .setTimestamp(System.currentTimeMillis())
+            .setLastSeenTimestamp(System.currentTimeMillis())
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(source.getId()).setDirection(Direction.FactIsSource),
+                    new FactEntity.FactObjectBinding().setObjectID(destination.getId()).setDirection(Direction.FactIsDestination)
+            )));
+
+    objectManager.saveObjectFactBinding(new ObjectFactBindingEntity()
+            .setObjectID(source.getId())
+            .setFactID(fact.getId())
+            .setDirection(Direction.FactIsSource)
+            .setFactTypeID(fact.getTypeID())
+            .setAccessMode(fact.getAccessMode())
+            .setOrganizationID(fact.getOrganizationID())
+            .setFactBindingsStored(fact.getBindingsStored()));
+    objectManager.saveObjectFactBinding(new ObjectFactBindingEntity()
+            .setObjectID(destination.getId())
+            .setFactID(fact.getId())
+            .setDirection(Direction.FactIsDestination)
+            .setFactTypeID(fact.getTypeID())
+            .setAccessMode(fact.getAccessMode())
+            .setOrganizationID(fact.getOrganizationID())
+            .setFactBindingsStored(fact.getBindingsStored()));
+  }
+
+}
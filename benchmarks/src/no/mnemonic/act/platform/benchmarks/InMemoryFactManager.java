@@ -0,0 +1,102 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link FactManager} keeping all entities in memory. It allows to execute benchmarks of code depending on the
+ * FactManager without a running Cassandra cluster. Only the read methods used by the benchmarks are implemented.
+ */
+public class InMemoryFactManager extends FactManager {
+
+  private final Map<UUID, FactTypeEntity> factTypes = new ConcurrentHashMap<>();
+  private final Map<UUID, FactEntity> facts = new ConcurrentHashMap<>();
+  private final Map<UUID, List<FactAclEntity>> acls = new ConcurrentHashMap<>();
+
+  public InMemoryFactManager() {
+    super(null, null);
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public FactTypeEntity getFactType(UUID id) {
+    if (id == null) return null;
+    return factTypes.get(id);
+  }
+
+  @Override
+  public FactTypeEntity saveFactType(FactTypeEntity type) {
+    if (type == null) return null;
+    factTypes.put(type.getId(), type);
+    return type;
+  }
+
+  @Override
+  public FactEntity getFact(UUID id) {
+    if (id == null) return null;
+    return facts.get(id);
+  }
+
+  @Override
+  public Iterator<FactEntity> getFacts(List<UUID> id) {
+    List<FactEntity> result = new ArrayList<>();
+    for (UUID factID : ListUtils.list(id)) {
+      FactEntity fact = facts.get(factID);
+      if (fact != null) result.add(fact);
+    }
+    return result.iterator();
+  }
+
+  @Override
+  public FactAccessInfo getFactAccessInfo(UUID id) {
+    FactEntity fact = getFact(id);
+    if (fact == null) return null;
+    return new FactAccessInfo()
+            .setId(fact.getId())
+            .setTypeID(fact.getTypeID())
+            .setOrganizationID(fact.getOrganizationID())
+            .setAccessMode(fact.getAccessMode());
+  }
+
+  @Override
+  public Iterator<FactAccessInfo> getFactAccessInfos(List<UUID> id) {
+    List<FactAccessInfo> result = new ArrayList<>();
+    for (UUID factID : ListUtils.list(id)) {
+      FactAccessInfo info = getFactAccessInfo(factID);
+      if (info != null) result.add(info);
+    }
+    return result.iterator();
+  }
+
+  @Override
+  public FactEntity saveFact(FactEntity fact) {
+    if (fact == null) return null;
+    facts.put(fact.getId(), fact);
+    return fact;
+  }
+
+  @Override
+  public List<FactAclEntity> fetchFactAcl(UUID id) {
+    if (id == null) return ListUtils.list();
+    return acls.getOrDefault(id, ListUtils.list());
+  }
+
+  @Override
+  public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
+    if (entry == null) return null;
+    acls.computeIfAbsent(entry.getFactID(), id -> new ArrayList<>()).add(entry);
+    return entry;
+  }
+
+}
@@ -0,0 +1,85 @@
+package no.mnemonic.act.platform.benchmarks;
+
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ObjectManager} keeping all entities in memory. It allows to execute benchmarks of code depending on the
+ * ObjectManager without a running Cassandra cluster. Only the read methods used by the benchmarks are implemented.
+ */
+public class InMemoryObjectManager extends ObjectManager {
+
+  private final Map<UUID, ObjectTypeEntity> objectTypes = new ConcurrentHashMap<>();
+  private final Map<UUID, ObjectEntity> objects = new ConcurrentHashMap<>();
+  private final Map<UUID, List<ObjectFactBindingEntity>> bindings = new ConcurrentHashMap<>();
+
+  public InMemoryObjectManager() {
+    super(null, null);
+  }
+
+  @Override
+  public void startComponent() {
+    // NOOP
+  }
+
+  @Override
+  public ObjectTypeEntity getObjectType(UUID id) {
+    if (id == null) return null;
+    return objectTypes.get(id);
+  }
+
+  @Override
+  public ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
+    if (type == null) return null;
+    objectTypes.put(type.getId(), type);
+    return type;
+  }
+
+  @Override
+  public ObjectEntity getObject(UUID id) {
+    if (id == null) return null;
+    return objects.get(id);
+  }
+
+  @Override
+  public Iterator<ObjectEntity> getObjects(List<UUID> id) {
+    List<ObjectEntity> result = new ArrayList<>();
+    for (UUID objectID : ListUtils.list(id)) {
+      ObjectEntity object = objects.get(objectID);
+      if (object != null) result.add(object);
+    }
+    return result.iterator();
+  }
+
+  @Override
+  public ObjectEntity saveObject(ObjectEntity object) {
+    if (object == null) return null;
+    objects.put(object.getId(), object);
+    return object;
+  }
+
+  @Override
+  public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
+    if (id == null) return ListUtils.list();
+    return bindings.getOrDefault(id, ListUtils.list());
+  }
+
+  @Override
+  public Iterator<ObjectFactBindingEntity> getObjectFactBindings(UUID id) {
+    return fetchObjectFactBindings(id).iterator();
+  }
+
+  @Override
+  public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
+    if (binding == null) return null;
+    bindings.computeIfAbsent(binding.getObjectID(), id -> new ArrayList<>()).add(binding);
+    return binding;
+  }
+
+}
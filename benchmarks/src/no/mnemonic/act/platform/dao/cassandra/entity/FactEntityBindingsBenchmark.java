@@ -0,0 +1,62 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import no.mnemonic.act.platform.benchmarks.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the (de)serialization of a Fact's bindings using the legacy JSON format and the binary format. This happens
+ * every time a Fact is written to or read from Cassandra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FactEntityBindingsBenchmark {
+
+  @Param({"1", "2", "10"})
+  private int bindings;
+
+  private List<FactEntity.FactObjectBinding> bindingsList;
+  private String bindingsStored;
+  private ByteBuffer bindingsBinary;
+
+  @Setup
+  public void setup() {
+    FactEntity fact = new BenchmarkData(0).createDetachedFact(bindings);
+    bindingsList = fact.getBindings();
+    bindingsStored = fact.getBindingsStored();
+    bindingsBinary = fact.getBindingsBinary();
+  }
+
+  @Benchmark
+  public String setBindings() {
+    return new FactEntity().setBindings(bindingsList).getBindingsStored();
+  }
+
+  @Benchmark
+  public List<FactEntity.FactObjectBinding> setBindingsStored() {
+    return new FactEntity().setBindingsStored(bindingsStored).getBindings();
+  }
+
+  @Benchmark
+  public ByteBuffer encodeBinary() {
+    return new FactEntity().setBindings(bindingsList).getBindingsBinary();
+  }
+
+  @Benchmark
+  public List<FactEntity.FactObjectBinding> decodeBinary() {
+    return new FactEntity().setBindingsBinary(bindingsBinary).getBindings();
+  }
+
+  @Benchmark
+  public List<FactEntity.FactObjectBinding> decodeLegacyJson() {
+    return new FactEntity().setBindingsJson(bindingsStored).getBindings();
+  }
+
+}
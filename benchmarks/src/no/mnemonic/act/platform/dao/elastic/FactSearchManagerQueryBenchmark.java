@@ -0,0 +1,97 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the ElasticSearch queries for Fact searches. Only the query building and serializing the queries
+ * into the JSON sent to ElasticSearch is measured, no requests are sent to ElasticSearch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FactSearchManagerQueryBenchmark {
+
+  private FactSearchManager searchManager;
+  private FactSearchCriteria simpleCriteria;
+  private FactSearchCriteria complexCriteria;
+  private FactSearchCriteria keywordCriteria;
+
+  @Setup
+  public void setup() {
+    // Neither the client nor the EntityHandlers are required for building queries.
+    searchManager = new FactSearchManager(null, id -> null);
+    simpleCriteria = FactSearchCriteria.builder()
+            .addFactTypeID(UUID.randomUUID())
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build();
+    complexCriteria = FactSearchCriteria.builder()
+            .addFactTypeID(UUID.randomUUID())
+            .addFactValue("value")
+            .addOrganizationID(UUID.randomUUID())
+            .addSourceID(UUID.randomUUID())
+            .addObjectTypeID(UUID.randomUUID())
+            .addObjectValue("value")
+            .setRetracted(false)
+            .setKeywords("1.2.3.0/24")
+            .setStartTimestamp(0L)
+            .setEndTimestamp(System.currentTimeMillis())
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build();
+    // Searching all keyword fields with the 'any' match strategy queries three nested Object fields.
+    keywordCriteria = FactSearchCriteria.builder()
+            .setKeywords("1.2.3.0/24")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.all)
+            .setKeywordMatchStrategy(FactSearchCriteria.MatchStrategy.any)
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build();
+  }
+
+  @Benchmark
+  public QueryBuilder buildFactsQuerySimple() {
+    return searchManager.buildFactsQuery(simpleCriteria);
+  }
+
+  @Benchmark
+  public QueryBuilder buildFactsQueryComplex() {
+    return searchManager.buildFactsQuery(complexCriteria);
+  }
+
+  @Benchmark
+  public QueryBuilder buildFactsQueryKeywords() {
+    return searchManager.buildFactsQuery(keywordCriteria);
+  }
+
+  @Benchmark
+  public String serializeFactsQueryComplex() {
+    return searchManager.buildFactsQuery(complexCriteria).toString();
+  }
+
+  @Benchmark
+  public String serializeFactsQueryKeywords() {
+    return searchManager.buildFactsQuery(keywordCriteria).toString();
+  }
+
+  @Benchmark
+  public AggregationBuilder buildObjectsAggregation() {
+    return searchManager.buildObjectsAggregation(complexCriteria);
+  }
+
+  @Benchmark
+  public QueryBuilder buildObjectsIndexQuery() {
+    return searchManager.buildObjectsIndexQuery(complexCriteria);
+  }
+
+}
@@ -0,0 +1,87 @@
+package no.mnemonic.act.platform.dao.tinkerpop;
+
+import no.mnemonic.act.platform.benchmarks.BenchmarkData;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of edges during graph traversals on a star-shaped graph with a configurable number of Facts
+ * bound to the hub Object. The 'cold' benchmarks use a new graph per invocation, i.e. the caches of the
+ * ElementFactory are empty, whereas the 'warm' benchmarks reuse the same graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphTraversalBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int fanOut;
+
+  private BenchmarkData data;
+  private List<ObjectFactBindingEntity> hubBindings;
+  private ActGraph warmGraph;
+
+  @Setup
+  public void setup() {
+    data = new BenchmarkData(fanOut);
+    hubBindings = data.getObjectManager().fetchObjectFactBindings(data.getHub().getId());
+    warmGraph = createGraph();
+  }
+
+  @Benchmark
+  public void createEdgesCold(Blackhole blackhole) {
+    createEdges(createGraph(), blackhole);
+  }
+
+  @Benchmark
+  public void createEdgesWarm(Blackhole blackhole) {
+    createEdges(warmGraph, blackhole);
+  }
+
+  @Benchmark
+  public int objectVertexEdgesCold() {
+    return countEdges(createGraph());
+  }
+
+  @Benchmark
+  public int objectVertexEdgesWarm() {
+    return countEdges(warmGraph);
+  }
+
+  private void createEdges(ActGraph graph, Blackhole blackhole) {
+    for (ObjectFactBindingEntity binding : hubBindings) {
+      Set<Edge> edges = graph.getElementFactory().createEdges(binding);
+      blackhole.consume(edges);
+    }
+  }
+
+  private int countEdges(ActGraph graph) {
+    int count = 0;
+    Iterator<Edge> edges = new ObjectVertex(graph, data.getHub().getId()).edges(Direction.BOTH);
+    while (edges.hasNext()) {
+      edges.next();
+      count++;
+    }
+    return count;
+  }
+
+  private ActGraph createGraph() {
+    return ActGraph.builder()
+            .setObjectManager(data.getObjectManager())
+            .setFactManager(data.getFactManager())
+            .setHasFactAccess(fact -> true)
+            .build();
+  }
+
+}
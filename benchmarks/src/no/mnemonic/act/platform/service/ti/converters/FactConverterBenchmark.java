@@ -0,0 +1,73 @@
+package no.mnemonic.act.platform.service.ti.converters;
+
+import no.mnemonic.act.platform.api.model.v1.*;
+import no.mnemonic.act.platform.benchmarks.BenchmarkData;
+import no.mnemonic.act.platform.benchmarks.InMemoryFactManager;
+import no.mnemonic.act.platform.benchmarks.InMemoryObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures converting Facts into their API model. The converters are wired up the same way as in the
+ * ThreatIntelligenceService, but the referenced entities are resolved from in-memory managers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FactConverterBenchmark {
+
+  private FactConverter converter;
+  private FactEntity fact;
+
+  @Setup
+  public void setup() {
+    BenchmarkData data = new BenchmarkData(1);
+    InMemoryFactManager factManager = data.getFactManager();
+    InMemoryObjectManager objectManager = data.getObjectManager();
+
+    Function<UUID, Namespace> namespaceConverter = id -> Namespace.builder().setId(id).setName("Global").build();
+    ObjectTypeConverter objectTypeConverter = ObjectTypeConverter.builder()
+            .setNamespaceConverter(namespaceConverter)
+            .build();
+    Function<UUID, ObjectType> objectTypeByIdConverter = id -> ObjectUtils.ifNotNull(objectManager.getObjectType(id), objectTypeConverter);
+    FactTypeConverter factTypeConverter = FactTypeConverter.builder()
+            .setNamespaceConverter(namespaceConverter)
+            .setObjectTypeConverter(objectTypeByIdConverter)
+            .build();
+    Function<UUID, FactType> factTypeByIdConverter = id -> ObjectUtils.ifNotNull(factManager.getFactType(id), factTypeConverter);
+    ObjectConverter objectConverter = ObjectConverter.builder()
+            .setObjectTypeConverter(objectTypeByIdConverter)
+            .setFactTypeConverter(factTypeByIdConverter)
+            .setFactStatisticsResolver(id -> Collections.emptyList())
+            .build();
+
+    converter = FactConverter.builder()
+            .setFactTypeConverter(factTypeByIdConverter)
+            .setOrganizationConverter(id -> Organization.builder().setId(id).setName("Organization").build())
+            .setSourceConverter(id -> Source.builder().setId(id).setName("Source").build())
+            .setObjectConverter(id -> ObjectUtils.ifNotNull(objectManager.getObject(id), objectConverter))
+            .setFactEntityResolver(factManager::getFact)
+            .setAccessChecker(entity -> true)
+            .build();
+
+    // Pick the Fact linking the hub Object with the leaf Object.
+    ObjectFactBindingEntity binding = objectManager.fetchObjectFactBindings(data.getHub().getId()).get(0);
+    fact = factManager.getFact(binding.getFactID());
+  }
+
+  @Benchmark
+  public Fact apply() {
+    return converter.apply(fact);
+  }
+
+}
@@ -7,6 +7,9 @@ import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManagerProvider;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.TypeRegistry;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexerProvider;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.ClientFactoryProvider;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
@@ -25,6 +28,7 @@ public class DaoModule extends AbstractModule {
     // Cassandra
     bind(ClusterManager.class).toProvider(ClusterManagerProvider.class).in(Scopes.SINGLETON);
     bind(EntityHandlerFactory.class).to(DefaultEntityHandlerFactory.class).in(Scopes.SINGLETON);
+    bind(TypeRegistry.class);
     bind(FactManager.class);
     bind(ObjectManager.class);
 
@@ -32,6 +36,10 @@ public class DaoModule extends AbstractModule {
     bind(ClientFactory.class).toProvider(ClientFactoryProvider.class).in(Scopes.SINGLETON);
     bind(new TypeLiteral<Function<UUID, EntityHandler>>() {}).to(EntityHandlerForTypeIdResolver.class);
     bind(FactSearchManager.class);
+    bind(BulkFactIndexer.class).toProvider(BulkFactIndexerProvider.class).in(Scopes.SINGLETON);
+
+    // Cassandra and ElasticSearch
+    bind(FactSightingBuffer.class).toProvider(FactSightingBufferProvider.class).in(Scopes.SINGLETON);
   }
 
 }
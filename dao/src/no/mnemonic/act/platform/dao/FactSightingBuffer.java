@@ -0,0 +1,310 @@
+package no.mnemonic.act.platform.dao;
+
+import com.google.common.collect.Iterables;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for refreshing the 'lastSeenTimestamp' of existing Facts. Instead of updating Cassandra and
+ * ElasticSearch every time an existing Fact is seen again, sightings are collected in memory and only the latest
+ * timestamp per Fact is kept. The collected timestamps are written to Cassandra (including the statistics of the
+ * Objects bound to the Facts) and ElasticSearch (using partial updates) when the flush interval expires, when the
+ * maximum number of pending Facts is reached, or when the buffer is stopped.
+ * <p>
+ * Until a sighting has been flushed the persisted Fact still contains the previous 'lastSeenTimestamp'. Use
+ * {@link #merge(FactEntity)} in order to apply pending sightings to Facts fetched from Cassandra.
+ * <p>
+ * If the {@link FactSearchManager} is executed in a test environment every sighting is flushed immediately.
+ */
+public class FactSightingBuffer implements LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(FactSightingBuffer.class);
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+  @Dependency
+  private final FactManager factManager;
+  @Dependency
+  private final ObjectManager objectManager;
+  @Dependency
+  private final FactSearchManager factSearchManager;
+
+  private final long flushInterval;
+  private final int flushBatchSize;
+  private final int maxPendingFacts;
+
+  private final Map<UUID, Long> pendingTimestamps = new ConcurrentHashMap<>();
+  // Facts with a pending sighting. They're required to refresh the statistics of the bound Objects.
+  private final Map<UUID, FactEntity> pendingFacts = new ConcurrentHashMap<>();
+  private final Object flushLock = new Object();
+  private final AtomicLong failedSightings = new AtomicLong();
+  private ScheduledExecutorService flushExecutor;
+  private Clock clock = Clock.systemUTC();
+
+  private FactSightingBuffer(FactManager factManager, ObjectManager objectManager, FactSearchManager factSearchManager,
+                             long flushInterval, int flushBatchSize, int maxPendingFacts) {
+    if (flushInterval <= 0) throw new IllegalArgumentException("'flushInterval' must be positive!");
+    if (flushBatchSize <= 0) throw new IllegalArgumentException("'flushBatchSize' must be positive!");
+    if (maxPendingFacts <= 0) throw new IllegalArgumentException("'maxPendingFacts' must be positive!");
+    this.factManager = ObjectUtils.notNull(factManager, "Cannot instantiate FactSightingBuffer without 'factManager'.");
+    this.objectManager = ObjectUtils.notNull(objectManager, "Cannot instantiate FactSightingBuffer without 'objectManager'.");
+    this.factSearchManager = ObjectUtils.notNull(factSearchManager, "Cannot instantiate FactSightingBuffer without 'factSearchManager'.");
+    this.flushInterval = flushInterval;
+    this.flushBatchSize = flushBatchSize;
+    this.maxPendingFacts = maxPendingFacts;
+    // Number of Facts with a sighting which has not been flushed yet.
+    Metrics.gaugeMapSize("act.sightings.pending", Tags.empty(), pendingTimestamps);
+    // Number of sightings which could not be written to ElasticSearch and have been kept for the next flush.
+    Metrics.more().counter("act.sightings.failed", Tags.empty(), failedSightings, AtomicLong::doubleValue);
+  }
+
+  @Override
+  public void startComponent() {
+    if (flushExecutor != null) return;
+
+    flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "FactSightingBuffer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flushExecutor.scheduleWithFixedDelay(this::flushAndLogErrors, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+
+    LOGGER.info("Initialized FactSightingBuffer (flushInterval = %d ms, flushBatchSize = %d, maxPendingFacts = %d).",
+            flushInterval, flushBatchSize, maxPendingFacts);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (flushExecutor == null) return;
+
+    try {
+      flushExecutor.shutdown();
+      if (!flushExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warning("Timed out while waiting for scheduled flush to finish.");
+      }
+    } catch (InterruptedException ex) {
+      LOGGER.warning(ex, "Interrupted while waiting for scheduled flush to finish.");
+      Thread.currentThread().interrupt();
+    } finally {
+      flushExecutor = null;
+      // Write all pending sightings before shutting down.
+      flushAndLogErrors();
+    }
+  }
+
+  /**
+   * Record that an existing Fact has been seen again at the current time. The new 'lastSeenTimestamp' is persisted
+   * asynchronously. If multiple sightings of the same Fact are recorded before the next flush only the latest
+   * timestamp is persisted.
+   *
+   * @param fact Existing Fact which has been seen again
+   * @return Fact with updated 'lastSeenTimestamp' (the provided Fact is not changed)
+   */
+  public FactEntity recordSighting(FactEntity fact) {
+    if (fact == null || fact.getId() == null) return null;
+    if (flushExecutor == null) throw new IllegalStateException("FactSightingBuffer has not been started.");
+
+    long now = Instant.now(clock).toEpochMilli();
+    // Register the Fact together with its timestamp. This is atomic with respect to removing the Fact in flush(),
+    // thus, a Fact is always available for a pending timestamp.
+    pendingFacts.compute(fact.getId(), (id, pending) -> {
+      pendingTimestamps.merge(id, now, Math::max);
+      return pending != null ? pending : fact;
+    });
+    long latest = pendingTimestamps.getOrDefault(fact.getId(), now);
+    // Refreshed Facts must be visible immediately in a test environment. Otherwise limit memory consumption
+    // by flushing inside the calling thread if too many sightings are pending.
+    if (factSearchManager.isTestEnvironment() || pendingTimestamps.size() >= maxPendingFacts) {
+      flush();
+    }
+
+    // Don't use merge() here because the sighting might have been flushed already.
+    return latest > fact.getLastSeenTimestamp() ? fact.clone().setLastSeenTimestamp(latest) : fact;
+  }
+
+  /**
+   * Apply a pending sighting to a Fact fetched from Cassandra or ElasticSearch. If a sighting of the Fact is pending
+   * which is newer than the Fact's 'lastSeenTimestamp' a copy of the Fact with the pending timestamp is returned,
+   * otherwise the provided Fact is returned unchanged.
+   *
+   * @param fact Fact to merge pending sighting into
+   * @return Fact with the latest 'lastSeenTimestamp'
+   */
+  public FactEntity merge(FactEntity fact) {
+    if (fact == null || fact.getId() == null) return fact;
+
+    Long pending = pendingTimestamps.get(fact.getId());
+    if (pending == null || pending <= fact.getLastSeenTimestamp()) return fact;
+
+    // Clone entity first in order to not disturb DAO layer.
+    return fact.clone().setLastSeenTimestamp(pending);
+  }
+
+  /**
+   * Write all pending sightings to Cassandra and ElasticSearch. Sightings which fail to be written are kept and
+   * retried on the next flush. This includes sightings of single Facts which ElasticSearch failed to update.
+   */
+  public void flush() {
+    synchronized (flushLock) {
+      if (pendingTimestamps.isEmpty()) return;
+
+      List<Map.Entry<UUID, Long>> snapshot = new ArrayList<>(new HashMap<>(pendingTimestamps).entrySet());
+      for (List<Map.Entry<UUID, Long>> batch : Iterables.partition(snapshot, flushBatchSize)) {
+        Map<UUID, Long> timestamps = new HashMap<>();
+        batch.forEach(entry -> timestamps.put(entry.getKey(), entry.getValue()));
+
+        List<FactEntity> facts = resolvePendingFacts(timestamps);
+        factManager.refreshLastSeenTimestamps(timestamps);
+        objectManager.refreshObjectFactStatistics(facts);
+        Set<UUID> failedID = factSearchManager.updateLastSeenTimestamps(toFactDocuments(facts));
+        if (!failedID.isEmpty()) {
+          // Keep failed sightings pending. Writing them to Cassandra again on the next flush doesn't do any harm.
+          failedSightings.addAndGet(failedID.size());
+          timestamps.keySet().removeAll(failedID);
+        }
+        // Only remove sightings which haven't been refreshed again in the meantime.
+        timestamps.forEach(pendingTimestamps::remove);
+        timestamps.keySet().forEach(id -> pendingFacts.computeIfPresent(id, (key, fact) -> pendingTimestamps.containsKey(key) ? fact : null));
+      }
+
+      LOGGER.debug("Flushed sightings of %d Facts (%d pending).", snapshot.size(), pendingTimestamps.size());
+    }
+  }
+
+  /**
+   * Returns the number of Facts with a sighting which has not been flushed yet.
+   *
+   * @return Number of pending Facts
+   */
+  public int getPendingFacts() {
+    return pendingTimestamps.size();
+  }
+
+  /**
+   * Returns the number of sightings which could not be written to ElasticSearch and have been kept for the next flush.
+   *
+   * @return Number of failed sightings
+   */
+  public long getFailedSightings() {
+    return failedSightings.get();
+  }
+
+  /* Setters used for unit testing */
+
+  FactSightingBuffer withClock(Clock clock) {
+    this.clock = clock;
+    return this;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private FactManager factManager;
+    private ObjectManager objectManager;
+    private FactSearchManager factSearchManager;
+    private long flushInterval = 1000;
+    private int flushBatchSize = 1000;
+    private int maxPendingFacts = 100_000;
+
+    private Builder() {
+    }
+
+    public FactSightingBuffer build() {
+      return new FactSightingBuffer(factManager, objectManager, factSearchManager, flushInterval, flushBatchSize, maxPendingFacts);
+    }
+
+    public Builder setFactManager(FactManager factManager) {
+      this.factManager = factManager;
+      return this;
+    }
+
+    public Builder setObjectManager(ObjectManager objectManager) {
+      this.objectManager = objectManager;
+      return this;
+    }
+
+    public Builder setFactSearchManager(FactSearchManager factSearchManager) {
+      this.factSearchManager = factSearchManager;
+      return this;
+    }
+
+    /**
+     * Interval in milliseconds after which pending sightings are written to Cassandra and ElasticSearch.
+     */
+    public Builder setFlushInterval(long flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Maximum number of Facts updated in one batch while flushing.
+     */
+    public Builder setFlushBatchSize(int flushBatchSize) {
+      this.flushBatchSize = flushBatchSize;
+      return this;
+    }
+
+    /**
+     * Maximum number of Facts with pending sightings before a flush is forced inside the calling thread.
+     */
+    public Builder setMaxPendingFacts(int maxPendingFacts) {
+      this.maxPendingFacts = maxPendingFacts;
+      return this;
+    }
+  }
+
+  private List<FactEntity> resolvePendingFacts(Map<UUID, Long> timestamps) {
+    List<FactEntity> facts = new ArrayList<>();
+    timestamps.forEach((id, timestamp) -> {
+      FactEntity fact = pendingFacts.get(id);
+      if (fact != null) facts.add(fact.clone().setLastSeenTimestamp(timestamp));
+    });
+    return facts;
+  }
+
+  private List<FactDocument> toFactDocuments(List<FactEntity> facts) {
+    // Only the fields required for a partial update are needed. The 'timestamp' determines the index of the Fact.
+    return facts.stream()
+            .map(fact -> new FactDocument()
+                    .setId(fact.getId())
+                    .setTimestamp(fact.getTimestamp())
+                    .setLastSeenTimestamp(fact.getLastSeenTimestamp()))
+            .collect(Collectors.toList());
+  }
+
+  private void flushAndLogErrors() {
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      // Don't let the exception escape, otherwise no further flushes will be scheduled.
+      LOGGER.error(ex, "Could not flush sightings of %d Facts.", pendingTimestamps.size());
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+package no.mnemonic.act.platform.dao;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link FactSightingBuffer}.
+ */
+public class FactSightingBufferProvider implements Provider<FactSightingBuffer> {
+
+  @Inject
+  private FactManager factManager;
+  @Inject
+  private ObjectManager objectManager;
+  @Inject
+  private FactSearchManager factSearchManager;
+  @Inject
+  @Named("fact.sightings.flush.interval")
+  private String flushInterval;
+  @Inject
+  @Named("fact.sightings.flush.batch.size")
+  private String flushBatchSize;
+  @Inject
+  @Named("fact.sightings.max.pending")
+  private String maxPendingFacts;
+
+  @Override
+  public FactSightingBuffer get() {
+    return FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setObjectManager(objectManager)
+            .setFactSearchManager(factSearchManager)
+            .setFlushInterval(Long.parseLong(flushInterval))
+            .setFlushBatchSize(Integer.parseInt(flushBatchSize))
+            .setMaxPendingFacts(Integer.parseInt(maxPendingFacts))
+            .build();
+  }
+
+}
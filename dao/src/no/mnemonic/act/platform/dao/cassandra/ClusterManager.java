@@ -1,11 +1,13 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
 import com.datastax.driver.core.Cluster;
-import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
-import com.datastax.driver.core.policies.DefaultRetryPolicy;
-import com.datastax.driver.core.policies.TokenAwarePolicy;
+import com.datastax.driver.core.HostDistance;
+import com.datastax.driver.core.PoolingOptions;
+import com.datastax.driver.core.QueryOptions;
+import com.datastax.driver.core.policies.*;
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
+import io.micrometer.core.instrument.Metrics;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.CassandraEnumCodec;
 import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
@@ -14,6 +16,8 @@ import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class ClusterManager implements LifecycleAspect {
@@ -24,11 +28,53 @@ public class ClusterManager implements LifecycleAspect {
   private final String clusterName;
   private final int port;
   private final Set<String> contactPoints;
+  private final FetchStrategy fetchStrategy;
+  private final int fetchBatchSize;
+  private final int fetchConcurrency;
+  private final Map<Class<?>, WriteMode> writeModes;
+  private final long objectCacheSize;
+  private final long objectCacheExpiration;
+  private final long objectCacheMissingExpiration;
+  private final long factEntityCacheCapacity;
+  private final long objectEntityCacheCapacity;
+  private final boolean factBindingsMigrationEnabled;
+  private final int objectFactBindingPageSize;
+  private final int objectFactBindingBuckets;
+  private final boolean objectFactStatisticsEnabled;
+  private final DriverProfile driverProfile;
 
-  private ClusterManager(String clusterName, int port, Set<String> contactPoints) {
+  private ClusterManager(String clusterName, int port, Set<String> contactPoints, FetchStrategy fetchStrategy,
+                         int fetchBatchSize, int fetchConcurrency, Map<Class<?>, WriteMode> writeModes,
+                         long objectCacheSize, long objectCacheExpiration, long objectCacheMissingExpiration,
+                         long factEntityCacheCapacity, long objectEntityCacheCapacity, boolean factBindingsMigrationEnabled,
+                         int objectFactBindingPageSize, int objectFactBindingBuckets, boolean objectFactStatisticsEnabled,
+                         DriverProfile driverProfile) {
+    if (fetchBatchSize <= 0) throw new IllegalArgumentException("'fetchBatchSize' must be positive!");
+    if (fetchConcurrency <= 0) throw new IllegalArgumentException("'fetchConcurrency' must be positive!");
+    if (objectCacheSize < 0) throw new IllegalArgumentException("'objectCacheSize' must not be negative!");
+    if (objectCacheExpiration < 0) throw new IllegalArgumentException("'objectCacheExpiration' must not be negative!");
+    if (objectCacheMissingExpiration < 0) throw new IllegalArgumentException("'objectCacheMissingExpiration' must not be negative!");
+    if (factEntityCacheCapacity < 0) throw new IllegalArgumentException("'factEntityCacheCapacity' must not be negative!");
+    if (objectEntityCacheCapacity < 0) throw new IllegalArgumentException("'objectEntityCacheCapacity' must not be negative!");
+    if (objectFactBindingPageSize <= 0) throw new IllegalArgumentException("'objectFactBindingPageSize' must be positive!");
+    if (objectFactBindingBuckets < 0) throw new IllegalArgumentException("'objectFactBindingBuckets' must not be negative!");
     this.clusterName = clusterName;
     this.port = port;
     this.contactPoints = contactPoints;
+    this.fetchStrategy = ObjectUtils.notNull(fetchStrategy, "'fetchStrategy' is required!");
+    this.fetchBatchSize = fetchBatchSize;
+    this.fetchConcurrency = fetchConcurrency;
+    this.writeModes = writeModes;
+    this.objectCacheSize = objectCacheSize;
+    this.objectCacheExpiration = objectCacheExpiration;
+    this.objectCacheMissingExpiration = objectCacheMissingExpiration;
+    this.factEntityCacheCapacity = factEntityCacheCapacity;
+    this.objectEntityCacheCapacity = objectEntityCacheCapacity;
+    this.factBindingsMigrationEnabled = factBindingsMigrationEnabled;
+    this.objectFactBindingPageSize = objectFactBindingPageSize;
+    this.objectFactBindingBuckets = objectFactBindingBuckets;
+    this.objectFactStatisticsEnabled = objectFactStatisticsEnabled;
+    this.driverProfile = ObjectUtils.notNull(driverProfile, "'driverProfile' is required!");
   }
 
   @Override
@@ -39,8 +85,14 @@ public class ClusterManager implements LifecycleAspect {
               .withClusterName(clusterName)
               .withPort(port)
               .withRetryPolicy(DefaultRetryPolicy.INSTANCE)
-              // TokenAware requires query has routing info (e.g. BoundStatement with all PK value bound).
-              .withLoadBalancingPolicy(new TokenAwarePolicy(DCAwareRoundRobinPolicy.builder().build()))
+              .withLoadBalancingPolicy(createLoadBalancingPolicy())
+              .withSpeculativeExecutionPolicy(createSpeculativeExecutionPolicy())
+              .withPoolingOptions(new PoolingOptions()
+                      .setConnectionsPerHost(HostDistance.LOCAL, driverProfile.getCoreConnectionsPerHost(), driverProfile.getMaxConnectionsPerHost())
+                      .setMaxRequestsPerConnection(HostDistance.LOCAL, driverProfile.getMaxRequestsPerConnection()))
+              // Consistency levels are applied per statement by ProfiledSession, this is only the fallback.
+              .withQueryOptions(new QueryOptions().setConsistencyLevel(driverProfile.getReadConsistencyLevel()))
+              .withCompression(driverProfile.getCompression())
               .addContactPoints(contactPoints.toArray(new String[contactPoints.size()]))
               .build();
 
@@ -50,8 +102,11 @@ public class ClusterManager implements LifecycleAspect {
               .register(new CassandraEnumCodec<>(Direction.class, Direction.getValueMap()))
               .register(new CassandraEnumCodec<>(SourceEntity.Type.class, SourceEntity.Type.getValueMap()));
 
+      // Record the latency of every executed statement.
+      cluster.register(new MetricsLatencyTracker(Metrics.globalRegistry));
+
       // Create a session.
-      manager = new MappingManager(cluster.connect());
+      manager = new MappingManager(new ProfiledSession(cluster.connect(), driverProfile));
     }
   }
 
@@ -62,6 +117,27 @@ public class ClusterManager implements LifecycleAspect {
     if (cluster != null) cluster.close();
   }
 
+  private LoadBalancingPolicy createLoadBalancingPolicy() {
+    DCAwareRoundRobinPolicy.Builder builder = DCAwareRoundRobinPolicy.builder();
+    if (driverProfile.getLocalDataCenter() != null) {
+      builder.withLocalDc(driverProfile.getLocalDataCenter());
+    }
+
+    LoadBalancingPolicy policy = builder.build();
+    if (driverProfile.isLatencyAware()) {
+      policy = LatencyAwarePolicy.builder(policy).build();
+    }
+
+    // TokenAware requires query has routing info (e.g. BoundStatement with all PK value bound).
+    return new TokenAwarePolicy(policy);
+  }
+
+  private SpeculativeExecutionPolicy createSpeculativeExecutionPolicy() {
+    if (driverProfile.getSpeculativeExecutionDelay() == 0) return NoSpeculativeExecutionPolicy.INSTANCE;
+    // Only statements marked as idempotent (i.e. reads, see ProfiledSession) are executed speculatively.
+    return new ConstantSpeculativeExecutionPolicy(driverProfile.getSpeculativeExecutionDelay(), driverProfile.getSpeculativeExecutionMaxAttempts());
+  }
+
   public <T> Mapper<T> getMapper(Class<T> clazz) {
     return ObjectUtils.ifNotNull(manager, m -> m.mapper(clazz));
   }
@@ -70,6 +146,137 @@ public class ClusterManager implements LifecycleAspect {
     return ObjectUtils.ifNotNull(manager, m -> m.createAccessor(clazz));
   }
 
+  /**
+   * Strategy used when fetching multiple entities by their partition keys.
+   *
+   * @return Configured FetchStrategy
+   */
+  public FetchStrategy getFetchStrategy() {
+    return fetchStrategy;
+  }
+
+  /**
+   * Number of partition keys per query when fetching multiple entities with {@link FetchStrategy#InClause}.
+   *
+   * @return Configured batch size
+   */
+  public int getFetchBatchSize() {
+    return fetchBatchSize;
+  }
+
+  /**
+   * Maximum number of queries executed in parallel when fetching multiple entities.
+   *
+   * @return Configured concurrency
+   */
+  public int getFetchConcurrency() {
+    return fetchConcurrency;
+  }
+
+  /**
+   * Mode used when saving new entities of a given type. Defaults to {@link WriteMode#ReadBeforeWrite} if no mode has
+   * been configured for the entity type.
+   *
+   * @param entity Type of entity
+   * @return Configured WriteMode
+   */
+  public WriteMode getWriteMode(Class<?> entity) {
+    return writeModes.getOrDefault(entity, WriteMode.ReadBeforeWrite);
+  }
+
+  /**
+   * Maximum number of Objects cached when looking up Objects by type and value. A size of 0 disables the cache.
+   *
+   * @return Configured cache size
+   */
+  public long getObjectCacheSize() {
+    return objectCacheSize;
+  }
+
+  /**
+   * Time in milliseconds after which a cached Object is evicted from the cache.
+   *
+   * @return Configured expiration
+   */
+  public long getObjectCacheExpiration() {
+    return objectCacheExpiration;
+  }
+
+  /**
+   * Time in milliseconds during which a lookup of a non-existing Object is answered from the cache.
+   *
+   * @return Configured expiration
+   */
+  public long getObjectCacheMissingExpiration() {
+    return objectCacheMissingExpiration;
+  }
+
+  /**
+   * Number of bytes allocated outside of the heap for caching Facts. A capacity of 0 disables the cache.
+   *
+   * @return Configured capacity in bytes
+   */
+  public long getFactEntityCacheCapacity() {
+    return factEntityCacheCapacity;
+  }
+
+  /**
+   * Number of bytes allocated outside of the heap for caching Objects. A capacity of 0 disables the cache.
+   *
+   * @return Configured capacity in bytes
+   */
+  public long getObjectEntityCacheCapacity() {
+    return objectEntityCacheCapacity;
+  }
+
+  /**
+   * Whether Facts with bindings stored in the legacy JSON format are migrated to the binary format in the background.
+   *
+   * @return True if the migration is enabled
+   */
+  public boolean isFactBindingsMigrationEnabled() {
+    return factBindingsMigrationEnabled;
+  }
+
+  /**
+   * Number of ObjectFactBindings fetched from Cassandra per page when iterating over the bindings of an Object.
+   *
+   * @return Configured page size
+   */
+  public int getObjectFactBindingPageSize() {
+    return objectFactBindingPageSize;
+  }
+
+  /**
+   * Number of partitions (buckets) the ObjectFactBindings of one Object are spread across. A value of 0 keeps all
+   * bindings of an Object in one partition (legacy layout).
+   *
+   * @return Configured number of buckets
+   */
+  public int getObjectFactBindingBuckets() {
+    return objectFactBindingBuckets;
+  }
+
+  /**
+   * Whether the statistics about Facts bound to Objects are served from the incrementally maintained statistics in
+   * Cassandra. The statistics are always maintained, but they only cover Facts added after the statistics were
+   * introduced. Only enable this if all Facts are covered.
+   *
+   * @return True if statistics are served from Cassandra
+   */
+  public boolean isObjectFactStatisticsEnabled() {
+    return objectFactStatisticsEnabled;
+  }
+
+  /**
+   * Performance related settings of the Cassandra driver.
+   *
+   * @return Configured DriverProfile
+   */
+  public DriverProfile getDriverProfile() {
+    return driverProfile;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -78,12 +285,29 @@ public class ClusterManager implements LifecycleAspect {
     private String clusterName;
     private int port;
     private Set<String> contactPoints;
+    private FetchStrategy fetchStrategy = FetchStrategy.PointReads;
+    private int fetchBatchSize = 100;
+    private int fetchConcurrency = 32;
+    private final Map<Class<?>, WriteMode> writeModes = new HashMap<>();
+    private long objectCacheSize = 100_000;
+    private long objectCacheExpiration = 600_000;
+    private long objectCacheMissingExpiration = 10_000;
+    private long factEntityCacheCapacity;
+    private long objectEntityCacheCapacity;
+    private boolean factBindingsMigrationEnabled;
+    private int objectFactBindingPageSize = 1000;
+    private int objectFactBindingBuckets;
+    private boolean objectFactStatisticsEnabled;
+    private DriverProfile driverProfile = DriverProfile.builder().build();
 
     private Builder() {
     }
 
     public ClusterManager build() {
-      return new ClusterManager(clusterName, port, contactPoints);
+      return new ClusterManager(clusterName, port, contactPoints, fetchStrategy, fetchBatchSize, fetchConcurrency,
+              new HashMap<>(writeModes), objectCacheSize, objectCacheExpiration, objectCacheMissingExpiration,
+              factEntityCacheCapacity, objectEntityCacheCapacity, factBindingsMigrationEnabled,
+              objectFactBindingPageSize, objectFactBindingBuckets, objectFactStatisticsEnabled, driverProfile);
     }
 
     public Builder setClusterName(String clusterName) {
@@ -105,6 +329,76 @@ public class ClusterManager implements LifecycleAspect {
       this.contactPoints = SetUtils.addToSet(this.contactPoints, contactPoint);
       return this;
     }
+
+    public Builder setFetchStrategy(FetchStrategy fetchStrategy) {
+      this.fetchStrategy = fetchStrategy;
+      return this;
+    }
+
+    public Builder setFetchBatchSize(int fetchBatchSize) {
+      this.fetchBatchSize = fetchBatchSize;
+      return this;
+    }
+
+    public Builder setFetchConcurrency(int fetchConcurrency) {
+      this.fetchConcurrency = fetchConcurrency;
+      return this;
+    }
+
+    public Builder setWriteMode(Class<?> entity, WriteMode writeMode) {
+      this.writeModes.put(ObjectUtils.notNull(entity, "'entity' is required!"), ObjectUtils.notNull(writeMode, "'writeMode' is required!"));
+      return this;
+    }
+
+    public Builder setObjectCacheSize(long objectCacheSize) {
+      this.objectCacheSize = objectCacheSize;
+      return this;
+    }
+
+    public Builder setObjectCacheExpiration(long objectCacheExpiration) {
+      this.objectCacheExpiration = objectCacheExpiration;
+      return this;
+    }
+
+    public Builder setObjectCacheMissingExpiration(long objectCacheMissingExpiration) {
+      this.objectCacheMissingExpiration = objectCacheMissingExpiration;
+      return this;
+    }
+
+    public Builder setFactEntityCacheCapacity(long factEntityCacheCapacity) {
+      this.factEntityCacheCapacity = factEntityCacheCapacity;
+      return this;
+    }
+
+    public Builder setObjectEntityCacheCapacity(long objectEntityCacheCapacity) {
+      this.objectEntityCacheCapacity = objectEntityCacheCapacity;
+      return this;
+    }
+
+    public Builder setFactBindingsMigrationEnabled(boolean factBindingsMigrationEnabled) {
+      this.factBindingsMigrationEnabled = factBindingsMigrationEnabled;
+      return this;
+    }
+
+    public Builder setObjectFactBindingPageSize(int objectFactBindingPageSize) {
+      this.objectFactBindingPageSize = objectFactBindingPageSize;
+      return this;
+    }
+
+    public Builder setObjectFactBindingBuckets(int objectFactBindingBuckets) {
+      this.objectFactBindingBuckets = objectFactBindingBuckets;
+      return this;
+    }
+
+    public Builder setObjectFactStatisticsEnabled(boolean objectFactStatisticsEnabled) {
+      this.objectFactStatisticsEnabled = objectFactStatisticsEnabled;
+      return this;
+    }
+
+    public Builder setDriverProfile(DriverProfile driverProfile) {
+      this.driverProfile = driverProfile;
+      return this;
+    }
   }
 
 }
@@ -1,5 +1,9 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ProtocolOptions;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import javax.inject.Inject;
@@ -17,6 +21,87 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
   @Inject
   @Named("cassandra.contact.points")
   private String contactPoints;
+  @Inject
+  @Named("cassandra.fetch.strategy")
+  private String fetchStrategy;
+  @Inject
+  @Named("cassandra.fetch.batch.size")
+  private String fetchBatchSize;
+  @Inject
+  @Named("cassandra.fetch.concurrency")
+  private String fetchConcurrency;
+  @Inject
+  @Named("cassandra.write.mode.fact")
+  private String factWriteMode;
+  @Inject
+  @Named("cassandra.write.mode.fact.acl")
+  private String factAclWriteMode;
+  @Inject
+  @Named("cassandra.write.mode.fact.comment")
+  private String factCommentWriteMode;
+  @Inject
+  @Named("cassandra.write.mode.object")
+  private String objectWriteMode;
+  @Inject
+  @Named("cassandra.write.mode.object.fact.binding")
+  private String objectFactBindingWriteMode;
+  @Inject
+  @Named("cassandra.object.cache.size")
+  private String objectCacheSize;
+  @Inject
+  @Named("cassandra.object.cache.expiration")
+  private String objectCacheExpiration;
+  @Inject
+  @Named("cassandra.object.cache.missing.expiration")
+  private String objectCacheMissingExpiration;
+  @Inject
+  @Named("cassandra.entity.cache.fact.capacity")
+  private String factEntityCacheCapacity;
+  @Inject
+  @Named("cassandra.entity.cache.object.capacity")
+  private String objectEntityCacheCapacity;
+  @Inject
+  @Named("cassandra.fact.bindings.migration.enabled")
+  private String factBindingsMigrationEnabled;
+  @Inject
+  @Named("cassandra.object.fact.binding.page.size")
+  private String objectFactBindingPageSize;
+  @Inject
+  @Named("cassandra.object.fact.binding.buckets")
+  private String objectFactBindingBuckets;
+  @Inject
+  @Named("cassandra.object.fact.statistics.enabled")
+  private String objectFactStatisticsEnabled;
+  @Inject
+  @Named("cassandra.driver.local.datacenter")
+  private String localDataCenter;
+  @Inject
+  @Named("cassandra.driver.connections.core")
+  private String coreConnectionsPerHost;
+  @Inject
+  @Named("cassandra.driver.connections.max")
+  private String maxConnectionsPerHost;
+  @Inject
+  @Named("cassandra.driver.connections.max.requests")
+  private String maxRequestsPerConnection;
+  @Inject
+  @Named("cassandra.driver.compression")
+  private String compression;
+  @Inject
+  @Named("cassandra.driver.speculative.execution.delay")
+  private String speculativeExecutionDelay;
+  @Inject
+  @Named("cassandra.driver.speculative.execution.max.attempts")
+  private String speculativeExecutionMaxAttempts;
+  @Inject
+  @Named("cassandra.driver.latency.aware")
+  private String latencyAware;
+  @Inject
+  @Named("cassandra.driver.consistency.read")
+  private String readConsistencyLevel;
+  @Inject
+  @Named("cassandra.driver.consistency.write")
+  private String writeConsistencyLevel;
 
   @Override
   public ClusterManager get() {
@@ -24,6 +109,41 @@ public class ClusterManagerProvider implements Provider<ClusterManager> {
             .setClusterName(clusterName)
             .setPort(Integer.parseInt(port))
             .setContactPoints(SetUtils.set(contactPoints.split(",")))
+            .setFetchStrategy(FetchStrategy.valueOf(fetchStrategy))
+            .setFetchBatchSize(Integer.parseInt(fetchBatchSize))
+            .setFetchConcurrency(Integer.parseInt(fetchConcurrency))
+            .setWriteMode(FactEntity.class, WriteMode.valueOf(factWriteMode))
+            .setWriteMode(FactAclEntity.class, WriteMode.valueOf(factAclWriteMode))
+            .setWriteMode(FactCommentEntity.class, WriteMode.valueOf(factCommentWriteMode))
+            .setWriteMode(ObjectEntity.class, WriteMode.valueOf(objectWriteMode))
+            .setWriteMode(ObjectFactBindingEntity.class, WriteMode.valueOf(objectFactBindingWriteMode))
+            .setObjectCacheSize(Long.parseLong(objectCacheSize))
+            .setObjectCacheExpiration(Long.parseLong(objectCacheExpiration))
+            .setObjectCacheMissingExpiration(Long.parseLong(objectCacheMissingExpiration))
+            // Capacities are configured in megabytes.
+            .setFactEntityCacheCapacity(Long.parseLong(factEntityCacheCapacity) * 1024 * 1024)
+            .setObjectEntityCacheCapacity(Long.parseLong(objectEntityCacheCapacity) * 1024 * 1024)
+            .setFactBindingsMigrationEnabled(Boolean.parseBoolean(factBindingsMigrationEnabled))
+            .setObjectFactBindingPageSize(Integer.parseInt(objectFactBindingPageSize))
+            .setObjectFactBindingBuckets(Integer.parseInt(objectFactBindingBuckets))
+            .setObjectFactStatisticsEnabled(Boolean.parseBoolean(objectFactStatisticsEnabled))
+            .setDriverProfile(createDriverProfile())
+            .build();
+  }
+
+  private DriverProfile createDriverProfile() {
+    return DriverProfile.builder()
+            // An empty local data center lets the driver detect it from the contact points.
+            .setLocalDataCenter(StringUtils.isBlank(localDataCenter) ? null : localDataCenter)
+            .setCoreConnectionsPerHost(Integer.parseInt(coreConnectionsPerHost))
+            .setMaxConnectionsPerHost(Integer.parseInt(maxConnectionsPerHost))
+            .setMaxRequestsPerConnection(Integer.parseInt(maxRequestsPerConnection))
+            .setCompression(ProtocolOptions.Compression.valueOf(compression))
+            .setSpeculativeExecutionDelay(Long.parseLong(speculativeExecutionDelay))
+            .setSpeculativeExecutionMaxAttempts(Integer.parseInt(speculativeExecutionMaxAttempts))
+            .setLatencyAware(Boolean.parseBoolean(latencyAware))
+            .setReadConsistencyLevel(ConsistencyLevel.valueOf(readConsistencyLevel))
+            .setWriteConsistencyLevel(ConsistencyLevel.valueOf(writeConsistencyLevel))
             .build();
   }
 
@@ -0,0 +1,215 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ProtocolOptions;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+/**
+ * Performance related settings of the Cassandra driver used by the {@link ClusterManager}.
+ * <p>
+ * The defaults correspond to the defaults of the driver itself, except for the consistency levels which default to
+ * LOCAL_QUORUM for reads and writes.
+ */
+public class DriverProfile {
+
+  private final String localDataCenter;
+  private final int coreConnectionsPerHost;
+  private final int maxConnectionsPerHost;
+  private final int maxRequestsPerConnection;
+  private final ProtocolOptions.Compression compression;
+  private final long speculativeExecutionDelay;
+  private final int speculativeExecutionMaxAttempts;
+  private final boolean latencyAware;
+  private final ConsistencyLevel readConsistencyLevel;
+  private final ConsistencyLevel writeConsistencyLevel;
+
+  private DriverProfile(String localDataCenter, int coreConnectionsPerHost, int maxConnectionsPerHost,
+                        int maxRequestsPerConnection, ProtocolOptions.Compression compression,
+                        long speculativeExecutionDelay, int speculativeExecutionMaxAttempts, boolean latencyAware,
+                        ConsistencyLevel readConsistencyLevel, ConsistencyLevel writeConsistencyLevel) {
+    if (coreConnectionsPerHost <= 0) throw new IllegalArgumentException("'coreConnectionsPerHost' must be positive!");
+    if (maxConnectionsPerHost < coreConnectionsPerHost) throw new IllegalArgumentException("'maxConnectionsPerHost' must not be less than 'coreConnectionsPerHost'!");
+    if (maxRequestsPerConnection <= 0) throw new IllegalArgumentException("'maxRequestsPerConnection' must be positive!");
+    if (speculativeExecutionDelay < 0) throw new IllegalArgumentException("'speculativeExecutionDelay' must not be negative!");
+    if (speculativeExecutionMaxAttempts <= 0) throw new IllegalArgumentException("'speculativeExecutionMaxAttempts' must be positive!");
+    this.localDataCenter = localDataCenter;
+    this.coreConnectionsPerHost = coreConnectionsPerHost;
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.maxRequestsPerConnection = maxRequestsPerConnection;
+    this.compression = ObjectUtils.notNull(compression, "'compression' is required!");
+    this.speculativeExecutionDelay = speculativeExecutionDelay;
+    this.speculativeExecutionMaxAttempts = speculativeExecutionMaxAttempts;
+    this.latencyAware = latencyAware;
+    this.readConsistencyLevel = ObjectUtils.notNull(readConsistencyLevel, "'readConsistencyLevel' is required!");
+    this.writeConsistencyLevel = ObjectUtils.notNull(writeConsistencyLevel, "'writeConsistencyLevel' is required!");
+  }
+
+  /**
+   * Name of the local data center. If not set the driver uses the data center of the first contact point.
+   *
+   * @return Configured data center or null
+   */
+  public String getLocalDataCenter() {
+    return localDataCenter;
+  }
+
+  /**
+   * Number of connections always kept open to each host in the local data center.
+   *
+   * @return Configured number of connections
+   */
+  public int getCoreConnectionsPerHost() {
+    return coreConnectionsPerHost;
+  }
+
+  /**
+   * Maximum number of connections opened to each host in the local data center.
+   *
+   * @return Configured number of connections
+   */
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  /**
+   * Maximum number of requests in flight on one connection to a host in the local data center.
+   *
+   * @return Configured number of requests
+   */
+  public int getMaxRequestsPerConnection() {
+    return maxRequestsPerConnection;
+  }
+
+  /**
+   * Compression of the frames sent between the driver and Cassandra. LZ4 and Snappy require the corresponding
+   * library on the classpath.
+   *
+   * @return Configured compression
+   */
+  public ProtocolOptions.Compression getCompression() {
+    return compression;
+  }
+
+  /**
+   * Time in milliseconds after which a read is sent to another replica if the first replica hasn't responded yet.
+   * A delay of 0 disables speculative executions.
+   *
+   * @return Configured delay
+   */
+  public long getSpeculativeExecutionDelay() {
+    return speculativeExecutionDelay;
+  }
+
+  /**
+   * Maximum number of speculative executions started for one read.
+   *
+   * @return Configured number of executions
+   */
+  public int getSpeculativeExecutionMaxAttempts() {
+    return speculativeExecutionMaxAttempts;
+  }
+
+  /**
+   * Whether hosts which are considerably slower than the fastest host are avoided when routing queries.
+   *
+   * @return True if latency-aware routing is enabled
+   */
+  public boolean isLatencyAware() {
+    return latencyAware;
+  }
+
+  /**
+   * Consistency level used for all reads.
+   *
+   * @return Configured consistency level
+   */
+  public ConsistencyLevel getReadConsistencyLevel() {
+    return readConsistencyLevel;
+  }
+
+  /**
+   * Consistency level used for all writes.
+   *
+   * @return Configured consistency level
+   */
+  public ConsistencyLevel getWriteConsistencyLevel() {
+    return writeConsistencyLevel;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private String localDataCenter;
+    private int coreConnectionsPerHost = 1;
+    private int maxConnectionsPerHost = 1;
+    private int maxRequestsPerConnection = 1024;
+    private ProtocolOptions.Compression compression = ProtocolOptions.Compression.NONE;
+    private long speculativeExecutionDelay;
+    private int speculativeExecutionMaxAttempts = 2;
+    private boolean latencyAware;
+    private ConsistencyLevel readConsistencyLevel = ConsistencyLevel.LOCAL_QUORUM;
+    private ConsistencyLevel writeConsistencyLevel = ConsistencyLevel.LOCAL_QUORUM;
+
+    private Builder() {
+    }
+
+    public DriverProfile build() {
+      return new DriverProfile(localDataCenter, coreConnectionsPerHost, maxConnectionsPerHost, maxRequestsPerConnection,
+              compression, speculativeExecutionDelay, speculativeExecutionMaxAttempts, latencyAware,
+              readConsistencyLevel, writeConsistencyLevel);
+    }
+
+    public Builder setLocalDataCenter(String localDataCenter) {
+      this.localDataCenter = localDataCenter;
+      return this;
+    }
+
+    public Builder setCoreConnectionsPerHost(int coreConnectionsPerHost) {
+      this.coreConnectionsPerHost = coreConnectionsPerHost;
+      return this;
+    }
+
+    public Builder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    public Builder setMaxRequestsPerConnection(int maxRequestsPerConnection) {
+      this.maxRequestsPerConnection = maxRequestsPerConnection;
+      return this;
+    }
+
+    public Builder setCompression(ProtocolOptions.Compression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    public Builder setSpeculativeExecutionDelay(long speculativeExecutionDelay) {
+      this.speculativeExecutionDelay = speculativeExecutionDelay;
+      return this;
+    }
+
+    public Builder setSpeculativeExecutionMaxAttempts(int speculativeExecutionMaxAttempts) {
+      this.speculativeExecutionMaxAttempts = speculativeExecutionMaxAttempts;
+      return this;
+    }
+
+    public Builder setLatencyAware(boolean latencyAware) {
+      this.latencyAware = latencyAware;
+      return this;
+    }
+
+    public Builder setReadConsistencyLevel(ConsistencyLevel readConsistencyLevel) {
+      this.readConsistencyLevel = readConsistencyLevel;
+      return this;
+    }
+
+    public Builder setWriteConsistencyLevel(ConsistencyLevel writeConsistencyLevel) {
+      this.writeConsistencyLevel = writeConsistencyLevel;
+      return this;
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.mapping.Result;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches multiple entities by their partition keys using a configurable {@link FetchStrategy}.
+ * <p>
+ * The keys are split up into chunks (one key per chunk for {@link FetchStrategy#PointReads}) which are fetched
+ * asynchronously. At most 'concurrency' chunks are requested at the same time and new chunks are only requested while
+ * the returned iterator is consumed. Entities are returned in the same order as the requested keys, keys which don't
+ * exist are skipped.
+ *
+ * @param <T> Type of entity
+ */
+class EntityFetcher<T> {
+
+  private final FetchStrategy strategy;
+  private final int batchSize;
+  private final int concurrency;
+  private final Function<List<UUID>, ListenableFuture<Result<T>>> batchFetcher;
+  private final Function<UUID, ListenableFuture<T>> pointFetcher;
+  private final Function<T, UUID> keyExtractor;
+
+  EntityFetcher(FetchStrategy strategy, int batchSize, int concurrency,
+                Function<List<UUID>, ListenableFuture<Result<T>>> batchFetcher,
+                Function<UUID, ListenableFuture<T>> pointFetcher,
+                Function<T, UUID> keyExtractor) {
+    if (batchSize <= 0) throw new IllegalArgumentException("'batchSize' must be positive!");
+    if (concurrency <= 0) throw new IllegalArgumentException("'concurrency' must be positive!");
+    this.strategy = ObjectUtils.notNull(strategy, "'strategy' is required!");
+    this.batchSize = batchSize;
+    this.concurrency = concurrency;
+    this.batchFetcher = ObjectUtils.notNull(batchFetcher, "'batchFetcher' is required!");
+    this.pointFetcher = ObjectUtils.notNull(pointFetcher, "'pointFetcher' is required!");
+    this.keyExtractor = ObjectUtils.notNull(keyExtractor, "'keyExtractor' is required!");
+  }
+
+  /**
+   * Fetch all entities identified by the given keys. Duplicated keys are only fetched once.
+   *
+   * @param keys Partition keys of entities
+   * @return Iterator over all existing entities in the order of the requested keys
+   */
+  Iterator<T> fetch(List<UUID> keys) {
+    if (CollectionUtils.isEmpty(keys)) return Collections.emptyIterator();
+    return new ChunkIterator(partition(keys).iterator());
+  }
+
+  /**
+   * Asynchronous version of {@link #fetch(List)}. The calling thread is never blocked, the chunks are requested in
+   * rounds of at most 'concurrency' chunks and the next round is requested once the previous one has completed.
+   *
+   * @param keys Partition keys of entities
+   * @return Future of all existing entities in the order of the requested keys
+   */
+  ListenableFuture<List<T>> fetchAsync(List<UUID> keys) {
+    if (CollectionUtils.isEmpty(keys)) return Futures.immediateFuture(new ArrayList<>());
+    return fetchRounds(Lists.partition(partition(keys), concurrency).iterator(), new ArrayList<>());
+  }
+
+  private List<List<UUID>> partition(List<UUID> keys) {
+    List<UUID> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+    int chunkSize = strategy == FetchStrategy.InClause ? batchSize : 1;
+    return Lists.partition(distinctKeys, chunkSize);
+  }
+
+  private ListenableFuture<List<T>> fetchRounds(Iterator<List<List<UUID>>> remainingRounds, List<T> fetched) {
+    if (!remainingRounds.hasNext()) return Futures.immediateFuture(fetched);
+
+    List<ListenableFuture<List<T>>> round = remainingRounds.next()
+            .stream()
+            .map(this::fetchChunk)
+            .collect(Collectors.toList());
+    return Futures.transformAsync(Futures.allAsList(round), results -> {
+      results.forEach(fetched::addAll);
+      return fetchRounds(remainingRounds, fetched);
+    }, MoreExecutors.directExecutor());
+  }
+
+  private ListenableFuture<List<T>> fetchChunk(List<UUID> chunk) {
+    if (strategy == FetchStrategy.PointReads) {
+      return Futures.transform(pointFetcher.apply(chunk.get(0)),
+              entity -> entity != null ? Collections.singletonList(entity) : Collections.<T>emptyList(),
+              MoreExecutors.directExecutor());
+    }
+
+    // Cassandra doesn't return the results of an 'IN' query in the order of the requested keys, thus, sort them.
+    return FutureUtils.transform(batchFetcher.apply(chunk), result -> {
+      Map<UUID, T> entities = result.all()
+              .stream()
+              .collect(Collectors.toMap(keyExtractor, Function.identity()));
+      return chunk.stream()
+              .map(entities::get)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
+    });
+  }
+
+  private class ChunkIterator implements Iterator<T> {
+    private final Iterator<List<UUID>> remainingChunks;
+    private final Deque<ListenableFuture<List<T>>> pendingChunks = new ArrayDeque<>();
+    private Iterator<T> currentChunk = Collections.emptyIterator();
+
+    private ChunkIterator(Iterator<List<UUID>> remainingChunks) {
+      this.remainingChunks = remainingChunks;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!currentChunk.hasNext()) {
+        // Keep up to 'concurrency' requests in flight while waiting for the next chunk in order.
+        while (pendingChunks.size() < concurrency && remainingChunks.hasNext()) {
+          pendingChunks.add(fetchChunk(remainingChunks.next()));
+        }
+        if (pendingChunks.isEmpty()) return false;
+        currentChunk = FutureUtils.waitFor(pendingChunks.poll()).iterator();
+      }
+
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) throw new NoSuchElementException();
+      return currentChunk.next();
+    }
+  }
+
+}
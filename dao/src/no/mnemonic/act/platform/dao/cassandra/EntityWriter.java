@@ -0,0 +1,49 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.mapping.Mapper;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+
+import static com.datastax.driver.mapping.Mapper.Option.ifNotExists;
+
+/**
+ * Helper methods for inserting entities according to a {@link WriteMode}.
+ */
+class EntityWriter {
+
+  private EntityWriter() {
+  }
+
+  /**
+   * Insert an entity asynchronously. With {@link WriteMode#LightweightTransaction} the entity is only written if it
+   * doesn't exist yet, otherwise the returned future fails with an {@link ImmutableViolationException}. For all other
+   * modes the entity is written unconditionally, i.e. checks must be performed by the caller beforehand.
+   *
+   * @param mapper           Mapper of the entity
+   * @param entity           Entity to insert
+   * @param mode             WriteMode used for the entity
+   * @param violationMessage Message of the exception thrown if the entity already exists
+   * @param <T>              Type of entity
+   * @return Future completing once the entity has been written
+   */
+  static <T> ListenableFuture<Void> insertAsync(Mapper<T> mapper, T entity, WriteMode mode, String violationMessage) {
+    if (mode != WriteMode.LightweightTransaction) return mapper.saveAsync(entity);
+
+    ListenableFuture<ResultSet> result = mapper.getManager().getSession().executeAsync(mapper.saveQuery(entity, ifNotExists(true)));
+    return Futures.transform(result, rs -> {
+      if (!rs.wasApplied()) throw new ImmutableViolationException(violationMessage);
+      return null;
+    }, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Synchronous version of {@link #insertAsync(Mapper, Object, WriteMode, String)}.
+   */
+  static <T> void insert(Mapper<T> mapper, T entity, WriteMode mode, String violationMessage) {
+    FutureUtils.waitFor(insertAsync(mapper, entity, mode, violationMessage));
+  }
+
+}
@@ -1,23 +1,28 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.mapping.Mapper;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.datastax.driver.mapping.Result;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import no.mnemonic.act.platform.dao.cassandra.accessors.FactAccessor;
 import no.mnemonic.act.platform.dao.cassandra.accessors.FactAclAccessor;
 import no.mnemonic.act.platform.dao.cassandra.accessors.FactCommentAccessor;
-import no.mnemonic.act.platform.dao.cassandra.accessors.FactTypeAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactCommentEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.handlers.EntityHandler;
-import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
@@ -27,93 +32,100 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.time.Clock;
 import java.time.Instant;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 import static com.datastax.driver.mapping.Mapper.Option.saveNullFields;
 
 @Singleton
 public class FactManager implements LifecycleAspect {
 
+  private static final Logger LOGGER = Logging.getLogger(FactManager.class);
+  private static final int MIGRATION_CONCURRENCY = 100;
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
   @Dependency
   private final ClusterManager clusterManager;
-
-  private final EntityHandlerFactory entityHandlerFactory;
-  private final LoadingCache<UUID, FactTypeEntity> factTypeByIdCache;
-  private final LoadingCache<String, FactTypeEntity> factTypeByNameCache;
+  @Dependency
+  private final TypeRegistry typeRegistry;
 
   private Mapper<FactTypeEntity> factTypeMapper;
   private Mapper<FactEntity> factMapper;
+  private Mapper<FactAccessInfo> factAccessInfoMapper;
   private Mapper<FactAclEntity> factAclMapper;
   private Mapper<FactCommentEntity> factCommentMapper;
-  private FactTypeAccessor factTypeAccessor;
   private FactAccessor factAccessor;
   private FactAclAccessor factAclAccessor;
   private FactCommentAccessor factCommentAccessor;
+  private EntityFetcher<FactEntity> factFetcher;
+  private EntityFetcher<FactAccessInfo> factAccessInfoFetcher;
+  private WriteMode factWriteMode;
+  private WriteMode factAclWriteMode;
+  private WriteMode factCommentWriteMode;
+  private OffHeapEntityCache<FactEntity> factCache;
+  private ExecutorService migrationExecutor;
+  private volatile boolean migrationCancelled;
 
   private Clock clock = Clock.systemUTC();
 
   @Inject
-  public FactManager(ClusterManager clusterManager, EntityHandlerFactory factory) {
+  public FactManager(ClusterManager clusterManager, TypeRegistry typeRegistry) {
     this.clusterManager = clusterManager;
-    this.entityHandlerFactory = factory;
-    this.factTypeByIdCache = createFactTypeByIdCache();
-    this.factTypeByNameCache = createFactTypeByNameCache();
+    this.typeRegistry = typeRegistry;
   }
 
   @Override
   public void startComponent() {
     factTypeMapper = clusterManager.getMapper(FactTypeEntity.class);
     factMapper = clusterManager.getMapper(FactEntity.class);
+    factAccessInfoMapper = clusterManager.getMapper(FactAccessInfo.class);
     factAclMapper = clusterManager.getMapper(FactAclEntity.class);
     factCommentMapper = clusterManager.getMapper(FactCommentEntity.class);
-    factTypeAccessor = clusterManager.getAccessor(FactTypeAccessor.class);
     factAccessor = clusterManager.getAccessor(FactAccessor.class);
     factAclAccessor = clusterManager.getAccessor(FactAclAccessor.class);
     factCommentAccessor = clusterManager.getAccessor(FactCommentAccessor.class);
+    factFetcher = new EntityFetcher<>(clusterManager.getFetchStrategy(), clusterManager.getFetchBatchSize(),
+            clusterManager.getFetchConcurrency(), factAccessor::fetchByIDAsync, id -> factMapper.getAsync(id), FactEntity::getId);
+    factAccessInfoFetcher = new EntityFetcher<>(clusterManager.getFetchStrategy(), clusterManager.getFetchBatchSize(),
+            clusterManager.getFetchConcurrency(), factAccessor::fetchAccessInfoByIDAsync, id -> factAccessInfoMapper.getAsync(id), FactAccessInfo::getId);
+    factWriteMode = clusterManager.getWriteMode(FactEntity.class);
+    factAclWriteMode = clusterManager.getWriteMode(FactAclEntity.class);
+    factCommentWriteMode = clusterManager.getWriteMode(FactCommentEntity.class);
+    // Facts are immutable except for 'lastSeenTimestamp' which the cache stores separately.
+    factCache = new OffHeapEntityCache<>("fact", clusterManager.getFactEntityCacheCapacity(), OffHeapEntityCodecs.FACT);
 
     // Avoid creating tombstones for null values.
     factTypeMapper.setDefaultSaveOptions(saveNullFields(false));
     factMapper.setDefaultSaveOptions(saveNullFields(false));
     factAclMapper.setDefaultSaveOptions(saveNullFields(false));
     factCommentMapper.setDefaultSaveOptions(saveNullFields(false));
+
+    if (clusterManager.isFactBindingsMigrationEnabled()) startBindingsMigration();
   }
 
   @Override
   public void stopComponent() {
-    // NOOP
+    stopBindingsMigration();
+    if (factCache != null) factCache.clear();
   }
 
   /* FactTypeEntity-related methods */
 
   public FactTypeEntity getFactType(UUID id) {
-    if (id == null) return null;
-
-    try {
-      return factTypeByIdCache.get(id);
-    } catch (ExecutionException ignored) {
-      // If fetching FactType fails just return null in order to be consistent with Cassandra's get().
-      return null;
-    }
+    return typeRegistry.getFactType(id);
   }
 
   public FactTypeEntity getFactType(String name) {
-    if (StringUtils.isBlank(name)) return null;
-
-    try {
-      return factTypeByNameCache.get(name);
-    } catch (ExecutionException ignored) {
-      // If fetching FactType fails just return null in order to be consistent with Cassandra's get().
-      return null;
-    }
+    return typeRegistry.getFactType(name);
   }
 
   public List<FactTypeEntity> fetchFactTypes() {
-    return factTypeAccessor.fetch().all();
+    // Return a copy because callers are allowed to modify the returned list.
+    return new ArrayList<>(typeRegistry.getFactTypes());
   }
 
   public FactTypeEntity saveFactType(FactTypeEntity type) {
@@ -126,8 +138,7 @@ public class FactManager implements LifecycleAspect {
     }
 
     factTypeMapper.save(type);
-    factTypeByIdCache.invalidate(type.getId());
-    factTypeByNameCache.invalidate(type.getName());
+    typeRegistry.reloadFactType(type.getId());
 
     return type;
   }
@@ -136,35 +147,202 @@ public class FactManager implements LifecycleAspect {
 
   public FactEntity getFact(UUID id) {
     if (id == null) return null;
+
+    FactEntity cached = factCache.get(id);
+    if (cached != null) return cached;
+
     // Decode value using EntityHandler because it's stored encoded.
-    return ObjectUtils.ifNotNull(factMapper.get(id), this::decodeFactValue);
+    return ObjectUtils.ifNotNull(factMapper.get(id), fact -> factCache.put(id, decodeFactValue(fact)));
   }
 
   public Iterator<FactEntity> getFacts(List<UUID> id) {
     if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
     // Need to decode values using EntityHandler because they're stored encoded.
     // Use Iterators.transform() to do this lazily when facts are pulled from Cassandra.
-    return Iterators.transform(factAccessor.fetchByID(id).iterator(), this::decodeFactValue);
+    // Facts which are cached are served from the cache and all others are added to the cache when pulled.
+    return factCache.getAll(id, missing -> Iterators.transform(factFetcher.fetch(missing), this::decodeFactValue), FactEntity::getId);
+  }
+
+  /**
+   * Fetch only the information required to check access to a Fact. This is considerably cheaper than fetching the
+   * whole Fact because neither the value nor the bindings are read.
+   *
+   * @param id UUID of Fact
+   * @return Access information of the Fact or NULL if the Fact does not exist
+   */
+  public FactAccessInfo getFactAccessInfo(UUID id) {
+    if (id == null) return null;
+    return factAccessInfoMapper.get(id);
+  }
+
+  /**
+   * Fetch only the information required to check access to multiple Facts, see {@link #getFactAccessInfo(UUID)}.
+   * Uses the same {@link FetchStrategy} as {@link #getFacts(List)}.
+   *
+   * @param id UUIDs of Facts
+   * @return Iterator over the access information of all existing Facts in the order of the requested IDs
+   */
+  public Iterator<FactAccessInfo> getFactAccessInfos(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
+    return factAccessInfoFetcher.fetch(id);
+  }
+
+  /**
+   * Asynchronous version of {@link #getFact(UUID)}.
+   *
+   * @param id UUID of Fact
+   * @return Future of the Fact, the result will be NULL if the Fact does not exist
+   */
+  public ListenableFuture<FactEntity> getFactAsync(UUID id) {
+    if (id == null) return Futures.immediateFuture(null);
+
+    FactEntity cached = factCache.get(id);
+    if (cached != null) return Futures.immediateFuture(cached);
+
+    // Decode value using EntityHandler because it's stored encoded.
+    return FutureUtils.transform(factMapper.getAsync(id), fact -> ObjectUtils.ifNotNull(fact, f -> factCache.put(id, decodeFactValue(f))));
+  }
+
+  /**
+   * Asynchronous version of {@link #getFacts(List)}. In contrast to the synchronous version all Facts are fetched
+   * and decoded before the returned future completes.
+   *
+   * @param id UUIDs of Facts
+   * @return Future of all existing Facts
+   */
+  public ListenableFuture<List<FactEntity>> getFactsAsync(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Futures.immediateFuture(ListUtils.list());
+    // Use the same cache and fetch strategy as the synchronous version.
+    return factCache.getAllAsync(id, missing -> FutureUtils.transform(factFetcher.fetchAsync(missing), result -> result
+            .stream()
+            .map(this::decodeFactValue)
+            .collect(Collectors.toList())), FactEntity::getId);
   }
 
   public FactEntity saveFact(FactEntity fact) {
     if (fact == null) return null;
-    if (getFact(fact.getId()) != null) throw new ImmutableViolationException("It is not allowed to update a fact");
+    if (factWriteMode == WriteMode.ReadBeforeWrite && getFact(fact.getId()) != null)
+      throw new ImmutableViolationException("It is not allowed to update a fact");
 
     // Encode value using EntityHandler to store value in encoded format.
     // Clone entity first in order to not change supplied fact instance.
-    factMapper.save(encodeFactValue(fact.clone()));
+    EntityWriter.insert(factMapper, encodeFactValue(fact.clone()), factWriteMode, "It is not allowed to update a fact");
 
     return fact;
   }
 
+  /**
+   * Asynchronous version of {@link #saveFact(FactEntity)}. If the Fact already exists the returned future fails with
+   * an {@link ImmutableViolationException}, unless Facts are written with {@link WriteMode#Idempotent}.
+   *
+   * @param fact New Fact to save
+   * @return Future of the saved Fact
+   */
+  public ListenableFuture<FactEntity> saveFactAsync(FactEntity fact) {
+    if (fact == null) return Futures.immediateFuture(null);
+
+    // Encode value using EntityHandler to store value in encoded format.
+    // Clone entity first in order to not change supplied fact instance.
+    FactEntity persistent = encodeFactValue(fact.clone());
+    if (factWriteMode != WriteMode.ReadBeforeWrite) {
+      return Futures.transform(EntityWriter.insertAsync(factMapper, persistent, factWriteMode, "It is not allowed to update a fact"),
+              ignored -> fact, MoreExecutors.directExecutor());
+    }
+
+    return Futures.transformAsync(factMapper.getAsync(fact.getId()), existing -> {
+      if (existing != null) throw new ImmutableViolationException("It is not allowed to update a fact");
+      return Futures.transform(factMapper.saveAsync(persistent), ignored -> fact, MoreExecutors.directExecutor());
+    }, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Save multiple new Facts at once. All Facts are written concurrently and the method returns after all writes have
+   * completed. As with {@link #saveFact(FactEntity)} it is not allowed to update existing Facts.
+   *
+   * @param facts New Facts to save
+   * @return Saved Facts
+   */
+  public List<FactEntity> saveFacts(List<FactEntity> facts) {
+    if (CollectionUtils.isEmpty(facts)) return ListUtils.list();
+
+    if (factWriteMode == WriteMode.ReadBeforeWrite) {
+      List<UUID> id = facts.stream().map(FactEntity::getId).collect(Collectors.toList());
+      if (factFetcher.fetch(id).hasNext()) throw new ImmutableViolationException("It is not allowed to update a fact");
+    }
+
+    // Encode values using EntityHandler to store values in encoded format.
+    // Clone entities first in order to not change supplied fact instances.
+    List<ListenableFuture<Void>> futures = new ArrayList<>();
+    for (FactEntity fact : facts) {
+      futures.add(EntityWriter.insertAsync(factMapper, encodeFactValue(fact.clone()), factWriteMode, "It is not allowed to update a fact"));
+    }
+    FutureUtils.waitForAll(futures);
+
+    return facts;
+  }
+
   public FactEntity refreshFact(UUID id) {
     if (getFact(id) == null) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
-    factAccessor.refreshLastSeenTimestamp(id, Instant.now(clock).toEpochMilli());
+    long timestamp = Instant.now(clock).toEpochMilli();
+    factAccessor.refreshLastSeenTimestamp(id, timestamp);
+    factCache.updateTimestamp(id, timestamp);
 
     return getFact(id);
   }
 
+  /**
+   * Set the 'lastSeenTimestamp' of multiple Facts at once. In contrast to {@link #refreshFact(UUID)} the timestamps
+   * are provided by the caller and the Facts are not fetched before or after the update. The updates are executed
+   * concurrently.
+   * <p>
+   * Only call this method for existing Facts. Cassandra performs an upsert, thus, updating a non-existing Fact would
+   * create an incomplete row.
+   *
+   * @param timestamps Map from Fact ID to the new 'lastSeenTimestamp' of the Fact
+   */
+  public void refreshLastSeenTimestamps(Map<UUID, Long> timestamps) {
+    if (timestamps == null || timestamps.isEmpty()) return;
+
+    List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+    for (Map.Entry<UUID, Long> entry : timestamps.entrySet()) {
+      futures.add(factAccessor.refreshLastSeenTimestampAsync(entry.getKey(), entry.getValue()));
+    }
+    FutureUtils.waitForAll(futures);
+    // Only update cached Facts after Cassandra has been updated successfully.
+    timestamps.forEach(factCache::updateTimestamp);
+  }
+
+  /**
+   * Migrate the bindings of all Facts which are only stored in the legacy JSON format into the binary format. The
+   * whole table is scanned page by page, thus, this is a long-running operation. Facts which have been migrated
+   * already are skipped, i.e. it's safe to execute the migration multiple times.
+   *
+   * @param cancelled Checked for every Fact, the migration stops as soon as it returns true
+   * @return Number of migrated Facts
+   */
+  public long migrateFactBindings(BooleanSupplier cancelled) {
+    long migrated = 0;
+    List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+    for (FactEntity fact : factAccessor.fetchAll()) {
+      if (cancelled.getAsBoolean()) break;
+      if (fact.getBindingsBinary() != null || StringUtils.isBlank(fact.getBindingsJson())) continue;
+
+      // Re-assigning the bindings encodes them into the binary format.
+      fact.setBindings(fact.getBindings());
+      futures.add(factAccessor.saveBindingsBinaryAsync(fact.getId(), fact.getBindingsBinary()));
+      migrated++;
+
+      // Limit the number of concurrent updates.
+      if (futures.size() >= MIGRATION_CONCURRENCY) {
+        FutureUtils.waitForAll(futures);
+        futures.clear();
+      }
+    }
+    FutureUtils.waitForAll(futures);
+
+    return migrated;
+  }
+
   /* FactAclEntity-related methods */
 
   public List<FactAclEntity> fetchFactAcl(UUID id) {
@@ -172,18 +350,76 @@ public class FactManager implements LifecycleAspect {
     return factAclAccessor.fetch(id).all();
   }
 
+  /**
+   * Asynchronous version of {@link #fetchFactAcl(UUID)}.
+   *
+   * @param id UUID of Fact
+   * @return Future of the ACL of the Fact
+   */
+  public ListenableFuture<List<FactAclEntity>> fetchFactAclAsync(UUID id) {
+    if (id == null) return Futures.immediateFuture(ListUtils.list());
+    return FutureUtils.transform(factAclAccessor.fetchAsync(id), Result::all);
+  }
+
+  /**
+   * Fetch the ACLs of multiple Facts at once. The ACLs are fetched concurrently with at most the configured fetch
+   * concurrency of queries in flight.
+   *
+   * @param id UUIDs of Facts
+   * @return Map from Fact ID to the ACL of the Fact, Facts without ACL are mapped to an empty list
+   */
+  public Map<UUID, List<FactAclEntity>> fetchFactAcls(Collection<UUID> id) {
+    Map<UUID, List<FactAclEntity>> acls = new HashMap<>();
+    if (CollectionUtils.isEmpty(id)) return acls;
+
+    List<UUID> distinctID = id.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    for (List<UUID> chunk : Lists.partition(distinctID, clusterManager.getFetchConcurrency())) {
+      List<ListenableFuture<List<FactAclEntity>>> futures = chunk.stream()
+              .map(this::fetchFactAclAsync)
+              .collect(Collectors.toList());
+      List<List<FactAclEntity>> results = FutureUtils.waitForAll(futures);
+      for (int i = 0; i < chunk.size(); i++) {
+        acls.put(chunk.get(i), results.get(i));
+      }
+    }
+
+    return acls;
+  }
+
   public FactAclEntity saveFactAclEntry(FactAclEntity entry) {
     if (entry == null) return null;
-    if (getFact(entry.getFactID()) == null)
-      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entry.getFactID()));
-    if (factAclMapper.get(entry.getFactID(), entry.getId()) != null)
-      throw new ImmutableViolationException("It is not allowed to update an ACL entry.");
+    if (factAclWriteMode == WriteMode.ReadBeforeWrite) {
+      if (getFact(entry.getFactID()) == null)
+        throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", entry.getFactID()));
+      if (factAclMapper.get(entry.getFactID(), entry.getId()) != null)
+        throw new ImmutableViolationException("It is not allowed to update an ACL entry.");
+    }
 
-    factAclMapper.save(entry);
+    EntityWriter.insert(factAclMapper, entry, factAclWriteMode, "It is not allowed to update an ACL entry.");
 
     return entry;
   }
 
+  /**
+   * Save multiple ACL entries at once. All entries are written concurrently and the method returns after all writes
+   * have completed. As with {@link #saveFactAclEntry(FactAclEntity)} it is not allowed to update existing entries.
+   *
+   * @param entries ACL entries to save
+   * @return Saved ACL entries
+   */
+  public List<FactAclEntity> saveFactAclEntries(List<FactAclEntity> entries) {
+    if (CollectionUtils.isEmpty(entries)) return ListUtils.list();
+    if (factAclWriteMode == WriteMode.ReadBeforeWrite) verifyFactAclEntriesAreNew(entries);
+
+    List<ListenableFuture<Void>> futures = new ArrayList<>();
+    for (FactAclEntity entry : entries) {
+      futures.add(EntityWriter.insertAsync(factAclMapper, entry, factAclWriteMode, "It is not allowed to update an ACL entry."));
+    }
+    FutureUtils.waitForAll(futures);
+
+    return entries;
+  }
+
   /* FactCommentEntity-related methods */
 
   public List<FactCommentEntity> fetchFactComments(UUID id) {
@@ -193,12 +429,14 @@ public class FactManager implements LifecycleAspect {
 
   public FactCommentEntity saveFactComment(FactCommentEntity comment) {
     if (comment == null) return null;
-    if (getFact(comment.getFactID()) == null)
-      throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", comment.getFactID()));
-    if (factCommentMapper.get(comment.getFactID(), comment.getId()) != null)
-      throw new ImmutableViolationException("It is not allowed to update a comment.");
+    if (factCommentWriteMode == WriteMode.ReadBeforeWrite) {
+      if (getFact(comment.getFactID()) == null)
+        throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", comment.getFactID()));
+      if (factCommentMapper.get(comment.getFactID(), comment.getId()) != null)
+        throw new ImmutableViolationException("It is not allowed to update a comment.");
+    }
 
-    factCommentMapper.save(comment);
+    EntityWriter.insert(factCommentMapper, comment, factCommentWriteMode, "It is not allowed to update a comment.");
 
     return comment;
   }
@@ -212,46 +450,70 @@ public class FactManager implements LifecycleAspect {
 
   /* Private helper methods */
 
-  private LoadingCache<UUID, FactTypeEntity> createFactTypeByIdCache() {
-    return CacheBuilder.newBuilder()
-            .expireAfterAccess(10, TimeUnit.MINUTES)
-            .build(new CacheLoader<UUID, FactTypeEntity>() {
-              @Override
-              public FactTypeEntity load(UUID key) throws Exception {
-                return ObjectUtils.notNull(factTypeMapper.get(key), new Exception(String.format("FactType with id = %s does not exist.", key)));
-              }
-            });
-  }
-
-  private LoadingCache<String, FactTypeEntity> createFactTypeByNameCache() {
-    return CacheBuilder.newBuilder()
-            .expireAfterAccess(10, TimeUnit.MINUTES)
-            .build(new CacheLoader<String, FactTypeEntity>() {
-              @Override
-              public FactTypeEntity load(String key) throws Exception {
-                return ObjectUtils.notNull(factTypeAccessor.getByName(key), new Exception(String.format("FactType with name = %s does not exist.", key)));
-              }
-            });
-  }
-
-  private FactTypeEntity getFactTypeOrFail(UUID id) {
+  private void startBindingsMigration() {
+    migrationCancelled = false;
+    migrationExecutor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "FactBindingsMigration");
+      thread.setDaemon(true);
+      return thread;
+    });
+    migrationExecutor.submit(() -> {
+      try {
+        LOGGER.info("Started migration of Fact bindings.");
+        long migrated = migrateFactBindings(() -> migrationCancelled);
+        LOGGER.info("Finished migration of Fact bindings (%d Facts migrated).", migrated);
+      } catch (RuntimeException ex) {
+        LOGGER.error(ex, "Migration of Fact bindings failed.");
+      }
+    });
+  }
+
+  private void stopBindingsMigration() {
+    if (migrationExecutor == null) return;
+
     try {
-      return factTypeByIdCache.get(id);
-    } catch (ExecutionException e) {
-      throw new IllegalArgumentException(e.getCause());
+      migrationCancelled = true;
+      migrationExecutor.shutdown();
+      if (!migrationExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warning("Timed out while waiting for migration of Fact bindings to stop.");
+      }
+    } catch (InterruptedException ex) {
+      LOGGER.warning(ex, "Interrupted while waiting for migration of Fact bindings to stop.");
+      Thread.currentThread().interrupt();
+    } finally {
+      migrationExecutor = null;
     }
   }
 
+  private void verifyFactAclEntriesAreNew(List<FactAclEntity> entries) {
+    Set<UUID> factID = entries.stream().map(FactAclEntity::getFactID).collect(Collectors.toSet());
+    Set<UUID> existingFactID = Streams.stream(factFetcher.fetch(new ArrayList<>(factID)))
+            .map(FactEntity::getId)
+            .collect(Collectors.toSet());
+    for (UUID id : factID) {
+      if (!existingFactID.contains(id)) throw new IllegalArgumentException(String.format("Fact with id = %s does not exist.", id));
+    }
+
+    List<ListenableFuture<FactAclEntity>> existing = new ArrayList<>();
+    for (FactAclEntity entry : entries) {
+      existing.add(factAclMapper.getAsync(entry.getFactID(), entry.getId()));
+    }
+    if (FutureUtils.waitForAll(existing).stream().anyMatch(Objects::nonNull))
+      throw new ImmutableViolationException("It is not allowed to update an ACL entry.");
+  }
+
+  private EntityHandler getEntityHandlerOrFail(UUID typeID) {
+    EntityHandler handler = typeRegistry.getEntityHandlerForFactType(typeID);
+    if (handler == null) throw new IllegalArgumentException(String.format("FactType with id = %s does not exist.", typeID));
+    return handler;
+  }
+
   private FactEntity encodeFactValue(FactEntity fact) {
-    FactTypeEntity type = getFactTypeOrFail(fact.getTypeID());
-    EntityHandler handler = entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter());
-    return fact.setValue(handler.encode(fact.getValue()));
+    return fact.setValue(getEntityHandlerOrFail(fact.getTypeID()).encode(fact.getValue()));
   }
 
   private FactEntity decodeFactValue(FactEntity fact) {
-    FactTypeEntity type = getFactTypeOrFail(fact.getTypeID());
-    EntityHandler handler = entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter());
-    return fact.setValue(handler.decode(fact.getValue()));
+    return fact.setValue(getEntityHandlerOrFail(fact.getTypeID()).decode(fact.getValue()));
   }
 
 }
@@ -0,0 +1,20 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+/**
+ * Strategies for fetching multiple entities by their partition keys.
+ */
+public enum FetchStrategy {
+
+  /**
+   * Split the keys into batches and fetch each batch with one 'IN' query. Every query is sent to one coordinator
+   * which needs to contact all replicas owning any of the keys in the batch.
+   */
+  InClause,
+
+  /**
+   * Fetch each key with a separate single-partition query. Those queries carry routing information, thus, they are
+   * sent directly to a replica owning the key.
+   */
+  PointReads
+
+}
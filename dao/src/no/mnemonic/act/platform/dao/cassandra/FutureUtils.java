@@ -0,0 +1,74 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Helper methods for working with the results of asynchronously executed Cassandra statements.
+ */
+public class FutureUtils {
+
+  // Callbacks must not be executed on the driver's I/O threads because they might perform blocking calls,
+  // e.g. fetching an uncached type or the next page of a result.
+  private static final Executor CALLBACK_EXECUTOR = ForkJoinPool.commonPool();
+
+  private FutureUtils() {
+  }
+
+  /**
+   * Wait until a future has completed and return its result.
+   * <p>
+   * If the future failed the original RuntimeException thrown by the driver is re-thrown, i.e. the behaviour is the
+   * same as executing the statement synchronously.
+   *
+   * @param future Future to wait for
+   * @param <T>    Result type of future
+   * @return Result of future
+   */
+  public static <T> T waitFor(ListenableFuture<T> future) {
+    try {
+      return Uninterruptibles.getUninterruptibly(future);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  /**
+   * Wait until all futures have completed and return their results in the same order as the futures.
+   * <p>
+   * If one of the futures failed the original RuntimeException thrown by the driver is re-thrown, i.e. the behaviour
+   * is the same as executing the statements synchronously.
+   *
+   * @param futures Futures to wait for
+   * @param <T>     Result type of futures
+   * @return Results of all futures
+   */
+  public static <T> List<T> waitForAll(List<ListenableFuture<T>> futures) {
+    return waitFor(Futures.allAsList(futures));
+  }
+
+  /**
+   * Transform the result of a future once it has completed. The transformation is executed outside of the driver's
+   * I/O threads, thus, it is safe to perform blocking calls inside the transformation.
+   *
+   * @param future   Future to transform
+   * @param function Transformation applied to the result of the future
+   * @param <I>      Result type of future
+   * @param <O>      Result type of transformation
+   * @return Future of the transformed result
+   */
+  static <I, O> ListenableFuture<O> transform(ListenableFuture<I> future, Function<? super I, ? extends O> function) {
+    return Futures.transform(future, function::apply, CALLBACK_EXECUTOR);
+  }
+
+}
@@ -0,0 +1,61 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LatencyTracker} recording the latency of every statement executed against Cassandra ('act.cassandra.statements').
+ * Statements are identified by their CQL query string. Because the application only executes prepared statements
+ * (through the mapper and accessors) the number of distinct query strings is small.
+ */
+class MetricsLatencyTracker implements LatencyTracker {
+
+  static final String STATEMENTS_METRIC = "act.cassandra.statements";
+
+  private final MeterRegistry registry;
+
+  MetricsLatencyTracker(MeterRegistry registry) {
+    this.registry = ObjectUtils.notNull(registry, "'registry' is null!");
+  }
+
+  @Override
+  public void update(Host host, Statement statement, Exception exception, long newLatencyNanos) {
+    Timer.builder(STATEMENTS_METRIC)
+            .tag("statement", resolveQuery(statement))
+            .tag("outcome", exception == null ? "success" : exception.getClass().getSimpleName())
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(newLatencyNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void onRegister(Cluster cluster) {
+    // NOOP
+  }
+
+  @Override
+  public void onUnregister(Cluster cluster) {
+    // NOOP
+  }
+
+  private String resolveQuery(Statement statement) {
+    if (statement instanceof BoundStatement) {
+      return ((BoundStatement) statement).preparedStatement().getQueryString();
+    }
+
+    if (statement instanceof BatchStatement) {
+      return "BATCH";
+    }
+
+    if (statement instanceof RegularStatement) {
+      return ((RegularStatement) statement).getQueryString();
+    }
+
+    return statement.getClass().getSimpleName();
+  }
+
+}
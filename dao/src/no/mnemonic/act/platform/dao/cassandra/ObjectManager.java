@@ -1,19 +1,23 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.Result;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import no.mnemonic.act.platform.dao.cassandra.accessors.ObjectAccessor;
-import no.mnemonic.act.platform.dao.cassandra.accessors.ObjectTypeAccessor;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.dao.handlers.EntityHandler;
-import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 import no.mnemonic.commons.component.Dependency;
 import no.mnemonic.commons.component.LifecycleAspect;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -23,12 +27,10 @@ import no.mnemonic.commons.utilities.collections.ListUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.ExecutionException;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static com.datastax.driver.mapping.Mapper.Option.saveNullFields;
 
@@ -37,24 +39,33 @@ public class ObjectManager implements LifecycleAspect {
 
   @Dependency
   private final ClusterManager clusterManager;
-
-  private final EntityHandlerFactory entityHandlerFactory;
-  private final LoadingCache<UUID, ObjectTypeEntity> objectTypeByIdCache;
-  private final LoadingCache<String, ObjectTypeEntity> objectTypeByNameCache;
+  @Dependency
+  private final TypeRegistry typeRegistry;
 
   private Mapper<ObjectTypeEntity> objectTypeMapper;
   private Mapper<ObjectEntity> objectMapper;
   private Mapper<ObjectByTypeValueEntity> objectByTypeValueMapper;
   private Mapper<ObjectFactBindingEntity> objectFactBindingMapper;
-  private ObjectTypeAccessor objectTypeAccessor;
+  private Mapper<ObjectFactBindingBucketEntity> objectFactBindingBucketMapper;
   private ObjectAccessor objectAccessor;
+  private EntityFetcher<ObjectEntity> objectFetcher;
+  private WriteMode objectWriteMode;
+  private WriteMode objectFactBindingWriteMode;
+  private int objectFactBindingPageSize;
+  private int objectFactBindingBuckets;
+  private boolean objectFactStatisticsEnabled;
+  // Near cache of Objects looked up by type and encoded value.
+  private Cache<TypeValueKey, ObjectEntity> objectByTypeValueCache;
+  // Lookups by type and encoded value which didn't find an Object. Entries expire quickly because the Object might be
+  // created by another node in the meantime.
+  private Cache<TypeValueKey, Boolean> missingObjectByTypeValueCache;
+  // Optional cache of Objects looked up by ID, held outside of the heap.
+  private OffHeapEntityCache<ObjectEntity> objectCache;
 
   @Inject
-  public ObjectManager(ClusterManager clusterManager, EntityHandlerFactory factory) {
+  public ObjectManager(ClusterManager clusterManager, TypeRegistry typeRegistry) {
     this.clusterManager = clusterManager;
-    this.entityHandlerFactory = factory;
-    this.objectTypeByIdCache = createObjectTypeByIdCache();
-    this.objectTypeByNameCache = createObjectTypeByNameCache();
+    this.typeRegistry = typeRegistry;
   }
 
   @Override
@@ -63,47 +74,53 @@ public class ObjectManager implements LifecycleAspect {
     objectMapper = clusterManager.getMapper(ObjectEntity.class);
     objectByTypeValueMapper = clusterManager.getMapper(ObjectByTypeValueEntity.class);
     objectFactBindingMapper = clusterManager.getMapper(ObjectFactBindingEntity.class);
-    objectTypeAccessor = clusterManager.getAccessor(ObjectTypeAccessor.class);
+    objectFactBindingBucketMapper = clusterManager.getMapper(ObjectFactBindingBucketEntity.class);
     objectAccessor = clusterManager.getAccessor(ObjectAccessor.class);
+    objectFetcher = new EntityFetcher<>(clusterManager.getFetchStrategy(), clusterManager.getFetchBatchSize(),
+            clusterManager.getFetchConcurrency(), objectAccessor::fetchByIDAsync, id -> objectMapper.getAsync(id), ObjectEntity::getId);
+    objectWriteMode = clusterManager.getWriteMode(ObjectEntity.class);
+    objectFactBindingWriteMode = clusterManager.getWriteMode(ObjectFactBindingEntity.class);
+    objectFactBindingPageSize = clusterManager.getObjectFactBindingPageSize();
+    objectFactBindingBuckets = clusterManager.getObjectFactBindingBuckets();
+    objectFactStatisticsEnabled = clusterManager.isObjectFactStatisticsEnabled();
+    objectByTypeValueCache = GuavaCacheMetrics.monitor(Metrics.globalRegistry, CacheBuilder.newBuilder()
+            .maximumSize(clusterManager.getObjectCacheSize())
+            .expireAfterWrite(clusterManager.getObjectCacheExpiration(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .<TypeValueKey, ObjectEntity>build(), "act.cassandra.object.by.type.value");
+    missingObjectByTypeValueCache = GuavaCacheMetrics.monitor(Metrics.globalRegistry, CacheBuilder.newBuilder()
+            .maximumSize(clusterManager.getObjectCacheSize())
+            .expireAfterWrite(clusterManager.getObjectCacheMissingExpiration(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .<TypeValueKey, Boolean>build(), "act.cassandra.object.by.type.value.missing");
+    objectCache = new OffHeapEntityCache<>("object", clusterManager.getObjectEntityCacheCapacity(), OffHeapEntityCodecs.OBJECT);
 
     // Avoid creating tombstones for null values.
     objectTypeMapper.setDefaultSaveOptions(saveNullFields(false));
     objectMapper.setDefaultSaveOptions(saveNullFields(false));
     objectByTypeValueMapper.setDefaultSaveOptions(saveNullFields(false));
     objectFactBindingMapper.setDefaultSaveOptions(saveNullFields(false));
+    objectFactBindingBucketMapper.setDefaultSaveOptions(saveNullFields(false));
   }
 
   @Override
   public void stopComponent() {
-    // NOOP
+    if (objectCache != null) objectCache.clear();
   }
 
   /* ObjectTypeEntity-related methods */
 
   public ObjectTypeEntity getObjectType(UUID id) {
-    if (id == null) return null;
-
-    try {
-      return objectTypeByIdCache.get(id);
-    } catch (ExecutionException ignored) {
-      // If fetching ObjectType fails just return null in order to be consistent with Cassandra's get().
-      return null;
-    }
+    return typeRegistry.getObjectType(id);
   }
 
   public ObjectTypeEntity getObjectType(String name) {
-    if (StringUtils.isBlank(name)) return null;
-
-    try {
-      return objectTypeByNameCache.get(name);
-    } catch (ExecutionException ignored) {
-      // If fetching ObjectType fails just return null in order to be consistent with Cassandra's get().
-      return null;
-    }
+    return typeRegistry.getObjectType(name);
   }
 
   public List<ObjectTypeEntity> fetchObjectTypes() {
-    return objectTypeAccessor.fetch().all();
+    // Return a copy because callers are allowed to modify the returned list.
+    return new ArrayList<>(typeRegistry.getObjectTypes());
   }
 
   public ObjectTypeEntity saveObjectType(ObjectTypeEntity type) {
@@ -116,8 +133,7 @@ public class ObjectManager implements LifecycleAspect {
     }
 
     objectTypeMapper.save(type);
-    objectTypeByIdCache.invalidate(type.getId());
-    objectTypeByNameCache.invalidate(type.getName());
+    typeRegistry.reloadObjectType(type.getId());
 
     return type;
   }
@@ -126,8 +142,12 @@ public class ObjectManager implements LifecycleAspect {
 
   public ObjectEntity getObject(UUID id) {
     if (id == null) return null;
+
+    ObjectEntity cached = objectCache.get(id);
+    if (cached != null) return cached;
+
     // Decode value using EntityHandler because it's stored encoded.
-    return ObjectUtils.ifNotNull(objectMapper.get(id), this::decodeObjectValue);
+    return ObjectUtils.ifNotNull(objectMapper.get(id), object -> objectCache.put(id, decodeObjectValue(object)));
   }
 
   public ObjectEntity getObject(String type, String value) {
@@ -135,113 +155,469 @@ public class ObjectManager implements LifecycleAspect {
     ObjectTypeEntity objectType = getObjectTypeOrFail(type);
 
     // Encode value using EntityHandler because the mapping value is also stored encoded.
-    String encodedValue = entityHandlerFactory.get(objectType.getEntityHandler(), objectType.getEntityHandlerParameter()).encode(value);
+    String encodedValue = getEntityHandlerOrFail(objectType.getId()).encode(value);
+    TypeValueKey key = new TypeValueKey(objectType.getId(), encodedValue);
+    ObjectEntity cached = objectByTypeValueCache.getIfPresent(key);
+    if (cached != null) return cached.clone();
+    if (missingObjectByTypeValueCache.getIfPresent(key) != null) return null;
+
     ObjectByTypeValueEntity objectByTypeValue = objectAccessor.getObjectByTypeValue(objectType.getId(), encodedValue);
-    return ObjectUtils.ifNotNull(objectByTypeValue, o -> getObject(o.getObjectID()));
+    return cacheObjectByTypeValue(key, ObjectUtils.ifNotNull(objectByTypeValue, o -> getObject(o.getObjectID())));
   }
 
   public Iterator<ObjectEntity> getObjects(List<UUID> id) {
     if (CollectionUtils.isEmpty(id)) return Collections.emptyIterator();
     // Need to decode values using EntityHandler because they're stored encoded.
     // Use Iterators.transform() to do this lazily when objects are pulled from Cassandra.
-    return Iterators.transform(objectAccessor.fetchByID(id).iterator(), this::decodeObjectValue);
+    // Objects which are cached are served from the cache and all others are added to the cache when pulled.
+    return objectCache.getAll(id, missing -> Iterators.transform(objectFetcher.fetch(missing), this::decodeObjectValue), ObjectEntity::getId);
+  }
+
+  /**
+   * Asynchronous version of {@link #getObject(UUID)}.
+   *
+   * @param id UUID of Object
+   * @return Future of the Object, the result will be NULL if the Object does not exist
+   */
+  public ListenableFuture<ObjectEntity> getObjectAsync(UUID id) {
+    if (id == null) return Futures.immediateFuture(null);
+
+    ObjectEntity cached = objectCache.get(id);
+    if (cached != null) return Futures.immediateFuture(cached);
+
+    // Decode value using EntityHandler because it's stored encoded.
+    return FutureUtils.transform(objectMapper.getAsync(id), object -> ObjectUtils.ifNotNull(object, o -> objectCache.put(id, decodeObjectValue(o))));
+  }
+
+  /**
+   * Asynchronous version of {@link #getObject(String, String)}. As with the synchronous version an
+   * IllegalArgumentException is thrown immediately if the ObjectType does not exist.
+   *
+   * @param type  Name of ObjectType
+   * @param value Value of Object
+   * @return Future of the Object, the result will be NULL if the Object does not exist
+   */
+  public ListenableFuture<ObjectEntity> getObjectAsync(String type, String value) {
+    if (StringUtils.isBlank(type) || StringUtils.isBlank(value)) return Futures.immediateFuture(null);
+    ObjectTypeEntity objectType = getObjectTypeOrFail(type);
+
+    // Encode value using EntityHandler because the mapping value is also stored encoded.
+    String encodedValue = getEntityHandlerOrFail(objectType.getId()).encode(value);
+    TypeValueKey key = new TypeValueKey(objectType.getId(), encodedValue);
+    ObjectEntity cached = objectByTypeValueCache.getIfPresent(key);
+    if (cached != null) return Futures.immediateFuture(cached.clone());
+    if (missingObjectByTypeValueCache.getIfPresent(key) != null) return Futures.immediateFuture(null);
+
+    ListenableFuture<ObjectEntity> object = Futures.transformAsync(objectAccessor.getObjectByTypeValueAsync(objectType.getId(), encodedValue), result -> {
+      ObjectByTypeValueEntity objectByTypeValue = result.one();
+      return objectByTypeValue != null ? getObjectAsync(objectByTypeValue.getObjectID()) : Futures.<ObjectEntity>immediateFuture(null);
+    }, MoreExecutors.directExecutor());
+    return Futures.transform(object, o -> cacheObjectByTypeValue(key, o), MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Asynchronous version of {@link #getObjects(List)}. In contrast to the synchronous version all Objects are fetched
+   * and decoded before the returned future completes.
+   *
+   * @param id UUIDs of Objects
+   * @return Future of all existing Objects
+   */
+  public ListenableFuture<List<ObjectEntity>> getObjectsAsync(List<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return Futures.immediateFuture(ListUtils.list());
+    // Use the same cache and fetch strategy as the synchronous version.
+    return objectCache.getAllAsync(id, missing -> FutureUtils.transform(objectFetcher.fetchAsync(missing), result -> result
+            .stream()
+            .map(this::decodeObjectValue)
+            .collect(Collectors.toList())), ObjectEntity::getId);
   }
 
   public ObjectEntity saveObject(ObjectEntity object) {
     if (object == null) return null;
 
-    ObjectTypeEntity type = getObjectTypeOrFail(object.getTypeID());
-
-    // It's not allowed to create the same object multiple times.
-    if (getObject(type.getName(), object.getValue()) != null) {
-      throw new ImmutableViolationException("Object already exists.");
-    }
+    // Verify that the ObjectType exists.
+    getObjectTypeOrFail(object.getTypeID());
 
     // Encode value using EntityHandler to store value in encoded format.
     // Clone entity first in order to not change supplied object instance.
     ObjectEntity persistent = encodeObjectValue(object.clone());
 
+    // It's not allowed to create the same object multiple times. Always read the mapping from Cassandra, the lookup
+    // caches might still claim that the Object doesn't exist although it was created by another node in the meantime.
+    if (objectWriteMode == WriteMode.ReadBeforeWrite &&
+            objectAccessor.getObjectByTypeValue(persistent.getTypeID(), persistent.getValue()) != null) {
+      throw new ImmutableViolationException("Object already exists.");
+    }
+
     // Also save an ObjectByTypeValue mapping.
     ObjectByTypeValueEntity objectByTypeValue = new ObjectByTypeValueEntity()
             .setObjectTypeID(persistent.getTypeID())
             .setObjectValue(persistent.getValue())
             .setObjectID(persistent.getId());
 
+    // The Object itself is keyed by a client-generated ID, thus, it can always be written without any checks.
+    // Uniqueness of type and value is guaranteed by the ObjectByTypeValue mapping. With a lightweight transaction an
+    // Object written by a concurrent loser is never referenced by the mapping.
     objectMapper.save(persistent);
-    objectByTypeValueMapper.save(objectByTypeValue);
+    try {
+      EntityWriter.insert(objectByTypeValueMapper, objectByTypeValue, objectWriteMode, "Object already exists.");
+    } finally {
+      // Drop cached lookups in any case. If the write failed the Object was created by someone else in the meantime.
+      TypeValueKey key = new TypeValueKey(persistent.getTypeID(), persistent.getValue());
+      objectByTypeValueCache.invalidate(key);
+      missingObjectByTypeValueCache.invalidate(key);
+    }
 
     return object;
   }
 
   /* ObjectFactBindingEntity-related methods */
 
+  /**
+   * Fetch all ObjectFactBindings of an Object at once. Prefer {@link #getObjectFactBindings(UUID)} for Objects which
+   * might be bound to a lot of Facts.
+   *
+   * @param id UUID of Object
+   * @return All ObjectFactBindings of the Object
+   */
   public List<ObjectFactBindingEntity> fetchObjectFactBindings(UUID id) {
     if (id == null) return ListUtils.list();
-    return objectAccessor.fetchObjectFactBindings(id).all();
+    return Lists.newArrayList(getObjectFactBindings(id));
+  }
+
+  /**
+   * Iterate over all ObjectFactBindings of an Object. The bindings are fetched from Cassandra page by page while the
+   * returned iterator is consumed, thus, only about one page of bindings is held in memory at a time. If bindings are
+   * spread across buckets the buckets are read one after another.
+   *
+   * @param id UUID of Object
+   * @return Iterator over all ObjectFactBindings of the Object
+   */
+  public Iterator<ObjectFactBindingEntity> getObjectFactBindings(UUID id) {
+    if (id == null) return Collections.emptyIterator();
+
+    // Always read the unbucketed partition, it contains the bindings stored before buckets were enabled.
+    List<Supplier<Iterator<? extends ObjectFactBindingEntity>>> partitions = new ArrayList<>();
+    partitions.add(() -> fetchPaged(objectFactBindingMapper, objectAccessor.fetchObjectFactBindingsStatement(id)));
+    for (int i = 0; i < objectFactBindingBuckets; i++) {
+      int bucket = i;
+      partitions.add(() -> fetchPaged(objectFactBindingBucketMapper, objectAccessor.fetchObjectFactBindingBucketStatement(id, bucket)));
+    }
+
+    // Iterators.concat() only queries the next partition after the previous one has been consumed.
+    return Iterators.concat(Iterators.transform(partitions.iterator(), Supplier::get));
+  }
+
+  /**
+   * Asynchronous version of {@link #fetchObjectFactBindings(UUID)}.
+   *
+   * @param id UUID of Object
+   * @return Future of all ObjectFactBindings of the Object
+   */
+  public ListenableFuture<List<ObjectFactBindingEntity>> fetchObjectFactBindingsAsync(UUID id) {
+    if (id == null) return Futures.immediateFuture(ListUtils.list());
+
+    List<ListenableFuture<List<ObjectFactBindingEntity>>> partitions = new ArrayList<>();
+    partitions.add(FutureUtils.transform(objectAccessor.fetchObjectFactBindingsAsync(id), Result::all));
+    for (int bucket = 0; bucket < objectFactBindingBuckets; bucket++) {
+      partitions.add(FutureUtils.transform(objectAccessor.fetchObjectFactBindingBucketAsync(id, bucket),
+              result -> new ArrayList<ObjectFactBindingEntity>(result.all())));
+    }
+
+    return FutureUtils.transform(Futures.allAsList(partitions), result -> result.stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toList()));
   }
 
   public ObjectFactBindingEntity saveObjectFactBinding(ObjectFactBindingEntity binding) {
     if (binding == null) return null;
-    if (getObject(binding.getObjectID()) == null)
-      throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
-    if (objectFactBindingMapper.get(binding.getObjectID(), binding.getFactID()) != null)
-      throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+    if (objectFactBindingWriteMode == WriteMode.ReadBeforeWrite) {
+      if (getObject(binding.getObjectID()) == null)
+        throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", binding.getObjectID()));
+      if (FutureUtils.waitFor(getObjectFactBindingAsync(binding)) != null)
+        throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+    }
 
-    objectFactBindingMapper.save(binding);
+    FutureUtils.waitFor(insertObjectFactBindingAsync(binding));
 
     return binding;
   }
 
-  /* Private helper methods */
+  /**
+   * Save multiple ObjectFactBindings at once. All bindings are written concurrently and the method returns after all
+   * writes have completed. As with {@link #saveObjectFactBinding(ObjectFactBindingEntity)} it is not allowed to update
+   * existing bindings.
+   *
+   * @param bindings ObjectFactBindings to save
+   * @return Saved ObjectFactBindings
+   */
+  public List<ObjectFactBindingEntity> saveObjectFactBindings(List<ObjectFactBindingEntity> bindings) {
+    if (CollectionUtils.isEmpty(bindings)) return ListUtils.list();
+    if (objectFactBindingWriteMode == WriteMode.ReadBeforeWrite) verifyObjectFactBindingsAreNew(bindings);
+
+    List<ListenableFuture<Void>> futures = new ArrayList<>();
+    for (ObjectFactBindingEntity binding : bindings) {
+      futures.add(insertObjectFactBindingAsync(binding));
+    }
+    FutureUtils.waitForAll(futures);
 
-  private LoadingCache<UUID, ObjectTypeEntity> createObjectTypeByIdCache() {
-    return CacheBuilder.newBuilder()
-            .expireAfterAccess(10, TimeUnit.MINUTES)
-            .build(new CacheLoader<UUID, ObjectTypeEntity>() {
-              @Override
-              public ObjectTypeEntity load(UUID key) throws Exception {
-                return ObjectUtils.notNull(objectTypeMapper.get(key), new Exception(String.format("ObjectType with id = %s does not exist.", key)));
-              }
-            });
+    return bindings;
   }
 
-  private LoadingCache<String, ObjectTypeEntity> createObjectTypeByNameCache() {
-    return CacheBuilder.newBuilder()
-            .expireAfterAccess(10, TimeUnit.MINUTES)
-            .build(new CacheLoader<String, ObjectTypeEntity>() {
-              @Override
-              public ObjectTypeEntity load(String key) throws Exception {
-                return ObjectUtils.notNull(objectTypeAccessor.getByName(key), new Exception(String.format("ObjectType with name = %s does not exist.", key)));
-              }
-            });
+  /* ObjectFactStatisticsEntity-related methods */
+
+  /**
+   * Whether the statistics about Facts bound to Objects maintained in Cassandra cover all Facts and should be used
+   * instead of calculating the statistics with ElasticSearch.
+   *
+   * @return True if the statistics maintained in Cassandra should be used
+   */
+  public boolean isObjectFactStatisticsEnabled() {
+    return objectFactStatisticsEnabled;
   }
 
-  private ObjectTypeEntity getObjectTypeOrFail(UUID id) {
-    try {
-      return objectTypeByIdCache.get(id);
-    } catch (ExecutionException e) {
-      throw new IllegalArgumentException(e.getCause());
+  /**
+   * Add new Facts to the statistics of all Objects bound to the Facts. A Fact is counted once per Object, even if it
+   * is bound to the same Object multiple times. All statistics are written concurrently and the method returns after
+   * all writes have completed.
+   * <p>
+   * The statistics are maintained per FactType, Organization and AccessMode of the Facts. Incrementing the number of
+   * Facts is not idempotent, thus, this method must only be called once for each new Fact.
+   *
+   * @param facts New Facts
+   */
+  public void saveObjectFactStatistics(List<FactEntity> facts) {
+    if (CollectionUtils.isEmpty(facts)) return;
+
+    List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+    for (FactEntity fact : facts) {
+      if (fact == null || CollectionUtils.isEmpty(fact.getBindings())) continue;
+      for (UUID objectID : getBoundObjects(fact)) {
+        futures.add(objectAccessor.incrementObjectFactCountAsync(objectID, fact.getTypeID(), fact.getOrganizationID(), fact.getAccessMode()));
+        futures.add(objectAccessor.updateLastAddedTimestampAsync(objectID, fact.getTypeID(), fact.getOrganizationID(),
+                fact.getAccessMode(), fact.getTimestamp(), toWriteTime(fact.getTimestamp())));
+        futures.add(objectAccessor.updateLastSeenTimestampAsync(objectID, fact.getTypeID(), fact.getOrganizationID(),
+                fact.getAccessMode(), fact.getLastSeenTimestamp(), toWriteTime(fact.getLastSeenTimestamp())));
+      }
     }
+    FutureUtils.waitForAll(futures);
+  }
+
+  /**
+   * Apply the 'lastSeenTimestamp' of existing Facts to the statistics of all Objects bound to the Facts. Older
+   * timestamps never overwrite newer ones, thus, it is safe to apply the same Fact multiple times.
+   *
+   * @param facts Existing Facts with an updated 'lastSeenTimestamp'
+   */
+  public void refreshObjectFactStatistics(List<FactEntity> facts) {
+    if (CollectionUtils.isEmpty(facts)) return;
+
+    List<ListenableFuture<ResultSet>> futures = new ArrayList<>();
+    for (FactEntity fact : facts) {
+      if (fact == null || CollectionUtils.isEmpty(fact.getBindings())) continue;
+      for (UUID objectID : getBoundObjects(fact)) {
+        futures.add(objectAccessor.updateLastSeenTimestampAsync(objectID, fact.getTypeID(), fact.getOrganizationID(),
+                fact.getAccessMode(), fact.getLastSeenTimestamp(), toWriteTime(fact.getLastSeenTimestamp())));
+      }
+    }
+    FutureUtils.waitForAll(futures);
+  }
+
+  /**
+   * Fetch the statistics about Facts bound to multiple Objects. For each Object one partition is read from the
+   * statistics table and one from the counter table, all Objects are fetched concurrently.
+   * <p>
+   * The statistics are returned per FactType, Organization and AccessMode of the bound Facts. No access control is
+   * applied, this is the responsibility of the caller.
+   *
+   * @param id UUIDs of Objects
+   * @return Statistics per Object, Objects without statistics are omitted
+   */
+  public Map<UUID, List<ObjectFactStatisticsEntity>> fetchObjectFactStatistics(Collection<UUID> id) {
+    if (CollectionUtils.isEmpty(id)) return new HashMap<>();
+
+    List<ListenableFuture<List<ObjectFactStatisticsEntity>>> futures = new ArrayList<>();
+    for (UUID objectID : new HashSet<>(id)) {
+      ListenableFuture<Result<ObjectFactCountEntity>> counts = objectAccessor.fetchObjectFactCountsAsync(objectID);
+      ListenableFuture<Result<ObjectFactStatisticsEntity>> statistics = objectAccessor.fetchObjectFactStatisticsAsync(objectID);
+      futures.add(Futures.whenAllSucceed(counts, statistics)
+              .call(() -> mergeObjectFactStatistics(Futures.getDone(counts).all(), Futures.getDone(statistics).all()),
+                      MoreExecutors.directExecutor()));
+    }
+
+    return FutureUtils.waitForAll(futures)
+            .stream()
+            .filter(statistics -> !statistics.isEmpty())
+            .collect(Collectors.toMap(statistics -> statistics.get(0).getObjectID(), statistics -> statistics));
+  }
+
+  /* Private helper methods */
+
+  private ObjectEntity cacheObjectByTypeValue(TypeValueKey key, ObjectEntity object) {
+    if (object != null) {
+      // Clone entity first in order to not share the cached instance with the caller.
+      objectByTypeValueCache.put(key, object.clone());
+    } else {
+      missingObjectByTypeValueCache.put(key, Boolean.TRUE);
+    }
+
+    return object;
+  }
+
+  private ObjectTypeEntity getObjectTypeOrFail(UUID id) {
+    ObjectTypeEntity type = typeRegistry.getObjectType(id);
+    if (type == null) throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", id));
+    return type;
   }
 
   private ObjectTypeEntity getObjectTypeOrFail(String name) {
-    try {
-      return objectTypeByNameCache.get(name);
-    } catch (ExecutionException e) {
-      throw new IllegalArgumentException(e.getCause());
+    ObjectTypeEntity type = typeRegistry.getObjectType(name);
+    if (type == null) throw new IllegalArgumentException(String.format("ObjectType with name = %s does not exist.", name));
+    return type;
+  }
+
+  private EntityHandler getEntityHandlerOrFail(UUID typeID) {
+    EntityHandler handler = typeRegistry.getEntityHandlerForObjectType(typeID);
+    if (handler == null) throw new IllegalArgumentException(String.format("ObjectType with id = %s does not exist.", typeID));
+    return handler;
+  }
+
+  private void verifyObjectFactBindingsAreNew(List<ObjectFactBindingEntity> bindings) {
+    Set<UUID> objectID = bindings.stream().map(ObjectFactBindingEntity::getObjectID).collect(Collectors.toSet());
+    Set<UUID> existingObjectID = Streams.stream(objectFetcher.fetch(new ArrayList<>(objectID)))
+            .map(ObjectEntity::getId)
+            .collect(Collectors.toSet());
+    for (UUID id : objectID) {
+      if (!existingObjectID.contains(id)) throw new IllegalArgumentException(String.format("Object with id = %s does not exist.", id));
+    }
+
+    List<ListenableFuture<ObjectFactBindingEntity>> existing = new ArrayList<>();
+    for (ObjectFactBindingEntity binding : bindings) {
+      existing.add(getObjectFactBindingAsync(binding));
+    }
+    if (FutureUtils.waitForAll(existing).stream().anyMatch(Objects::nonNull))
+      throw new ImmutableViolationException("It is not allowed to update an ObjectFactBinding.");
+  }
+
+  private ListenableFuture<ObjectFactBindingEntity> getObjectFactBindingAsync(ObjectFactBindingEntity binding) {
+    if (objectFactBindingBuckets == 0) {
+      return objectFactBindingMapper.getAsync(binding.getObjectID(), binding.getFactID());
+    }
+
+    return FutureUtils.transform(objectFactBindingBucketMapper.getAsync(binding.getObjectID(), bucketOf(binding), binding.getFactID()),
+            existing -> existing);
+  }
+
+  private ListenableFuture<Void> insertObjectFactBindingAsync(ObjectFactBindingEntity binding) {
+    if (objectFactBindingBuckets == 0) {
+      return EntityWriter.insertAsync(objectFactBindingMapper, binding, objectFactBindingWriteMode,
+              "It is not allowed to update an ObjectFactBinding.");
     }
+
+    ObjectFactBindingBucketEntity bucketed = new ObjectFactBindingBucketEntity().setBucket(bucketOf(binding));
+    bucketed.setObjectID(binding.getObjectID())
+            .setFactID(binding.getFactID())
+            .setDirection(binding.getDirection())
+            .setFactTypeID(binding.getFactTypeID())
+            .setAccessMode(binding.getAccessMode())
+            .setOrganizationID(binding.getOrganizationID())
+            .setFactBindingsStored(binding.getFactBindingsStored());
+    return EntityWriter.insertAsync(objectFactBindingBucketMapper, bucketed, objectFactBindingWriteMode,
+            "It is not allowed to update an ObjectFactBinding.");
+  }
+
+  private Set<UUID> getBoundObjects(FactEntity fact) {
+    return fact.getBindings()
+            .stream()
+            .map(FactEntity.FactObjectBinding::getObjectID)
+            .collect(Collectors.toSet());
+  }
+
+  private long toWriteTime(long timestamp) {
+    // Cassandra expects the write time in microseconds.
+    return TimeUnit.MILLISECONDS.toMicros(timestamp);
+  }
+
+  private List<ObjectFactStatisticsEntity> mergeObjectFactStatistics(List<ObjectFactCountEntity> counts,
+                                                                     List<ObjectFactStatisticsEntity> statistics) {
+    // Both tables share the same primary key. Counts and timestamps are written independently of each other, thus, a
+    // row might only exist in one of the tables if a write failed half-way.
+    Map<List<Object>, ObjectFactStatisticsEntity> merged = new HashMap<>();
+    for (ObjectFactStatisticsEntity statistic : statistics) {
+      merged.put(statisticsKey(statistic.getFactTypeID(), statistic.getOrganizationID(), statistic.getAccessMode()), statistic);
+    }
+    for (ObjectFactCountEntity count : counts) {
+      merged.computeIfAbsent(statisticsKey(count.getFactTypeID(), count.getOrganizationID(), count.getAccessMode()),
+              key -> new ObjectFactStatisticsEntity()
+                      .setObjectID(count.getObjectID())
+                      .setFactTypeID(count.getFactTypeID())
+                      .setOrganizationID(count.getOrganizationID())
+                      .setAccessMode(count.getAccessMode()))
+              .setFactCount(count.getFactCount());
+    }
+
+    return new ArrayList<>(merged.values());
+  }
+
+  private List<Object> statisticsKey(UUID factTypeID, UUID organizationID, AccessMode accessMode) {
+    return Arrays.asList(factTypeID, organizationID, accessMode);
+  }
+
+  private int bucketOf(ObjectFactBindingEntity binding) {
+    // The hash code of a UUID is stable, thus, a binding is always stored in the same bucket.
+    return Math.floorMod(binding.getFactID().hashCode(), objectFactBindingBuckets);
+  }
+
+  private <T> Iterator<T> fetchPaged(Mapper<T> mapper, Statement statement) {
+    ResultSet resultSet = mapper.getManager().getSession().execute(statement.setFetchSize(objectFactBindingPageSize));
+    Iterator<T> entities = mapper.map(resultSet).iterator();
+    int prefetchThreshold = Math.max(1, objectFactBindingPageSize / 4);
+
+    return new Iterator<T>() {
+      @Override
+      public boolean hasNext() {
+        return entities.hasNext();
+      }
+
+      @Override
+      public T next() {
+        // Start fetching the next page in the background shortly before the current page is consumed.
+        if (resultSet.getAvailableWithoutFetching() == prefetchThreshold && !resultSet.isFullyFetched()) {
+          resultSet.fetchMoreResults();
+        }
+        return entities.next();
+      }
+    };
   }
 
   private ObjectEntity encodeObjectValue(ObjectEntity object) {
-    ObjectTypeEntity type = getObjectTypeOrFail(object.getTypeID());
-    EntityHandler handler = entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter());
-    return object.setValue(handler.encode(object.getValue()));
+    return object.setValue(getEntityHandlerOrFail(object.getTypeID()).encode(object.getValue()));
   }
 
   private ObjectEntity decodeObjectValue(ObjectEntity object) {
-    ObjectTypeEntity type = getObjectTypeOrFail(object.getTypeID());
-    EntityHandler handler = entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter());
-    return object.setValue(handler.decode(object.getValue()));
+    return object.setValue(getEntityHandlerOrFail(object.getTypeID()).decode(object.getValue()));
+  }
+
+  private static class TypeValueKey {
+    private final UUID typeID;
+    private final String value;
+
+    private TypeValueKey(UUID typeID, String value) {
+      this.typeID = typeID;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      TypeValueKey that = (TypeValueKey) o;
+      return Objects.equals(typeID, that.typeID) && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Objects.hashCode(typeID) + Objects.hashCode(value);
+    }
   }
 
 }
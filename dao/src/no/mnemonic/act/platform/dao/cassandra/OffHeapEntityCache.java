@@ -0,0 +1,450 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache holding the serialized form of immutable entities outside of the Java heap.
+ * <p>
+ * The cache memory is split up into fixed-size segments of direct ByteBuffers which are filled like a log. New entries
+ * are appended to the current segment. When all segments are full the oldest segment is recycled and the entries
+ * stored in it are evicted at once, i.e. eviction is FIFO per segment. Entries which have been read since they were
+ * written get a second chance (like the clock algorithm): they're re-appended to the recycled segment instead of being
+ * evicted, using at most half of the segment. Only a small index from entity ID to the entry's location is kept on
+ * the heap.
+ * <p>
+ * Each entry carries one mutable timestamp (e.g. the 'lastSeenTimestamp' of a Fact) in its header which can be updated
+ * in place without rewriting or evicting the entry.
+ * <p>
+ * Readers don't take any locks. They validate optimistically that the segment they read from hasn't been recycled in
+ * the meantime and treat the lookup as a miss otherwise.
+ *
+ * @param <T> Type of cached entities
+ */
+class OffHeapEntityCache<T> {
+
+  private static final Logger LOGGER = Logging.getLogger(OffHeapEntityCache.class);
+
+  // Entry layout: timestamp (8 bytes), entry length (4 bytes), ID (16 bytes), serialized entity.
+  private static final int TIMESTAMP_OFFSET = 0;
+  private static final int LENGTH_OFFSET = 8;
+  private static final int KEY_OFFSET = 12;
+  private static final int HEADER_SIZE = 28;
+  private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final int GENERATION_MASK = 0xFFFF;
+  private static final int OFFSET_MASK = 0x7FFFFFFF;
+  // Set in the location of an entry once it has been read. Offsets never use this bit because of MAX_SEGMENT_SIZE.
+  private static final long REFERENCED_FLAG = 1L << 31;
+
+  private final Codec<T> codec;
+  private final int segmentSize;
+  private final ByteBuffer[] segments;
+  private final int[] generations;
+  private final StampedLock[] segmentLocks;
+  private final Map<UUID, Long> index = new ConcurrentHashMap<>();
+  // IDs of the entries written into each segment. Used to evict only those entries when a segment is recycled.
+  private final List<List<UUID>> segmentKeys;
+  private final Object writeLock = new Object();
+  private final Counter hits;
+  private final Counter misses;
+
+  private int currentSegment;
+  private int writeOffset;
+
+  /**
+   * Create a new cache.
+   *
+   * @param name     Name of the cache, used for metrics
+   * @param capacity Maximum number of bytes allocated outside of the heap, 0 disables the cache
+   * @param codec    Codec used to serialize entities
+   */
+  OffHeapEntityCache(String name, long capacity, Codec<T> codec) {
+    if (capacity < 0) throw new IllegalArgumentException("'capacity' must not be negative!");
+    this.codec = ObjectUtils.notNull(codec, "'codec' is required!");
+
+    // Use at least two segments in order to not evict everything at once.
+    int numberOfSegments = capacity > 0 ? (int) Math.max(2, (capacity + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE) : 0;
+    this.segmentSize = numberOfSegments > 0 ? (int) Math.min(MAX_SEGMENT_SIZE, capacity / numberOfSegments) & ~7 : 0;
+    this.segments = new ByteBuffer[numberOfSegments];
+    this.generations = new int[numberOfSegments];
+    this.segmentLocks = new StampedLock[numberOfSegments];
+    this.segmentKeys = new ArrayList<>(numberOfSegments);
+    for (int i = 0; i < numberOfSegments; i++) {
+      segmentLocks[i] = new StampedLock();
+      segmentKeys.add(new ArrayList<>());
+    }
+
+    Tags tags = Tags.of("cache", name);
+    this.hits = Metrics.counter("act.cassandra.entity.cache.hits", tags);
+    this.misses = Metrics.counter("act.cassandra.entity.cache.misses", tags);
+    Metrics.gaugeMapSize("act.cassandra.entity.cache.entries", tags, index);
+  }
+
+  /**
+   * Returns true if the cache has been configured with a capacity greater than 0.
+   *
+   * @return True if enabled
+   */
+  boolean isEnabled() {
+    return segments.length > 0;
+  }
+
+  /**
+   * Returns a new instance of a cached entity.
+   *
+   * @param id ID of entity
+   * @return Cached entity or null if the entity isn't cached
+   */
+  T get(UUID id) {
+    if (!isEnabled() || id == null) return null;
+
+    Long location = index.get(id);
+    T entity = ObjectUtils.ifNotNull(location, l -> read(id, l));
+    if (entity == null) {
+      // Remove stale location, but only if it hasn't been replaced concurrently.
+      if (location != null) index.remove(id, location);
+      misses.increment();
+      return null;
+    }
+
+    // Mark entry as recently used, it will survive the next recycling of its segment.
+    if ((location & REFERENCED_FLAG) == 0) index.replace(id, location, location | REFERENCED_FLAG);
+    hits.increment();
+    return entity;
+  }
+
+  /**
+   * Returns all requested entities in the order of the requested IDs. Entities which aren't cached are fetched lazily
+   * using the provided loader and added to the cache. The loader must return the existing entities in the order of
+   * the requested IDs and skip IDs which don't exist.
+   *
+   * @param ids          IDs of entities
+   * @param loader       Loader fetching entities which aren't cached
+   * @param keyExtractor Function returning the ID of an entity
+   * @return Iterator over all existing entities
+   */
+  Iterator<T> getAll(List<UUID> ids, Function<List<UUID>, Iterator<T>> loader, Function<T, UUID> keyExtractor) {
+    if (CollectionUtils.isEmpty(ids)) return Collections.emptyIterator();
+    if (!isEnabled()) return loader.apply(ids);
+
+    List<UUID> distinctIDs = new ArrayList<>(new LinkedHashSet<>(ids));
+    Map<UUID, T> cached = new HashMap<>();
+    List<UUID> missing = lookup(distinctIDs, cached);
+    if (missing.isEmpty()) return distinctIDs.stream().map(cached::get).iterator();
+
+    PeekingIterator<T> loaded = Iterators.peekingIterator(loader.apply(missing));
+    Iterator<UUID> remainingIDs = distinctIDs.iterator();
+    return new AbstractIterator<T>() {
+      @Override
+      protected T computeNext() {
+        while (remainingIDs.hasNext()) {
+          UUID id = remainingIDs.next();
+          T entity = cached.get(id);
+          if (entity != null) return entity;
+          // The loader skips non-existing entities, thus, only consume the next loaded entity if it matches.
+          if (loaded.hasNext() && Objects.equals(keyExtractor.apply(loaded.peek()), id)) {
+            return put(id, loaded.next());
+          }
+        }
+        return endOfData();
+      }
+    };
+  }
+
+  /**
+   * Asynchronous version of {@link #getAll(List, Function, Function)}. Entities which aren't cached are fetched using
+   * the provided loader and added to the cache once the loader has completed. In contrast to the synchronous version
+   * the loader may return the entities in any order.
+   *
+   * @param ids          IDs of entities
+   * @param loader       Loader fetching entities which aren't cached
+   * @param keyExtractor Function returning the ID of an entity
+   * @return Future of all existing entities in the order of the requested IDs
+   */
+  ListenableFuture<List<T>> getAllAsync(List<UUID> ids, Function<List<UUID>, ListenableFuture<List<T>>> loader,
+                                        Function<T, UUID> keyExtractor) {
+    if (CollectionUtils.isEmpty(ids)) return Futures.immediateFuture(new ArrayList<>());
+    if (!isEnabled()) return loader.apply(ids);
+
+    List<UUID> distinctIDs = new ArrayList<>(new LinkedHashSet<>(ids));
+    Map<UUID, T> cached = new HashMap<>();
+    List<UUID> missing = lookup(distinctIDs, cached);
+    if (missing.isEmpty()) return Futures.immediateFuture(distinctIDs.stream().map(cached::get).collect(Collectors.toList()));
+
+    return Futures.transform(loader.apply(missing), loaded -> {
+      for (T entity : loaded) {
+        UUID id = keyExtractor.apply(entity);
+        cached.put(id, put(id, entity));
+      }
+      return distinctIDs.stream()
+              .map(cached::get)
+              .filter(Objects::nonNull)
+              .collect(Collectors.toList());
+    }, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Add an entity to the cache. Entities which are too large for one segment are silently ignored.
+   *
+   * @param id     ID of entity
+   * @param entity Entity to cache
+   * @return The provided entity
+   */
+  T put(UUID id, T entity) {
+    if (!isEnabled() || id == null || entity == null) return entity;
+
+    byte[] payload;
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      codec.encode(entity, new DataOutputStream(bytes));
+      payload = bytes.toByteArray();
+    } catch (IOException | RuntimeException ex) {
+      LOGGER.warning(ex, "Could not serialize entity with id = %s.", id);
+      return entity;
+    }
+
+    // Align entries to 8 bytes in order to update timestamps with aligned writes.
+    int entryLength = (HEADER_SIZE + payload.length + 7) & ~7;
+    if (entryLength > segmentSize) return entity;
+
+    synchronized (writeLock) {
+      if (segments[currentSegment] == null || writeOffset + entryLength > segmentSize) {
+        advanceSegment(entryLength);
+      }
+
+      ByteBuffer buffer = segments[currentSegment].duplicate();
+      buffer.position(writeOffset);
+      buffer.putLong(codec.timestamp(entity))
+              .putInt(entryLength)
+              .putLong(id.getMostSignificantBits())
+              .putLong(id.getLeastSignificantBits())
+              .put(payload);
+
+      index.put(id, location(currentSegment, generations[currentSegment], writeOffset));
+      segmentKeys.get(currentSegment).add(id);
+      writeOffset += entryLength;
+    }
+
+    return entity;
+  }
+
+  /**
+   * Update the timestamp of a cached entity in place. Nothing happens if the entity isn't cached.
+   *
+   * @param id        ID of entity
+   * @param timestamp New timestamp
+   */
+  void updateTimestamp(UUID id, long timestamp) {
+    if (!isEnabled() || id == null) return;
+
+    Long location = index.get(id);
+    if (location == null) return;
+
+    // Segments are only recycled while holding the write lock, thus, the location can be verified safely.
+    synchronized (writeLock) {
+      int segment = segmentOf(location);
+      if (generations[segment] != generationOf(location)) return;
+      segments[segment].putLong(offsetOf(location) + TIMESTAMP_OFFSET, timestamp);
+    }
+  }
+
+  /**
+   * Remove all entries from the cache. The allocated memory is kept and reused.
+   */
+  void clear() {
+    synchronized (writeLock) {
+      for (int i = 0; i < segments.length; i++) {
+        long stamp = segmentLocks[i].writeLock();
+        generations[i] = (generations[i] + 1) & GENERATION_MASK;
+        segmentLocks[i].unlockWrite(stamp);
+      }
+      index.clear();
+      segmentKeys.forEach(List::clear);
+      currentSegment = 0;
+      writeOffset = 0;
+    }
+  }
+
+  /**
+   * Returns the number of cached entities.
+   *
+   * @return Number of entries
+   */
+  int size() {
+    return index.size();
+  }
+
+  private List<UUID> lookup(List<UUID> ids, Map<UUID, T> cached) {
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : ids) {
+      T entity = get(id);
+      if (entity != null) {
+        cached.put(id, entity);
+      } else {
+        missing.add(id);
+      }
+    }
+    return missing;
+  }
+
+  private T read(UUID id, long location) {
+    int segment = segmentOf(location);
+    int offset = offsetOf(location);
+    StampedLock lock = segmentLocks[segment];
+
+    long stamp = lock.tryOptimisticRead();
+    if (stamp == 0 || generations[segment] != generationOf(location)) return null;
+
+    T entity;
+    try {
+      ByteBuffer buffer = segments[segment].duplicate();
+      int entryLength = buffer.getInt(offset + LENGTH_OFFSET);
+      if (entryLength < HEADER_SIZE || offset + entryLength > segmentSize) return null;
+      if (buffer.getLong(offset + KEY_OFFSET) != id.getMostSignificantBits()
+              || buffer.getLong(offset + KEY_OFFSET + 8) != id.getLeastSignificantBits()) return null;
+
+      long timestamp = buffer.getLong(offset + TIMESTAMP_OFFSET);
+      buffer.limit(offset + entryLength).position(offset + HEADER_SIZE);
+      entity = codec.decode(buffer.slice(), timestamp);
+    } catch (RuntimeException ignored) {
+      // The segment was overwritten while reading, validation below will fail.
+      entity = null;
+    }
+
+    // Discard the result if the segment has been recycled while reading.
+    return lock.validate(stamp) ? entity : null;
+  }
+
+  private void advanceSegment(int requiredBytes) {
+    // The very first write starts in segment 0, all following writes move on to the next (oldest) segment.
+    if (segments[currentSegment] != null) {
+      currentSegment = (currentSegment + 1) % segments.length;
+    }
+
+    if (segments[currentSegment] == null) {
+      segments[currentSegment] = ByteBuffer.allocateDirect(segmentSize);
+      writeOffset = 0;
+    } else {
+      // Recycle oldest segment, new entries are appended after the retained entries.
+      writeOffset = recycleSegment(currentSegment, Math.min(segmentSize / 2, segmentSize - requiredBytes));
+    }
+  }
+
+  private int recycleSegment(int recycled, int maxRetainedBytes) {
+    int evictedGeneration = generations[recycled];
+    int newGeneration = (evictedGeneration + 1) & GENERATION_MASK;
+    List<UUID> keys = segmentKeys.get(recycled);
+
+    // Copy out all entries which have been read since they were written. Only use a part of the segment for them
+    // in order to leave room for new entries.
+    ByteBuffer source = segments[recycled].duplicate();
+    Map<UUID, byte[]> retained = new LinkedHashMap<>();
+    Map<UUID, Long> retainedLocations = new HashMap<>();
+    int retainedBytes = 0;
+    for (UUID id : keys) {
+      Long location = index.get(id);
+      if (location == null || (location & REFERENCED_FLAG) == 0 || !isLocatedIn(location, recycled, evictedGeneration)) continue;
+      // The same ID is listed multiple times if the entity has been written into the segment more than once.
+      if (retained.containsKey(id)) continue;
+
+      int offset = offsetOf(location);
+      int entryLength = source.getInt(offset + LENGTH_OFFSET);
+      if (retainedBytes + entryLength > maxRetainedBytes) continue;
+
+      byte[] entry = new byte[entryLength];
+      source.position(offset);
+      source.get(entry);
+      retained.put(id, entry);
+      retainedLocations.put(id, location(recycled, newGeneration, retainedBytes));
+      retainedBytes += entryLength;
+    }
+
+    // Re-append the retained entries while holding the segment lock, thus, readers of the evicted generation
+    // won't see partially overwritten entries.
+    long stamp = segmentLocks[recycled].writeLock();
+    try {
+      generations[recycled] = newGeneration;
+      ByteBuffer target = segments[recycled].duplicate();
+      target.position(0);
+      retained.values().forEach(target::put);
+    } finally {
+      segmentLocks[recycled].unlockWrite(stamp);
+    }
+
+    // Only visit the entries written into the recycled segment instead of scanning the whole index. An entry might
+    // have been written again into a newer segment in the meantime, thus, only touch it if it still points here.
+    for (UUID id : keys) {
+      index.computeIfPresent(id, (key, location) -> isLocatedIn(location, recycled, evictedGeneration) ?
+              retainedLocations.get(key) : location);
+    }
+    keys.clear();
+    keys.addAll(retained.keySet());
+
+    return retainedBytes;
+  }
+
+  private static boolean isLocatedIn(long location, int segment, int generation) {
+    return segmentOf(location) == segment && generationOf(location) == generation;
+  }
+
+  private static long location(int segment, int generation, int offset) {
+    return ((long) segment << 48) | ((long) generation << 32) | (offset & 0xFFFFFFFFL);
+  }
+
+  private static int segmentOf(long location) {
+    return (int) (location >>> 48);
+  }
+
+  private static int generationOf(long location) {
+    return (int) (location >>> 32) & GENERATION_MASK;
+  }
+
+  private static int offsetOf(long location) {
+    return (int) location & OFFSET_MASK;
+  }
+
+  /**
+   * Serializes entities into the cache and back.
+   *
+   * @param <T> Type of entities
+   */
+  interface Codec<T> {
+    /**
+     * Serialize an entity without its timestamp.
+     */
+    void encode(T entity, DataOutput out) throws IOException;
+
+    /**
+     * Create a new entity from its serialized form and its current timestamp.
+     */
+    T decode(ByteBuffer buffer, long timestamp);
+
+    /**
+     * Returns the mutable timestamp of an entity which is stored separately.
+     */
+    long timestamp(T entity);
+  }
+
+}
@@ -0,0 +1,145 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codecs serializing decoded entities into an {@link OffHeapEntityCache}. The serialized form only lives as long as
+ * the cache, thus, it doesn't need to be stable across versions.
+ */
+class OffHeapEntityCodecs {
+
+  private static final AccessMode[] ACCESS_MODES = AccessMode.values();
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  static final OffHeapEntityCache.Codec<FactEntity> FACT = new OffHeapEntityCache.Codec<FactEntity>() {
+    @Override
+    public void encode(FactEntity fact, DataOutput out) throws IOException {
+      writeUUID(out, fact.getId());
+      writeUUID(out, fact.getTypeID());
+      writeString(out, fact.getValue());
+      writeUUID(out, fact.getInReferenceToID());
+      writeUUID(out, fact.getOrganizationID());
+      writeUUID(out, fact.getSourceID());
+      out.writeInt(fact.getAccessMode() != null ? fact.getAccessMode().ordinal() : -1);
+      out.writeInt(fact.getConfidenceLevel());
+      out.writeLong(fact.getTimestamp());
+
+      List<FactEntity.FactObjectBinding> bindings = ListUtils.list(fact.getBindings());
+      out.writeInt(bindings.size());
+      for (FactEntity.FactObjectBinding binding : bindings) {
+        writeUUID(out, binding.getObjectID());
+        out.writeInt(binding.getDirection() != null ? binding.getDirection().ordinal() : -1);
+      }
+    }
+
+    @Override
+    public FactEntity decode(ByteBuffer buffer, long timestamp) {
+      FactEntity fact = new FactEntity()
+              .setId(readUUID(buffer))
+              .setTypeID(readUUID(buffer))
+              .setValue(readString(buffer))
+              .setInReferenceToID(readUUID(buffer))
+              .setOrganizationID(readUUID(buffer))
+              .setSourceID(readUUID(buffer))
+              .setAccessMode(readEnum(buffer, ACCESS_MODES))
+              .setConfidenceLevel(buffer.getInt())
+              .setTimestamp(buffer.getLong())
+              .setLastSeenTimestamp(timestamp);
+
+      int size = buffer.getInt();
+      if (size == 0) return fact;
+      if (size < 0 || size > buffer.remaining()) throw new IllegalStateException("Corrupted cache entry.");
+
+      List<FactEntity.FactObjectBinding> bindings = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        bindings.add(new FactEntity.FactObjectBinding()
+                .setObjectID(readUUID(buffer))
+                .setDirection(readEnum(buffer, DIRECTIONS)));
+      }
+
+      return fact.setBindings(bindings);
+    }
+
+    @Override
+    public long timestamp(FactEntity fact) {
+      return fact.getLastSeenTimestamp();
+    }
+  };
+
+  static final OffHeapEntityCache.Codec<ObjectEntity> OBJECT = new OffHeapEntityCache.Codec<ObjectEntity>() {
+    @Override
+    public void encode(ObjectEntity object, DataOutput out) throws IOException {
+      writeUUID(out, object.getId());
+      writeUUID(out, object.getTypeID());
+      writeString(out, object.getValue());
+    }
+
+    @Override
+    public ObjectEntity decode(ByteBuffer buffer, long timestamp) {
+      return new ObjectEntity()
+              .setId(readUUID(buffer))
+              .setTypeID(readUUID(buffer))
+              .setValue(readString(buffer));
+    }
+
+    @Override
+    public long timestamp(ObjectEntity object) {
+      // Objects don't have a mutable timestamp.
+      return 0;
+    }
+  };
+
+  private OffHeapEntityCodecs() {
+  }
+
+  private static void writeUUID(DataOutput out, UUID uuid) throws IOException {
+    out.writeBoolean(uuid != null);
+    if (uuid == null) return;
+    out.writeLong(uuid.getMostSignificantBits());
+    out.writeLong(uuid.getLeastSignificantBits());
+  }
+
+  private static UUID readUUID(ByteBuffer buffer) {
+    if (buffer.get() == 0) return null;
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  private static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0) return null;
+    if (length > buffer.remaining()) throw new IllegalStateException("Corrupted cache entry.");
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static <E> E readEnum(ByteBuffer buffer, E[] values) {
+    int ordinal = buffer.getInt();
+    return ordinal >= 0 ? values[ordinal] : null;
+  }
+
+}
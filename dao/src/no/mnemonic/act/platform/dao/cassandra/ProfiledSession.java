@@ -0,0 +1,164 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Map;
+
+/**
+ * {@link Session} applying the read and write consistency levels of a {@link DriverProfile} to all statements.
+ * <p>
+ * The mapper and accessors only execute prepared statements, thus, the settings are applied once when a statement is
+ * prepared and are inherited by every statement bound from it. SELECT statements are additionally marked as
+ * idempotent which allows the driver to execute them speculatively. Writes are never marked as idempotent because
+ * lightweight transactions must not be executed twice. Settings explicitly set on a statement are not overridden.
+ */
+class ProfiledSession implements Session {
+
+  private final Session delegate;
+  private final ConsistencyLevel readConsistencyLevel;
+  private final ConsistencyLevel writeConsistencyLevel;
+
+  ProfiledSession(Session delegate, DriverProfile profile) {
+    this.delegate = ObjectUtils.notNull(delegate, "'delegate' is required!");
+    ObjectUtils.notNull(profile, "'profile' is required!");
+    this.readConsistencyLevel = profile.getReadConsistencyLevel();
+    this.writeConsistencyLevel = profile.getWriteConsistencyLevel();
+  }
+
+  @Override
+  public String getLoggedKeyspace() {
+    return delegate.getLoggedKeyspace();
+  }
+
+  @Override
+  public Session init() {
+    delegate.init();
+    return this;
+  }
+
+  @Override
+  public ListenableFuture<Session> initAsync() {
+    return Futures.transform(delegate.initAsync(), session -> (Session) this, MoreExecutors.directExecutor());
+  }
+
+  @Override
+  public ResultSet execute(String query) {
+    return execute(new SimpleStatement(query));
+  }
+
+  @Override
+  public ResultSet execute(String query, Object... values) {
+    return execute(new SimpleStatement(query, values));
+  }
+
+  @Override
+  public ResultSet execute(String query, Map<String, Object> values) {
+    return execute(new SimpleStatement(query, values));
+  }
+
+  @Override
+  public ResultSet execute(Statement statement) {
+    return delegate.execute(apply(statement));
+  }
+
+  @Override
+  public ResultSetFuture executeAsync(String query) {
+    return executeAsync(new SimpleStatement(query));
+  }
+
+  @Override
+  public ResultSetFuture executeAsync(String query, Object... values) {
+    return executeAsync(new SimpleStatement(query, values));
+  }
+
+  @Override
+  public ResultSetFuture executeAsync(String query, Map<String, Object> values) {
+    return executeAsync(new SimpleStatement(query, values));
+  }
+
+  @Override
+  public ResultSetFuture executeAsync(Statement statement) {
+    return delegate.executeAsync(apply(statement));
+  }
+
+  @Override
+  public PreparedStatement prepare(String query) {
+    return apply(delegate.prepare(query));
+  }
+
+  @Override
+  public PreparedStatement prepare(RegularStatement statement) {
+    return apply(delegate.prepare(statement));
+  }
+
+  @Override
+  public ListenableFuture<PreparedStatement> prepareAsync(String query) {
+    return Futures.transform(delegate.prepareAsync(query), this::apply, MoreExecutors.directExecutor());
+  }
+
+  @Override
+  public ListenableFuture<PreparedStatement> prepareAsync(RegularStatement statement) {
+    return Futures.transform(delegate.prepareAsync(statement), this::apply, MoreExecutors.directExecutor());
+  }
+
+  @Override
+  public CloseFuture closeAsync() {
+    return delegate.closeAsync();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return delegate.isClosed();
+  }
+
+  @Override
+  public Cluster getCluster() {
+    return delegate.getCluster();
+  }
+
+  @Override
+  public State getState() {
+    return delegate.getState();
+  }
+
+  private PreparedStatement apply(PreparedStatement statement) {
+    if (statement == null) return null;
+
+    boolean read = isRead(statement.getQueryString());
+    if (statement.getConsistencyLevel() == null) {
+      statement.setConsistencyLevel(read ? readConsistencyLevel : writeConsistencyLevel);
+    }
+    if (read && statement.isIdempotent() == null) {
+      statement.setIdempotent(true);
+    }
+
+    return statement;
+  }
+
+  private Statement apply(Statement statement) {
+    // Bound statements inherit the settings of their prepared statement. Only non-prepared statements are handled here.
+    if (!(statement instanceof RegularStatement) || statement.getConsistencyLevel() != null) return statement;
+
+    boolean read = isRead(((RegularStatement) statement).getQueryString());
+    statement.setConsistencyLevel(read ? readConsistencyLevel : writeConsistencyLevel);
+    if (read && statement.isIdempotent() == null) {
+      statement.setIdempotent(true);
+    }
+
+    return statement;
+  }
+
+  private static boolean isRead(String query) {
+    return query != null && query.trim().regionMatches(true, 0, "SELECT", 0, 6);
+  }
+
+}
@@ -0,0 +1,390 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.mapping.Mapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import no.mnemonic.act.platform.dao.cassandra.accessors.FactTypeAccessor;
+import no.mnemonic.act.platform.dao.cassandra.accessors.ObjectTypeAccessor;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.handlers.EntityHandler;
+import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.StringUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-memory registry of all ObjectTypes and FactTypes. All types are loaded from Cassandra on startup and kept in
+ * immutable maps (by ID and by name) together with their pre-resolved {@link EntityHandler}. Lookups are plain map
+ * lookups against the current snapshot of the registry. Whenever a type changes a new snapshot is created and swapped
+ * in atomically, thus, readers never block.
+ * <p>
+ * Types which are not known to the registry (e.g. created by another node) are looked up in Cassandra and added to
+ * the registry. Additionally, the complete registry is reloaded from Cassandra every minute in the background in
+ * order to pick up types changed by other nodes.
+ */
+@Singleton
+public class TypeRegistry implements LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(TypeRegistry.class);
+  private static final long RELOAD_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+  @Dependency
+  private final ClusterManager clusterManager;
+
+  private final EntityHandlerFactory entityHandlerFactory;
+  private final Object updateLock = new Object();
+  private final Object reloadLock = new Object();
+  private volatile Snapshot snapshot = new Snapshot(ListUtils.list(), ListUtils.list());
+  // Types registered while a reload is fetching all types from Cassandra (guarded by 'updateLock', null if no reload is running).
+  private List<ObjectTypeEntity> objectTypesRegisteredDuringReload;
+  private List<FactTypeEntity> factTypesRegisteredDuringReload;
+  private ScheduledExecutorService reloadExecutor;
+
+  private final LookupCounter objectTypeByIdLookups = new LookupCounter("act.cassandra.object.type.by.id");
+  private final LookupCounter objectTypeByNameLookups = new LookupCounter("act.cassandra.object.type.by.name");
+  private final LookupCounter factTypeByIdLookups = new LookupCounter("act.cassandra.fact.type.by.id");
+  private final LookupCounter factTypeByNameLookups = new LookupCounter("act.cassandra.fact.type.by.name");
+
+  private Mapper<ObjectTypeEntity> objectTypeMapper;
+  private Mapper<FactTypeEntity> factTypeMapper;
+  private ObjectTypeAccessor objectTypeAccessor;
+  private FactTypeAccessor factTypeAccessor;
+
+  @Inject
+  public TypeRegistry(ClusterManager clusterManager, EntityHandlerFactory factory) {
+    this.clusterManager = clusterManager;
+    this.entityHandlerFactory = factory;
+  }
+
+  @Override
+  public void startComponent() {
+    objectTypeMapper = clusterManager.getMapper(ObjectTypeEntity.class);
+    factTypeMapper = clusterManager.getMapper(FactTypeEntity.class);
+    objectTypeAccessor = clusterManager.getAccessor(ObjectTypeAccessor.class);
+    factTypeAccessor = clusterManager.getAccessor(FactTypeAccessor.class);
+
+    reload();
+    LOGGER.info("Initialized TypeRegistry (%d ObjectTypes, %d FactTypes).",
+            snapshot.objectTypes.size(), snapshot.factTypes.size());
+
+    if (reloadExecutor != null) return;
+    reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "TypeRegistry");
+      thread.setDaemon(true);
+      return thread;
+    });
+    reloadExecutor.scheduleWithFixedDelay(this::reloadAndLogErrors, RELOAD_INTERVAL, RELOAD_INTERVAL, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (reloadExecutor == null) return;
+    reloadExecutor.shutdownNow();
+    reloadExecutor = null;
+  }
+
+  /* ObjectTypeEntity-related methods */
+
+  public ObjectTypeEntity getObjectType(UUID id) {
+    if (id == null) return null;
+
+    ObjectTypeEntity type = snapshot.objectTypesByID.get(id);
+    if (type != null) {
+      objectTypeByIdLookups.hit();
+      return type;
+    }
+
+    objectTypeByIdLookups.miss();
+    return registerObjectType(objectTypeMapper.get(id));
+  }
+
+  public ObjectTypeEntity getObjectType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+
+    ObjectTypeEntity type = snapshot.objectTypesByName.get(name);
+    if (type != null) {
+      objectTypeByNameLookups.hit();
+      return type;
+    }
+
+    objectTypeByNameLookups.miss();
+    return registerObjectType(objectTypeAccessor.getByName(name));
+  }
+
+  /**
+   * Returns all ObjectTypes known to the registry.
+   *
+   * @return List of all ObjectTypes
+   */
+  public List<ObjectTypeEntity> getObjectTypes() {
+    return snapshot.objectTypes;
+  }
+
+  /**
+   * Reload a single ObjectType from Cassandra, e.g. after it has been changed.
+   *
+   * @param id ID of ObjectType
+   */
+  public void reloadObjectType(UUID id) {
+    if (id == null) return;
+    registerObjectType(objectTypeMapper.get(id));
+  }
+
+  /* FactTypeEntity-related methods */
+
+  public FactTypeEntity getFactType(UUID id) {
+    if (id == null) return null;
+
+    FactTypeEntity type = snapshot.factTypesByID.get(id);
+    if (type != null) {
+      factTypeByIdLookups.hit();
+      return type;
+    }
+
+    factTypeByIdLookups.miss();
+    return registerFactType(factTypeMapper.get(id));
+  }
+
+  public FactTypeEntity getFactType(String name) {
+    if (StringUtils.isBlank(name)) return null;
+
+    FactTypeEntity type = snapshot.factTypesByName.get(name);
+    if (type != null) {
+      factTypeByNameLookups.hit();
+      return type;
+    }
+
+    factTypeByNameLookups.miss();
+    return registerFactType(factTypeAccessor.getByName(name));
+  }
+
+  /**
+   * Returns all FactTypes known to the registry.
+   *
+   * @return List of all FactTypes
+   */
+  public List<FactTypeEntity> getFactTypes() {
+    return snapshot.factTypes;
+  }
+
+  /**
+   * Reload a single FactType from Cassandra, e.g. after it has been changed.
+   *
+   * @param id ID of FactType
+   */
+  public void reloadFactType(UUID id) {
+    if (id == null) return;
+    registerFactType(factTypeMapper.get(id));
+  }
+
+  /* EntityHandler-related methods */
+
+  /**
+   * Returns the EntityHandler of an ObjectType.
+   *
+   * @param typeID ID of ObjectType
+   * @return EntityHandler of ObjectType or null if the ObjectType does not exist
+   * @throws IllegalArgumentException If the EntityHandler of the ObjectType cannot be created
+   */
+  public EntityHandler getEntityHandlerForObjectType(UUID typeID) {
+    if (typeID == null) return null;
+
+    EntityHandler handler = snapshot.objectTypeHandlers.get(typeID);
+    if (handler != null) return handler;
+
+    ObjectTypeEntity type = getObjectType(typeID);
+    return type != null ? entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter()) : null;
+  }
+
+  /**
+   * Returns the EntityHandler of a FactType.
+   *
+   * @param typeID ID of FactType
+   * @return EntityHandler of FactType or null if the FactType does not exist
+   * @throws IllegalArgumentException If the EntityHandler of the FactType cannot be created
+   */
+  public EntityHandler getEntityHandlerForFactType(UUID typeID) {
+    if (typeID == null) return null;
+
+    EntityHandler handler = snapshot.factTypeHandlers.get(typeID);
+    if (handler != null) return handler;
+
+    FactTypeEntity type = getFactType(typeID);
+    return type != null ? entityHandlerFactory.get(type.getEntityHandler(), type.getEntityHandlerParameter()) : null;
+  }
+
+  /**
+   * Returns the EntityHandler of either an ObjectType or a FactType.
+   *
+   * @param typeID ID of ObjectType or FactType
+   * @return EntityHandler of type or null if neither an ObjectType nor a FactType exists with the given ID
+   * @throws IllegalArgumentException If the EntityHandler of the type cannot be created
+   */
+  public EntityHandler getEntityHandler(UUID typeID) {
+    if (typeID == null) return null;
+
+    Snapshot current = snapshot;
+    EntityHandler handler = current.objectTypeHandlers.get(typeID);
+    if (handler != null) return handler;
+    handler = current.factTypeHandlers.get(typeID);
+    if (handler != null) return handler;
+
+    // Type is unknown to the registry, fall back to Cassandra.
+    handler = getEntityHandlerForObjectType(typeID);
+    return handler != null ? handler : getEntityHandlerForFactType(typeID);
+  }
+
+  /**
+   * Reload all types from Cassandra and replace the current content of the registry. Types registered while the
+   * reload is running are kept because they might be newer than the types fetched by the reload.
+   */
+  public void reload() {
+    synchronized (reloadLock) {
+      synchronized (updateLock) {
+        objectTypesRegisteredDuringReload = new ArrayList<>();
+        factTypesRegisteredDuringReload = new ArrayList<>();
+      }
+
+      try {
+        List<ObjectTypeEntity> objectTypes = objectTypeAccessor.fetch().all();
+        List<FactTypeEntity> factTypes = factTypeAccessor.fetch().all();
+
+        synchronized (updateLock) {
+          for (ObjectTypeEntity type : objectTypesRegisteredDuringReload) {
+            objectTypes = replace(objectTypes, type, ObjectTypeEntity::getId);
+          }
+          for (FactTypeEntity type : factTypesRegisteredDuringReload) {
+            factTypes = replace(factTypes, type, FactTypeEntity::getId);
+          }
+          snapshot = new Snapshot(objectTypes, factTypes);
+        }
+      } finally {
+        synchronized (updateLock) {
+          objectTypesRegisteredDuringReload = null;
+          factTypesRegisteredDuringReload = null;
+        }
+      }
+    }
+  }
+
+  /* Private helper methods */
+
+  private void reloadAndLogErrors() {
+    try {
+      reload();
+    } catch (RuntimeException ex) {
+      // Don't let the exception escape, otherwise no further reloads will be scheduled.
+      LOGGER.error(ex, "Could not reload TypeRegistry.");
+    }
+  }
+
+  private ObjectTypeEntity registerObjectType(ObjectTypeEntity type) {
+    if (type == null) return null;
+
+    synchronized (updateLock) {
+      Snapshot current = snapshot;
+      snapshot = new Snapshot(replace(current.objectTypes, type, ObjectTypeEntity::getId), current.factTypes);
+      if (objectTypesRegisteredDuringReload != null) objectTypesRegisteredDuringReload.add(type);
+    }
+
+    return type;
+  }
+
+  private FactTypeEntity registerFactType(FactTypeEntity type) {
+    if (type == null) return null;
+
+    synchronized (updateLock) {
+      Snapshot current = snapshot;
+      snapshot = new Snapshot(current.objectTypes, replace(current.factTypes, type, FactTypeEntity::getId));
+      if (factTypesRegisteredDuringReload != null) factTypesRegisteredDuringReload.add(type);
+    }
+
+    return type;
+  }
+
+  private <T> List<T> replace(List<T> types, T type, Function<T, UUID> idExtractor) {
+    List<T> result = new ArrayList<>(types.size() + 1);
+    for (T existing : types) {
+      if (!Objects.equals(idExtractor.apply(existing), idExtractor.apply(type))) result.add(existing);
+    }
+    result.add(type);
+    return result;
+  }
+
+  private EntityHandler resolveEntityHandler(String handler, String parameter) {
+    try {
+      return entityHandlerFactory.get(handler, parameter);
+    } catch (RuntimeException ex) {
+      // Don't fail loading the registry because of one misconfigured type. Using the type will fail later on.
+      LOGGER.warning(ex, "Could not resolve EntityHandler %s.", handler);
+      return null;
+    }
+  }
+
+  /**
+   * Immutable content of the registry at one point in time.
+   */
+  private class Snapshot {
+    private final List<ObjectTypeEntity> objectTypes;
+    private final List<FactTypeEntity> factTypes;
+    private final Map<UUID, ObjectTypeEntity> objectTypesByID = new HashMap<>();
+    private final Map<String, ObjectTypeEntity> objectTypesByName = new HashMap<>();
+    private final Map<UUID, FactTypeEntity> factTypesByID = new HashMap<>();
+    private final Map<String, FactTypeEntity> factTypesByName = new HashMap<>();
+    private final Map<UUID, EntityHandler> objectTypeHandlers = new HashMap<>();
+    private final Map<UUID, EntityHandler> factTypeHandlers = new HashMap<>();
+
+    private Snapshot(List<ObjectTypeEntity> objectTypes, List<FactTypeEntity> factTypes) {
+      this.objectTypes = Collections.unmodifiableList(objectTypes);
+      this.factTypes = Collections.unmodifiableList(factTypes);
+
+      for (ObjectTypeEntity type : objectTypes) {
+        objectTypesByID.put(type.getId(), type);
+        objectTypesByName.put(type.getName(), type);
+        EntityHandler handler = resolveEntityHandler(type.getEntityHandler(), type.getEntityHandlerParameter());
+        if (handler != null) objectTypeHandlers.put(type.getId(), handler);
+      }
+
+      for (FactTypeEntity type : factTypes) {
+        factTypesByID.put(type.getId(), type);
+        factTypesByName.put(type.getName(), type);
+        EntityHandler handler = resolveEntityHandler(type.getEntityHandler(), type.getEntityHandlerParameter());
+        if (handler != null) factTypeHandlers.put(type.getId(), handler);
+      }
+    }
+  }
+
+  /**
+   * Counts hits and misses of lookups against the registry. The metrics are named like the statistics of a Guava cache.
+   */
+  private static class LookupCounter {
+    private final Counter hits;
+    private final Counter misses;
+
+    private LookupCounter(String name) {
+      this.hits = Metrics.counter("cache.gets", "cache", name, "result", "hit");
+      this.misses = Metrics.counter("cache.gets", "cache", name, "result", "miss");
+    }
+
+    private void hit() {
+      hits.increment();
+    }
+
+    private void miss() {
+      misses.increment();
+    }
+  }
+
+}
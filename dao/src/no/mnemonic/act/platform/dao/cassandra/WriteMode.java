@@ -0,0 +1,26 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+/**
+ * Modes for saving new entities which must not be updated once they have been written.
+ */
+public enum WriteMode {
+
+  /**
+   * Fetch the entity (and the entity it belongs to) before writing it and reject the write if the entity already
+   * exists. This requires at least one additional read per write and does not protect against concurrent writes.
+   */
+  ReadBeforeWrite,
+
+  /**
+   * Write the entity with 'INSERT ... IF NOT EXISTS' and reject the write if the entity already exists. This is a
+   * lightweight transaction which is expensive, but guarantees uniqueness even for concurrent writes.
+   */
+  LightweightTransaction,
+
+  /**
+   * Write the entity without any checks. This is safe for entities keyed by a client-generated ID because writing
+   * the same entity again doesn't change anything. It is the caller's responsibility that referenced entities exist.
+   */
+  Idempotent
+
+}
@@ -1,11 +1,16 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.mapping.Result;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
+import com.datastax.driver.mapping.annotations.QueryParameters;
+import com.google.common.util.concurrent.ListenableFuture;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,7 +23,23 @@ public interface FactAccessor {
   @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE id IN :id")
   Result<FactEntity> fetchByID(@Param("id") List<UUID> id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE id IN :id")
+  ListenableFuture<Result<FactEntity>> fetchByIDAsync(@Param("id") List<UUID> id);
+
+  @Query("SELECT id, type_id, organization_id, access_mode FROM " + KEY_SPACE + "." + TABLE + " WHERE id IN :id")
+  ListenableFuture<Result<FactAccessInfo>> fetchAccessInfoByIDAsync(@Param("id") List<UUID> id);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE)
+  @QueryParameters(fetchSize = 1000)
+  Result<FactEntity> fetchAll();
+
+  @Query("UPDATE " + KEY_SPACE + "." + TABLE + " SET bindings_binary = :bindings WHERE id = :id")
+  ResultSetFuture saveBindingsBinaryAsync(@Param("id") UUID id, @Param("bindings") ByteBuffer bindings);
+
   @Query("UPDATE " + KEY_SPACE + "." + TABLE + " SET last_seen_timestamp = :timestamp WHERE id = :id")
   void refreshLastSeenTimestamp(@Param("id") UUID id, @Param("timestamp") long timestamp);
 
+  @Query("UPDATE " + KEY_SPACE + "." + TABLE + " SET last_seen_timestamp = :timestamp WHERE id = :id")
+  ResultSetFuture refreshLastSeenTimestampAsync(@Param("id") UUID id, @Param("timestamp") long timestamp);
+
 }
@@ -4,6 +4,7 @@ import com.datastax.driver.mapping.Result;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
+import com.google.common.util.concurrent.ListenableFuture;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 
 import java.util.UUID;
@@ -17,4 +18,7 @@ public interface FactAclAccessor {
   @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE fact_id = :id")
   Result<FactAclEntity> fetch(@Param("id") UUID id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + TABLE + " WHERE fact_id = :id")
+  ListenableFuture<Result<FactAclEntity>> fetchAsync(@Param("id") UUID id);
+
 }
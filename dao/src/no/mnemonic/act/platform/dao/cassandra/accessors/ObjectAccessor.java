@@ -1,12 +1,13 @@
 package no.mnemonic.act.platform.dao.cassandra.accessors;
 
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Result;
 import com.datastax.driver.mapping.annotations.Accessor;
 import com.datastax.driver.mapping.annotations.Param;
 import com.datastax.driver.mapping.annotations.Query;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectByTypeValueEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import com.google.common.util.concurrent.ListenableFuture;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,10 +20,54 @@ public interface ObjectAccessor {
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectEntity.TABLE + " WHERE id IN :id")
   Result<ObjectEntity> fetchByID(@Param("id") List<UUID> id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectEntity.TABLE + " WHERE id IN :id")
+  ListenableFuture<Result<ObjectEntity>> fetchByIDAsync(@Param("id") List<UUID> id);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectByTypeValueEntity.TABLE + " WHERE object_type_id = :type AND object_value = :value")
   ObjectByTypeValueEntity getObjectByTypeValue(@Param("type") UUID objectTypeID, @Param("value") String objectValue);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectByTypeValueEntity.TABLE + " WHERE object_type_id = :type AND object_value = :value")
+  ListenableFuture<Result<ObjectByTypeValueEntity>> getObjectByTypeValueAsync(@Param("type") UUID objectTypeID, @Param("value") String objectValue);
+
   @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
   Result<ObjectFactBindingEntity> fetchObjectFactBindings(@Param("id") UUID id);
 
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
+  ListenableFuture<Result<ObjectFactBindingEntity>> fetchObjectFactBindingsAsync(@Param("id") UUID id);
+
+  // Returns the statement only, it's executed page by page by the caller.
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingEntity.TABLE + " WHERE object_id = :id")
+  Statement fetchObjectFactBindingsStatement(@Param("id") UUID id);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingBucketEntity.TABLE + " WHERE object_id = :id AND bucket = :bucket")
+  ListenableFuture<Result<ObjectFactBindingBucketEntity>> fetchObjectFactBindingBucketAsync(@Param("id") UUID id, @Param("bucket") int bucket);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactBindingBucketEntity.TABLE + " WHERE object_id = :id AND bucket = :bucket")
+  Statement fetchObjectFactBindingBucketStatement(@Param("id") UUID id, @Param("bucket") int bucket);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactCountEntity.TABLE + " WHERE object_id = :id")
+  ListenableFuture<Result<ObjectFactCountEntity>> fetchObjectFactCountsAsync(@Param("id") UUID id);
+
+  @Query("SELECT * FROM " + KEY_SPACE + "." + ObjectFactStatisticsEntity.TABLE + " WHERE object_id = :id")
+  ListenableFuture<Result<ObjectFactStatisticsEntity>> fetchObjectFactStatisticsAsync(@Param("id") UUID id);
+
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectFactCountEntity.TABLE + " SET fact_count = fact_count + 1" +
+          " WHERE object_id = :id AND fact_type_id = :type AND organization_id = :organization AND access_mode = :mode")
+  ResultSetFuture incrementObjectFactCountAsync(@Param("id") UUID id, @Param("type") UUID factTypeID,
+                                                @Param("organization") UUID organizationID, @Param("mode") AccessMode accessMode);
+
+  // The write time equals the timestamp (in microseconds), thus, Cassandra keeps the maximum timestamp.
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectFactStatisticsEntity.TABLE + " USING TIMESTAMP :writetime SET last_added_timestamp = :timestamp" +
+          " WHERE object_id = :id AND fact_type_id = :type AND organization_id = :organization AND access_mode = :mode")
+  ResultSetFuture updateLastAddedTimestampAsync(@Param("id") UUID id, @Param("type") UUID factTypeID,
+                                                @Param("organization") UUID organizationID, @Param("mode") AccessMode accessMode,
+                                                @Param("timestamp") long timestamp, @Param("writetime") long writeTime);
+
+  // The write time equals the timestamp (in microseconds), thus, Cassandra keeps the maximum timestamp.
+  @Query("UPDATE " + KEY_SPACE + "." + ObjectFactStatisticsEntity.TABLE + " USING TIMESTAMP :writetime SET last_seen_timestamp = :timestamp" +
+          " WHERE object_id = :id AND fact_type_id = :type AND organization_id = :organization AND access_mode = :mode")
+  ResultSetFuture updateLastSeenTimestampAsync(@Param("id") UUID id, @Param("type") UUID factTypeID,
+                                               @Param("organization") UUID organizationID, @Param("mode") AccessMode accessMode,
+                                               @Param("timestamp") long timestamp, @Param("writetime") long writeTime);
+
 }
@@ -8,9 +8,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.EvidenceEntity.TABLE
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class EvidenceEntity implements CassandraEntity {
 
@@ -11,9 +11,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.EvidenceSubmissionEn
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class EvidenceSubmissionEntity implements CassandraEntity {
 
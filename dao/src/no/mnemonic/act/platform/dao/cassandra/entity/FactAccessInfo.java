@@ -0,0 +1,70 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.KEY_SPACE;
+import static no.mnemonic.act.platform.dao.cassandra.entity.FactEntity.TABLE;
+
+/**
+ * Read-only projection of the 'fact' table containing only the information required to check access to a Fact.
+ * Reading this view neither transfers the Fact's value and bindings nor requires decoding the value.
+ * <p>
+ * All fields are immutable, thus, they can also be taken from the information denormalized into
+ * {@link ObjectFactBindingEntity}.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE
+)
+public class FactAccessInfo implements CassandraEntity {
+
+  @PartitionKey
+  private UUID id;
+  @Column(name = "type_id")
+  private UUID typeID;
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public FactAccessInfo setId(UUID id) {
+    this.id = id;
+    return this;
+  }
+
+  public UUID getTypeID() {
+    return typeID;
+  }
+
+  public FactAccessInfo setTypeID(UUID typeID) {
+    this.typeID = typeID;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public FactAccessInfo setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public FactAccessInfo setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+}
@@ -0,0 +1,74 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Codec for the compact binary representation of a Fact's bindings.
+ * <p>
+ * The format starts with one version byte followed by one fixed-width record per binding consisting of the Object's
+ * ID (most and least significant bits, 8 bytes each) and the direction's value (1 byte).
+ */
+class FactBindingsCodec {
+
+  static final byte VERSION = 1;
+
+  private static final int HEADER_SIZE = 1;
+  private static final int BINDING_SIZE = 17;
+
+  private FactBindingsCodec() {
+  }
+
+  /**
+   * Encode bindings into their binary representation.
+   *
+   * @param bindings Bindings to encode
+   * @return Encoded bindings or NULL if no bindings are given
+   * @throws IllegalArgumentException If a binding doesn't reference an Object
+   */
+  static ByteBuffer encode(List<FactEntity.FactObjectBinding> bindings) {
+    if (CollectionUtils.isEmpty(bindings)) return null;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bindings.size() * BINDING_SIZE);
+    buffer.put(VERSION);
+    for (FactEntity.FactObjectBinding binding : bindings) {
+      if (binding.getObjectID() == null) throw new IllegalArgumentException("Cannot encode binding without 'objectID'.");
+      buffer.putLong(binding.getObjectID().getMostSignificantBits())
+              .putLong(binding.getObjectID().getLeastSignificantBits())
+              .put((byte) binding.getDirectionValue());
+    }
+
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Decode bindings from their binary representation. The position of the given buffer is not changed.
+   *
+   * @param buffer Encoded bindings
+   * @return Decoded bindings or NULL if no bindings are given
+   * @throws IllegalArgumentException If the given buffer cannot be decoded
+   */
+  static List<FactEntity.FactObjectBinding> decode(ByteBuffer buffer) {
+    if (buffer == null || !buffer.hasRemaining()) return null;
+
+    ByteBuffer data = buffer.duplicate();
+    byte version = data.get();
+    if (version != VERSION) throw new IllegalArgumentException(String.format("Unsupported bindings version %d.", version));
+    if (data.remaining() % BINDING_SIZE != 0) throw new IllegalArgumentException("Invalid length of encoded bindings.");
+
+    List<FactEntity.FactObjectBinding> bindings = new ArrayList<>(data.remaining() / BINDING_SIZE);
+    while (data.hasRemaining()) {
+      bindings.add(new FactEntity.FactObjectBinding()
+              .setObjectID(new UUID(data.getLong(), data.getLong()))
+              .setDirectionValue(data.get()));
+    }
+
+    return bindings;
+  }
+
+}
@@ -12,9 +12,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.FactCommentEntity.TA
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class FactCommentEntity implements CassandraEntity {
 
@@ -10,10 +10,12 @@ import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,9 +24,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.FactEntity.TABLE;
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class FactEntity implements CassandraEntity {
 
@@ -53,12 +53,20 @@ public class FactEntity implements CassandraEntity {
   private long timestamp;
   @Column(name = "last_seen_timestamp")
   private long lastSeenTimestamp;
-  // In order to not create another table bindings are stored as a JSON string.
+  // In order to not create another table bindings are stored in a compact binary format (see FactBindingsCodec).
+  @Column(name = "bindings_binary")
+  private ByteBuffer bindingsBinary;
+  // Previously bindings were stored as a JSON string. Only read from old rows which haven't been migrated yet.
   @Column(name = "bindings")
+  private String bindingsJson;
+  // JSON representation of the bindings, still used when bindings are denormalized into other tables.
+  @Transient
   private String bindingsStored;
-  // But they are also available as objects.
+  // But they are also available as objects. Decoded lazily from one of the stored representations.
   @Transient
   private List<FactObjectBinding> bindings;
+  @Transient
+  private boolean bindingsDecoded;
 
   public UUID getId() {
     return id;
@@ -150,41 +158,83 @@ public class FactEntity implements CassandraEntity {
     return this;
   }
 
+  public ByteBuffer getBindingsBinary() {
+    return bindingsBinary;
+  }
+
+  public FactEntity setBindingsBinary(ByteBuffer bindingsBinary) {
+    this.bindingsBinary = bindingsBinary;
+    this.bindingsStored = null;
+    this.bindingsDecoded = false;
+    return this;
+  }
+
+  public String getBindingsJson() {
+    return bindingsJson;
+  }
+
+  public FactEntity setBindingsJson(String bindingsJson) {
+    this.bindingsJson = bindingsJson;
+    this.bindingsStored = null;
+    this.bindingsDecoded = false;
+    return this;
+  }
+
   public String getBindingsStored() {
+    if (bindingsStored != null) return bindingsStored;
+
+    List<FactObjectBinding> decoded = getBindings();
+    try {
+      bindingsStored = !CollectionUtils.isEmpty(decoded) ? writer.writeValueAsString(decoded) : null;
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Could not write 'bindings' for Fact with id = %s.", getId()));
+    }
+
     return bindingsStored;
   }
 
   public FactEntity setBindingsStored(String bindingsStored) {
-    this.bindingsStored = bindingsStored;
-
     try {
-      this.bindings = !StringUtils.isBlank(bindingsStored) ? reader.readValue(bindingsStored) : null;
+      setBindings(!StringUtils.isBlank(bindingsStored) ? reader.readValue(bindingsStored) : null);
     } catch (IOException e) {
       throw new RuntimeException(String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
     }
 
+    this.bindingsStored = bindingsStored;
     return this;
   }
 
   public List<FactObjectBinding> getBindings() {
+    if (bindingsDecoded) return bindings;
+
+    // Prefer the binary representation, rows written before it was introduced only contain the JSON representation.
+    if (bindingsBinary != null) {
+      bindings = FactBindingsCodec.decode(bindingsBinary);
+    } else {
+      try {
+        bindings = !StringUtils.isBlank(bindingsJson) ? reader.readValue(bindingsJson) : null;
+      } catch (IOException e) {
+        throw new RuntimeException(String.format("Could not read 'bindings' for Fact with id = %s.", getId()));
+      }
+    }
+
+    bindingsDecoded = true;
     return bindings;
   }
 
   public FactEntity setBindings(List<FactObjectBinding> bindings) {
     this.bindings = bindings;
-
-    try {
-      this.bindingsStored = !CollectionUtils.isEmpty(bindings) ? writer.writeValueAsString(bindings) : null;
-    } catch (IOException e) {
-      throw new RuntimeException(String.format("Could not write 'bindings' for Fact with id = %s.", getId()));
-    }
-
+    this.bindingsDecoded = true;
+    this.bindingsBinary = FactBindingsCodec.encode(bindings);
+    this.bindingsJson = null;
+    this.bindingsStored = null;
     return this;
   }
 
   @Override
   public FactEntity clone() {
-    return new FactEntity()
+    // Copy the stored representations of the bindings instead of decoding and encoding them again.
+    FactEntity clone = new FactEntity()
             .setId(getId())
             .setTypeID(getTypeID())
             .setValue(getValue())
@@ -195,7 +245,10 @@ public class FactEntity implements CassandraEntity {
             .setConfidenceLevel(getConfidenceLevel())
             .setTimestamp(getTimestamp())
             .setLastSeenTimestamp(getLastSeenTimestamp())
-            .setBindingsStored(getBindingsStored());
+            .setBindingsBinary(ObjectUtils.ifNotNull(getBindingsBinary(), ByteBuffer::duplicate))
+            .setBindingsJson(getBindingsJson());
+    clone.bindingsStored = bindingsStored;
+    return clone;
   }
 
   public static class FactObjectBinding {
@@ -22,9 +22,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity.TABLE
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class FactTypeEntity implements CassandraEntity {
 
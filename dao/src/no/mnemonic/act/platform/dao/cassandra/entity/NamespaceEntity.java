@@ -10,9 +10,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.NamespaceEntity.TABL
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class NamespaceEntity implements CassandraEntity {
 
@@ -0,0 +1,33 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingBucketEntity.TABLE;
+
+/**
+ * Same as {@link ObjectFactBindingEntity} but the bindings of one Object are spread across multiple partitions
+ * (buckets). This avoids huge partitions for Objects which are bound to a lot of Facts.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE
+)
+public class ObjectFactBindingBucketEntity extends ObjectFactBindingEntity {
+
+  public static final String TABLE = "object_fact_binding_bucket";
+
+  @PartitionKey(1)
+  private int bucket;
+
+  public int getBucket() {
+    return bucket;
+  }
+
+  public ObjectFactBindingBucketEntity setBucket(int bucket) {
+    this.bucket = bucket;
+    return this;
+  }
+
+}
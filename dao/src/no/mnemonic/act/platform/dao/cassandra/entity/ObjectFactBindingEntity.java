@@ -12,9 +12,7 @@ import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEnt
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class ObjectFactBindingEntity implements CassandraEntity {
 
@@ -27,6 +25,18 @@ public class ObjectFactBindingEntity implements CassandraEntity {
   @Column(name = "fact_id")
   private UUID factID;
   private Direction direction;
+  // The following fields denormalize immutable information about the bound Fact. This allows to expand a vertex in
+  // the graph and to pre-filter the bound Facts by access without fetching every Fact separately. They are not set for
+  // bindings stored before the fields were introduced.
+  @Column(name = "fact_type_id")
+  private UUID factTypeID;
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  // Bindings of the Fact to all Objects in the same JSON format as stored in FactEntity.
+  @Column(name = "fact_bindings")
+  private String factBindingsStored;
 
   public UUID getObjectID() {
     return objectID;
@@ -54,4 +64,40 @@ public class ObjectFactBindingEntity implements CassandraEntity {
     this.direction = direction;
     return this;
   }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectFactBindingEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectFactBindingEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectFactBindingEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public String getFactBindingsStored() {
+    return factBindingsStored;
+  }
+
+  public ObjectFactBindingEntity setFactBindingsStored(String factBindingsStored) {
+    this.factBindingsStored = factBindingsStored;
+    return this;
+  }
 }
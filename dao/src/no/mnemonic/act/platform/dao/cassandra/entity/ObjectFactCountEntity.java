@@ -0,0 +1,86 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactCountEntity.TABLE;
+
+/**
+ * Number of Facts bound to an Object, counted per FactType and per Organization and AccessMode of the bound Facts.
+ * Counters can't be written with the mapper, they are incremented using
+ * {@link no.mnemonic.act.platform.dao.cassandra.accessors.ObjectAccessor} instead.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE
+)
+public class ObjectFactCountEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_count";
+
+  @PartitionKey
+  @Column(name = "object_id")
+  private UUID objectID;
+  @ClusteringColumn
+  @Column(name = "fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  @ClusteringColumn(2)
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+  @Column(name = "fact_count")
+  private long factCount;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectFactCountEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectFactCountEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectFactCountEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectFactCountEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public ObjectFactCountEntity setFactCount(long factCount) {
+    this.factCount = factCount;
+    return this;
+  }
+
+}
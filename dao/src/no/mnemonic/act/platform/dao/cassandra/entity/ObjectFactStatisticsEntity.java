@@ -0,0 +1,114 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+import com.datastax.driver.mapping.annotations.Transient;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.cassandra.entity.CassandraEntity.*;
+import static no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactStatisticsEntity.TABLE;
+
+/**
+ * Statistics about the Facts bound to an Object which are maintained while Facts are added and seen. The statistics
+ * are kept per FactType and per Organization and AccessMode of the bound Facts which allows to apply access control
+ * without looking at the individual Facts.
+ * <p>
+ * The timestamps are written with a write time equal to their value, thus, Cassandra always keeps the maximum. The
+ * number of Facts is stored in the separate counter table {@link ObjectFactCountEntity} because counters can't be
+ * mixed with other columns.
+ */
+@Table(
+        keyspace = KEY_SPACE,
+        name = TABLE
+)
+public class ObjectFactStatisticsEntity implements CassandraEntity {
+
+  public static final String TABLE = "object_fact_statistics";
+
+  @PartitionKey
+  @Column(name = "object_id")
+  private UUID objectID;
+  @ClusteringColumn
+  @Column(name = "fact_type_id")
+  private UUID factTypeID;
+  @ClusteringColumn(1)
+  @Column(name = "organization_id")
+  private UUID organizationID;
+  @ClusteringColumn(2)
+  @Column(name = "access_mode")
+  private AccessMode accessMode;
+  @Column(name = "last_added_timestamp")
+  private long lastAddedTimestamp;
+  @Column(name = "last_seen_timestamp")
+  private long lastSeenTimestamp;
+  // Taken from the counter table when the statistics are fetched.
+  @Transient
+  private long factCount;
+
+  public UUID getObjectID() {
+    return objectID;
+  }
+
+  public ObjectFactStatisticsEntity setObjectID(UUID objectID) {
+    this.objectID = objectID;
+    return this;
+  }
+
+  public UUID getFactTypeID() {
+    return factTypeID;
+  }
+
+  public ObjectFactStatisticsEntity setFactTypeID(UUID factTypeID) {
+    this.factTypeID = factTypeID;
+    return this;
+  }
+
+  public UUID getOrganizationID() {
+    return organizationID;
+  }
+
+  public ObjectFactStatisticsEntity setOrganizationID(UUID organizationID) {
+    this.organizationID = organizationID;
+    return this;
+  }
+
+  public AccessMode getAccessMode() {
+    return accessMode;
+  }
+
+  public ObjectFactStatisticsEntity setAccessMode(AccessMode accessMode) {
+    this.accessMode = accessMode;
+    return this;
+  }
+
+  public long getLastAddedTimestamp() {
+    return lastAddedTimestamp;
+  }
+
+  public ObjectFactStatisticsEntity setLastAddedTimestamp(long lastAddedTimestamp) {
+    this.lastAddedTimestamp = lastAddedTimestamp;
+    return this;
+  }
+
+  public long getLastSeenTimestamp() {
+    return lastSeenTimestamp;
+  }
+
+  public ObjectFactStatisticsEntity setLastSeenTimestamp(long lastSeenTimestamp) {
+    this.lastSeenTimestamp = lastSeenTimestamp;
+    return this;
+  }
+
+  public long getFactCount() {
+    return factCount;
+  }
+
+  public ObjectFactStatisticsEntity setFactCount(long factCount) {
+    this.factCount = factCount;
+    return this;
+  }
+
+}
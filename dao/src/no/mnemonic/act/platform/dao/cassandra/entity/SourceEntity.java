@@ -15,9 +15,7 @@ import static no.mnemonic.commons.utilities.collections.MapUtils.map;
 
 @Table(
         keyspace = KEY_SPACE,
-        name = TABLE,
-        readConsistency = READ_CONSISTENCY,
-        writeConsistency = WRITE_CONSISTENCY
+        name = TABLE
 )
 public class SourceEntity implements CassandraEntity {
 
@@ -0,0 +1,563 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.component.Dependency;
+import no.mnemonic.commons.component.LifecycleAspect;
+import no.mnemonic.commons.logging.Logger;
+import no.mnemonic.commons.logging.Logging;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.*;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class for asynchronously indexing Facts into ElasticSearch. Facts handed over to the indexer are collected and sent
+ * to ElasticSearch using bulk requests, either when the configured number of actions or bytes is reached or when the
+ * flush interval expires. Bulk requests rejected by ElasticSearch are retried with exponential backoff.
+ * <p>
+ * Besides indexing whole Facts the indexer also accepts partial updates of already indexed Facts, see
+ * {@link #markRetracted(FactDocument)} and {@link #addAclEntries(FactDocument)}. Those are sent in the same bulk
+ * requests without fetching and re-indexing the whole Facts. Submissions for the same Fact are executed in the order
+ * they were submitted, i.e. a submission is only handed over to a bulk request after all previous submissions for the
+ * same Fact have completed. Otherwise a partial update could be executed before the Fact is indexed when multiple
+ * bulk requests are executed concurrently.
+ * <p>
+ * Single actions which fail inside a bulk request, as well as all actions of a failed bulk request, are retried with
+ * exponential backoff up to the configured maximum number of retries. Actions failing because of an invalid request
+ * are not retried. Actions which finally fail are counted ('act.elasticsearch.bulk.failed') and logged together with
+ * the ID of the Fact which must be re-indexed.
+ * <p>
+ * The number of Facts waiting to be indexed is bounded by the configured queue size. If the queue is full callers of
+ * {@link #index(FactDocument)} will be blocked until previously submitted Facts have been indexed. A single Fact
+ * which requires more actions than the queue size (one action for the Fact plus one for every bound Object) occupies
+ * the whole queue instead of blocking forever. The permits acquired by a submission are released when its actions
+ * complete.
+ * <p>
+ * Because indexing happens asynchronously indexed Facts only become visible after the bulk request containing them
+ * has been executed and the index has been refreshed. If the {@link FactSearchManager} is executed in a test
+ * environment every Fact is indexed synchronously instead and made available for search immediately.
+ * <p>
+ * Note that {@link FactSearchManager#retrieveExistingFacts} doesn't see Facts which are still pending. If the same
+ * Fact is created twice within this window (usually the flush interval plus the refresh interval of the index, longer
+ * if the queue is full) the second request won't detect the first one and both Facts will be created. This is the same
+ * behaviour as for Facts created concurrently on different nodes.
+ */
+public class BulkFactIndexer implements LifecycleAspect {
+
+  private static final Logger LOGGER = Logging.getLogger(BulkFactIndexer.class);
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+  private static final int MAX_BACKOFF_SHIFT = 16;
+
+  @Dependency
+  private final ClientFactory clientFactory;
+  @Dependency
+  private final FactSearchManager factSearchManager;
+
+  private final int bulkActions;
+  private final long bulkSize;
+  private final long flushInterval;
+  private final int concurrentRequests;
+  private final int queueSize;
+  private final long retryDelay;
+  private final int maxRetries;
+
+  private final Semaphore queuePermits;
+  // Submissions per Fact in the order they were submitted. Only the first submission of a Fact is handed over to the
+  // BulkProcessor, the next one is dispatched once it has completed. Also used as lock for the submission state.
+  private final Map<UUID, Deque<Submission>> submissionsByFact = new HashMap<>();
+  // Actions handed over to the BulkProcessor which haven't completed yet. Requests don't implement equals().
+  private final Map<DocWriteRequest<?>, Action> pendingActions = Collections.synchronizedMap(new IdentityHashMap<>());
+  private final AtomicLong retriedActions = new AtomicLong();
+  private final AtomicLong failedActions = new AtomicLong();
+  private final RequestMetrics requestMetrics = new RequestMetrics(Metrics.globalRegistry);
+  private ThreadPool threadPool;
+  private BulkProcessor bulkProcessor;
+
+  private BulkFactIndexer(ClientFactory clientFactory, FactSearchManager factSearchManager, int bulkActions,
+                          long bulkSize, long flushInterval, int concurrentRequests, int queueSize, long retryDelay,
+                          int maxRetries) {
+    if (bulkActions <= 0) throw new IllegalArgumentException("'bulkActions' must be positive!");
+    if (bulkSize <= 0) throw new IllegalArgumentException("'bulkSize' must be positive!");
+    if (flushInterval <= 0) throw new IllegalArgumentException("'flushInterval' must be positive!");
+    if (concurrentRequests < 0) throw new IllegalArgumentException("'concurrentRequests' must not be negative!");
+    if (queueSize < bulkActions) throw new IllegalArgumentException("'queueSize' must not be smaller than 'bulkActions'!");
+    if (retryDelay <= 0) throw new IllegalArgumentException("'retryDelay' must be positive!");
+    if (maxRetries < 0) throw new IllegalArgumentException("'maxRetries' must not be negative!");
+    this.clientFactory = ObjectUtils.notNull(clientFactory, "Cannot instantiate BulkFactIndexer without 'clientFactory'.");
+    this.factSearchManager = ObjectUtils.notNull(factSearchManager, "Cannot instantiate BulkFactIndexer without 'factSearchManager'.");
+    this.bulkActions = bulkActions;
+    this.bulkSize = bulkSize;
+    this.flushInterval = flushInterval;
+    this.concurrentRequests = concurrentRequests;
+    this.queueSize = queueSize;
+    this.retryDelay = retryDelay;
+    this.maxRetries = maxRetries;
+    this.queuePermits = new Semaphore(queueSize);
+    // Number of Facts which have been submitted but are not yet indexed.
+    Metrics.gauge("act.elasticsearch.bulk.pending", queuePermits, permits -> queueSize - permits.availablePermits());
+    Metrics.more().counter("act.elasticsearch.bulk.retried", Tags.empty(), retriedActions, AtomicLong::doubleValue);
+    Metrics.more().counter("act.elasticsearch.bulk.failed", Tags.empty(), failedActions, AtomicLong::doubleValue);
+  }
+
+  @Override
+  public void startComponent() {
+    if (bulkProcessor != null) return;
+
+    // The ThreadPool is only used to schedule flushes and retries, the requests are executed by the REST client.
+    threadPool = new ThreadPool(Settings.builder().put(Node.NODE_NAME_SETTING.getKey(), "bulk-fact-indexer").build());
+    boolean synchronous = factSearchManager.isTestEnvironment();
+    WriteRequest.RefreshPolicy refreshPolicy = synchronous ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE;
+
+    bulkProcessor = new BulkProcessor.Builder(
+            (request, listener) -> clientFactory.getHighLevelClient().bulkAsync(request.setRefreshPolicy(refreshPolicy), listener),
+            new IndexerListener(),
+            threadPool)
+            // Without concurrent requests every bulk request is executed in the thread adding the last Fact.
+            .setBulkActions(synchronous ? 1 : bulkActions)
+            .setConcurrentRequests(synchronous ? 0 : concurrentRequests)
+            .setBulkSize(new ByteSizeValue(bulkSize, ByteSizeUnit.BYTES))
+            .setFlushInterval(TimeValue.timeValueMillis(flushInterval))
+            // BulkProcessor only retries bulk requests which were rejected because of a full queue in ElasticSearch.
+            .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(retryDelay), maxRetries))
+            .build();
+
+    LOGGER.info("Initialized BulkFactIndexer (bulkActions = %d, bulkSize = %d bytes, flushInterval = %d ms, " +
+            "concurrentRequests = %d, queueSize = %d).", bulkActions, bulkSize, flushInterval, concurrentRequests, queueSize);
+  }
+
+  @Override
+  public void stopComponent() {
+    if (bulkProcessor == null) return;
+
+    try {
+      // Flush all pending Facts before shutting down, including retried actions and deferred submissions.
+      bulkProcessor.flush();
+      if (!awaitSubmissions(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS))) {
+        LOGGER.warning("Timed out while waiting for pending Facts to be indexed.");
+      }
+      if (!bulkProcessor.awaitClose(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warning("Timed out while waiting for pending Facts to be indexed.");
+      }
+    } catch (InterruptedException ex) {
+      LOGGER.warning(ex, "Interrupted while waiting for pending Facts to be indexed.");
+      Thread.currentThread().interrupt();
+    } finally {
+      ThreadPool.terminate(threadPool, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      bulkProcessor = null;
+      threadPool = null;
+    }
+  }
+
+  /**
+   * Submit a Fact for asynchronous indexing into ElasticSearch. Blocks if the maximum number of Facts waiting to be
+   * indexed has been reached.
+   *
+   * @param fact Fact to index
+   * @return Submitted Fact
+   */
+  public FactDocument index(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return null;
+    if (bulkProcessor == null) throw new IllegalStateException("BulkFactIndexer has not been started.");
+
+    List<DocWriteRequest<?>> requests;
+    try {
+      // Indexes the Fact and adds its Objects to the Objects index.
+      requests = factSearchManager.createIndexRequests(fact);
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not create request to index Fact with id = %s.", fact.getId()));
+    }
+
+    return submit(fact, requests);
+  }
+
+  /**
+   * Submit an update for asynchronous marking of an indexed Fact as retracted. Blocks if the maximum number of Facts
+   * waiting to be indexed has been reached. See {@link FactSearchManager#markRetracted(FactDocument)} for the fields
+   * of the Fact which are used.
+   *
+   * @param fact Fact to mark as retracted
+   * @return Submitted Fact
+   */
+  public FactDocument markRetracted(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return null;
+    if (bulkProcessor == null) throw new IllegalStateException("BulkFactIndexer has not been started.");
+
+    return submit(fact, ListUtils.list(factSearchManager.createMarkRetractedRequest(fact)));
+  }
+
+  /**
+   * Submit updates for asynchronous adding of ACL entries to an indexed Fact. Blocks if the maximum number of Facts
+   * waiting to be indexed has been reached. See {@link FactSearchManager#addAclEntries(FactDocument)} for the fields
+   * of the Fact which are used.
+   *
+   * @param fact Fact containing the ACL entries to add
+   * @return Submitted Fact
+   */
+  public FactDocument addAclEntries(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return null;
+    if (bulkProcessor == null) throw new IllegalStateException("BulkFactIndexer has not been started.");
+    if (CollectionUtils.isEmpty(fact.getAcl())) return fact;
+
+    return submit(fact, factSearchManager.createAddAclEntriesRequests(fact));
+  }
+
+  /**
+   * Returns the number of Facts which have been submitted but not yet indexed. Every Object bound to a pending Fact is
+   * counted as well because it's added to the Objects index using a separate action.
+   *
+   * @return Number of pending Facts
+   */
+  public int getPendingFacts() {
+    return queueSize - queuePermits.availablePermits();
+  }
+
+  /**
+   * Returns the number of actions which finally failed after all retries. The affected Facts must be re-indexed.
+   *
+   * @return Number of failed actions
+   */
+  public long getFailedActions() {
+    return failedActions.get();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private ClientFactory clientFactory;
+    private FactSearchManager factSearchManager;
+    private int bulkActions = 1000;
+    private long bulkSize = 5 * 1024 * 1024;
+    private long flushInterval = 1000;
+    private int concurrentRequests = 1;
+    private int queueSize = 10_000;
+    private long retryDelay = 50;
+    private int maxRetries = 8;
+
+    private Builder() {
+    }
+
+    public BulkFactIndexer build() {
+      return new BulkFactIndexer(clientFactory, factSearchManager, bulkActions, bulkSize, flushInterval,
+              concurrentRequests, queueSize, retryDelay, maxRetries);
+    }
+
+    public Builder setClientFactory(ClientFactory clientFactory) {
+      this.clientFactory = clientFactory;
+      return this;
+    }
+
+    public Builder setFactSearchManager(FactSearchManager factSearchManager) {
+      this.factSearchManager = factSearchManager;
+      return this;
+    }
+
+    /**
+     * Maximum number of Facts sent to ElasticSearch in one bulk request.
+     */
+    public Builder setBulkActions(int bulkActions) {
+      this.bulkActions = bulkActions;
+      return this;
+    }
+
+    /**
+     * Maximum size of one bulk request in bytes.
+     */
+    public Builder setBulkSize(long bulkSize) {
+      this.bulkSize = bulkSize;
+      return this;
+    }
+
+    /**
+     * Interval in milliseconds after which pending Facts are sent to ElasticSearch regardless of the bulk limits.
+     */
+    public Builder setFlushInterval(long flushInterval) {
+      this.flushInterval = flushInterval;
+      return this;
+    }
+
+    /**
+     * Number of bulk requests executed concurrently while new Facts are accumulated.
+     */
+    public Builder setConcurrentRequests(int concurrentRequests) {
+      this.concurrentRequests = concurrentRequests;
+      return this;
+    }
+
+    /**
+     * Maximum number of Facts waiting to be indexed before callers are blocked.
+     */
+    public Builder setQueueSize(int queueSize) {
+      this.queueSize = queueSize;
+      return this;
+    }
+
+    /**
+     * Initial delay in milliseconds before retrying a rejected bulk request or a failed action.
+     */
+    public Builder setRetryDelay(long retryDelay) {
+      this.retryDelay = retryDelay;
+      return this;
+    }
+
+    /**
+     * Maximum number of retries of a rejected bulk request or a failed action.
+     */
+    public Builder setMaxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+  }
+
+  private FactDocument submit(FactDocument fact, List<? extends DocWriteRequest<?>> requests) {
+    if (CollectionUtils.isEmpty(requests)) return fact;
+
+    // A Fact requiring more actions than the queue size would never get enough permits, thus, it occupies the whole
+    // queue instead. The submission remembers how many permits it acquired and releases exactly those.
+    int permits = Math.min(requests.size(), queueSize);
+    try {
+      // Apply back-pressure to the caller if too many Facts are waiting to be indexed.
+      queuePermits.acquire(permits);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw logAndExit(ex, String.format("Interrupted while waiting to index Fact with id = %s.", fact.getId()));
+    }
+
+    Submission submission = new Submission(fact.getId(), requests, permits);
+    boolean first;
+    synchronized (submissionsByFact) {
+      Deque<Submission> submissions = submissionsByFact.computeIfAbsent(fact.getId(), id -> new ArrayDeque<>());
+      submissions.add(submission);
+      first = submissions.size() == 1;
+    }
+
+    // Otherwise the submission is dispatched after the previous submissions for the same Fact have completed.
+    if (first) dispatch(submission);
+    return fact;
+  }
+
+  private void dispatch(Submission submission) {
+    int added = 0;
+    try {
+      for (DocWriteRequest<?> request : submission.requests) {
+        add(new Action(submission, request));
+        added++;
+      }
+    } catch (RuntimeException ex) {
+      // Actions which were never added to a bulk request won't complete otherwise.
+      for (DocWriteRequest<?> request : submission.requests.subList(added, submission.requests.size())) {
+        fail(new Action(submission, request), ex.getMessage());
+      }
+      throw logAndExit(ex, String.format("Could not submit Fact with id = %s for indexing.", submission.factID));
+    }
+  }
+
+  private void dispatchDeferred(Submission submission) {
+    try {
+      dispatch(submission);
+    } catch (RuntimeException ignored) {
+      // Already logged and counted, nobody is waiting for the deferred submission.
+    }
+  }
+
+  private void add(Action action) {
+    BulkProcessor processor = bulkProcessor;
+    if (processor == null) throw new IllegalStateException("BulkFactIndexer has been stopped.");
+
+    // Register the action before adding it because without concurrent requests it's executed immediately.
+    pendingActions.put(action.request, action);
+    try {
+      processor.add(action.request);
+    } catch (RuntimeException ex) {
+      pendingActions.remove(action.request);
+      throw ex;
+    }
+  }
+
+  private void retryOrFail(Action action, boolean retryable, String failure) {
+    if (!retryable || action.attempts >= maxRetries) {
+      fail(action, failure);
+      return;
+    }
+
+    action.attempts++;
+    retriedActions.incrementAndGet();
+    long delay = retryDelay << Math.min(action.attempts - 1, MAX_BACKOFF_SHIFT);
+    try {
+      // Never add actions from inside the listener, the BulkProcessor might wait for this bulk request to finish.
+      threadPool.schedule(TimeValue.timeValueMillis(delay), ThreadPool.Names.GENERIC, () -> requeue(action, failure));
+    } catch (RuntimeException ex) {
+      fail(action, ex.getMessage());
+    }
+  }
+
+  private void requeue(Action action, String failure) {
+    try {
+      add(action);
+    } catch (RuntimeException ex) {
+      fail(action, failure);
+    }
+  }
+
+  private void fail(Action action, String failure) {
+    failedActions.incrementAndGet();
+    LOGGER.error("Could not index document with id = %s into index '%s' (%s). Re-index Fact with id = %s.",
+            action.request.id(), action.request.index(), failure, action.submission.factID);
+    complete(action);
+  }
+
+  private void complete(Action action) {
+    Submission submission = action.submission;
+    Submission next;
+    synchronized (submissionsByFact) {
+      if (submission.heldPermits > 0) {
+        submission.heldPermits--;
+        queuePermits.release();
+      }
+      if (--submission.remainingActions > 0) return;
+
+      // The completed submission is always the first one of its Fact.
+      Deque<Submission> submissions = submissionsByFact.get(submission.factID);
+      submissions.poll();
+      next = submissions.peek();
+      if (next == null) submissionsByFact.remove(submission.factID);
+      if (submissionsByFact.isEmpty()) submissionsByFact.notifyAll();
+    }
+
+    if (next == null) return;
+    Submission deferred = next;
+    try {
+      // Dispatch in another thread because this might be called from inside the listener, see retryOrFail().
+      threadPool.generic().execute(() -> dispatchDeferred(deferred));
+    } catch (RuntimeException ex) {
+      dispatchDeferred(deferred);
+    }
+  }
+
+  private boolean awaitSubmissions(long timeout) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeout;
+    synchronized (submissionsByFact) {
+      while (!submissionsByFact.isEmpty()) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) return false;
+        submissionsByFact.wait(remaining);
+      }
+    }
+    return true;
+  }
+
+  private List<Action> removeActions(BulkRequest request) {
+    List<Action> actions = new ArrayList<>();
+    for (DocWriteRequest<?> r : request.requests()) {
+      Action action = pendingActions.remove(r);
+      if (action != null) actions.add(action);
+    }
+    return actions;
+  }
+
+  private static String documentKey(String type, String id, DocWriteRequest.OpType opType) {
+    // The index is omitted because the response contains the concrete index while the request might use an alias.
+    return type + "/" + id + "/" + opType;
+  }
+
+  private RuntimeException logAndExit(Exception ex, String msg) {
+    LOGGER.error(ex, msg);
+    return new RuntimeException(msg, ex);
+  }
+
+  private static class Submission {
+    private final UUID factID;
+    private final List<? extends DocWriteRequest<?>> requests;
+    // Permits acquired for this submission which haven't been released yet, might be less than the number of actions.
+    private int heldPermits;
+    private int remainingActions;
+
+    private Submission(UUID factID, List<? extends DocWriteRequest<?>> requests, int permits) {
+      this.factID = factID;
+      this.requests = requests;
+      this.heldPermits = permits;
+      this.remainingActions = requests.size();
+    }
+  }
+
+  private static class Action {
+    private final Submission submission;
+    private final DocWriteRequest<?> request;
+    private int attempts;
+
+    private Action(Submission submission, DocWriteRequest<?> request) {
+      this.submission = submission;
+      this.request = request;
+    }
+  }
+
+  private class IndexerListener implements BulkProcessor.Listener {
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      LOGGER.debug("Executing bulk request %d with %d Facts.", executionId, request.numberOfActions());
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      requestMetrics.recordTook("bulkIndexFacts", response.getTook());
+      List<Action> actions = removeActions(request);
+      if (!response.hasFailures()) {
+        actions.forEach(BulkFactIndexer.this::complete);
+        LOGGER.info("Successfully indexed %d Facts (took %d ms).", request.numberOfActions(), response.getTook().millis());
+        return;
+      }
+
+      // Items of retried bulk requests don't necessarily refer to the position in the original request, thus, match
+      // them by document. Multiple actions on the same document are matched in order.
+      Map<String, Deque<Action>> actionsByDocument = new HashMap<>();
+      for (Action action : actions) {
+        actionsByDocument.computeIfAbsent(documentKey(action.request.type(), action.request.id(), action.request.opType()),
+                key -> new ArrayDeque<>()).add(action);
+      }
+
+      for (BulkItemResponse item : response.getItems()) {
+        Deque<Action> candidates = actionsByDocument.get(documentKey(item.getType(), item.getId(), item.getOpType()));
+        Action action = candidates != null ? candidates.poll() : null;
+        if (action == null) continue;
+
+        if (item.isFailed()) {
+          LOGGER.warning("Could not index document with id = %s into index '%s' (%s).", item.getId(), item.getIndex(), item.getFailureMessage());
+          // Invalid requests, e.g. because of mapping errors, will never succeed.
+          retryOrFail(action, item.getFailure().getStatus() != RestStatus.BAD_REQUEST, item.getFailureMessage());
+        } else {
+          complete(action);
+        }
+      }
+
+      // Every action should have a response item, but never leave an action pending forever.
+      actionsByDocument.values().forEach(remaining -> remaining.forEach(BulkFactIndexer.this::complete));
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      LOGGER.error(failure, "Could not execute bulk request %d with %d Facts.", executionId, request.numberOfActions());
+      for (Action action : removeActions(request)) {
+        retryOrFail(action, true, failure.getMessage());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link BulkFactIndexer}.
+ */
+public class BulkFactIndexerProvider implements Provider<BulkFactIndexer> {
+
+  @Inject
+  private ClientFactory clientFactory;
+  @Inject
+  private FactSearchManager factSearchManager;
+  @Inject
+  @Named("elasticsearch.bulk.actions")
+  private String bulkActions;
+  @Inject
+  @Named("elasticsearch.bulk.size")
+  private String bulkSize;
+  @Inject
+  @Named("elasticsearch.bulk.flush.interval")
+  private String flushInterval;
+  @Inject
+  @Named("elasticsearch.bulk.concurrent.requests")
+  private String concurrentRequests;
+  @Inject
+  @Named("elasticsearch.bulk.queue.size")
+  private String queueSize;
+  @Inject
+  @Named("elasticsearch.bulk.retry.delay")
+  private String retryDelay;
+  @Inject
+  @Named("elasticsearch.bulk.max.retries")
+  private String maxRetries;
+
+  @Override
+  public BulkFactIndexer get() {
+    return BulkFactIndexer.builder()
+            .setClientFactory(clientFactory)
+            .setFactSearchManager(factSearchManager)
+            .setBulkActions(Integer.parseInt(bulkActions))
+            .setBulkSize(Long.parseLong(bulkSize))
+            .setFlushInterval(Long.parseLong(flushInterval))
+            .setConcurrentRequests(Integer.parseInt(concurrentRequests))
+            .setQueueSize(Integer.parseInt(queueSize))
+            .setRetryDelay(Long.parseLong(retryDelay))
+            .setMaxRetries(Integer.parseInt(maxRetries))
+            .build();
+  }
+
+}
@@ -0,0 +1,81 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Calculates the fingerprint of a Fact which identifies the Fact logically, i.e. two Facts have the same fingerprint if
+ * and only if their type, value, source, organization, access mode and bound Objects (including direction) are the same.
+ * <p>
+ * The fingerprint is stored together with the indexed Fact and allows to verify if a Fact already exists with a single
+ * term lookup. The value of the Fact must always be provided in encoded format.
+ */
+class FactFingerprint {
+
+  private FactFingerprint() {
+  }
+
+  /**
+   * Calculate the fingerprint of an indexed Fact.
+   *
+   * @param fact Fact with encoded value
+   * @return Fingerprint of Fact
+   */
+  static String calculate(FactDocument fact) {
+    SortedSet<String> objects = new TreeSet<>();
+    SetUtils.set(fact.getObjects()).forEach(o -> objects.add(encodeObject(o.getId(), ObjectUtils.ifNotNull(o.getDirection(), Enum::name))));
+
+    return calculate(fact.getTypeID(), fact.getValue(), fact.getSourceID(), fact.getOrganizationID(),
+            ObjectUtils.ifNotNull(fact.getAccessMode(), Enum::name), objects);
+  }
+
+  /**
+   * Calculate the fingerprint of the Fact described by an existence criteria.
+   *
+   * @param criteria     Criteria describing the Fact
+   * @param encodedValue Encoded value of the Fact
+   * @return Fingerprint of Fact
+   */
+  static String calculate(FactExistenceSearchCriteria criteria, String encodedValue) {
+    SortedSet<String> objects = new TreeSet<>();
+    SetUtils.set(criteria.getObjects()).forEach(o -> objects.add(encodeObject(o.getObjectID(), ObjectUtils.ifNotNull(o.getDirection(), Enum::name))));
+
+    return calculate(criteria.getFactTypeID(), encodedValue, criteria.getSourceID(), criteria.getOrganizationID(),
+            ObjectUtils.ifNotNull(criteria.getAccessMode(), Enum::name), objects);
+  }
+
+  private static String calculate(UUID typeID, String value, UUID sourceID, UUID organizationID, String accessMode, Set<String> objects) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    putField(hasher, String.valueOf(typeID));
+    putField(hasher, value);
+    putField(hasher, String.valueOf(sourceID));
+    putField(hasher, String.valueOf(organizationID));
+    putField(hasher, accessMode);
+    // Objects are sorted in order to make the fingerprint independent of the order of the bindings.
+    hasher.putInt(objects.size());
+    objects.forEach(o -> putField(hasher, o));
+
+    return hasher.hash().toString();
+  }
+
+  private static String encodeObject(UUID objectID, String direction) {
+    return objectID + "/" + direction;
+  }
+
+  private static void putField(Hasher hasher, String field) {
+    // Prefix every field with its length in order to avoid collisions between different combinations of fields.
+    String value = String.valueOf(field);
+    hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+  }
+
+}
@@ -1,14 +1,20 @@
 package no.mnemonic.act.platform.dao.elastic;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Metrics;
 import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
 import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ScrollingSearchResult;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
 import no.mnemonic.act.platform.dao.handlers.EntityHandler;
 import no.mnemonic.commons.component.Dependency;
@@ -23,20 +29,27 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
 import org.apache.lucene.search.join.ScoreMode;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.DocWriteResponse;
-import org.elasticsearch.action.get.GetRequest;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.Response;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
-import org.elasticsearch.index.query.SimpleQueryStringBuilder;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
@@ -56,7 +69,13 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -66,14 +85,77 @@ import static org.elasticsearch.search.aggregations.AggregationBuilders.*;
 
 /**
  * Class for indexing Facts into ElasticSearch as well as for retrieving and searching indexed Facts.
+ * <p>
+ * Facts are partitioned into one index per month based on their 'timestamp'. All partitions are created from an index
+ * template and are accessible through one alias. Searches limited to a time range only query the matching partitions.
  */
 @Singleton
 public class FactSearchManager implements LifecycleAspect {
 
-  private static final String INDEX_NAME = "act";
   private static final String TYPE_NAME = "fact";
   private static final String MAPPINGS_JSON = "mappings.json";
+  // Facts are partitioned by month (UTC) of their immutable 'timestamp', see resolveFactsIndex().
+  private static final String FACTS_INDEX_PREFIX = "act-facts-";
+  private static final DateTimeFormatter FACTS_INDEX_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM");
+  // Alias containing all partitions (and the legacy index). Applied to new partitions by the index template.
+  private static final String FACTS_ALIAS = "act-facts";
+  private static final String FACTS_TEMPLATE_NAME = "act-facts";
+  // Searches spanning more partitions are executed against the alias instead of listing all partitions.
+  private static final int MAX_SEARCH_PARTITIONS = 24;
+  // Index containing all Facts indexed before partitioning was introduced.
+  private static final String LEGACY_INDEX_NAME = "act";
+  // Stored in the '_meta' field of the legacy mapping. Facts with an older 'timestamp' stay in the legacy index.
+  private static final String LEGACY_INDEX_PARTITIONED_SINCE_META = "partitionedSince";
+  // Stored in the '_meta' field of the legacy mapping once the fingerprints of all Facts in the legacy index were calculated.
+  private static final String LEGACY_INDEX_FINGERPRINTS_COMPLETE_META = "fingerprintsComplete";
+  // Document claimed by the first node introducing partitioning, see claimPartitionedSince(). The mapping API doesn't
+  // support conditional updates, but creating a document fails if it already exists.
+  private static final String PARTITIONING_INDEX_NAME = "act-partitioning";
+  private static final String PARTITIONING_TYPE_NAME = "partitioning";
+  private static final String PARTITIONING_DOCUMENT_ID = "partitionedSince";
+  // Mapping of fields added after the initial mapping. Applied to existing indices on startup.
+  private static final String ADDITIONAL_MAPPINGS_JSON = "{\"properties\":{\"fingerprint\":{\"type\":\"keyword\"}}}";
   private static final int MAX_RESULT_WINDOW = 10_000; // Must be the same value as specified in mappings.json.
+  private static final int SCROLL_BATCH_SIZE = 1000;
+  // Usually zero or one Fact exists. More only exist if the same Fact was created concurrently. If more Facts exist
+  // the remaining Facts are fetched with a second request, see fetchAllExistingFacts().
+  private static final int FACT_EXISTENCE_SEARCH_SIZE = 10;
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+  // Index containing one document per Object, see indexFact() and searchObjects().
+  private static final String OBJECTS_INDEX_NAME = "act-objects";
+  private static final String OBJECTS_TYPE_NAME = "object";
+  private static final String OBJECTS_MAPPINGS_JSON = "objects-mappings.json";
+  // Stored in the '_meta' field of the Objects mapping once the Objects of all previously indexed Facts were added.
+  private static final String OBJECTS_INDEX_COMPLETE_META = "complete";
+  private static final String[] OBJECTS_SOURCE_FIELDS = {"id", "typeID", "typeName", "value"};
+  // Objects are shared between Facts and, thus, updated concurrently. Retry on version conflicts instead of failing.
+  private static final int OBJECTS_RETRY_ON_CONFLICT = 5;
+  // Only adds missing keys. If nothing has changed the update is skipped and the document isn't re-indexed.
+  private static final String ADD_ACCESS_KEYS_SCRIPT = "boolean changed = false; " +
+          "for (String key : params.accessKeys) { " +
+          "if (!ctx._source.accessKeys.contains(key)) { ctx._source.accessKeys.add(key); changed = true; } " +
+          "} " +
+          "if (!changed) { ctx.op = 'none'; }";
+  // Partial updates of the same Fact might be executed concurrently. Retry on version conflicts instead of failing.
+  private static final int FACT_RETRY_ON_CONFLICT = 5;
+  // Only adds missing subjects. If nothing has changed the update is skipped and the document isn't re-indexed.
+  private static final String ADD_ACL_ENTRIES_SCRIPT = "if (ctx._source.acl == null) { ctx._source.acl = []; } " +
+          "boolean changed = false; " +
+          "for (String subject : params.acl) { " +
+          "if (!ctx._source.acl.contains(subject)) { ctx._source.acl.add(subject); changed = true; } " +
+          "} " +
+          "if (!changed) { ctx.op = 'none'; }";
+  // Never moves 'lastSeenTimestamp' backwards, e.g. if sightings of the same Fact are written out of order.
+  private static final String UPDATE_LAST_SEEN_TIMESTAMP_SCRIPT = "if (ctx._source.lastSeenTimestamp == null || " +
+          "ctx._source.lastSeenTimestamp < params.lastSeenTimestamp) { " +
+          "ctx._source.lastSeenTimestamp = params.lastSeenTimestamp; " +
+          "} else { ctx.op = 'none'; }";
+  private static final String PUBLIC_ACCESS_KEY = "public";
+  private static final String USER_ACCESS_KEY_PREFIX = "user:";
+  private static final String ORGANIZATION_ACCESS_KEY_PREFIX = "organization:";
+  // Number of users for which the access control query is cached, see createAccessControlQuery().
+  private static final int ACCESS_CONTROL_QUERY_CACHE_SIZE = 1000;
 
   private static final String FILTER_FACTS_AGGREGATION_NAME = "FilterFactsAggregation";
   private static final String NESTED_OBJECTS_AGGREGATION_NAME = "NestedObjectsAggregation";
@@ -96,8 +178,17 @@ public class FactSearchManager implements LifecycleAspect {
   @Dependency
   private final ClientFactory clientFactory;
   private final Function<UUID, EntityHandler> entityHandlerForTypeIdResolver;
+  private final RequestMetrics requestMetrics = new RequestMetrics(Metrics.globalRegistry);
+  private final Cache<AccessControlKey, QueryBuilder> accessControlQueryCache = CacheBuilder.newBuilder()
+          .maximumSize(ACCESS_CONTROL_QUERY_CACHE_SIZE)
+          .build();
 
   private boolean isTestEnvironment = false;
+  private Thread backfillThread;
+  private Thread objectsBackfillThread;
+  private volatile boolean objectsIndexComplete;
+  private volatile Long legacyIndexPartitionedSince;
+  private volatile boolean fingerprintsComplete;
 
   @Inject
   public FactSearchManager(ClientFactory clientFactory, Function<UUID, EntityHandler> entityHandlerForTypeIdResolver) {
@@ -107,37 +198,85 @@ public class FactSearchManager implements LifecycleAspect {
 
   @Override
   public void startComponent() {
-    if (!indexExists()) {
-      LOGGER.info("Index '%s' does not exist, create it.", INDEX_NAME);
-      createIndex();
+    // Always update the template, thus, new partitions are created with the current mappings.
+    putFactsTemplate();
+    if (indexExists(LEGACY_INDEX_NAME)) {
+      // Facts indexed by a previous version stay in the legacy index which is added to the alias.
+      legacyIndexPartitionedSince = initializeLegacyIndex();
+    } else {
+      // Partitions are only written by this version which always indexes Facts together with their fingerprints.
+      fingerprintsComplete = true;
+    }
+
+    boolean factsIndexExists = indexExists(FACTS_ALIAS);
+    if (!factsIndexExists) {
+      // Create the partition of the current month, otherwise the alias doesn't exist and searches fail.
+      String index = resolveFactsIndex(System.currentTimeMillis());
+      LOGGER.info("Index '%s' does not exist, create it.", index);
+      createIndex(index, MAPPINGS_JSON);
+    } else {
+      // Indices were created by a previous version, make sure that they contain all fields.
+      updateMapping();
+    }
+
+    if (!fingerprintsComplete && !isTestEnvironment) {
+      // Facts indexed before fingerprints were introduced are updated in the background. Until then they are still
+      // found by retrieveExistingFacts(), only slower.
+      backfillThread = new Thread(this::backfillFingerprints, "FactFingerprintBackfill");
+      backfillThread.setDaemon(true);
+      backfillThread.start();
+    }
+
+    if (!indexExists(OBJECTS_INDEX_NAME)) {
+      LOGGER.info("Index '%s' does not exist, create it.", OBJECTS_INDEX_NAME);
+      createIndex(OBJECTS_INDEX_NAME, OBJECTS_MAPPINGS_JSON);
+      // Without any previously indexed Facts there's nothing to add to the new index.
+      if (!factsIndexExists) markObjectsIndexComplete();
+    } else {
+      objectsIndexComplete = isObjectsIndexComplete();
+    }
+
+    if (!objectsIndexComplete && !isTestEnvironment) {
+      // Objects of Facts indexed before the Objects index was introduced are added in the background. Until then
+      // searchObjects() falls back to aggregating the Objects from the Facts index.
+      objectsBackfillThread = new Thread(this::backfillObjects, "ObjectIndexBackfill");
+      objectsBackfillThread.setDaemon(true);
+      objectsBackfillThread.start();
     }
   }
 
   @Override
   public void stopComponent() {
-    // NOOP
+    if (backfillThread != null) backfillThread.interrupt();
+    if (objectsBackfillThread != null) objectsBackfillThread.interrupt();
   }
 
   /**
    * Retrieve an indexed Fact by its UUID. Returns NULL if Fact cannot be fetched from ElasticSearch.
+   * <p>
+   * The partition of the Fact isn't known from its UUID, thus, the Fact is looked up in all partitions using a search.
+   * In contrast to a get request a newly indexed Fact is only found after the next refresh of its partition.
    *
    * @param id UUID of indexed Fact
    * @return Indexed Fact or NULL if not available
    */
   public FactDocument getFact(UUID id) {
     if (id == null) return null;
-    GetResponse response;
+    SearchResponse response;
 
     try {
-      GetRequest request = new GetRequest(INDEX_NAME, TYPE_NAME, id.toString());
-      response = clientFactory.getHighLevelClient().get(request);
+      SearchRequest request = new SearchRequest()
+              .indices(FACTS_ALIAS)
+              .types(TYPE_NAME)
+              .source(new SearchSourceBuilder().size(1).query(idsQuery(TYPE_NAME).addIds(id.toString())));
+      response = requestMetrics.execute("getFact", () -> clientFactory.getHighLevelClient().search(request));
     } catch (IOException ex) {
       throw logAndExit(ex, String.format("Could not perform request to fetch Fact with id = %s.", id));
     }
 
-    if (response.isExists()) {
+    if (response.status() == RestStatus.OK && response.getHits().getHits().length > 0) {
       LOGGER.info("Successfully fetched Fact with id = %s.", id);
-      return decodeFactDocument(id, response.getSourceAsBytes());
+      return decodeFactDocument(id, toBytes(response.getHits().getAt(0).getSourceRef()));
     } else {
       // Fact isn't indexed in ElasticSearch, log warning and return null.
       LOGGER.warning("Could not fetch Fact with id = %s. Fact not indexed?", id);
@@ -146,35 +285,162 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   /**
-   * Index a Fact into ElasticSearch.
+   * Index a Fact into ElasticSearch. The Objects bound to the Fact are added to the Objects index in the same request.
    *
    * @param fact Fact to index
    * @return Indexed Fact
    */
   public FactDocument indexFact(FactDocument fact) {
     if (fact == null || fact.getId() == null) return null;
-    IndexResponse response;
+    BulkResponse response;
 
     try {
-      IndexRequest request = new IndexRequest(INDEX_NAME, TYPE_NAME, fact.getId().toString())
-              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE)
-              .source(FACT_DOCUMENT_WRITER.writeValueAsBytes(encodeValues(fact)), XContentType.JSON);
-      response = clientFactory.getHighLevelClient().index(request);
+      BulkRequest request = new BulkRequest()
+              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+      createIndexRequests(fact).forEach(request::add);
+      response = requestMetrics.execute("indexFact", () -> clientFactory.getHighLevelClient().bulk(request));
     } catch (IOException ex) {
       throw logAndExit(ex, String.format("Could not perform request to index Fact with id = %s.", fact.getId()));
     }
 
-    if (response.status() != RestStatus.OK && response.status() != RestStatus.CREATED) {
-      LOGGER.warning("Could not index Fact with id = %s.", fact.getId());
-    } else if (response.getResult() == DocWriteResponse.Result.CREATED) {
+    // The request indexing the Fact is always the first item, followed by the updates of the Objects.
+    BulkItemResponse item = response.getItems()[0];
+    if (item.isFailed()) {
+      LOGGER.warning("Could not index Fact with id = %s (%s).", fact.getId(), item.getFailureMessage());
+    } else if (item.getResponse().getResult() == DocWriteResponse.Result.CREATED) {
       LOGGER.info("Successfully indexed Fact with id = %s.", fact.getId());
-    } else if (response.getResult() == DocWriteResponse.Result.UPDATED) {
+    } else if (item.getResponse().getResult() == DocWriteResponse.Result.UPDATED) {
       LOGGER.info("Successfully re-indexed existing Fact with id = %s.", fact.getId());
     }
+    logFailedObjectUpdates(response, 1);
 
     return fact;
   }
 
+  /**
+   * Index multiple Facts into ElasticSearch using one bulk request. Facts which could not be indexed are logged and
+   * omitted from the returned list. The Objects bound to the Facts are added to the Objects index in the same request.
+   *
+   * @param facts Facts to index
+   * @return Successfully indexed Facts
+   */
+  public List<FactDocument> indexFacts(List<FactDocument> facts) {
+    if (CollectionUtils.isEmpty(facts)) return ListUtils.list();
+
+    List<FactDocument> documents = facts.stream()
+            .filter(fact -> fact != null && fact.getId() != null)
+            .collect(Collectors.toList());
+    if (documents.isEmpty()) return ListUtils.list();
+
+    BulkResponse response;
+    try {
+      BulkRequest request = new BulkRequest()
+              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+      // Add all Facts first followed by the updates of their Objects.
+      List<DocWriteRequest<?>> objectUpdates = new ArrayList<>();
+      for (FactDocument fact : documents) {
+        List<DocWriteRequest<?>> requests = createIndexRequests(fact);
+        request.add(requests.get(0));
+        objectUpdates.addAll(requests.subList(1, requests.size()));
+      }
+      objectUpdates.forEach(request::add);
+      response = requestMetrics.execute("indexFacts", () -> clientFactory.getHighLevelClient().bulk(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to index %d Facts.", documents.size()));
+    }
+
+    if (!response.hasFailures()) {
+      LOGGER.info("Successfully indexed %d Facts.", documents.size());
+      return documents;
+    }
+
+    // Bulk responses are returned in the same order as the requests were added.
+    List<FactDocument> indexed = new ArrayList<>();
+    BulkItemResponse[] items = response.getItems();
+    for (int i = 0; i < documents.size(); i++) {
+      if (items[i].isFailed()) {
+        LOGGER.warning("Could not index Fact with id = %s (%s).", items[i].getId(), items[i].getFailureMessage());
+      } else {
+        indexed.add(documents.get(i));
+      }
+    }
+    logFailedObjectUpdates(response, documents.size());
+
+    LOGGER.info("Successfully indexed %d Facts out of %d Facts.", indexed.size(), documents.size());
+    return indexed;
+  }
+
+  /**
+   * Update the 'lastSeenTimestamp' of multiple indexed Facts using one bulk request. Only 'lastSeenTimestamp' is
+   * changed, the remaining fields of the indexed Facts are left untouched. Facts which are not indexed are skipped.
+   * An indexed 'lastSeenTimestamp' which is already newer than the provided timestamp is kept.
+   * <p>
+   * Only 'id', 'timestamp' (determining the partition of the Fact) and 'lastSeenTimestamp' of the provided Facts are used.
+   *
+   * @param facts Facts containing the new 'lastSeenTimestamp'
+   * @return IDs of Facts which could not be updated (skipped Facts which are not indexed are not included)
+   */
+  public Set<UUID> updateLastSeenTimestamps(List<FactDocument> facts) {
+    if (CollectionUtils.isEmpty(facts)) return SetUtils.set();
+
+    BulkResponse response;
+    try {
+      BulkRequest request = new BulkRequest()
+              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+      facts.forEach(fact -> request.add(createUpdateLastSeenTimestampRequest(fact)));
+      response = requestMetrics.execute("updateLastSeenTimestamps", () -> clientFactory.getHighLevelClient().bulk(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to update 'lastSeenTimestamp' of %d Facts.", facts.size()));
+    }
+
+    int skipped = 0;
+    Set<UUID> failed = new HashSet<>();
+    for (BulkItemResponse item : response.getItems()) {
+      if (!item.isFailed()) continue;
+
+      if (item.getFailure().getStatus() == RestStatus.NOT_FOUND) {
+        // Fact isn't indexed, thus, there's nothing to update.
+        skipped++;
+      } else {
+        LOGGER.warning("Could not update 'lastSeenTimestamp' of Fact with id = %s (%s).", item.getId(), item.getFailureMessage());
+        failed.add(UUID.fromString(item.getId()));
+      }
+    }
+
+    LOGGER.info("Successfully updated 'lastSeenTimestamp' of %d Facts out of %d Facts.", facts.size() - skipped - failed.size(), facts.size());
+    return failed;
+  }
+
+  /**
+   * Mark an indexed Fact as retracted. Only the 'retracted' flag is changed, the remaining fields of the indexed Fact
+   * are left untouched. Use {@link BulkFactIndexer#markRetracted(FactDocument)} to send the update asynchronously.
+   * <p>
+   * Only 'id' and 'timestamp' (determining the partition of the Fact) of the provided Fact are used.
+   *
+   * @param fact Fact to mark as retracted
+   * @return True if the indexed Fact was updated
+   */
+  public boolean markRetracted(FactDocument fact) {
+    if (fact == null || fact.getId() == null) return false;
+    return executeFactUpdate("markRetracted", fact, ListUtils.list(createMarkRetractedRequest(fact)));
+  }
+
+  /**
+   * Add ACL entries to an indexed Fact. The Subjects are added to the ACL of the indexed Fact and, unless the Fact is
+   * public, to the access information of the Objects bound to the Fact. The remaining fields are left untouched. Use
+   * {@link BulkFactIndexer#addAclEntries(FactDocument)} to send the updates asynchronously.
+   * <p>
+   * Only 'id', 'timestamp' (determining the partition of the Fact), 'accessMode', 'acl' (the Subjects to add) and the
+   * IDs of the 'objects' of the provided Fact are used.
+   *
+   * @param fact Fact containing the ACL entries to add
+   * @return True if the indexed Fact was updated
+   */
+  public boolean addAclEntries(FactDocument fact) {
+    if (fact == null || fact.getId() == null || CollectionUtils.isEmpty(fact.getAcl())) return false;
+    return executeFactUpdate("addAclEntries", fact, createAddAclEntriesRequests(fact));
+  }
+
   /**
    * Retrieve all Facts which are considered logically the same when matched against a given search criteria, i.e. the
    * following condition holds: an indexed Fact matches the search criteria and will be included in the returned result
@@ -192,23 +458,56 @@ public class FactSearchManager implements LifecycleAspect {
 
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildFactExistenceSearchRequest(criteria));
+      response = requestMetrics.execute("retrieveExistingFacts", () -> clientFactory.getHighLevelClient().search(buildFactExistenceSearchRequest(criteria)));
+      response = fetchAllExistingFacts(criteria, response);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for existing Facts.");
     }
 
-    if (response.status() != RestStatus.OK) {
-      LOGGER.warning("Could not search for existing Facts (response code %s).", response.status());
-      return SearchResult.<FactDocument>builder().build();
+    return retrieveExistingFactsResult(response);
+  }
+
+  /**
+   * Same as {@link #retrieveExistingFacts(FactExistenceSearchCriteria)} but for multiple criteria at once. All searches
+   * are sent to ElasticSearch concurrently and the results are returned in the same order as the provided criteria.
+   *
+   * @param criteria Criteria to retrieve existing Facts
+   * @return For each criteria all Facts satisfying that criteria wrapped inside a result container
+   */
+  public List<SearchResult<FactDocument>> retrieveExistingFactsInBatch(List<FactExistenceSearchCriteria> criteria) {
+    if (CollectionUtils.isEmpty(criteria)) return ListUtils.list();
+
+    // The high-level client doesn't support the Multi Search API yet, thus, send all requests asynchronously
+    // and wait for the responses afterwards. This avoids waiting for one round trip per criteria.
+    List<PlainActionFuture<SearchResponse>> futures = new ArrayList<>();
+    for (FactExistenceSearchCriteria c : criteria) {
+      PlainActionFuture<SearchResponse> future = PlainActionFuture.newFuture();
+      if (c == null) {
+        future.onResponse(null);
+      } else {
+        clientFactory.getHighLevelClient().searchAsync(buildFactExistenceSearchRequest(c), future);
+      }
+      futures.add(future);
     }
 
-    List<FactDocument> result = retrieveFactDocuments(response);
+    List<SearchResult<FactDocument>> results = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        SearchResponse response = futures.get(i).get();
+        if (response != null) {
+          requestMetrics.recordTook("retrieveExistingFacts", response.getTook());
+          response = fetchAllExistingFacts(criteria.get(i), response);
+        }
+        results.add(response != null ? retrieveExistingFactsResult(response) : SearchResult.<FactDocument>builder().build());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw logAndExit(ex, "Interrupted while searching for existing Facts.");
+      } catch (ExecutionException | IOException ex) {
+        throw logAndExit(ex, "Could not perform request to search for existing Facts.");
+      }
+    }
 
-    LOGGER.info("Successfully retrieved %d existing Facts.", result.size());
-    return SearchResult.<FactDocument>builder()
-            .setCount((int) response.getHits().getTotalHits())
-            .setValues(result)
-            .build();
+    return results;
   }
 
   /**
@@ -227,7 +526,7 @@ public class FactSearchManager implements LifecycleAspect {
 
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildFactsSearchRequest(criteria));
+      response = requestMetrics.execute("searchFacts", () -> clientFactory.getHighLevelClient().search(buildFactsSearchRequest(criteria)));
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for Facts.");
     }
@@ -247,12 +546,103 @@ public class FactSearchManager implements LifecycleAspect {
             .build();
   }
 
+  /**
+   * Same as {@link #searchFacts(FactSearchCriteria)} but returns all Facts satisfying the search criteria regardless
+   * of the configured limit or the maximum result window. Instead of returning all Facts at once the Facts are fetched
+   * batch by batch while iterating over the returned result. The returned result must be closed if it's not iterated
+   * until the end.
+   *
+   * @param criteria Search criteria to match against Facts
+   * @return Facts satisfying search criteria wrapped inside a scrolling result container
+   */
+  public ScrollingSearchResult<FactDocument> scrollFacts(FactSearchCriteria criteria) {
+    if (criteria == null) return ScrollingSearchResult.<FactDocument>builder().build();
+    return scroll(buildFactsScrollRequest(criteria));
+  }
+
+  /**
+   * Calculate and store the fingerprint of all indexed Facts which have been indexed without a fingerprint. Only the
+   * fingerprint is added to the Facts, all other fields stay untouched. Stops early if the current thread is interrupted.
+   * Once all Facts have been updated {@link #retrieveExistingFacts(FactExistenceSearchCriteria)} only looks up Facts
+   * by their fingerprints.
+   * <p>
+   * This is executed automatically in the background when the legacy index hasn't been completely updated yet.
+   *
+   * @return Number of updated Facts
+   */
+  public int backfillFingerprints() {
+    int processed = 0;
+    int updated = 0;
+
+    try (ScrollingSearchResult<FactDocument> result = scroll(buildMissingFingerprintScrollRequest())) {
+      if (result.getCount() > 0) {
+        LOGGER.info("Calculating fingerprints of %d Facts.", result.getCount());
+      }
+
+      while (result.hasNext() && !Thread.currentThread().isInterrupted()) {
+        List<FactDocument> batch = result.next();
+        processed += batch.size();
+        updated += updateFingerprints(batch);
+      }
+    }
+
+    if (Thread.currentThread().isInterrupted()) {
+      LOGGER.warning("Interrupted while calculating fingerprints. Will continue on next startup.");
+      return updated;
+    }
+
+    if (updated < processed) {
+      LOGGER.warning("Could not calculate fingerprints of %d Facts. Will retry on next startup.", processed - updated);
+      return updated;
+    }
+
+    markFingerprintsComplete();
+    if (updated > 0) {
+      LOGGER.info("Successfully calculated fingerprints of %d Facts.", updated);
+    }
+
+    return updated;
+  }
+
+  /**
+   * Add the Objects of all indexed Facts to the Objects index. Objects which are already indexed are only updated if
+   * they are missing access information of a Fact. Stops early if the current thread is interrupted. Once all Facts
+   * have been processed {@link #searchObjects(FactSearchCriteria)} starts using the Objects index.
+   * <p>
+   * This is executed automatically in the background when the Objects index was created for an existing Facts index.
+   *
+   * @return Number of processed Objects
+   */
+  public int backfillObjects() {
+    int updated = 0;
+
+    try (ScrollingSearchResult<FactDocument> result = scroll(buildAllFactsScrollRequest())) {
+      if (result.getCount() > 0) {
+        LOGGER.info("Adding Objects of %d Facts to index '%s'.", result.getCount(), OBJECTS_INDEX_NAME);
+      }
+
+      while (result.hasNext() && !Thread.currentThread().isInterrupted()) {
+        updated += updateObjects(result.next());
+      }
+    }
+
+    if (Thread.currentThread().isInterrupted()) {
+      LOGGER.warning("Interrupted while adding Objects to index '%s'. Will continue on next startup.", OBJECTS_INDEX_NAME);
+      return updated;
+    }
+
+    markObjectsIndexComplete();
+    LOGGER.info("Successfully added %d Objects to index '%s'.", updated, OBJECTS_INDEX_NAME);
+    return updated;
+  }
+
   /**
    * Search for Objects indexed in ElasticSearch by a given search criteria. Only Objects satisfying the search criteria
    * will be returned. Returns an empty result container if no Object satisfies the search criteria.
    * <p>
-   * First, the result will be reduced to only the Facts satisfying the search criteria. Then, for all matching Facts
-   * the bound Objects will be reduced to the unique Objects satisfying the search criteria.
+   * If the search criteria only filter on Objects the search is executed as a simple query against the Objects index.
+   * Otherwise, first, the result will be reduced to only the Facts satisfying the search criteria. Then, for all
+   * matching Facts the bound Objects will be reduced to the unique Objects satisfying the search criteria.
    * <p>
    * Both 'currentUserID' (identifying the calling user) and 'availableOrganizationID' (identifying the Organizations
    * the calling user has access to) must be set in the search criteria in order to apply access control to Facts. Only
@@ -263,10 +653,11 @@ public class FactSearchManager implements LifecycleAspect {
    */
   public SearchResult<ObjectDocument> searchObjects(FactSearchCriteria criteria) {
     if (criteria == null) return SearchResult.<ObjectDocument>builder().build();
+    if (objectsIndexComplete && isObjectsIndexSearchable(criteria)) return searchObjectsIndex(criteria);
 
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildObjectsSearchRequest(criteria));
+      response = requestMetrics.execute("searchObjects", () -> clientFactory.getHighLevelClient().search(buildObjectsSearchRequest(criteria)));
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to search for Objects.");
     }
@@ -305,7 +696,7 @@ public class FactSearchManager implements LifecycleAspect {
 
     SearchResponse response;
     try {
-      response = clientFactory.getHighLevelClient().search(buildObjectStatisticsSearchRequest(criteria));
+      response = requestMetrics.execute("calculateObjectStatistics", () -> clientFactory.getHighLevelClient().search(buildObjectStatisticsSearchRequest(criteria)));
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to calculate Object statistics.");
     }
@@ -333,12 +724,383 @@ public class FactSearchManager implements LifecycleAspect {
     return this;
   }
 
-  private boolean indexExists() {
+  public boolean isTestEnvironment() {
+    return isTestEnvironment;
+  }
+
+  /**
+   * Resolve the index containing a Fact based on the Fact's 'timestamp'. Facts older than the introduction of
+   * partitioning are stored in the legacy index if it exists, all other Facts are stored in the partition of the
+   * month (UTC) they were created in. Partitions are created automatically from the index template on first use.
+   *
+   * @param timestamp Timestamp when the Fact was created
+   * @return Name of the index containing the Fact
+   */
+  String resolveFactsIndex(long timestamp) {
+    Long partitionedSince = legacyIndexPartitionedSince;
+    if (partitionedSince != null && timestamp < partitionedSince) return LEGACY_INDEX_NAME;
+    return resolvePartition(YearMonth.from(Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC)));
+  }
+
+  /**
+   * Create the request to mark an indexed Fact as retracted, see {@link #markRetracted(FactDocument)}.
+   *
+   * @param fact Fact to mark as retracted
+   * @return Request updating the Fact
+   */
+  UpdateRequest createMarkRetractedRequest(FactDocument fact) {
+    // 'retracted' never changes back, thus, a partial update without script is sufficient.
+    return new UpdateRequest(resolveFactsIndex(fact.getTimestamp()), TYPE_NAME, fact.getId().toString())
+            .doc(Collections.singletonMap("retracted", true))
+            .retryOnConflict(FACT_RETRY_ON_CONFLICT);
+  }
+
+  /**
+   * Create the requests to add ACL entries to an indexed Fact, see {@link #addAclEntries(FactDocument)}. The first
+   * request updates the Fact itself, followed by one request per bound Object adding the access keys of the Subjects.
+   *
+   * @param fact Fact containing the ACL entries to add
+   * @return Requests updating the Fact and its Objects
+   */
+  List<DocWriteRequest<?>> createAddAclEntriesRequests(FactDocument fact) {
+    List<String> subjects = SetUtils.set(fact.getAcl())
+            .stream()
+            .map(UUID::toString)
+            .collect(Collectors.toList());
+
+    List<DocWriteRequest<?>> requests = new ArrayList<>();
+    requests.add(new UpdateRequest(resolveFactsIndex(fact.getTimestamp()), TYPE_NAME, fact.getId().toString())
+            .script(new Script(ScriptType.INLINE, "painless", ADD_ACL_ENTRIES_SCRIPT, Collections.singletonMap("acl", subjects)))
+            .retryOnConflict(FACT_RETRY_ON_CONFLICT));
+    // The ACL isn't used to access public Facts, see createAccessKeys().
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) return requests;
+
+    List<String> accessKeys = subjects.stream()
+            .map(subject -> USER_ACCESS_KEY_PREFIX + subject)
+            .collect(Collectors.toList());
+    Script script = new Script(ScriptType.INLINE, "painless", ADD_ACCESS_KEYS_SCRIPT, Collections.singletonMap("accessKeys", accessKeys));
+    SetUtils.set(fact.getObjects())
+            .stream()
+            .filter(object -> object.getId() != null)
+            // The Objects were added to the Objects index together with the Fact, thus, no upsert is required.
+            .map(object -> new UpdateRequest(OBJECTS_INDEX_NAME, OBJECTS_TYPE_NAME, object.getId().toString())
+                    .script(script)
+                    .retryOnConflict(OBJECTS_RETRY_ON_CONFLICT))
+            .forEach(requests::add);
+    return requests;
+  }
+
+  /**
+   * Create the request to update the 'lastSeenTimestamp' of an indexed Fact, see {@link #updateLastSeenTimestamps(List)}.
+   *
+   * @param fact Fact containing the new 'lastSeenTimestamp'
+   * @return Request updating the Fact
+   */
+  UpdateRequest createUpdateLastSeenTimestampRequest(FactDocument fact) {
+    Script script = new Script(ScriptType.INLINE, "painless", UPDATE_LAST_SEEN_TIMESTAMP_SCRIPT,
+            Collections.singletonMap("lastSeenTimestamp", fact.getLastSeenTimestamp()));
+    return new UpdateRequest(resolveFactsIndex(fact.getTimestamp()), TYPE_NAME, fact.getId().toString())
+            .script(script)
+            .retryOnConflict(FACT_RETRY_ON_CONFLICT);
+  }
+
+  /**
+   * Create the requests to index a Fact into ElasticSearch. The first request indexes the Fact itself, followed by one
+   * request per bound Object adding the Object with the access information of the Fact to the Objects index. The
+   * values of the Fact and its Objects are encoded before indexing.
+   *
+   * @param fact Fact to index
+   * @return Requests indexing the Fact and its Objects
+   * @throws IOException If the Fact cannot be serialized
+   */
+  List<DocWriteRequest<?>> createIndexRequests(FactDocument fact) throws IOException {
+    FactDocument encoded = encodeValues(fact);
+
+    List<DocWriteRequest<?>> requests = new ArrayList<>();
+    requests.add(new IndexRequest(resolveFactsIndex(fact.getTimestamp()), TYPE_NAME, fact.getId().toString())
+            .source(FACT_DOCUMENT_WRITER.writeValueAsBytes(encoded), XContentType.JSON));
+    requests.addAll(createObjectUpdateRequests(encoded));
+    return requests;
+  }
+
+  private List<UpdateRequest> createObjectUpdateRequests(FactDocument encodedFact) {
+    List<String> accessKeys = createAccessKeys(encodedFact);
+    if (accessKeys.isEmpty()) return ListUtils.list();
+
+    return SetUtils.set(encodedFact.getObjects())
+            .stream()
+            .filter(object -> object.getId() != null)
+            .map(object -> {
+              // Only used if the Object isn't indexed yet, otherwise the script adds the missing access keys.
+              Map<String, Object> source = new HashMap<>();
+              source.put("id", object.getId().toString());
+              source.put("typeID", object.getTypeID() != null ? object.getTypeID().toString() : null);
+              source.put("typeName", object.getTypeName());
+              source.put("value", object.getValue());
+              source.put("accessKeys", accessKeys);
+
+              Script script = new Script(ScriptType.INLINE, "painless", ADD_ACCESS_KEYS_SCRIPT,
+                      Collections.singletonMap("accessKeys", accessKeys));
+              return new UpdateRequest(OBJECTS_INDEX_NAME, OBJECTS_TYPE_NAME, object.getId().toString())
+                      .script(script)
+                      .upsert(source)
+                      .retryOnConflict(OBJECTS_RETRY_ON_CONFLICT);
+            })
+            .collect(Collectors.toList());
+  }
+
+  private List<String> createAccessKeys(FactDocument fact) {
+    // An Object is accessible if at least one of its access keys matches the keys of the current user, i.e. if the
+    // user has access to at least one Fact bound to the Object. See createAccessControlQuery() for the same rules.
+    List<String> accessKeys = new ArrayList<>();
+    if (fact.getAccessMode() == FactDocument.AccessMode.Public) {
+      accessKeys.add(PUBLIC_ACCESS_KEY);
+    } else if (fact.getAccessMode() == FactDocument.AccessMode.RoleBased && fact.getOrganizationID() != null) {
+      accessKeys.add(ORGANIZATION_ACCESS_KEY_PREFIX + fact.getOrganizationID());
+    }
+
+    if (fact.getAccessMode() != FactDocument.AccessMode.Public) {
+      SetUtils.set(fact.getAcl()).forEach(subject -> accessKeys.add(USER_ACCESS_KEY_PREFIX + subject));
+    }
+
+    return accessKeys;
+  }
+
+  private List<String> createAccessKeys(UUID currentUserID, Set<UUID> availableOrganizationID) {
+    List<String> accessKeys = ListUtils.list(PUBLIC_ACCESS_KEY, USER_ACCESS_KEY_PREFIX + currentUserID);
+    SetUtils.set(availableOrganizationID).forEach(organization -> accessKeys.add(ORGANIZATION_ACCESS_KEY_PREFIX + organization));
+    return accessKeys;
+  }
+
+  private boolean executeFactUpdate(String operation, FactDocument fact, List<DocWriteRequest<?>> requests) {
+    BulkResponse response;
+    try {
+      BulkRequest request = new BulkRequest()
+              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+      requests.forEach(request::add);
+      response = requestMetrics.execute(operation, () -> clientFactory.getHighLevelClient().bulk(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to update Fact with id = %s.", fact.getId()));
+    }
+
+    // The request updating the Fact is always the first item, followed by the updates of the Objects.
+    BulkItemResponse item = response.getItems()[0];
+    logFailedObjectUpdates(response, 1);
+    if (item.isFailed()) {
+      LOGGER.warning("Could not update Fact with id = %s (%s).", fact.getId(), item.getFailureMessage());
+      return false;
+    }
+
+    LOGGER.info("Successfully updated Fact with id = %s.", fact.getId());
+    return true;
+  }
+
+  private int updateObjects(List<FactDocument> facts) {
+    if (CollectionUtils.isEmpty(facts)) return 0;
+
+    BulkRequest request = new BulkRequest()
+            .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+    facts.forEach(fact -> createObjectUpdateRequests(encodeValues(fact)).forEach(request::add));
+    if (request.numberOfActions() == 0) return 0;
+
+    BulkResponse response;
+    try {
+      response = requestMetrics.execute("backfillObjects", () -> clientFactory.getHighLevelClient().bulk(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to update %d Objects.", request.numberOfActions()));
+    }
+
+    return request.numberOfActions() - logFailedObjectUpdates(response, 0);
+  }
+
+  private int logFailedObjectUpdates(BulkResponse response, int offset) {
+    if (!response.hasFailures()) return 0;
+
+    int failed = 0;
+    BulkItemResponse[] items = response.getItems();
+    for (int i = offset; i < items.length; i++) {
+      if (items[i].isFailed()) {
+        LOGGER.warning("Could not update Object with id = %s (%s).", items[i].getId(), items[i].getFailureMessage());
+        failed++;
+      }
+    }
+
+    return failed;
+  }
+
+  private boolean isObjectsIndexComplete() {
+    Response response;
+
+    try {
+      // Need to use low-level client here because the Get Mapping API is not yet supported by the high-level client.
+      String endpoint = String.format("%s/_mapping/%s", OBJECTS_INDEX_NAME, OBJECTS_TYPE_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("GET", endpoint);
+      return MAPPER.readTree(response.getEntity().getContent())
+              .path(OBJECTS_INDEX_NAME)
+              .path("mappings")
+              .path(OBJECTS_TYPE_NAME)
+              .path("_meta")
+              .path(OBJECTS_INDEX_COMPLETE_META)
+              .asBoolean(false);
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to fetch mapping of index '%s'.", OBJECTS_INDEX_NAME));
+    }
+  }
+
+  private void markObjectsIndexComplete() {
+    Response response;
+
+    try {
+      // Need to use low-level client here because the Put Mapping API is not yet supported by the high-level client.
+      String payload = String.format("{\"_meta\":{\"%s\":true}}", OBJECTS_INDEX_COMPLETE_META);
+      HttpEntity body = new StringEntity(payload, ContentType.APPLICATION_JSON);
+      String endpoint = String.format("%s/_mapping/%s", OBJECTS_INDEX_NAME, OBJECTS_TYPE_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("PUT", endpoint, Collections.emptyMap(), body);
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to update mapping.");
+    }
+
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not update mapping of index '%s'.", OBJECTS_INDEX_NAME);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
+
+    objectsIndexComplete = true;
+  }
+
+  private void putFactsTemplate() {
+    Response response;
+
+    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream(MAPPINGS_JSON)) {
+      // Apply the settings and mappings to all partitions and add new partitions to the alias.
+      ObjectNode template = (ObjectNode) MAPPER.readTree(payload);
+      template.put("template", FACTS_INDEX_PREFIX + "*");
+      template.putObject("aliases").putObject(FACTS_ALIAS);
+      // Need to use low-level client here because the Index Templates API is not yet supported by the high-level client.
+      HttpEntity body = new StringEntity(MAPPER.writeValueAsString(template), ContentType.APPLICATION_JSON);
+      String endpoint = String.format("_template/%s", FACTS_TEMPLATE_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("PUT", endpoint, Collections.emptyMap(), body);
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to create index template.");
+    }
+
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not create index template '%s'.", FACTS_TEMPLATE_NAME);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
+  }
+
+  private long initializeLegacyIndex() {
+    Response response;
+    long partitionedSince;
+
+    try {
+      JsonNode meta = readLegacyIndexMeta();
+      partitionedSince = meta.path(LEGACY_INDEX_PARTITIONED_SINCE_META).asLong(0);
+      fingerprintsComplete = meta.path(LEGACY_INDEX_FINGERPRINTS_COMPLETE_META).asBoolean(false);
+
+      if (partitionedSince <= 0) {
+        // First startup with partitioning. From now on new Facts are indexed into partitions. Nodes starting at the
+        // same time must agree on the same timestamp, thus, only the value claimed by the first node is stored.
+        long claimed = claimPartitionedSince(System.currentTimeMillis());
+        // Need to use low-level client here because the Put Mapping API is not yet supported by the high-level client.
+        // Every node writes the same value, thus, concurrent updates are harmless.
+        String payload = String.format("{\"_meta\":{\"%s\":%d}}", LEGACY_INDEX_PARTITIONED_SINCE_META, claimed);
+        HttpEntity body = new StringEntity(payload, ContentType.APPLICATION_JSON);
+        String endpoint = String.format("%s/_mapping/%s", LEGACY_INDEX_NAME, TYPE_NAME);
+        response = clientFactory.getLowLevelClient().performRequest("PUT", endpoint, Collections.emptyMap(), body);
+        verifyLegacyIndexResponse(response);
+
+        // Always continue with the stored value.
+        partitionedSince = readLegacyIndexMeta().path(LEGACY_INDEX_PARTITIONED_SINCE_META).asLong(0);
+        if (partitionedSince != claimed) {
+          String msg = String.format("Could not store start of partitioning in index '%s'.", LEGACY_INDEX_NAME);
+          LOGGER.error(msg);
+          throw new IllegalStateException(msg);
+        }
+        LOGGER.info("Partitioning Facts indexed after %s, older Facts stay in index '%s'.",
+                Instant.ofEpochMilli(partitionedSince), LEGACY_INDEX_NAME);
+      }
+
+      // Adding an index to an alias multiple times has no effect.
+      response = clientFactory.getLowLevelClient().performRequest("PUT", String.format("%s/_alias/%s", LEGACY_INDEX_NAME, FACTS_ALIAS));
+      verifyLegacyIndexResponse(response);
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to initialize index '%s'.", LEGACY_INDEX_NAME));
+    }
+
+    return partitionedSince;
+  }
+
+  private JsonNode readLegacyIndexMeta() throws IOException {
+    // Need to use low-level client here because the Get Mapping API is not yet supported by the high-level client.
+    String endpoint = String.format("%s/_mapping/%s", LEGACY_INDEX_NAME, TYPE_NAME);
+    Response response = clientFactory.getLowLevelClient().performRequest("GET", endpoint);
+    return MAPPER.readTree(response.getEntity().getContent())
+            .path(LEGACY_INDEX_NAME)
+            .path("mappings")
+            .path(TYPE_NAME)
+            .path("_meta");
+  }
+
+  private long claimPartitionedSince(long timestamp) throws IOException {
+    // Need to use low-level client here because the high-level client fails on conflicts instead of returning them.
+    String endpoint = String.format("%s/%s/%s", PARTITIONING_INDEX_NAME, PARTITIONING_TYPE_NAME, PARTITIONING_DOCUMENT_ID);
+    String payload = String.format("{\"%s\":%d}", LEGACY_INDEX_PARTITIONED_SINCE_META, timestamp);
+    HttpEntity body = new StringEntity(payload, ContentType.APPLICATION_JSON);
+    // Creating the document fails with a conflict if another node has already claimed the timestamp.
+    Response response = clientFactory.getLowLevelClient().performRequest("PUT", endpoint + "/_create",
+            Collections.singletonMap("ignore", String.valueOf(HttpStatus.SC_CONFLICT)), body);
+    if (response.getStatusLine().getStatusCode() == HttpStatus.SC_CREATED) return timestamp;
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_CONFLICT) verifyLegacyIndexResponse(response);
+
+    // Get requests are real-time, thus, the claimed timestamp is returned without waiting for a refresh.
+    response = clientFactory.getLowLevelClient().performRequest("GET", endpoint);
+    return MAPPER.readTree(response.getEntity().getContent())
+            .path("_source")
+            .path(LEGACY_INDEX_PARTITIONED_SINCE_META)
+            .asLong();
+  }
+
+  private void markFingerprintsComplete() {
+    Long partitionedSince = legacyIndexPartitionedSince;
+    if (partitionedSince == null) {
+      // Without the legacy index there are no Facts indexed before fingerprints were introduced.
+      fingerprintsComplete = true;
+      return;
+    }
+
+    try {
+      // Need to use low-level client here because the Put Mapping API is not yet supported by the high-level client.
+      // The '_meta' field is replaced as a whole, thus, keep the other values.
+      String payload = String.format("{\"_meta\":{\"%s\":%d,\"%s\":true}}", LEGACY_INDEX_PARTITIONED_SINCE_META,
+              partitionedSince, LEGACY_INDEX_FINGERPRINTS_COMPLETE_META);
+      HttpEntity body = new StringEntity(payload, ContentType.APPLICATION_JSON);
+      String endpoint = String.format("%s/_mapping/%s", LEGACY_INDEX_NAME, TYPE_NAME);
+      verifyLegacyIndexResponse(clientFactory.getLowLevelClient().performRequest("PUT", endpoint, Collections.emptyMap(), body));
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to update mapping.");
+    }
+
+    fingerprintsComplete = true;
+  }
+
+  private void verifyLegacyIndexResponse(Response response) {
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not initialize index '%s'.", LEGACY_INDEX_NAME);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
+  }
+
+  private boolean indexExists(String index) {
     Response response;
 
     try {
       // Need to use low-level client here because the Index API is not yet supported by the high-level client.
-      response = clientFactory.getLowLevelClient().performRequest("HEAD", INDEX_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("HEAD", index);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to verify if index exists.");
     }
@@ -347,32 +1109,66 @@ public class FactSearchManager implements LifecycleAspect {
     return response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
   }
 
-  private void createIndex() {
+  private void updateMapping() {
     Response response;
 
-    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream(MAPPINGS_JSON)) {
+    try {
+      // Need to use low-level client here because the Put Mapping API is not yet supported by the high-level client.
+      HttpEntity body = new StringEntity(ADDITIONAL_MAPPINGS_JSON, ContentType.APPLICATION_JSON);
+      // Updating the mapping of the alias updates all partitions (including the legacy index).
+      String endpoint = String.format("%s/_mapping/%s", FACTS_ALIAS, TYPE_NAME);
+      response = clientFactory.getLowLevelClient().performRequest("PUT", endpoint, Collections.emptyMap(), body);
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to update mapping.");
+    }
+
+    if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
+      String msg = String.format("Could not update mapping of index '%s'.", FACTS_ALIAS);
+      LOGGER.error(msg);
+      throw new IllegalStateException(msg);
+    }
+  }
+
+  private void createIndex(String index, String mappings) {
+    Response response;
+
+    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream(mappings)) {
       // Need to use low-level client here because the Index API is not yet supported by the high-level client.
       HttpEntity body = new InputStreamEntity(payload, ContentType.APPLICATION_JSON);
-      response = clientFactory.getLowLevelClient().performRequest("PUT", INDEX_NAME, Collections.emptyMap(), body);
+      response = clientFactory.getLowLevelClient().performRequest("PUT", index, Collections.emptyMap(), body);
     } catch (IOException ex) {
       throw logAndExit(ex, "Could not perform request to create index.");
     }
 
     if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK) {
-      String msg = String.format("Could not create index '%s'.", INDEX_NAME);
+      String msg = String.format("Could not create index '%s'.", index);
       LOGGER.error(msg);
       throw new IllegalStateException(msg);
     }
 
-    LOGGER.info("Successfully created index '%s'.", INDEX_NAME);
+    LOGGER.info("Successfully created index '%s'.", index);
+  }
+
+  private SearchResponse fetchAllExistingFacts(FactExistenceSearchCriteria criteria, SearchResponse response) throws IOException {
+    long totalHits = response.getHits().getTotalHits();
+    if (response.status() != RestStatus.OK || totalHits <= response.getHits().getHits().length) return response;
+
+    // Not all existing Facts have been returned. The caller must see all of them, otherwise a duplicate is created if
+    // the user only has access to one of the Facts missing from the first response.
+    int size = (int) Math.min(totalHits, MAX_RESULT_WINDOW);
+    return requestMetrics.execute("retrieveExistingFacts", () -> clientFactory.getHighLevelClient().search(buildFactExistenceSearchRequest(criteria, size)));
   }
 
   private SearchRequest buildFactExistenceSearchRequest(FactExistenceSearchCriteria criteria) {
+    return buildFactExistenceSearchRequest(criteria, FACT_EXISTENCE_SEARCH_SIZE);
+  }
+
+  private SearchRequest buildFactExistenceSearchRequest(FactExistenceSearchCriteria criteria, int size) {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
-            .size(MAX_RESULT_WINDOW) // Always return all matching documents, but usually this should be zero or one.
+            .size(size)
             .query(buildFactExistenceQuery(criteria));
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(FACTS_ALIAS)
             .types(TYPE_NAME)
             .source(sourceBuilder);
   }
@@ -381,9 +1177,17 @@ public class FactSearchManager implements LifecycleAspect {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(calculateMaximumSize(criteria))
             .query(buildFactsQuery(criteria));
-    return new SearchRequest()
-            .indices(INDEX_NAME)
-            .types(TYPE_NAME)
+    return createFactsSearchRequest(criteria)
+            .source(sourceBuilder);
+  }
+
+  private SearchRequest buildFactsScrollRequest(FactSearchCriteria criteria) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(SCROLL_BATCH_SIZE)
+            .query(buildFactsQuery(criteria))
+            .sort("_doc"); // Sorting by '_doc' is the most efficient sort order when scrolling.
+    return createFactsSearchRequest(criteria)
+            .scroll(SCROLL_KEEP_ALIVE)
             .source(sourceBuilder);
   }
 
@@ -391,9 +1195,19 @@ public class FactSearchManager implements LifecycleAspect {
     SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
             .aggregation(buildObjectsAggregation(criteria));
+    return createFactsSearchRequest(criteria)
+            .source(sourceBuilder);
+  }
+
+  private SearchRequest buildObjectsIndexSearchRequest(FactSearchCriteria criteria) {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(calculateMaximumSize(criteria))
+            .query(buildObjectsIndexQuery(criteria))
+            // The access keys are only required for filtering.
+            .fetchSource(OBJECTS_SOURCE_FIELDS, null);
     return new SearchRequest()
-            .indices(INDEX_NAME)
-            .types(TYPE_NAME)
+            .indices(OBJECTS_INDEX_NAME)
+            .types(OBJECTS_TYPE_NAME)
             .source(sourceBuilder);
   }
 
@@ -402,15 +1216,190 @@ public class FactSearchManager implements LifecycleAspect {
             .size(0) // Not interested in the search hits as the search result is part of the returned aggregations.
             .aggregation(buildObjectStatisticsAggregation(criteria));
     return new SearchRequest()
-            .indices(INDEX_NAME)
+            .indices(FACTS_ALIAS)
+            .types(TYPE_NAME)
+            .source(sourceBuilder);
+  }
+
+  private SearchRequest buildMissingFingerprintScrollRequest() {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(SCROLL_BATCH_SIZE)
+            .query(boolQuery().mustNot(existsQuery("fingerprint")))
+            .sort("_doc"); // Sorting by '_doc' is the most efficient sort order when scrolling.
+    return new SearchRequest()
+            .indices(FACTS_ALIAS)
+            .types(TYPE_NAME)
+            .scroll(SCROLL_KEEP_ALIVE)
+            .source(sourceBuilder);
+  }
+
+  private SearchRequest buildAllFactsScrollRequest() {
+    SearchSourceBuilder sourceBuilder = new SearchSourceBuilder()
+            .size(SCROLL_BATCH_SIZE)
+            .query(matchAllQuery())
+            .sort("_doc"); // Sorting by '_doc' is the most efficient sort order when scrolling.
+    return new SearchRequest()
+            .indices(FACTS_ALIAS)
             .types(TYPE_NAME)
+            .scroll(SCROLL_KEEP_ALIVE)
             .source(sourceBuilder);
   }
 
+  private SearchRequest createFactsSearchRequest(FactSearchCriteria criteria) {
+    return new SearchRequest()
+            .indices(resolveSearchIndices(criteria))
+            .types(TYPE_NAME)
+            // Partitions for months without any indexed Facts don't exist.
+            .indicesOptions(IndicesOptions.lenientExpandOpen());
+  }
+
+  /**
+   * Resolve the indices which must be searched for Facts matching the given criteria. If the criteria restrict the
+   * 'timestamp' only the partitions of the time range are searched, otherwise the alias containing all partitions.
+   *
+   * @param criteria Criteria to search for Facts
+   * @return Names of indices (never empty)
+   */
+  String[] resolveSearchIndices(FactSearchCriteria criteria) {
+    if (!isLimitedByTimestamp(criteria)) return new String[]{FACTS_ALIAS};
+
+    long startTimestamp = criteria.getStartTimestamp();
+    long endTimestamp = criteria.getEndTimestamp() != null && criteria.getEndTimestamp() > 0 ? criteria.getEndTimestamp() : System.currentTimeMillis();
+    YearMonth first = YearMonth.from(Instant.ofEpochMilli(startTimestamp).atZone(ZoneOffset.UTC));
+    YearMonth last = YearMonth.from(Instant.ofEpochMilli(endTimestamp).atZone(ZoneOffset.UTC));
+    // The time range is empty and the query won't match anything. Never return an empty list of indices because
+    // ElasticSearch would search all indices in the cluster instead.
+    if (last.isBefore(first)) return new String[]{FACTS_ALIAS};
+    if (ChronoUnit.MONTHS.between(first, last) >= MAX_SEARCH_PARTITIONS) return new String[]{FACTS_ALIAS};
+
+    List<String> indices = new ArrayList<>();
+    for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+      indices.add(resolvePartition(month));
+    }
+
+    Long partitionedSince = legacyIndexPartitionedSince;
+    if (partitionedSince != null && startTimestamp < partitionedSince) {
+      indices.add(LEGACY_INDEX_NAME);
+    }
+
+    return indices.toArray(new String[0]);
+  }
+
+  private boolean isLimitedByTimestamp(FactSearchCriteria criteria) {
+    // Negative timestamps are omitted from the search, see createFieldQuery().
+    if (criteria.getStartTimestamp() == null || criteria.getStartTimestamp() <= 0) return false;
+
+    Set<String> fields = criteria.getTimeFieldStrategy().stream()
+            .flatMap(strategy -> strategy.getFields().stream())
+            .collect(Collectors.toSet());
+    // Partitions are based on 'timestamp'. Only skip partitions if every matching Fact must have a 'timestamp' inside
+    // the time range. This isn't the case if a Fact can match on 'lastSeenTimestamp' alone.
+    return fields.contains("timestamp") &&
+            (fields.size() == 1 || criteria.getTimeMatchStrategy() == FactSearchCriteria.MatchStrategy.all);
+  }
+
+  private String resolvePartition(YearMonth month) {
+    return FACTS_INDEX_PREFIX + FACTS_INDEX_SUFFIX_FORMAT.format(month);
+  }
+
+  private SearchResult<ObjectDocument> searchObjectsIndex(FactSearchCriteria criteria) {
+    SearchResponse response;
+    try {
+      response = requestMetrics.execute("searchObjectsIndex", () -> clientFactory.getHighLevelClient().search(buildObjectsIndexSearchRequest(criteria)));
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to search for Objects.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not search for Objects (response code %s).", response.status());
+      return SearchResult.<ObjectDocument>builder().setLimit(criteria.getLimit()).build();
+    }
+
+    List<ObjectDocument> result = ListUtils.list();
+    for (SearchHit hit : response.getHits()) {
+      ObjectDocument document = decodeObjectDocument(toBytes(hit.getSourceRef()));
+      if (document != null) {
+        result.add(document);
+      }
+    }
+
+    LOGGER.info("Successfully retrieved %d Objects from a total of %d matching Objects.", result.size(), response.getHits().getTotalHits());
+    return SearchResult.<ObjectDocument>builder()
+            .setLimit(criteria.getLimit())
+            .setCount((int) response.getHits().getTotalHits())
+            .setValues(result)
+            .build();
+  }
+
+  private int updateFingerprints(List<FactDocument> facts) {
+    if (CollectionUtils.isEmpty(facts)) return 0;
+
+    BulkResponse response;
+    try {
+      BulkRequest request = new BulkRequest()
+              .setRefreshPolicy(isTestEnvironment ? WriteRequest.RefreshPolicy.IMMEDIATE : WriteRequest.RefreshPolicy.NONE);
+      for (FactDocument fact : facts) {
+        // Use a partial update in order to not overwrite concurrent changes to other fields of the Fact.
+        // The fingerprint only depends on immutable fields.
+        Map<String, Object> partial = Collections.singletonMap("fingerprint", encodeValues(fact).getFingerprint());
+        request.add(new UpdateRequest(resolveFactsIndex(fact.getTimestamp()), TYPE_NAME, fact.getId().toString()).doc(partial));
+      }
+      response = requestMetrics.execute("backfillFingerprints", () -> clientFactory.getHighLevelClient().bulk(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, String.format("Could not perform request to update fingerprints of %d Facts.", facts.size()));
+    }
+
+    int updated = 0;
+    for (BulkItemResponse item : response.getItems()) {
+      if (item.isFailed()) {
+        LOGGER.warning("Could not update fingerprint of Fact with id = %s (%s).", item.getId(), item.getFailureMessage());
+      } else {
+        updated++;
+      }
+    }
+
+    return updated;
+  }
+
+  private ScrollingSearchResult<FactDocument> scroll(SearchRequest request) {
+    SearchResponse response;
+    try {
+      response = requestMetrics.execute("scrollFacts", () -> clientFactory.getHighLevelClient().search(request));
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to search for Facts.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not search for Facts (response code %s).", response.status());
+      return ScrollingSearchResult.<FactDocument>builder().build();
+    }
+
+    LOGGER.info("Successfully initiated scrolling through a total of %d matching Facts.", response.getHits().getTotalHits());
+    return ScrollingSearchResult.<FactDocument>builder()
+            .setCount((int) response.getHits().getTotalHits())
+            .setInitialBatch(new ScrollingSearchResult.ScrollBatch<>(response.getScrollId(), retrieveFactDocuments(response)))
+            .setFetchNextBatch(this::fetchNextFactsBatch)
+            .setCloseScroll(this::clearScroll)
+            .build();
+  }
+
   private QueryBuilder buildFactExistenceQuery(FactExistenceSearchCriteria criteria) {
     // Fact values are stored encoded, thus, in order to match exactly the value from the criteria must be encoded as well.
     String encodedValue = entityHandlerForTypeIdResolver.apply(criteria.getFactTypeID()).encode(criteria.getFactValue());
 
+    // Facts with a fingerprint are found with a single term lookup. Facts indexed before fingerprints were introduced
+    // must be found by comparing all fields until their fingerprints have been calculated by backfillFingerprints().
+    QueryBuilder fingerprintQuery = termQuery("fingerprint", FactFingerprint.calculate(criteria, encodedValue));
+    if (fingerprintsComplete) return boolQuery().filter(fingerprintQuery);
+
+    return boolQuery().filter(boolQuery()
+            .should(fingerprintQuery)
+            .should(buildLegacyFactExistenceQuery(criteria, encodedValue).mustNot(existsQuery("fingerprint")))
+            .minimumShouldMatch(1)
+    );
+  }
+
+  private BoolQueryBuilder buildLegacyFactExistenceQuery(FactExistenceSearchCriteria criteria, String encodedValue) {
     // First, define all filters on direct Fact fields. Every field from the criteria must match.
     BoolQueryBuilder rootQuery = boolQuery()
             .filter(termQuery("value", encodedValue))
@@ -429,121 +1418,125 @@ public class FactSearchManager implements LifecycleAspect {
 
     // Third, also the number of bound Objects must match. It uses a script query because the number of bound Objects
     // isn't directly available. This query should be fast because the other filters should already reduce the number of
-    // Facts to a small number. Alternatively, the number of bound Objects could be de-normalized into Fact documents.
+    // Facts to a small number.
     String scriptCode = "params._source.objects.length == params.count";
     Map<String, Object> scriptParameters = Collections.singletonMap("count", criteria.getObjects().size());
     return rootQuery.filter(scriptQuery(new Script(ScriptType.INLINE, "painless", scriptCode, scriptParameters)));
   }
 
-  private QueryBuilder buildFactsQuery(FactSearchCriteria criteria) {
-    BoolQueryBuilder rootQuery = boolQuery();
+  // Package-private in order to be accessible from benchmarks.
+  QueryBuilder buildFactsQuery(FactSearchCriteria criteria) {
+    FilterQueryBuilder rootQuery = FilterQueryBuilder.all();
     applySimpleFilterQueries(criteria, rootQuery);
     applyKeywordSearchQuery(criteria, rootQuery);
     applyTimestampSearchQuery(criteria, rootQuery);
 
     // Always apply access control query.
-    return rootQuery.filter(createAccessControlQuery(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID()));
+    rootQuery.add(createAccessControlQuery(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID()));
+    // Search results are never ranked, thus, skip scoring altogether.
+    return constantScoreQuery(rootQuery.build());
   }
 
-  private void applySimpleFilterQueries(FactSearchCriteria criteria, BoolQueryBuilder rootQuery) {
+  private void applySimpleFilterQueries(FactSearchCriteria criteria, FilterQueryBuilder rootQuery) {
     if (!CollectionUtils.isEmpty(criteria.getFactID())) {
-      rootQuery.filter(termsQuery("_id", criteria.getFactID()));
+      rootQuery.add(termsQuery("_id", criteria.getFactID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getFactTypeID())) {
-      rootQuery.filter(termsQuery("typeID", criteria.getFactTypeID()));
+      rootQuery.add(termsQuery("typeID", criteria.getFactTypeID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getFactTypeName())) {
-      rootQuery.filter(termsQuery("typeName", criteria.getFactTypeName()));
+      rootQuery.add(termsQuery("typeName", criteria.getFactTypeName()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getFactValue())) {
-      rootQuery.filter(termsQuery("value", criteria.getFactValue()));
+      rootQuery.add(termsQuery("value", criteria.getFactValue()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getInReferenceTo())) {
-      rootQuery.filter(termsQuery("inReferenceTo", criteria.getInReferenceTo()));
+      rootQuery.add(termsQuery("inReferenceTo", criteria.getInReferenceTo()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getOrganizationID())) {
-      rootQuery.filter(termsQuery("organizationID", criteria.getOrganizationID()));
+      rootQuery.add(termsQuery("organizationID", criteria.getOrganizationID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getOrganizationName())) {
-      rootQuery.filter(termsQuery("organizationName", criteria.getOrganizationName()));
+      rootQuery.add(termsQuery("organizationName", criteria.getOrganizationName()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getSourceID())) {
-      rootQuery.filter(termsQuery("sourceID", criteria.getSourceID()));
+      rootQuery.add(termsQuery("sourceID", criteria.getSourceID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getSourceName())) {
-      rootQuery.filter(termsQuery("sourceName", criteria.getSourceName()));
+      rootQuery.add(termsQuery("sourceName", criteria.getSourceName()));
     }
 
+    // Every criterion on Objects must be fulfilled by any Object bound to a Fact, but not necessarily by the same Object.
+    // Thus, the nested queries can't be merged into one nested query.
     if (!CollectionUtils.isEmpty(criteria.getObjectID())) {
-      rootQuery.filter(nestedQuery("objects", termsQuery("objects.id", criteria.getObjectID()), ScoreMode.None));
+      rootQuery.addNested("objects", termsQuery("objects.id", criteria.getObjectID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectTypeID())) {
-      rootQuery.filter(nestedQuery("objects", termsQuery("objects.typeID", criteria.getObjectTypeID()), ScoreMode.None));
+      rootQuery.addNested("objects", termsQuery("objects.typeID", criteria.getObjectTypeID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectTypeName())) {
-      rootQuery.filter(nestedQuery("objects", termsQuery("objects.typeName", criteria.getObjectTypeName()), ScoreMode.None));
+      rootQuery.addNested("objects", termsQuery("objects.typeName", criteria.getObjectTypeName()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectValue())) {
-      rootQuery.filter(nestedQuery("objects", termsQuery("objects.value", criteria.getObjectValue()), ScoreMode.None));
+      rootQuery.addNested("objects", termsQuery("objects.value", criteria.getObjectValue()));
     }
 
     if (criteria.getRetracted() != null) {
-      rootQuery.filter(termQuery("retracted", (boolean) criteria.getRetracted()));
+      rootQuery.add(termQuery("retracted", (boolean) criteria.getRetracted()));
     }
   }
 
-  private void applyKeywordSearchQuery(FactSearchCriteria criteria, BoolQueryBuilder rootQuery) {
+  private void applyKeywordSearchQuery(FactSearchCriteria criteria, FilterQueryBuilder rootQuery) {
     if (StringUtils.isBlank(criteria.getKeywords())) return;
     applyFieldStrategy(rootQuery, field -> createFieldQuery(field, criteria.getKeywords()),
-            criteria.getKeywordFieldStrategy(), criteria.getKeywordMatchStrategy());
+            criteria.getKeywordFieldStrategy(), criteria.getKeywordMatchStrategy(), true);
   }
 
-  private void applyTimestampSearchQuery(FactSearchCriteria criteria, BoolQueryBuilder rootQuery) {
+  private void applyTimestampSearchQuery(FactSearchCriteria criteria, FilterQueryBuilder rootQuery) {
     if (criteria.getStartTimestamp() == null && criteria.getEndTimestamp() == null) return;
     applyFieldStrategy(rootQuery, field -> createFieldQuery(field, criteria.getStartTimestamp(), criteria.getEndTimestamp()),
-            criteria.getTimeFieldStrategy(), criteria.getTimeMatchStrategy());
+            criteria.getTimeFieldStrategy(), criteria.getTimeMatchStrategy(), true);
   }
 
-  private void applyFieldStrategy(BoolQueryBuilder rootQuery, Function<String, QueryBuilder> fieldQueryResolver,
+  private void applyFieldStrategy(FilterQueryBuilder rootQuery, Function<String, QueryBuilder> fieldQueryResolver,
                                   Set<? extends FactSearchCriteria.FieldStrategy> fieldStrategies,
-                                  FactSearchCriteria.MatchStrategy matchStrategy) {
-    // Determine all fields to query.
+                                  FactSearchCriteria.MatchStrategy matchStrategy, boolean wrapNestedFields) {
+    // Determine all fields to query. Sort them in order to always generate the same query for the same criteria.
     Set<String> fieldsToQuery = fieldStrategies.stream()
             .flatMap(strategy -> strategy.getFields().stream())
-            .collect(Collectors.toSet());
+            .collect(Collectors.toCollection(TreeSet::new));
 
-    BoolQueryBuilder strategyQuery = boolQuery();
+    // Field query must match all fields or at least one field. An empty strategy query is dropped.
+    FilterQueryBuilder strategyQuery = matchStrategy == FactSearchCriteria.MatchStrategy.all ? FilterQueryBuilder.all() : FilterQueryBuilder.any();
     for (String field : fieldsToQuery) {
-      if (matchStrategy == FactSearchCriteria.MatchStrategy.all) {
-        // Field query must match all fields.
-        strategyQuery.filter(fieldQueryResolver.apply(field));
+      if (wrapNestedFields && field.startsWith("objects.")) {
+        // If field starts with the prefix 'objects.' it's part of the nested objects, thus, it must be wrapped inside
+        // a nested query. When matching any field all nested field queries are merged into one nested query.
+        strategyQuery.addNested("objects", fieldQueryResolver.apply(field));
       } else {
-        // Field query should match at least one field.
-        strategyQuery.should(fieldQueryResolver.apply(field));
+        strategyQuery.add(fieldQueryResolver.apply(field));
       }
     }
 
-    rootQuery.filter(strategyQuery);
+    rootQuery.add(strategyQuery.build());
   }
 
   private QueryBuilder createFieldQuery(String field, String keywords) {
-    SimpleQueryStringBuilder query = simpleQueryStringQuery(keywords)
+    return simpleQueryStringQuery(keywords)
             .field(field)
             // Values are indexed differently. Avoid errors when executing an IP search against a text field, for example.
             .lenient(true);
-    // If field starts with the prefix 'objects.' it's part of the nested objects, thus, it must be wrapped inside a nested query.
-    return field.startsWith("objects.") ? nestedQuery("objects", query, ScoreMode.Avg) : query;
   }
 
   private QueryBuilder createFieldQuery(String field, Long startTimestamp, Long endTimestamp) {
@@ -554,6 +1547,13 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   private QueryBuilder createAccessControlQuery(UUID currentUserID, Set<UUID> availableOrganizationID) {
+    // The query only depends on the user and its available Organizations but is part of every search. Build it once and
+    // re-use it. Cached queries are shared between searches, thus, they must never be modified.
+    return accessControlQueryCache.asMap().computeIfAbsent(new AccessControlKey(currentUserID, availableOrganizationID),
+            key -> buildAccessControlQuery(key.currentUserID, key.availableOrganizationID));
+  }
+
+  private QueryBuilder buildAccessControlQuery(UUID currentUserID, Set<UUID> availableOrganizationID) {
     // Query to verify that user has access to Fact ...
     return boolQuery()
             // ... if Fact is public.
@@ -573,7 +1573,8 @@ public class FactSearchManager implements LifecycleAspect {
             );
   }
 
-  private AggregationBuilder buildObjectsAggregation(FactSearchCriteria criteria) {
+  // Package-private in order to be accessible from benchmarks.
+  AggregationBuilder buildObjectsAggregation(FactSearchCriteria criteria) {
     // 1. Reduce to Facts matching the search criteria.
     return filter(FILTER_FACTS_AGGREGATION_NAME, buildFactsQuery(criteria))
             // 2. Map to nested Object documents.
@@ -603,24 +1604,24 @@ public class FactSearchManager implements LifecycleAspect {
   }
 
   private QueryBuilder buildObjectsQuery(FactSearchCriteria criteria) {
-    BoolQueryBuilder rootQuery = boolQuery();
+    FilterQueryBuilder rootQuery = FilterQueryBuilder.all();
 
     // Apply all simple filter queries on Objects. It's not necessary to wrap them inside a nested query because the
     // query is executed inside a nested aggregation which has direct access to the nested documents.
     if (!CollectionUtils.isEmpty(criteria.getObjectID())) {
-      rootQuery.filter(termsQuery("objects.id", criteria.getObjectID()));
+      rootQuery.add(termsQuery("objects.id", criteria.getObjectID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectTypeID())) {
-      rootQuery.filter(termsQuery("objects.typeID", criteria.getObjectTypeID()));
+      rootQuery.add(termsQuery("objects.typeID", criteria.getObjectTypeID()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectTypeName())) {
-      rootQuery.filter(termsQuery("objects.typeName", criteria.getObjectTypeName()));
+      rootQuery.add(termsQuery("objects.typeName", criteria.getObjectTypeName()));
     }
 
     if (!CollectionUtils.isEmpty(criteria.getObjectValue())) {
-      rootQuery.filter(termsQuery("objects.value", criteria.getObjectValue()));
+      rootQuery.add(termsQuery("objects.value", criteria.getObjectValue()));
     }
 
     // Apply keyword search on Object values if necessary.
@@ -629,10 +1630,73 @@ public class FactSearchManager implements LifecycleAspect {
                     criteria.getKeywordFieldStrategy().contains(FactSearchCriteria.KeywordFieldStrategy.all))) {
       // Values are indexed differently. Avoid errors by setting 'lenient' to true.
       applyFieldStrategy(rootQuery, field -> simpleQueryStringQuery(criteria.getKeywords()).field(field).lenient(true),
-              SetUtils.set(FactSearchCriteria.KeywordFieldStrategy.objectValue), criteria.getKeywordMatchStrategy());
+              SetUtils.set(FactSearchCriteria.KeywordFieldStrategy.objectValue), criteria.getKeywordMatchStrategy(), false);
     }
 
-    return rootQuery;
+    return rootQuery.build();
+  }
+
+  private boolean isObjectsIndexSearchable(FactSearchCriteria criteria) {
+    // The Objects index doesn't contain any information about the Facts except access control. Criteria on Facts
+    // require aggregating the Objects from the matching Facts instead.
+    boolean filtersFacts = !CollectionUtils.isEmpty(criteria.getFactID()) ||
+            !CollectionUtils.isEmpty(criteria.getFactTypeID()) ||
+            !CollectionUtils.isEmpty(criteria.getFactTypeName()) ||
+            !CollectionUtils.isEmpty(criteria.getFactValue()) ||
+            !CollectionUtils.isEmpty(criteria.getInReferenceTo()) ||
+            !CollectionUtils.isEmpty(criteria.getOrganizationID()) ||
+            !CollectionUtils.isEmpty(criteria.getOrganizationName()) ||
+            !CollectionUtils.isEmpty(criteria.getSourceID()) ||
+            !CollectionUtils.isEmpty(criteria.getSourceName()) ||
+            criteria.getRetracted() != null ||
+            criteria.getStartTimestamp() != null ||
+            criteria.getEndTimestamp() != null;
+    if (filtersFacts) return false;
+    if (StringUtils.isBlank(criteria.getKeywords())) return true;
+
+    // A keyword search is only answered from the Objects index if the result is the same as when searching the Facts,
+    // i.e. the keywords must match the Object values. When matching any field every Fact with a matching Object
+    // matches as well, thus, additionally searched Fact fields don't change the result.
+    Set<FactSearchCriteria.KeywordFieldStrategy> strategy = criteria.getKeywordFieldStrategy();
+    if (strategy.equals(SetUtils.set(FactSearchCriteria.KeywordFieldStrategy.objectValue))) return true;
+    return criteria.getKeywordMatchStrategy() == FactSearchCriteria.MatchStrategy.any &&
+            (strategy.contains(FactSearchCriteria.KeywordFieldStrategy.objectValue) ||
+                    strategy.contains(FactSearchCriteria.KeywordFieldStrategy.all));
+  }
+
+  // Package-private in order to be accessible from benchmarks.
+  QueryBuilder buildObjectsIndexQuery(FactSearchCriteria criteria) {
+    FilterQueryBuilder rootQuery = FilterQueryBuilder.all();
+
+    if (!CollectionUtils.isEmpty(criteria.getObjectID())) {
+      rootQuery.add(termsQuery("_id", criteria.getObjectID()));
+    }
+
+    if (!CollectionUtils.isEmpty(criteria.getObjectTypeID())) {
+      rootQuery.add(termsQuery("typeID", criteria.getObjectTypeID()));
+    }
+
+    if (!CollectionUtils.isEmpty(criteria.getObjectTypeName())) {
+      rootQuery.add(termsQuery("typeName", criteria.getObjectTypeName()));
+    }
+
+    if (!CollectionUtils.isEmpty(criteria.getObjectValue())) {
+      rootQuery.add(termsQuery("value", criteria.getObjectValue()));
+    }
+
+    if (!StringUtils.isBlank(criteria.getKeywords())) {
+      // The fields of the Objects index are the same as the nested fields of the Facts index without the prefix.
+      // Values are indexed differently. Avoid errors by setting 'lenient' to true.
+      applyFieldStrategy(rootQuery, field -> simpleQueryStringQuery(criteria.getKeywords())
+                      .field(field.substring("objects.".length()))
+                      .lenient(true),
+              SetUtils.set(FactSearchCriteria.KeywordFieldStrategy.objectValue), criteria.getKeywordMatchStrategy(), false);
+    }
+
+    // Always apply access control. An Object is accessible if the user has access to at least one bound Fact.
+    rootQuery.add(termsQuery("accessKeys", createAccessKeys(criteria.getCurrentUserID(), criteria.getAvailableOrganizationID())));
+    // Search results are never ranked, thus, skip scoring altogether.
+    return constantScoreQuery(rootQuery.build());
   }
 
   private int calculateMaximumSize(FactSearchCriteria criteria) {
@@ -677,6 +1741,52 @@ public class FactSearchManager implements LifecycleAspect {
             );
   }
 
+  private SearchResult<FactDocument> retrieveExistingFactsResult(SearchResponse response) {
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not search for existing Facts (response code %s).", response.status());
+      return SearchResult.<FactDocument>builder().build();
+    }
+
+    List<FactDocument> result = retrieveFactDocuments(response);
+
+    LOGGER.info("Successfully retrieved %d existing Facts.", result.size());
+    return SearchResult.<FactDocument>builder()
+            .setCount((int) response.getHits().getTotalHits())
+            .setValues(result)
+            .build();
+  }
+
+  private ScrollingSearchResult.ScrollBatch<FactDocument> fetchNextFactsBatch(String scrollID) {
+    SearchResponse response;
+    try {
+      response = requestMetrics.execute("scrollFacts", () -> clientFactory.getHighLevelClient().searchScroll(new SearchScrollRequest(scrollID).scroll(SCROLL_KEEP_ALIVE)));
+    } catch (IOException ex) {
+      throw logAndExit(ex, "Could not perform request to fetch next batch of Facts.");
+    }
+
+    if (response.status() != RestStatus.OK) {
+      LOGGER.warning("Could not fetch next batch of Facts (response code %s).", response.status());
+      return new ScrollingSearchResult.ScrollBatch<>(scrollID, null);
+    }
+
+    List<FactDocument> result = retrieveFactDocuments(response);
+
+    LOGGER.debug("Successfully retrieved next batch of %d Facts.", result.size());
+    return new ScrollingSearchResult.ScrollBatch<>(response.getScrollId(), result);
+  }
+
+  private void clearScroll(String scrollID) {
+    ClearScrollRequest request = new ClearScrollRequest();
+    request.addScrollId(scrollID);
+
+    try {
+      requestMetrics.execute("clearScroll", () -> clientFactory.getHighLevelClient().clearScroll(request));
+    } catch (IOException ex) {
+      // Not fatal, the search context will be released by ElasticSearch once the keep alive time has expired.
+      LOGGER.warning(ex, "Could not clear scroll context.");
+    }
+  }
+
   private List<FactDocument> retrieveFactDocuments(SearchResponse response) {
     List<FactDocument> result = ListUtils.list();
     for (SearchHit hit : response.getHits()) {
@@ -832,6 +1942,8 @@ public class FactSearchManager implements LifecycleAspect {
     clone.setValue(entityHandlerForTypeIdResolver.apply(fact.getTypeID()).encode(fact.getValue()));
     // Also encode all Object values.
     SetUtils.set(clone.getObjects()).forEach(o -> o.setValue(entityHandlerForTypeIdResolver.apply(o.getTypeID()).encode(o.getValue())));
+    // The fingerprint must be calculated from the encoded value in order to match the criteria in retrieveExistingFacts().
+    clone.setFingerprint(FactFingerprint.calculate(clone));
 
     return clone;
   }
@@ -850,4 +1962,27 @@ public class FactSearchManager implements LifecycleAspect {
     return new RuntimeException(msg, ex);
   }
 
+  private static class AccessControlKey {
+    private final UUID currentUserID;
+    private final Set<UUID> availableOrganizationID;
+
+    private AccessControlKey(UUID currentUserID, Set<UUID> availableOrganizationID) {
+      this.currentUserID = currentUserID;
+      this.availableOrganizationID = availableOrganizationID;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      AccessControlKey that = (AccessControlKey) o;
+      return Objects.equals(currentUserID, that.currentUserID) && Objects.equals(availableOrganizationID, that.availableOrganizationID);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Objects.hashCode(currentUserID) + Objects.hashCode(availableOrganizationID);
+    }
+  }
+
 }
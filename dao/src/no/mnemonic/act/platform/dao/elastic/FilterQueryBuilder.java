@@ -0,0 +1,155 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import org.apache.lucene.search.join.ScoreMode;
+import org.elasticsearch.index.query.AbstractQueryBuilder;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MatchAllQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.elasticsearch.index.query.QueryBuilders.*;
+
+/**
+ * Builds a query from clauses which either must all match ({@link #all()}) or of which at least one must match
+ * ({@link #any()}). Search results are never ranked, thus, all clauses are added in filter context which skips scoring
+ * and allows ElasticSearch to cache the clauses. While building the query
+ * <ul>
+ * <li>clauses which don't restrict the result (NULL, match_all or boolean queries without clauses) are dropped,</li>
+ * <li>clauses of boolean queries of the same kind are inlined instead of adding another level of nesting,</li>
+ * <li>alternative clauses on the same nested path are merged into one nested query. A document matches any of the
+ * nested queries if and only if one nested document matches any of the clauses, thus, the result stays the same.</li>
+ * </ul>
+ * Required clauses on the same nested path are never merged because they might be matched by different nested
+ * documents, e.g. by the different Objects bound to a Fact.
+ */
+class FilterQueryBuilder {
+
+  private final boolean matchAll;
+  private final List<QueryBuilder> clauses = new ArrayList<>();
+  private final Map<String, FilterQueryBuilder> nestedClauses = new LinkedHashMap<>();
+  // Set if an alternative clause matches every document, in this case the whole query matches every document.
+  private boolean unrestricted;
+
+  private FilterQueryBuilder(boolean matchAll) {
+    this.matchAll = matchAll;
+  }
+
+  /**
+   * Create a builder for a query which requires that all clauses match.
+   *
+   * @return New builder
+   */
+  static FilterQueryBuilder all() {
+    return new FilterQueryBuilder(true);
+  }
+
+  /**
+   * Create a builder for a query which requires that at least one clause matches.
+   *
+   * @return New builder
+   */
+  static FilterQueryBuilder any() {
+    return new FilterQueryBuilder(false);
+  }
+
+  /**
+   * Add a clause on fields of the root document.
+   *
+   * @param clause Clause to add (ignored if it doesn't restrict the result)
+   * @return Builder
+   */
+  FilterQueryBuilder add(QueryBuilder clause) {
+    if (isUnrestricted(clause)) {
+      // A required clause matching every document doesn't change the result. An alternative clause matching every
+      // document makes the whole query match every document.
+      if (!matchAll) unrestricted = true;
+      return this;
+    }
+
+    if (clause instanceof BoolQueryBuilder && isInlineable((BoolQueryBuilder) clause)) {
+      BoolQueryBuilder bool = (BoolQueryBuilder) clause;
+      if (matchAll) {
+        bool.must().forEach(this::add);
+        bool.filter().forEach(this::add);
+      } else {
+        bool.should().forEach(this::add);
+      }
+      return this;
+    }
+
+    clauses.add(clause);
+    return this;
+  }
+
+  /**
+   * Add a clause on fields of nested documents. The clause will be wrapped inside a nested query.
+   *
+   * @param path   Path of the nested documents
+   * @param clause Clause to add (ignored if NULL)
+   * @return Builder
+   */
+  FilterQueryBuilder addNested(String path, QueryBuilder clause) {
+    // Even a clause matching every nested document is kept because it requires that nested documents exist.
+    if (clause == null) return this;
+
+    if (matchAll) {
+      clauses.add(nestedQuery(path, clause, ScoreMode.None));
+    } else {
+      nestedClauses.computeIfAbsent(path, p -> any()).add(clause);
+    }
+
+    return this;
+  }
+
+  /**
+   * Build the query from all added clauses. Returns a match_all query if no clause restricts the result.
+   *
+   * @return Query
+   */
+  QueryBuilder build() {
+    if (unrestricted) return matchAllQuery();
+
+    List<QueryBuilder> allClauses = new ArrayList<>(clauses);
+    nestedClauses.forEach((path, nested) -> allClauses.add(nestedQuery(path, nested.build(), ScoreMode.None)));
+
+    if (allClauses.isEmpty()) return matchAllQuery();
+    // Avoid wrapping a single clause inside a boolean query. The caller decides about the context.
+    if (allClauses.size() == 1) return allClauses.get(0);
+
+    BoolQueryBuilder query = boolQuery();
+    if (matchAll) {
+      allClauses.forEach(query::filter);
+    } else {
+      allClauses.forEach(query::should);
+      query.minimumShouldMatch(1);
+    }
+
+    return query;
+  }
+
+  private boolean isUnrestricted(QueryBuilder clause) {
+    return clause == null ||
+            clause instanceof MatchAllQueryBuilder ||
+            (clause instanceof BoolQueryBuilder && !((BoolQueryBuilder) clause).hasClauses());
+  }
+
+  private boolean isInlineable(BoolQueryBuilder bool) {
+    // Only inline plain boolean queries, i.e. without boost, name or special matching rules.
+    if (bool.boost() != AbstractQueryBuilder.DEFAULT_BOOST || bool.queryName() != null || !bool.mustNot().isEmpty()) {
+      return false;
+    }
+
+    if (matchAll) {
+      // Only required clauses. With 'should' clauses at least one of them must match.
+      return bool.should().isEmpty();
+    }
+
+    // Only alternative clauses. With the default 'minimum_should_match' at least one of them must match.
+    return bool.must().isEmpty() && bool.filter().isEmpty() && bool.minimumShouldMatch() == null;
+  }
+
+}
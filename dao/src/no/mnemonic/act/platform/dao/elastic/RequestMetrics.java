@@ -0,0 +1,80 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records metrics of requests sent to ElasticSearch. For every request the latency measured by the client is recorded
+ * ('act.elasticsearch.requests'). For responses which report the time ElasticSearch spent on processing the request,
+ * i.e. search and bulk responses, this time is recorded in addition ('act.elasticsearch.took'). The difference between
+ * both is the overhead of transport, (de)serialization and queueing.
+ */
+class RequestMetrics {
+
+  static final String REQUESTS_METRIC = "act.elasticsearch.requests";
+  static final String TOOK_METRIC = "act.elasticsearch.took";
+
+  private final MeterRegistry registry;
+
+  RequestMetrics(MeterRegistry registry) {
+    this.registry = ObjectUtils.notNull(registry, "'registry' is null!");
+  }
+
+  /**
+   * Execute a request and record its metrics.
+   *
+   * @param operation Name of the operation, used as tag of the recorded metrics
+   * @param request   Request to execute
+   * @param <T>       Type of response
+   * @return Response of the request
+   * @throws IOException If the request fails
+   */
+  <T> T execute(String operation, Request<T> request) throws IOException {
+    long start = System.nanoTime();
+    String outcome = "success";
+
+    try {
+      T response = request.execute();
+      if (response instanceof SearchResponse) recordTook(operation, ((SearchResponse) response).getTook());
+      if (response instanceof BulkResponse) recordTook(operation, ((BulkResponse) response).getTook());
+      return response;
+    } catch (IOException | RuntimeException ex) {
+      outcome = ex.getClass().getSimpleName();
+      throw ex;
+    } finally {
+      timer(REQUESTS_METRIC, operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Record the time ElasticSearch spent on processing a request.
+   *
+   * @param operation Name of the operation, used as tag of the recorded metric
+   * @param took      Time reported by ElasticSearch
+   */
+  void recordTook(String operation, TimeValue took) {
+    if (took == null) return;
+    timer(TOOK_METRIC, operation, "success").record(took.nanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private Timer timer(String name, String operation, String outcome) {
+    return Timer.builder(name)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry);
+  }
+
+  @FunctionalInterface
+  interface Request<T> {
+    T execute() throws IOException;
+  }
+
+}
@@ -26,6 +26,8 @@ public class FactDocument implements ElasticDocument {
   private AccessMode accessMode;
   private long timestamp;
   private long lastSeenTimestamp;
+  // Calculated when the Fact is indexed, see FactSearchManager.
+  private String fingerprint;
   private Set<UUID> acl;
   private Set<ObjectDocument> objects;
 
@@ -146,6 +148,15 @@ public class FactDocument implements ElasticDocument {
     return this;
   }
 
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  public FactDocument setFingerprint(String fingerprint) {
+    this.fingerprint = fingerprint;
+    return this;
+  }
+
   public Set<UUID> getAcl() {
     return acl;
   }
@@ -190,7 +201,8 @@ public class FactDocument implements ElasticDocument {
             .setAccessMode(getAccessMode())
             .setTimestamp(getTimestamp())
             .setLastSeenTimestamp(getLastSeenTimestamp())
-            .setAcl(SetUtils.set(getAcl()));
+            .setAcl(SetUtils.set(getAcl()))
+            .setFingerprint(getFingerprint());
     // Also perform a deep clone of all associated Objects.
     SetUtils.set(getObjects()).forEach(o -> clone.addObject(o.clone()));
 
@@ -8,7 +8,8 @@ public class ObjectDocument implements ElasticDocument {
     None, FactIsSource, FactIsDestination, BiDirectional
   }
 
-  // 'id' is indexed as an own field because Objects aren't index separately but as part of Facts.
+  // 'id' is indexed as an own field because Objects are indexed as part of Facts. In the Objects index it's also the
+  // document ID. 'direction' is only set for Objects indexed as part of Facts.
   private UUID id;
   private UUID typeID;
   private String typeName;
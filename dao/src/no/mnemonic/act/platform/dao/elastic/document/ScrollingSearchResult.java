@@ -0,0 +1,158 @@
+package no.mnemonic.act.platform.dao.elastic.document;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Container holding the results of a search in ElasticSearch which are fetched page by page while iterating over the
+ * result. In contrast to {@link SearchResult} not all matching documents are held in memory at the same time.
+ * <p>
+ * The search context in ElasticSearch is released automatically after the last page has been fetched. If iteration
+ * is aborted early {@link #close()} must be called in order to release the search context.
+ *
+ * @param <T> Type of result values
+ */
+public class ScrollingSearchResult<T extends ElasticDocument> implements Iterator<List<T>>, AutoCloseable {
+
+  private final int count;
+  private final Function<String, ScrollBatch<T>> fetchNextBatch;
+  private final Consumer<String> closeScroll;
+
+  private String scrollID;
+  private List<T> currentBatch;
+  private boolean closed;
+
+  private ScrollingSearchResult(int count, ScrollBatch<T> initialBatch, Function<String, ScrollBatch<T>> fetchNextBatch,
+                                Consumer<String> closeScroll) {
+    this.count = count;
+    this.fetchNextBatch = fetchNextBatch;
+    this.closeScroll = closeScroll;
+    this.scrollID = ObjectUtils.ifNotNull(initialBatch, ScrollBatch::getScrollID);
+    this.currentBatch = ObjectUtils.ifNotNull(initialBatch, ScrollBatch::getValues, Collections.emptyList());
+  }
+
+  /**
+   * Returns the total number of indexed documents matching a given search criteria.
+   *
+   * @return Total number of matching documents
+   */
+  public int getCount() {
+    return count;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) return false;
+
+    if (currentBatch == null) {
+      // Previous batch was consumed, fetch the next one.
+      ScrollBatch<T> batch = fetchNextBatch.apply(scrollID);
+      scrollID = batch.getScrollID();
+      currentBatch = batch.getValues();
+    }
+
+    if (currentBatch.isEmpty()) {
+      // An empty batch marks the end of the result.
+      close();
+      return false;
+    }
+
+    return true;
+  }
+
+  @Override
+  public List<T> next() {
+    if (!hasNext()) throw new NoSuchElementException();
+
+    List<T> batch = currentBatch;
+    currentBatch = null;
+    return batch;
+  }
+
+  @Override
+  public void close() {
+    if (closed) return;
+
+    closed = true;
+    currentBatch = null;
+    ObjectUtils.ifNotNullDo(scrollID, closeScroll);
+  }
+
+  public static <T extends ElasticDocument> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  public static class Builder<T extends ElasticDocument> {
+    private int count;
+    private ScrollBatch<T> initialBatch;
+    private Function<String, ScrollBatch<T>> fetchNextBatch = scrollID -> new ScrollBatch<>(scrollID, null);
+    private Consumer<String> closeScroll = scrollID -> {
+    };
+
+    private Builder() {
+    }
+
+    public ScrollingSearchResult<T> build() {
+      return new ScrollingSearchResult<>(count, initialBatch, fetchNextBatch, closeScroll);
+    }
+
+    public Builder<T> setCount(int count) {
+      this.count = count;
+      return this;
+    }
+
+    /**
+     * First batch of results returned together with the initial search response.
+     */
+    public Builder<T> setInitialBatch(ScrollBatch<T> initialBatch) {
+      this.initialBatch = initialBatch;
+      return this;
+    }
+
+    /**
+     * Function fetching the next batch of results for a given scroll ID.
+     */
+    public Builder<T> setFetchNextBatch(Function<String, ScrollBatch<T>> fetchNextBatch) {
+      this.fetchNextBatch = ObjectUtils.notNull(fetchNextBatch, "'fetchNextBatch' is required!");
+      return this;
+    }
+
+    /**
+     * Function releasing the search context identified by a given scroll ID.
+     */
+    public Builder<T> setCloseScroll(Consumer<String> closeScroll) {
+      this.closeScroll = ObjectUtils.notNull(closeScroll, "'closeScroll' is required!");
+      return this;
+    }
+  }
+
+  /**
+   * One batch of results together with the scroll ID required to fetch the next batch.
+   *
+   * @param <T> Type of result values
+   */
+  public static class ScrollBatch<T extends ElasticDocument> {
+    private final String scrollID;
+    private final List<T> values;
+
+    public ScrollBatch(String scrollID, List<T> values) {
+      this.scrollID = scrollID;
+      this.values = ObjectUtils.ifNotNull(values, Collections::unmodifiableList, Collections.emptyList());
+    }
+
+    public String getScrollID() {
+      return scrollID;
+    }
+
+    public List<T> getValues() {
+      return values;
+    }
+  }
+
+}
@@ -1,11 +1,7 @@
 package no.mnemonic.act.platform.dao.resolver;
 
-import no.mnemonic.act.platform.dao.cassandra.FactManager;
-import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
-import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.TypeRegistry;
 import no.mnemonic.act.platform.dao.handlers.EntityHandler;
-import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 
 import javax.inject.Inject;
 import java.util.UUID;
@@ -16,28 +12,17 @@ import java.util.function.Function;
  */
 public class EntityHandlerForTypeIdResolver implements Function<UUID, EntityHandler> {
 
-  private final ObjectManager objectManager;
-  private final FactManager factManager;
-  private final EntityHandlerFactory factory;
+  private final TypeRegistry typeRegistry;
 
   @Inject
-  public EntityHandlerForTypeIdResolver(ObjectManager objectManager, FactManager factManager, EntityHandlerFactory factory) {
-    this.objectManager = objectManager;
-    this.factManager = factManager;
-    this.factory = factory;
+  public EntityHandlerForTypeIdResolver(TypeRegistry typeRegistry) {
+    this.typeRegistry = typeRegistry;
   }
 
   @Override
   public EntityHandler apply(UUID typeID) {
-    ObjectTypeEntity objectType = objectManager.getObjectType(typeID);
-    if (objectType != null) {
-      return factory.get(objectType.getEntityHandler(), objectType.getEntityHandlerParameter());
-    }
-
-    FactTypeEntity factType = factManager.getFactType(typeID);
-    if (factType != null) {
-      return factory.get(factType.getEntityHandler(), factType.getEntityHandlerParameter());
-    }
+    EntityHandler handler = typeRegistry.getEntityHandler(typeID);
+    if (handler != null) return handler;
 
     throw new IllegalArgumentException(String.format("Could not find ObjectType nor FactType for id = %s.", typeID));
   }
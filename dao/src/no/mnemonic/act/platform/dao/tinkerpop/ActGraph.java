@@ -173,6 +173,10 @@ public class ActGraph implements Graph {
       return this;
     }
 
+    /**
+     * Predicate deciding whether the current user has access to a Fact. The predicate may be tested with a partial
+     * Fact only containing the fields id, typeID, accessMode, organizationID and bindings.
+     */
     public Builder setHasFactAccess(Predicate<FactEntity> hasFactAccess) {
       this.hasFactAccess = hasFactAccess;
       return this;
@@ -21,21 +21,34 @@ import static org.apache.tinkerpop.gremlin.structure.Edge.Exceptions.edgeRemoval
 public class FactEdge implements Edge {
 
   private final ActGraph graph;
-  private final FactEntity fact;
+  private final UUID factID;
   private final FactTypeEntity type;
   private final Vertex inVertex;
   private final Vertex outVertex;
   private final UUID edgeID;
-  private final Set<Property> allProperties;
+  private FactEntity fact;
+  private Set<Property> allProperties;
 
   public FactEdge(ActGraph graph, UUID factID, UUID inVertexObjectID, UUID outVertexObjectID) {
+    this(graph, fetchFact(graph, factID), inVertexObjectID, outVertexObjectID);
+  }
+
+  /**
+   * Create an edge where the Fact is only fetched when its properties are accessed. Use this constructor if the type of
+   * the Fact is already known, e.g. from the binding between Object and Fact.
+   */
+  public FactEdge(ActGraph graph, UUID factID, UUID factTypeID, UUID inVertexObjectID, UUID outVertexObjectID) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
-    this.fact = ObjectUtils.notNull(graph.getFactManager().getFact(factID), String.format("Fact with id = %s does not exist.", factID));
-    this.type = ObjectUtils.notNull(graph.getFactManager().getFactType(fact.getTypeID()), String.format("FactType with id = %s does not exist.", fact.getTypeID()));
+    this.factID = ObjectUtils.notNull(factID, "'factID' is null!");
+    this.type = ObjectUtils.notNull(graph.getFactManager().getFactType(factTypeID), String.format("FactType with id = %s does not exist.", factTypeID));
     this.inVertex = graph.getElementFactory().getVertex(inVertexObjectID);
     this.outVertex = graph.getElementFactory().getVertex(outVertexObjectID);
     this.edgeID = UUID.randomUUID(); // Generate a random ID for each new edge.
-    this.allProperties = Collections.unmodifiableSet(getAllProperties()); // Generate properties set only once.
+  }
+
+  private FactEdge(ActGraph graph, FactEntity fact, UUID inVertexObjectID, UUID outVertexObjectID) {
+    this(graph, fact.getId(), fact.getTypeID(), inVertexObjectID, outVertexObjectID);
+    this.fact = fact;
   }
 
   @Override
@@ -70,7 +83,7 @@ public class FactEdge implements Edge {
   @Override
   public <V> Iterator<Property<V>> properties(String... propertyKeys) {
     //noinspection unchecked
-    return allProperties.stream()
+    return getAllProperties().stream()
             .filter(property -> SetUtils.set(propertyKeys).isEmpty() || SetUtils.in(property.key(), propertyKeys))
             .map(property -> (Property<V>) property)
             .iterator();
@@ -105,10 +118,23 @@ public class FactEdge implements Edge {
   }
 
   public FactEntity getFact() {
+    if (fact == null) {
+      fact = fetchFact(graph, factID);
+    }
+
     return fact;
   }
 
   private Set<Property> getAllProperties() {
+    if (allProperties == null) {
+      // Generate properties set only once.
+      allProperties = Collections.unmodifiableSet(createAllProperties(getFact()));
+    }
+
+    return allProperties;
+  }
+
+  private Set<Property> createAllProperties(FactEntity fact) {
     // Currently, those properties only expose information directly from a Fact. Some additional interesting properties
     // would be e.g. confidenceLevel, organizationName, sourceName, sourceTrustLevel, but those are not stored yet and
     // therefore not easily available. Maybe it would be good to expose complex OrganizationProperty and SourceProperty
@@ -125,4 +151,9 @@ public class FactEdge implements Edge {
     );
   }
 
+  private static FactEntity fetchFact(ActGraph graph, UUID factID) {
+    ObjectUtils.notNull(graph, "'graph' is null!");
+    return ObjectUtils.notNull(graph.getFactManager().getFact(factID), String.format("Fact with id = %s does not exist.", factID));
+  }
+
 }
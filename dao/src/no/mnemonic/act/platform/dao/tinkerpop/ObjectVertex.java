@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.dao.tinkerpop;
 
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
@@ -29,14 +30,13 @@ public class ObjectVertex implements Vertex {
   private final ActGraph graph;
   private final ObjectEntity object;
   private final ObjectTypeEntity type;
-  private final List<ObjectFactBindingEntity> bindings;
   private final Set<VertexProperty> allProperties;
+  private List<ObjectFactBindingEntity> bindings;
 
   public ObjectVertex(ActGraph graph, UUID objectID) {
     this.graph = ObjectUtils.notNull(graph, "'graph' is null!");
     this.object = ObjectUtils.notNull(graph.getObjectManager().getObject(objectID), String.format("Object with id = %s does not exist.", objectID));
     this.type = ObjectUtils.notNull(graph.getObjectManager().getObjectType(object.getTypeID()), String.format("ObjectType with id = %s does not exist.", object.getTypeID()));
-    this.bindings = Collections.unmodifiableList(ListUtils.list(graph.getObjectManager().fetchObjectFactBindings(objectID)));
     this.allProperties = Collections.unmodifiableSet(getAllProperties()); // Generate properties set only once.
   }
 
@@ -49,7 +49,10 @@ public class ObjectVertex implements Vertex {
   public Iterator<Edge> edges(Direction direction, String... edgeLabels) {
     Set<Edge> facts = new HashSet<>();
 
-    for (ObjectFactBindingEntity binding : bindings) {
+    for (ObjectFactBindingEntity binding : getBindings()) {
+      // Skip Facts with non-matching labels early in order to avoid fetching them.
+      if (!matchesLabels(binding, edgeLabels)) continue;
+
       if (binding.getDirection() == BiDirectional || binding.getDirection() == None) {
         facts.addAll(graph.getElementFactory().createEdges(binding));
       }
@@ -133,6 +136,23 @@ public class ObjectVertex implements Vertex {
     return object;
   }
 
+  private List<ObjectFactBindingEntity> getBindings() {
+    if (bindings == null) {
+      // Only fetch bindings when the vertex is expanded. Vertices at the end of a traversal are never expanded.
+      bindings = Collections.unmodifiableList(ListUtils.list(graph.getObjectManager().fetchObjectFactBindings(object.getId())));
+    }
+
+    return bindings;
+  }
+
+  private boolean matchesLabels(ObjectFactBindingEntity binding, String... edgeLabels) {
+    // Without a denormalized FactType the label is only known after fetching the Fact.
+    if (SetUtils.set(edgeLabels).isEmpty() || binding.getFactTypeID() == null) return true;
+
+    FactTypeEntity factType = graph.getFactManager().getFactType(binding.getFactTypeID());
+    return factType != null && SetUtils.in(factType.getName(), edgeLabels);
+  }
+
   private Set<VertexProperty> getAllProperties() {
     // Currently, only one property is exposed. Object statistics would be interesting as well, but this requires an
     // external index in order to allow efficient graph traversals.
@@ -5,6 +5,7 @@ import no.mnemonic.act.platform.dao.tinkerpop.ActGraph;
 import no.mnemonic.act.platform.dao.tinkerpop.FactEdge;
 import no.mnemonic.act.platform.dao.tinkerpop.ObjectVertex;
 import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -43,9 +44,11 @@ public class ElementFactory {
   /**
    * Create edges based on a binding between an Object and a Fact.
    * <p>
-   * It will fetch the Fact and create edges between the Object and other Objects bound to the Fact. If only the given
-   * Object is bound to the Fact a loop edge is created. If the Fact is bound to multiple Objects an edge for each
-   * binding is created where applicable (taking the binding directions into account).
+   * It will create edges between the Object and other Objects bound to the Fact. If only the given Object is bound to
+   * the Fact a loop edge is created. If the Fact is bound to multiple Objects an edge for each binding is created where
+   * applicable (taking the binding directions into account). The Fact is only fetched if the binding does not contain
+   * the denormalized information about the Fact (bindings stored before this information was added). In this case
+   * access is checked on the Fact's {@link FactAccessInfo} first and the whole Fact is only fetched if accessible.
    * <p>
    * Created edges are cached for later retrieval by {@link ElementFactory#getEdge(UUID)}.
    *
@@ -55,15 +58,15 @@ public class ElementFactory {
   public Set<Edge> createEdges(ObjectFactBindingEntity inBinding) {
     ObjectUtils.notNull(inBinding, "'inBinding' is null!");
 
-    FactEntity fact = owner.getFactManager().getFact(inBinding.getFactID());
+    FactEntity fact = resolveAccessibleFact(inBinding);
     // Only create edges if user has access to Fact.
-    if (fact == null || !owner.hasFactAccess(fact)) {
+    if (fact == null) {
       return new HashSet<>();
     }
 
     // If the Fact is only bound to the 'inBinding' Object then this needs to be represented as a loop in the graph.
     if (CollectionUtils.size(fact.getBindings()) == 1 && Objects.equals(fact.getBindings().get(0).getObjectID(), inBinding.getObjectID())) {
-      return SetUtils.set(createAndCache(inBinding.getFactID(), inBinding.getObjectID(), inBinding.getObjectID()));
+      return SetUtils.set(createAndCache(fact, inBinding.getObjectID(), inBinding.getObjectID()));
     }
 
     Set<Edge> edges = new HashSet<>();
@@ -76,12 +79,12 @@ public class ElementFactory {
       if ((inBinding.getDirection() == Direction.None && outBinding.getDirection() == Direction.None) ||
               (inBinding.getDirection() == Direction.BiDirectional && outBinding.getDirection() == Direction.BiDirectional) ||
               (inBinding.getDirection() == Direction.FactIsDestination && outBinding.getDirection() == Direction.FactIsSource)) {
-        edges.add(createAndCache(inBinding.getFactID(), inBinding.getObjectID(), outBinding.getObjectID()));
+        edges.add(createAndCache(fact, inBinding.getObjectID(), outBinding.getObjectID()));
       }
 
       // In this case need to swap 'inBinding' and 'outBinding' in order to have the correct edge direction.
       if (inBinding.getDirection() == Direction.FactIsSource && outBinding.getDirection() == Direction.FactIsDestination) {
-        edges.add(createAndCache(inBinding.getFactID(), outBinding.getObjectID(), inBinding.getObjectID()));
+        edges.add(createAndCache(fact, outBinding.getObjectID(), inBinding.getObjectID()));
       }
     }
 
@@ -123,14 +126,41 @@ public class ElementFactory {
     return new Builder();
   }
 
-  private Edge createAndCache(UUID factID, UUID inVertex, UUID outVertex) {
+  private FactEntity resolveAccessibleFact(ObjectFactBindingEntity binding) {
+    if (binding.getFactTypeID() == null || binding.getAccessMode() == null || binding.getFactBindingsStored() == null) {
+      // Binding does not contain any information about the Fact, need to fetch it. Fetch only the information
+      // required for the access check first in order to not fetch the whole Fact if it isn't accessible anyway.
+      FactAccessInfo info = owner.getFactManager().getFactAccessInfo(binding.getFactID());
+      if (info == null || !owner.hasFactAccess(new FactEntity()
+              .setId(info.getId())
+              .setTypeID(info.getTypeID())
+              .setAccessMode(info.getAccessMode())
+              .setOrganizationID(info.getOrganizationID()))) {
+        return null;
+      }
+
+      return owner.getFactManager().getFact(binding.getFactID());
+    }
+
+    // Create a partial Fact from the denormalized information. It contains everything required to check access to
+    // the Fact and to create the edges. The complete Fact is only fetched by FactEdge when needed.
+    FactEntity fact = new FactEntity()
+            .setId(binding.getFactID())
+            .setTypeID(binding.getFactTypeID())
+            .setAccessMode(binding.getAccessMode())
+            .setOrganizationID(binding.getOrganizationID())
+            .setBindingsStored(binding.getFactBindingsStored());
+    return owner.hasFactAccess(fact) ? fact : null;
+  }
+
+  private Edge createAndCache(FactEntity fact, UUID inVertex, UUID outVertex) {
     // Try to fetch edge from cache first (but only if 'edgeID' is mapped, otherwise edge is not cached).
-    EdgeID edgeID = new EdgeID(factID, inVertex, outVertex);
+    EdgeID edgeID = new EdgeID(fact.getId(), inVertex, outVertex);
     Edge edge = ObjectUtils.ifNotNull(edgeIdMap.get(edgeID), edgeCache::getIfPresent);
 
     if (edge == null) {
       // Edge is not present in cache, create new instance and cache it for later access.
-      edge = new FactEdge(owner, factID, inVertex, outVertex);
+      edge = new FactEdge(owner, fact.getId(), fact.getTypeID(), inVertex, outVertex);
       edgeIdMap.put(edgeID, (UUID) edge.id());
       edgeCache.put((UUID) edge.id(), edge);
     }
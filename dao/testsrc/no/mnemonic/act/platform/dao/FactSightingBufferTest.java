@@ -0,0 +1,305 @@
+package no.mnemonic.act.platform.dao;
+
+import no.mnemonic.act.platform.dao.cassandra.FactManager;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class FactSightingBufferTest {
+
+  private static final long TIMESTAMP = 123456789;
+
+  @Mock
+  private FactManager factManager;
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private FactSearchManager factSearchManager;
+
+  private FactSightingBuffer buffer;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    // Use a long flush interval in order to control flushing from the tests.
+    buffer = createBuffer(100_000);
+    buffer.startComponent();
+  }
+
+  @After
+  public void tearDown() {
+    buffer.stopComponent();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateBufferWithoutFactManager() {
+    FactSightingBuffer.builder()
+            .setObjectManager(objectManager)
+            .setFactSearchManager(factSearchManager)
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateBufferWithoutObjectManager() {
+    FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setFactSearchManager(factSearchManager)
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateBufferWithoutFactSearchManager() {
+    FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setObjectManager(objectManager)
+            .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateBufferWithInvalidFlushInterval() {
+    FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setObjectManager(objectManager)
+            .setFactSearchManager(factSearchManager)
+            .setFlushInterval(0)
+            .build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRecordSightingWithoutStartingBuffer() {
+    createBuffer(100_000).recordSighting(createFact());
+  }
+
+  @Test
+  public void testRecordSightingNullFact() {
+    assertNull(buffer.recordSighting(null));
+    assertNull(buffer.recordSighting(new FactEntity()));
+    assertEquals(0, buffer.getPendingFacts());
+  }
+
+  @Test
+  public void testRecordSightingReturnsRefreshedFact() {
+    FactEntity fact = createFact();
+    FactEntity refreshed = buffer.recordSighting(fact);
+
+    assertEquals(fact.getId(), refreshed.getId());
+    assertEquals(TIMESTAMP, refreshed.getLastSeenTimestamp());
+    // The provided Fact must not be changed.
+    assertEquals(1, fact.getLastSeenTimestamp());
+    assertEquals(1, buffer.getPendingFacts());
+    verifyZeroInteractions(factManager);
+  }
+
+  @Test
+  public void testRecordSightingCoalescesRefreshesOfSameFact() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+    buffer.recordSighting(fact);
+    buffer.flush();
+
+    verify(factManager).refreshLastSeenTimestamps(MapUtils.map(T(fact.getId(), TIMESTAMP)));
+    verifyUpdateLastSeenTimestamps(fact);
+    assertEquals(0, buffer.getPendingFacts());
+  }
+
+  @Test
+  public void testFlushRefreshesObjectFactStatistics() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+    buffer.flush();
+
+    verify(objectManager).refreshObjectFactStatistics(argThat(facts -> facts.size() == 1
+            && fact.getId().equals(facts.get(0).getId())
+            && facts.get(0).getLastSeenTimestamp() == TIMESTAMP));
+    // The provided Fact must not be changed.
+    assertEquals(1, fact.getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testFlushUpdatesLastSeenTimestampsWithTimestampOfFact() {
+    FactEntity fact = createFact().setTimestamp(42);
+    buffer.recordSighting(fact);
+    buffer.flush();
+
+    // The 'timestamp' of the Fact is required in order to resolve the index containing the Fact.
+    verify(factSearchManager).updateLastSeenTimestamps(argThat(documents -> documents.size() == 1
+            && documents.get(0).getTimestamp() == 42));
+  }
+
+  @Test
+  public void testRecordSightingFlushesWhenMaxPendingFactsReached() {
+    buffer.stopComponent();
+    buffer = createBuffer(100_000, 2);
+    buffer.startComponent();
+
+    buffer.recordSighting(createFact());
+    verify(factManager, never()).refreshLastSeenTimestamps(any());
+    buffer.recordSighting(createFact());
+    verify(factManager).refreshLastSeenTimestamps(argThat(timestamps -> timestamps.size() == 2));
+    assertEquals(0, buffer.getPendingFacts());
+  }
+
+  @Test
+  public void testRecordSightingFlushesImmediatelyInTestEnvironment() {
+    when(factSearchManager.isTestEnvironment()).thenReturn(true);
+
+    FactEntity fact = createFact();
+    assertEquals(TIMESTAMP, buffer.recordSighting(fact).getLastSeenTimestamp());
+    verify(factManager).refreshLastSeenTimestamps(MapUtils.map(T(fact.getId(), TIMESTAMP)));
+    assertEquals(0, buffer.getPendingFacts());
+  }
+
+  @Test
+  public void testMergeAppliesPendingSighting() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+
+    assertEquals(TIMESTAMP, buffer.merge(fact).getLastSeenTimestamp());
+    assertEquals(1, fact.getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testMergeKeepsNewerTimestamp() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+
+    FactEntity newer = fact.clone().setLastSeenTimestamp(TIMESTAMP + 1);
+    assertSame(newer, buffer.merge(newer));
+  }
+
+  @Test
+  public void testMergeWithoutPendingSighting() {
+    FactEntity fact = createFact();
+    assertSame(fact, buffer.merge(fact));
+    assertNull(buffer.merge(null));
+  }
+
+  @Test
+  public void testFlushKeepsSightingsOnFailure() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+    doThrow(RuntimeException.class).when(factManager).refreshLastSeenTimestamps(any());
+
+    try {
+      buffer.flush();
+      fail();
+    } catch (RuntimeException ignored) {
+      // Expected.
+    }
+
+    assertEquals(1, buffer.getPendingFacts());
+    assertEquals(TIMESTAMP, buffer.merge(fact).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testFlushKeepsSightingsFailedInElasticSearch() {
+    FactEntity failedFact = createFact();
+    FactEntity updatedFact = createFact();
+    buffer.recordSighting(failedFact);
+    buffer.recordSighting(updatedFact);
+    when(factSearchManager.updateLastSeenTimestamps(any())).thenReturn(SetUtils.set(failedFact.getId()));
+
+    buffer.flush();
+
+    assertEquals(1, buffer.getPendingFacts());
+    assertEquals(1, buffer.getFailedSightings());
+    assertEquals(TIMESTAMP, buffer.merge(failedFact).getLastSeenTimestamp());
+    assertSame(updatedFact, buffer.merge(updatedFact));
+
+    // The failed sighting is retried on the next flush.
+    when(factSearchManager.updateLastSeenTimestamps(any())).thenReturn(SetUtils.set());
+    buffer.flush();
+
+    assertEquals(0, buffer.getPendingFacts());
+    assertEquals(1, buffer.getFailedSightings());
+    verify(factManager).refreshLastSeenTimestamps(MapUtils.map(T(failedFact.getId(), TIMESTAMP)));
+  }
+
+  @Test
+  public void testFlushSplitsIntoBatches() {
+    buffer.stopComponent();
+    buffer = FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setObjectManager(objectManager)
+            .setFactSearchManager(factSearchManager)
+            .setFlushInterval(100_000)
+            .setFlushBatchSize(2)
+            .build()
+            .withClock(Clock.fixed(Instant.ofEpochMilli(TIMESTAMP), ZoneId.of("UTC")));
+    buffer.startComponent();
+
+    buffer.recordSighting(createFact());
+    buffer.recordSighting(createFact());
+    buffer.recordSighting(createFact());
+    buffer.flush();
+
+    verify(factManager, times(2)).refreshLastSeenTimestamps(any());
+    verify(factSearchManager, times(2)).updateLastSeenTimestamps(any());
+  }
+
+  @Test
+  public void testStopComponentFlushesPendingSightings() {
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+    buffer.stopComponent();
+
+    verify(factManager).refreshLastSeenTimestamps(MapUtils.map(T(fact.getId(), TIMESTAMP)));
+    verifyUpdateLastSeenTimestamps(fact);
+  }
+
+  @Test
+  public void testScheduledFlush() {
+    buffer.stopComponent();
+    buffer = createBuffer(10);
+    buffer.startComponent();
+
+    FactEntity fact = createFact();
+    buffer.recordSighting(fact);
+    verify(factManager, timeout(5000)).refreshLastSeenTimestamps(MapUtils.map(T(fact.getId(), TIMESTAMP)));
+  }
+
+  private FactSightingBuffer createBuffer(long flushInterval) {
+    return createBuffer(flushInterval, 100_000);
+  }
+
+  private FactSightingBuffer createBuffer(long flushInterval, int maxPendingFacts) {
+    return FactSightingBuffer.builder()
+            .setFactManager(factManager)
+            .setObjectManager(objectManager)
+            .setFactSearchManager(factSearchManager)
+            .setFlushInterval(flushInterval)
+            .setMaxPendingFacts(maxPendingFacts)
+            .build()
+            .withClock(Clock.fixed(Instant.ofEpochMilli(TIMESTAMP), ZoneId.of("UTC")));
+  }
+
+  private void verifyUpdateLastSeenTimestamps(FactEntity fact) {
+    verify(factSearchManager).updateLastSeenTimestamps(argThat(documents -> documents.size() == 1
+            && fact.getId().equals(documents.get(0).getId())
+            && documents.get(0).getLastSeenTimestamp() == TIMESTAMP));
+  }
+
+  private FactEntity createFact() {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setLastSeenTimestamp(1);
+  }
+
+}
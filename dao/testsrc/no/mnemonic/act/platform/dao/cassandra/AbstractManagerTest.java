@@ -13,6 +13,7 @@ import static org.mockito.Mockito.when;
 public abstract class AbstractManagerTest {
 
   private static ClusterManager clusterManager;
+  private TypeRegistry typeRegistry;
   private FactManager factManager;
   private ObjectManager objectManager;
   private EntityHandler entityHandler;
@@ -39,9 +40,11 @@ public abstract class AbstractManagerTest {
   public void initialize() {
     EntityHandlerFactory factory = mock(EntityHandlerFactory.class);
     entityHandler = mock(EntityHandler.class);
-    factManager = new FactManager(clusterManager, factory);
-    objectManager = new ObjectManager(clusterManager, factory);
+    typeRegistry = new TypeRegistry(clusterManager, factory);
+    factManager = new FactManager(clusterManager, typeRegistry);
+    objectManager = new ObjectManager(clusterManager, typeRegistry);
 
+    typeRegistry.startComponent();
     factManager.startComponent();
     objectManager.startComponent();
 
@@ -61,6 +64,14 @@ public abstract class AbstractManagerTest {
     clusterManager.stopComponent();
   }
 
+  protected static ClusterManager getClusterManager() {
+    return clusterManager;
+  }
+
+  protected TypeRegistry getTypeRegistry() {
+    return typeRegistry;
+  }
+
   protected FactManager getFactManager() {
     return factManager;
   }
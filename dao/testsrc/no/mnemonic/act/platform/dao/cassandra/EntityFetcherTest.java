@@ -0,0 +1,202 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.mapping.Result;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class EntityFetcherTest {
+
+  @Mock
+  private Function<List<UUID>, ListenableFuture<Result<Entity>>> batchFetcher;
+  @Mock
+  private Function<UUID, ListenableFuture<Entity>> pointFetcher;
+
+  private final Map<UUID, Entity> storage = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    when(pointFetcher.apply(any())).then(i -> Futures.immediateFuture(storage.get(i.<UUID>getArgument(0))));
+    when(batchFetcher.apply(any())).then(i -> {
+      List<Entity> entities = new ArrayList<>();
+      for (UUID id : i.<List<UUID>>getArgument(0)) {
+        if (storage.containsKey(id)) entities.add(storage.get(id));
+      }
+      // Simulate that Cassandra returns the entities in a different order than requested.
+      Collections.reverse(entities);
+      return Futures.immediateFuture(mockResult(entities));
+    });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateFetcherWithInvalidBatchSize() {
+    new EntityFetcher<>(FetchStrategy.InClause, 0, 1, batchFetcher, pointFetcher, Entity::getId);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateFetcherWithInvalidConcurrency() {
+    new EntityFetcher<>(FetchStrategy.InClause, 1, 0, batchFetcher, pointFetcher, Entity::getId);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateFetcherWithoutStrategy() {
+    new EntityFetcher<>(null, 1, 1, batchFetcher, pointFetcher, Entity::getId);
+  }
+
+  @Test
+  public void testFetchWithEmptyKeys() {
+    EntityFetcher<Entity> fetcher = createFetcher(FetchStrategy.PointReads, 10, 10);
+    assertFalse(fetcher.fetch(null).hasNext());
+    assertFalse(fetcher.fetch(ListUtils.list()).hasNext());
+    verifyZeroInteractions(batchFetcher, pointFetcher);
+  }
+
+  @Test
+  public void testFetchWithPointReads() {
+    List<UUID> keys = createEntities(5);
+    List<Entity> result = Lists.newArrayList(createFetcher(FetchStrategy.PointReads, 10, 2).fetch(keys));
+
+    assertEntities(keys, result);
+    verify(pointFetcher, times(5)).apply(any());
+    verifyZeroInteractions(batchFetcher);
+  }
+
+  @Test
+  public void testFetchWithInClause() {
+    List<UUID> keys = createEntities(5);
+    List<Entity> result = Lists.newArrayList(createFetcher(FetchStrategy.InClause, 2, 2).fetch(keys));
+
+    assertEntities(keys, result);
+    verify(batchFetcher).apply(keys.subList(0, 2));
+    verify(batchFetcher).apply(keys.subList(2, 4));
+    verify(batchFetcher).apply(keys.subList(4, 5));
+    verifyZeroInteractions(pointFetcher);
+  }
+
+  @Test
+  public void testFetchSkipsMissingKeys() {
+    List<UUID> keys = createEntities(3);
+    UUID missing = UUID.randomUUID();
+
+    for (FetchStrategy strategy : FetchStrategy.values()) {
+      List<Entity> result = Lists.newArrayList(createFetcher(strategy, 2, 2)
+              .fetch(ListUtils.list(keys.get(0), missing, keys.get(1), keys.get(2))));
+      assertEntities(keys, result);
+    }
+  }
+
+  @Test
+  public void testFetchRemovesDuplicatedKeys() {
+    List<UUID> keys = createEntities(2);
+    List<Entity> result = Lists.newArrayList(createFetcher(FetchStrategy.PointReads, 10, 10)
+            .fetch(ListUtils.list(keys.get(0), keys.get(1), keys.get(0))));
+
+    assertEntities(keys, result);
+    verify(pointFetcher, times(2)).apply(any());
+  }
+
+  @Test
+  public void testFetchLimitsConcurrentRequests() {
+    List<UUID> keys = createEntities(5);
+    Iterator<Entity> iterator = createFetcher(FetchStrategy.PointReads, 10, 2).fetch(keys);
+    // Nothing is requested before the iterator is consumed.
+    verifyZeroInteractions(pointFetcher);
+
+    assertTrue(iterator.hasNext());
+    verify(pointFetcher, times(2)).apply(any());
+    assertSame(storage.get(keys.get(0)), iterator.next());
+
+    // The next key is only requested after the first one has been consumed.
+    assertTrue(iterator.hasNext());
+    verify(pointFetcher, times(3)).apply(any());
+    assertSame(storage.get(keys.get(1)), iterator.next());
+  }
+
+  @Test
+  public void testFetchAsyncWithEmptyKeys() throws Exception {
+    EntityFetcher<Entity> fetcher = createFetcher(FetchStrategy.PointReads, 10, 10);
+    assertTrue(fetcher.fetchAsync(null).get().isEmpty());
+    assertTrue(fetcher.fetchAsync(ListUtils.list()).get().isEmpty());
+    verifyZeroInteractions(batchFetcher, pointFetcher);
+  }
+
+  @Test
+  public void testFetchAsyncWithPointReads() throws Exception {
+    List<UUID> keys = createEntities(5);
+    UUID missing = UUID.randomUUID();
+    List<Entity> result = createFetcher(FetchStrategy.PointReads, 10, 2)
+            .fetchAsync(ListUtils.list(keys.get(0), missing, keys.get(1), keys.get(2), keys.get(0), keys.get(3), keys.get(4)))
+            .get();
+
+    assertEntities(keys, result);
+    verify(pointFetcher, times(6)).apply(any());
+    verifyZeroInteractions(batchFetcher);
+  }
+
+  @Test
+  public void testFetchAsyncWithInClause() throws Exception {
+    List<UUID> keys = createEntities(5);
+    List<Entity> result = createFetcher(FetchStrategy.InClause, 2, 2).fetchAsync(keys).get();
+
+    assertEntities(keys, result);
+    verify(batchFetcher).apply(keys.subList(0, 2));
+    verify(batchFetcher).apply(keys.subList(2, 4));
+    verify(batchFetcher).apply(keys.subList(4, 5));
+    verifyZeroInteractions(pointFetcher);
+  }
+
+  private EntityFetcher<Entity> createFetcher(FetchStrategy strategy, int batchSize, int concurrency) {
+    return new EntityFetcher<>(strategy, batchSize, concurrency, batchFetcher, pointFetcher, Entity::getId);
+  }
+
+  private List<UUID> createEntities(int count) {
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Entity entity = new Entity(UUID.randomUUID());
+      storage.put(entity.getId(), entity);
+      keys.add(entity.getId());
+    }
+    return keys;
+  }
+
+  private void assertEntities(List<UUID> expectedKeys, List<Entity> actual) {
+    assertEquals(expectedKeys.size(), actual.size());
+    for (int i = 0; i < expectedKeys.size(); i++) {
+      assertSame(storage.get(expectedKeys.get(i)), actual.get(i));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Result<Entity> mockResult(List<Entity> entities) {
+    Result<Entity> result = mock(Result.class);
+    when(result.all()).thenReturn(entities);
+    return result;
+  }
+
+  private static class Entity {
+    private final UUID id;
+
+    private Entity(UUID id) {
+      this.id = id;
+    }
+
+    private UUID getId() {
+      return id;
+    }
+  }
+
+}
@@ -1,5 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
+import com.google.common.collect.Lists;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.commons.utilities.collections.ListUtils;
@@ -8,6 +9,7 @@ import org.junit.Test;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -139,6 +141,61 @@ public class FactManagerTest extends AbstractManagerTest {
     assertNull(getFactManager().saveFact(null));
   }
 
+  @Test
+  public void testSaveFactsAndGetFacts() {
+    FactTypeEntity type = createAndSaveFactType();
+    List<FactEntity> entities = ListUtils.list(createFact(type.getId(), "value1"), createFact(type.getId(), "value2"));
+
+    assertSame(entities, getFactManager().saveFacts(entities));
+    assertFact(entities.get(0), getFactManager().getFact(entities.get(0).getId()));
+    assertFact(entities.get(1), getFactManager().getFact(entities.get(1).getId()));
+    verify(getEntityHandler(), times(2)).encode(any());
+  }
+
+  @Test
+  public void testGetFactAccessInfo() {
+    FactEntity entity = createAndSaveFact();
+    assertFactAccessInfo(entity, getFactManager().getFactAccessInfo(entity.getId()));
+    verify(getEntityHandler(), never()).decode(any());
+  }
+
+  @Test
+  public void testGetFactAccessInfoWithNonExistingFact() {
+    assertNull(getFactManager().getFactAccessInfo(null));
+    assertNull(getFactManager().getFactAccessInfo(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testGetFactAccessInfos() {
+    FactTypeEntity type = createAndSaveFactType();
+    FactEntity entity1 = createAndSaveFact(type.getId(), "value1");
+    FactEntity entity2 = createAndSaveFact(type.getId(), "value2");
+
+    List<FactAccessInfo> infos = Lists.newArrayList(getFactManager().getFactAccessInfos(ListUtils.list(entity1.getId(), entity2.getId(), UUID.randomUUID())));
+    assertEquals(2, infos.size());
+    assertFactAccessInfo(entity1, infos.get(0));
+    assertFactAccessInfo(entity2, infos.get(1));
+  }
+
+  @Test
+  public void testGetFactAccessInfosWithEmptyInput() {
+    assertFalse(getFactManager().getFactAccessInfos(null).hasNext());
+    assertFalse(getFactManager().getFactAccessInfos(ListUtils.list()).hasNext());
+  }
+
+  @Test
+  public void testSaveFactsWithEmptyInput() {
+    assertEquals(0, getFactManager().saveFacts(null).size());
+    assertEquals(0, getFactManager().saveFacts(ListUtils.list()).size());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveFactsWithExistingFactThrowsException() {
+    FactTypeEntity type = createAndSaveFactType();
+    FactEntity existing = createAndSaveFact(type.getId(), "value");
+    getFactManager().saveFacts(ListUtils.list(createFact(type.getId()), existing));
+  }
+
   @Test
   public void testEncodeWhenSavingFact() {
     createAndSaveFact();
@@ -177,6 +234,61 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(0, ListUtils.list(getFactManager().getFacts(ListUtils.list(UUID.randomUUID()))).size());
   }
 
+  @Test
+  public void testGetFactAsync() throws Exception {
+    FactEntity entity = createAndSaveFact();
+    assertFact(entity, getFactManager().getFactAsync(entity.getId()).get());
+    verify(getEntityHandler(), times(1)).decode(any());
+  }
+
+  @Test
+  public void testGetFactAsyncWithNonExistingFact() throws Exception {
+    assertNull(getFactManager().getFactAsync(null).get());
+    assertNull(getFactManager().getFactAsync(UUID.randomUUID()).get());
+  }
+
+  @Test
+  public void testFetchFactsByIdAsync() throws Exception {
+    FactTypeEntity type = createAndSaveFactType();
+    FactEntity expected = createAndSaveFact(type.getId(), "value");
+    createAndSaveFact(type.getId(), "ignored");
+
+    List<FactEntity> actual = getFactManager().getFactsAsync(ListUtils.list(expected.getId())).get();
+    assertEquals(1, actual.size());
+    assertFact(expected, actual.get(0));
+  }
+
+  @Test
+  public void testFetchFactsByIdAsyncWithUnknownId() throws Exception {
+    assertEquals(0, getFactManager().getFactsAsync(null).get().size());
+    assertEquals(0, getFactManager().getFactsAsync(ListUtils.list()).get().size());
+    assertEquals(0, getFactManager().getFactsAsync(ListUtils.list(UUID.randomUUID())).get().size());
+  }
+
+  @Test
+  public void testSaveFactAsyncAndGetFact() throws Exception {
+    FactEntity entity = createFact(createAndSaveFactType().getId());
+    assertSame(entity, getFactManager().saveFactAsync(entity).get());
+    assertFact(entity, getFactManager().getFact(entity.getId()));
+    verify(getEntityHandler(), times(1)).encode(any());
+  }
+
+  @Test
+  public void testSaveFactAsyncReturnsNullOnNullInput() throws Exception {
+    assertNull(getFactManager().saveFactAsync(null).get());
+  }
+
+  @Test
+  public void testSaveFactAsyncTwiceFails() throws Exception {
+    FactEntity entity = createAndSaveFact();
+    try {
+      getFactManager().saveFactAsync(entity).get();
+      fail();
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof ImmutableViolationException);
+    }
+  }
+
   @Test
   public void testRefreshFact() {
     long timestamp = 123456789;
@@ -195,6 +307,56 @@ public class FactManagerTest extends AbstractManagerTest {
     getFactManager().refreshFact(UUID.randomUUID());
   }
 
+  @Test
+  public void testRefreshLastSeenTimestamps() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+
+    Map<UUID, Long> timestamps = new HashMap<>();
+    timestamps.put(fact1.getId(), 111L);
+    timestamps.put(fact2.getId(), 222L);
+    getFactManager().refreshLastSeenTimestamps(timestamps);
+
+    assertEquals(111, getFactManager().getFact(fact1.getId()).getLastSeenTimestamp());
+    assertEquals(222, getFactManager().getFact(fact2.getId()).getLastSeenTimestamp());
+    // Only 'lastSeenTimestamp' is changed.
+    assertEquals(fact1.getValue(), getFactManager().getFact(fact1.getId()).getValue());
+  }
+
+  @Test
+  public void testRefreshLastSeenTimestampsWithEmptyMap() {
+    getFactManager().refreshLastSeenTimestamps(null);
+    getFactManager().refreshLastSeenTimestamps(new HashMap<>());
+  }
+
+  @Test
+  public void testGetFactWithLegacyBindings() {
+    FactEntity entity = createAndSaveFactWithLegacyBindings();
+    FactEntity actual = getFactManager().getFact(entity.getId());
+
+    assertNull(actual.getBindingsBinary());
+    assertFact(entity, actual);
+  }
+
+  @Test
+  public void testMigrateFactBindings() {
+    FactEntity legacy = createAndSaveFactWithLegacyBindings();
+    FactEntity current = createAndSaveFact();
+
+    assertEquals(1, getFactManager().migrateFactBindings(() -> false));
+    assertNotNull(getFactManager().getFact(legacy.getId()).getBindingsBinary());
+    assertFact(legacy, getFactManager().getFact(legacy.getId()));
+    assertFact(current, getFactManager().getFact(current.getId()));
+    // Migrated Facts are skipped.
+    assertEquals(0, getFactManager().migrateFactBindings(() -> false));
+  }
+
+  @Test
+  public void testMigrateFactBindingsCancelled() {
+    createAndSaveFactWithLegacyBindings();
+    assertEquals(0, getFactManager().migrateFactBindings(() -> true));
+  }
+
   @Test
   public void testSaveAndFetchFactAcl() {
     FactEntity fact = createAndSaveFact();
@@ -205,6 +367,39 @@ public class FactManagerTest extends AbstractManagerTest {
     assertFactAclEntry(entry, acl.get(0));
   }
 
+  @Test
+  public void testFetchFactAclAsync() throws Exception {
+    FactEntity fact = createAndSaveFact();
+    FactAclEntity entry = createAndSaveFactAclEntry(fact.getId());
+
+    List<FactAclEntity> acl = getFactManager().fetchFactAclAsync(fact.getId()).get();
+    assertEquals(1, acl.size());
+    assertEquals(entry.getId(), acl.get(0).getId());
+    assertEquals(0, getFactManager().fetchFactAclAsync(null).get().size());
+    assertEquals(0, getFactManager().fetchFactAclAsync(UUID.randomUUID()).get().size());
+  }
+
+  @Test
+  public void testFetchFactAcls() {
+    FactEntity fact1 = createAndSaveFact();
+    FactEntity fact2 = createAndSaveFact();
+    FactAclEntity entry = createAndSaveFactAclEntry(fact1.getId());
+    UUID nonExisting = UUID.randomUUID();
+
+    Map<UUID, List<FactAclEntity>> acls = getFactManager().fetchFactAcls(ListUtils.list(fact1.getId(), fact2.getId(), fact1.getId(), nonExisting));
+    assertEquals(3, acls.size());
+    assertEquals(1, acls.get(fact1.getId()).size());
+    assertFactAclEntry(entry, acls.get(fact1.getId()).get(0));
+    assertEquals(0, acls.get(fact2.getId()).size());
+    assertEquals(0, acls.get(nonExisting).size());
+  }
+
+  @Test
+  public void testFetchFactAclsWithEmptyInput() {
+    assertEquals(0, getFactManager().fetchFactAcls(null).size());
+    assertEquals(0, getFactManager().fetchFactAcls(ListUtils.list()).size());
+  }
+
   @Test
   public void testFetchFactAclWithNonExistingFact() {
     assertEquals(0, getFactManager().fetchFactAcl(null).size());
@@ -234,6 +429,39 @@ public class FactManagerTest extends AbstractManagerTest {
     getFactManager().saveFactAclEntry(entry);
   }
 
+  @Test
+  public void testSaveFactAclEntriesAndFetchFactAcl() {
+    FactEntity fact = createAndSaveFact();
+    List<FactAclEntity> entries = ListUtils.list(createFactAclEntry(fact.getId()), createFactAclEntry(fact.getId()));
+
+    assertSame(entries, getFactManager().saveFactAclEntries(entries));
+    List<FactAclEntity> acl = getFactManager().fetchFactAcl(fact.getId());
+    acl.sort(Comparator.comparing(FactAclEntity::getId));
+    entries.sort(Comparator.comparing(FactAclEntity::getId));
+
+    assertEquals(2, acl.size());
+    assertFactAclEntry(entries.get(0), acl.get(0));
+    assertFactAclEntry(entries.get(1), acl.get(1));
+  }
+
+  @Test
+  public void testSaveFactAclEntriesWithEmptyInput() {
+    assertEquals(0, getFactManager().saveFactAclEntries(null).size());
+    assertEquals(0, getFactManager().saveFactAclEntries(ListUtils.list()).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveFactAclEntriesWithNonExistingFactThrowsException() {
+    FactEntity fact = createAndSaveFact();
+    getFactManager().saveFactAclEntries(ListUtils.list(createFactAclEntry(fact.getId()), createFactAclEntry(UUID.randomUUID())));
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveFactAclEntriesWithExistingEntryThrowsException() {
+    FactAclEntity entry = createAndSaveFactAclEntry(createAndSaveFact().getId());
+    getFactManager().saveFactAclEntries(ListUtils.list(entry));
+  }
+
   @Test
   public void testSaveAndFetchFactComments() {
     FactEntity fact = createAndSaveFact();
@@ -358,6 +586,13 @@ public class FactManagerTest extends AbstractManagerTest {
     return getFactManager().saveFact(createFact(typeID, value));
   }
 
+  private FactEntity createAndSaveFactWithLegacyBindings() {
+    FactEntity fact = createFact(createAndSaveFactType().getId(), "value");
+    // Simulate a Fact written before the binary format was introduced.
+    String json = fact.getBindingsStored();
+    return getFactManager().saveFact(fact.setBindingsBinary(null).setBindingsJson(json));
+  }
+
   private FactAclEntity createAndSaveFactAclEntry(UUID factID) {
     return getFactManager().saveFactAclEntry(createFactAclEntry(factID));
   }
@@ -398,6 +633,13 @@ public class FactManagerTest extends AbstractManagerTest {
     assertEquals(expected.getBindingsStored(), actual.getBindingsStored());
   }
 
+  private void assertFactAccessInfo(FactEntity expected, FactAccessInfo actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getOrganizationID(), actual.getOrganizationID());
+    assertEquals(expected.getAccessMode(), actual.getAccessMode());
+  }
+
   private void assertFactAclEntry(FactAclEntity expected, FactAclEntity actual) {
     assertEquals(expected.getFactID(), actual.getFactID());
     assertEquals(expected.getId(), actual.getId());
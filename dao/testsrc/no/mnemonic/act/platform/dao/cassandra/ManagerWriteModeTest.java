@@ -0,0 +1,199 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.act.platform.dao.handlers.EntityHandler;
+import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
+import no.mnemonic.commons.junit.docker.CassandraDockerResource;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.*;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ManagerWriteModeTest {
+
+  private static ClusterManager clusterManager;
+  private TypeRegistry typeRegistry;
+  private FactManager factManager;
+  private ObjectManager objectManager;
+
+  @ClassRule
+  public static CassandraDockerResource cassandra = CassandraDockerResource.builder()
+          .setImageName("cassandra")
+          .addApplicationPort(9042)
+          .setSetupScript("setup.cql")
+          .setTruncateScript("truncate.cql")
+          .build();
+
+  @BeforeClass
+  public static void setup() {
+    clusterManager = ClusterManager.builder()
+            .setClusterName("ACT Cluster")
+            .setPort(cassandra.getExposedHostPort(9042))
+            .addContactPoint("127.0.0.1")
+            .setWriteMode(FactEntity.class, WriteMode.Idempotent)
+            .setWriteMode(FactAclEntity.class, WriteMode.Idempotent)
+            .setWriteMode(FactCommentEntity.class, WriteMode.Idempotent)
+            .setWriteMode(ObjectEntity.class, WriteMode.LightweightTransaction)
+            .setWriteMode(ObjectFactBindingEntity.class, WriteMode.LightweightTransaction)
+            .build();
+    clusterManager.startComponent();
+  }
+
+  @Before
+  public void initialize() {
+    EntityHandlerFactory factory = mock(EntityHandlerFactory.class);
+    EntityHandler entityHandler = mock(EntityHandler.class);
+    typeRegistry = new TypeRegistry(clusterManager, factory);
+    factManager = new FactManager(clusterManager, typeRegistry);
+    objectManager = new ObjectManager(clusterManager, typeRegistry);
+
+    typeRegistry.startComponent();
+    factManager.startComponent();
+    objectManager.startComponent();
+
+    when(factory.get(any(), any())).thenReturn(entityHandler);
+    when(entityHandler.encode(any())).then(returnsFirstArg());
+    when(entityHandler.decode(any())).then(returnsFirstArg());
+  }
+
+  @After
+  public void cleanup() {
+    // Truncate database.
+    cassandra.truncate();
+  }
+
+  @AfterClass
+  public static void teardown() {
+    clusterManager.stopComponent();
+  }
+
+  @Test
+  public void testGetWriteModeDefaultsToReadBeforeWrite() {
+    assertEquals(WriteMode.ReadBeforeWrite, clusterManager.getWriteMode(ObjectTypeEntity.class));
+    assertEquals(WriteMode.Idempotent, clusterManager.getWriteMode(FactEntity.class));
+  }
+
+  @Test
+  public void testSaveFactTwiceIsIdempotent() {
+    FactEntity fact = createFact(factManager.saveFactType(createFactType()).getId());
+    factManager.saveFact(fact);
+    factManager.saveFact(fact);
+
+    assertNotNull(factManager.getFact(fact.getId()));
+  }
+
+  @Test
+  public void testSaveFactAclEntryWithoutReadingFact() {
+    // Without read-before-write the existence of the Fact isn't verified.
+    FactAclEntity entry = createFactAclEntry(UUID.randomUUID());
+    assertSame(entry, factManager.saveFactAclEntry(entry));
+    assertSame(entry, factManager.saveFactAclEntry(entry));
+    assertEquals(1, factManager.fetchFactAcl(entry.getFactID()).size());
+  }
+
+  @Test
+  public void testSaveObjectOnce() {
+    ObjectEntity object = createObject(objectManager.saveObjectType(createObjectType()).getId());
+    objectManager.saveObject(object);
+
+    ObjectEntity actual = objectManager.getObject("objectType", "value");
+    assertNotNull(actual);
+    assertEquals(object.getId(), actual.getId());
+  }
+
+  @Test
+  public void testSaveObjectWithSameTypeAndValueThrowsException() {
+    UUID typeID = objectManager.saveObjectType(createObjectType()).getId();
+    ObjectEntity first = createObject(typeID);
+    objectManager.saveObject(first);
+
+    try {
+      objectManager.saveObject(createObject(typeID));
+      fail();
+    } catch (ImmutableViolationException ignored) {
+      // Expected.
+    }
+
+    // The mapping must still point to the Object written first.
+    assertEquals(first.getId(), objectManager.getObject("objectType", "value").getId());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectFactBindingTwiceThrowsException() {
+    ObjectFactBindingEntity binding = createObjectFactBinding();
+    objectManager.saveObjectFactBinding(binding);
+    objectManager.saveObjectFactBinding(binding);
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectFactBindingsTwiceThrowsException() {
+    ObjectFactBindingEntity binding = createObjectFactBinding();
+    objectManager.saveObjectFactBindings(ListUtils.list(binding));
+    objectManager.saveObjectFactBindings(ListUtils.list(binding));
+  }
+
+  private FactTypeEntity createFactType() {
+    return new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("factType")
+            .setValidator("validator")
+            .setEntityHandler("entityHandler");
+  }
+
+  private FactEntity createFact(UUID typeID) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(typeID)
+            .setValue("value")
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setAccessMode(AccessMode.Public)
+            .setTimestamp(1)
+            .setLastSeenTimestamp(2)
+            .setBindings(Collections.singletonList(new FactEntity.FactObjectBinding()
+                    .setObjectID(UUID.randomUUID())
+                    .setDirection(Direction.None)));
+  }
+
+  private FactAclEntity createFactAclEntry(UUID factID) {
+    return new FactAclEntity()
+            .setFactID(factID)
+            .setId(UUID.randomUUID())
+            .setSubjectID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setTimestamp(1);
+  }
+
+  private ObjectTypeEntity createObjectType() {
+    return new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("objectType")
+            .setValidator("validator")
+            .setEntityHandler("entityHandler");
+  }
+
+  private ObjectEntity createObject(UUID typeID) {
+    return new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(typeID)
+            .setValue("value");
+  }
+
+  private ObjectFactBindingEntity createObjectFactBinding() {
+    return new ObjectFactBindingEntity()
+            .setObjectID(UUID.randomUUID())
+            .setFactID(UUID.randomUUID())
+            .setDirection(Direction.BiDirectional);
+  }
+
+}
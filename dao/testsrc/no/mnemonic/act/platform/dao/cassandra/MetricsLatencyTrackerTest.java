@@ -0,0 +1,57 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.act.platform.dao.cassandra.MetricsLatencyTracker.STATEMENTS_METRIC;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsLatencyTrackerTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final MetricsLatencyTracker tracker = new MetricsLatencyTracker(registry);
+
+  @Test
+  public void testUpdateRecordsBoundStatement() {
+    PreparedStatement prepared = mock(PreparedStatement.class);
+    BoundStatement bound = mock(BoundStatement.class);
+    when(bound.preparedStatement()).thenReturn(prepared);
+    when(prepared.getQueryString()).thenReturn("SELECT * FROM fact WHERE id = ?");
+
+    tracker.update(null, bound, null, TimeUnit.MILLISECONDS.toNanos(5));
+
+    Timer timer = registry.find(STATEMENTS_METRIC)
+            .tags("statement", "SELECT * FROM fact WHERE id = ?", "outcome", "success")
+            .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+    assertEquals(5, timer.totalTime(TimeUnit.MILLISECONDS), 0.0);
+  }
+
+  @Test
+  public void testUpdateRecordsRegularStatement() {
+    tracker.update(null, new SimpleStatement("SELECT * FROM fact"), null, 1);
+    assertEquals(1, registry.find(STATEMENTS_METRIC).tags("statement", "SELECT * FROM fact").timer().count());
+  }
+
+  @Test
+  public void testUpdateRecordsBatchStatement() {
+    tracker.update(null, new BatchStatement(), null, 1);
+    assertEquals(1, registry.find(STATEMENTS_METRIC).tags("statement", "BATCH").timer().count());
+  }
+
+  @Test
+  public void testUpdateRecordsFailure() {
+    tracker.update(null, new SimpleStatement("SELECT * FROM fact"), new IllegalStateException(), 1);
+    assertEquals(1, registry.find(STATEMENTS_METRIC).tags("outcome", "IllegalStateException").timer().count());
+  }
+
+}
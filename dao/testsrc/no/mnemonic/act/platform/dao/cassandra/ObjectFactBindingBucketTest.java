@@ -0,0 +1,157 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.collect.Lists;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
+import no.mnemonic.act.platform.dao.handlers.EntityHandler;
+import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
+import no.mnemonic.commons.junit.docker.CassandraDockerResource;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.*;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ObjectFactBindingBucketTest {
+
+  private static final int BUCKETS = 4;
+
+  private static ClusterManager clusterManager;
+  private ObjectManager objectManager;
+
+  @ClassRule
+  public static CassandraDockerResource cassandra = CassandraDockerResource.builder()
+          .setImageName("cassandra")
+          .addApplicationPort(9042)
+          .setSetupScript("setup.cql")
+          .setTruncateScript("truncate.cql")
+          .build();
+
+  @BeforeClass
+  public static void setup() {
+    clusterManager = ClusterManager.builder()
+            .setClusterName("ACT Cluster")
+            .setPort(cassandra.getExposedHostPort(9042))
+            .addContactPoint("127.0.0.1")
+            // Use a tiny page size in order to fetch multiple pages per bucket.
+            .setObjectFactBindingPageSize(2)
+            .setObjectFactBindingBuckets(BUCKETS)
+            .build();
+    clusterManager.startComponent();
+  }
+
+  @Before
+  public void initialize() {
+    EntityHandlerFactory factory = mock(EntityHandlerFactory.class);
+    EntityHandler entityHandler = mock(EntityHandler.class);
+    TypeRegistry typeRegistry = new TypeRegistry(clusterManager, factory);
+    objectManager = new ObjectManager(clusterManager, typeRegistry);
+
+    typeRegistry.startComponent();
+    objectManager.startComponent();
+
+    when(factory.get(any(), any())).thenReturn(entityHandler);
+    when(entityHandler.encode(any())).then(returnsFirstArg());
+    when(entityHandler.decode(any())).then(returnsFirstArg());
+  }
+
+  @After
+  public void cleanup() {
+    // Truncate database.
+    cassandra.truncate();
+  }
+
+  @AfterClass
+  public static void teardown() {
+    clusterManager.stopComponent();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateClusterManagerWithInvalidPageSize() {
+    ClusterManager.builder()
+            .setClusterName("ACT Cluster")
+            .addContactPoint("127.0.0.1")
+            .setObjectFactBindingPageSize(0)
+            .build();
+  }
+
+  @Test
+  public void testSaveBindingsSpreadsAcrossBuckets() {
+    UUID objectID = createAndSaveObject();
+    List<ObjectFactBindingEntity> bindings = createBindings(objectID, 20);
+    objectManager.saveObjectFactBindings(bindings);
+
+    Set<Integer> buckets = Lists.newArrayList(objectManager.getObjectFactBindings(objectID))
+            .stream()
+            .map(binding -> ((ObjectFactBindingBucketEntity) binding).getBucket())
+            .collect(Collectors.toSet());
+    assertTrue(buckets.size() > 1);
+  }
+
+  @Test
+  public void testGetObjectFactBindingsReadsAllBucketsPageByPage() {
+    UUID objectID = createAndSaveObject();
+    List<ObjectFactBindingEntity> bindings = createBindings(objectID, 20);
+    objectManager.saveObjectFactBindings(bindings);
+    // Simulate a binding stored before buckets were enabled.
+    ObjectFactBindingEntity legacy = createBindings(objectID, 1).get(0);
+    clusterManager.getMapper(ObjectFactBindingEntity.class).save(legacy);
+
+    List<ObjectFactBindingEntity> expected = ListUtils.concatenate(bindings, ListUtils.list(legacy));
+    assertFactIDs(expected, Lists.newArrayList(objectManager.getObjectFactBindings(objectID)));
+    assertFactIDs(expected, objectManager.fetchObjectFactBindings(objectID));
+  }
+
+  @Test
+  public void testFetchObjectFactBindingsAsyncReadsAllBuckets() throws Exception {
+    UUID objectID = createAndSaveObject();
+    List<ObjectFactBindingEntity> bindings = createBindings(objectID, 10);
+    objectManager.saveObjectFactBindings(bindings);
+
+    assertFactIDs(bindings, objectManager.fetchObjectFactBindingsAsync(objectID).get());
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectFactBindingTwiceThrowsException() {
+    ObjectFactBindingEntity binding = createBindings(createAndSaveObject(), 1).get(0);
+    objectManager.saveObjectFactBinding(binding);
+    objectManager.saveObjectFactBinding(binding);
+  }
+
+  private UUID createAndSaveObject() {
+    ObjectTypeEntity type = objectManager.saveObjectType(new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName("objectType")
+            .setValidator("validator")
+            .setEntityHandler("entityHandler"));
+    return objectManager.saveObject(new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(type.getId())
+            .setValue("value")).getId();
+  }
+
+  private List<ObjectFactBindingEntity> createBindings(UUID objectID, int numberOfBindings) {
+    List<ObjectFactBindingEntity> bindings = new ArrayList<>();
+    for (int i = 0; i < numberOfBindings; i++) {
+      bindings.add(new ObjectFactBindingEntity()
+              .setObjectID(objectID)
+              .setFactID(UUID.randomUUID())
+              .setDirection(Direction.BiDirectional));
+    }
+    return bindings;
+  }
+
+  private void assertFactIDs(List<ObjectFactBindingEntity> expected, List<ObjectFactBindingEntity> actual) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.stream().map(ObjectFactBindingEntity::getFactID).collect(Collectors.toSet()),
+            actual.stream().map(ObjectFactBindingEntity::getFactID).collect(Collectors.toSet()));
+  }
+
+}
@@ -1,9 +1,6 @@
 package no.mnemonic.act.platform.dao.cassandra;
 
-import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
-import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Test;
@@ -136,6 +133,39 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertNull(getObjectManager().getObject(entity.getName(), "nonExisting"));
   }
 
+  @Test
+  public void testGetObjectByTypeValueIsCached() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createAndSaveObject(type.getId());
+
+    ObjectEntity first = getObjectManager().getObject(type.getName(), object.getValue());
+    ObjectEntity second = getObjectManager().getObject(type.getName(), object.getValue());
+    assertObject(first, second);
+    assertNotSame(first, second);
+    // Only decoded once when fetching the Object from Cassandra.
+    verify(getEntityHandler(), times(1)).decode(any());
+  }
+
+  @Test
+  public void testGetObjectAsyncByTypeValueIsCached() throws Exception {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createAndSaveObject(type.getId());
+
+    assertObject(object, getObjectManager().getObjectAsync(type.getName(), object.getValue()).get());
+    assertObject(object, getObjectManager().getObject(type.getName(), object.getValue()));
+    verify(getEntityHandler(), times(1)).decode(any());
+  }
+
+  @Test
+  public void testSaveObjectInvalidatesCachedMissingObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createObject(type.getId());
+
+    assertNull(getObjectManager().getObject(type.getName(), object.getValue()));
+    getObjectManager().saveObject(object);
+    assertObject(object, getObjectManager().getObject(type.getName(), object.getValue()));
+  }
+
   @Test
   public void testGetObjectByTypeValueReturnsNullOnNullInput() {
     assertNull(getObjectManager().getObject(null, "ignored"));
@@ -167,6 +197,45 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertEquals(0, ListUtils.list(getObjectManager().getObjects(ListUtils.list(UUID.randomUUID()))).size());
   }
 
+  @Test
+  public void testGetObjectAsync() throws Exception {
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    assertObject(object, getObjectManager().getObjectAsync(object.getId()).get());
+    assertNull(getObjectManager().getObjectAsync(null).get());
+    assertNull(getObjectManager().getObjectAsync(UUID.randomUUID()).get());
+  }
+
+  @Test
+  public void testGetObjectByTypeValueAsync() throws Exception {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createAndSaveObject(type.getId());
+    assertObject(object, getObjectManager().getObjectAsync(type.getName(), object.getValue()).get());
+    assertNull(getObjectManager().getObjectAsync(type.getName(), "nonExisting").get());
+    assertNull(getObjectManager().getObjectAsync(null, "ignored").get());
+    assertNull(getObjectManager().getObjectAsync("ignored", null).get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetObjectByTypeValueAsyncWithNonExistingObjectType() {
+    ObjectEntity entity = createAndSaveObject(createAndSaveObjectType().getId());
+    getObjectManager().getObjectAsync("nonExisting", entity.getValue());
+  }
+
+  @Test
+  public void testFetchObjectsByIdAsync() throws Exception {
+    ObjectEntity expected = createAndSaveObjects().get(0);
+    List<ObjectEntity> actual = getObjectManager().getObjectsAsync(ListUtils.list(expected.getId())).get();
+    assertEquals(1, actual.size());
+    assertObject(expected, actual.get(0));
+  }
+
+  @Test
+  public void testFetchObjectsByIdAsyncWithUnknownId() throws Exception {
+    assertEquals(0, getObjectManager().getObjectsAsync(null).get().size());
+    assertEquals(0, getObjectManager().getObjectsAsync(ListUtils.list()).get().size());
+    assertEquals(0, getObjectManager().getObjectsAsync(ListUtils.list(UUID.randomUUID())).get().size());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testSaveObjectWithNonExistingObjectType() {
     getObjectManager().saveObject(createObject());
@@ -180,6 +249,21 @@ public class ObjectManagerTest extends AbstractManagerTest {
     getObjectManager().saveObject(object);
   }
 
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectCreatedByOtherNodeIgnoresCachedMissingObject() {
+    ObjectTypeEntity type = createAndSaveObjectType();
+    ObjectEntity object = createObject(type.getId());
+    // Cache that the Object doesn't exist.
+    assertNull(getObjectManager().getObject(type.getName(), object.getValue()));
+
+    // Another node creates the same Object in the meantime.
+    ObjectManager otherNode = new ObjectManager(getClusterManager(), getTypeRegistry());
+    otherNode.startComponent();
+    otherNode.saveObject(createObject(type.getId()).setValue(object.getValue()));
+
+    getObjectManager().saveObject(object);
+  }
+
   @Test
   public void testSaveObjectReturnsSameEntity() {
     ObjectEntity entity = createObject(createAndSaveObjectType().getId());
@@ -221,6 +305,30 @@ public class ObjectManagerTest extends AbstractManagerTest {
     assertObjectFactBinding(binding, actual.get(0));
   }
 
+  @Test
+  public void testFetchObjectFactBindingsAsync() throws Exception {
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(object.getId());
+
+    List<ObjectFactBindingEntity> actual = getObjectManager().fetchObjectFactBindingsAsync(object.getId()).get();
+    assertEquals(1, actual.size());
+    assertObjectFactBinding(binding, actual.get(0));
+    assertEquals(0, getObjectManager().fetchObjectFactBindingsAsync(null).get().size());
+    assertEquals(0, getObjectManager().fetchObjectFactBindingsAsync(UUID.randomUUID()).get().size());
+  }
+
+  @Test
+  public void testGetObjectFactBindings() {
+    ObjectEntity object = createAndSaveObject(createAndSaveObjectType().getId());
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(object.getId());
+
+    Iterator<ObjectFactBindingEntity> actual = getObjectManager().getObjectFactBindings(object.getId());
+    assertObjectFactBinding(binding, actual.next());
+    assertFalse(actual.hasNext());
+    assertFalse(getObjectManager().getObjectFactBindings(null).hasNext());
+    assertFalse(getObjectManager().getObjectFactBindings(UUID.randomUUID()).hasNext());
+  }
+
   @Test
   public void testFetchObjectFactBindingsWithNonExistingObject() {
     assertEquals(0, getObjectManager().fetchObjectFactBindings(null).size());
@@ -250,6 +358,107 @@ public class ObjectManagerTest extends AbstractManagerTest {
     getObjectManager().saveObjectFactBinding(binding);
   }
 
+  @Test
+  public void testSaveObjectFactBindingsAndFetchObjectFactBindings() {
+    ObjectEntity object = createAndSaveObject();
+    List<ObjectFactBindingEntity> bindings = ListUtils.list(createObjectFactBinding(object.getId()), createObjectFactBinding(object.getId()));
+
+    assertSame(bindings, getObjectManager().saveObjectFactBindings(bindings));
+    List<ObjectFactBindingEntity> fetched = getObjectManager().fetchObjectFactBindings(object.getId());
+    fetched.sort(Comparator.comparing(ObjectFactBindingEntity::getFactID));
+    bindings.sort(Comparator.comparing(ObjectFactBindingEntity::getFactID));
+
+    assertEquals(2, fetched.size());
+    assertObjectFactBinding(bindings.get(0), fetched.get(0));
+    assertObjectFactBinding(bindings.get(1), fetched.get(1));
+  }
+
+  @Test
+  public void testSaveObjectFactBindingsWithEmptyInput() {
+    assertEquals(0, getObjectManager().saveObjectFactBindings(null).size());
+    assertEquals(0, getObjectManager().saveObjectFactBindings(ListUtils.list()).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSaveObjectFactBindingsWithNonExistingObjectThrowsException() {
+    getObjectManager().saveObjectFactBindings(ListUtils.list(createObjectFactBinding(UUID.randomUUID())));
+  }
+
+  @Test(expected = ImmutableViolationException.class)
+  public void testSaveObjectFactBindingsWithExistingBindingThrowsException() {
+    ObjectFactBindingEntity binding = createAndSaveObjectFactBinding(createAndSaveObject().getId());
+    getObjectManager().saveObjectFactBindings(ListUtils.list(binding));
+  }
+
+  @Test
+  public void testSaveAndFetchObjectFactStatistics() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact1 = createFact(objectID, 1000, 2000);
+    FactEntity fact2 = createFact(objectID, 3000, 1500)
+            .setTypeID(fact1.getTypeID())
+            .setOrganizationID(fact1.getOrganizationID());
+
+    getObjectManager().saveObjectFactStatistics(ListUtils.list(fact1, fact2));
+
+    List<ObjectFactStatisticsEntity> statistics = getObjectManager().fetchObjectFactStatistics(ListUtils.list(objectID)).get(objectID);
+    assertEquals(1, statistics.size());
+    assertEquals(objectID, statistics.get(0).getObjectID());
+    assertEquals(fact1.getTypeID(), statistics.get(0).getFactTypeID());
+    assertEquals(fact1.getOrganizationID(), statistics.get(0).getOrganizationID());
+    assertEquals(AccessMode.RoleBased, statistics.get(0).getAccessMode());
+    assertEquals(2, statistics.get(0).getFactCount());
+    // The maximum timestamps are kept independent of the order of writes.
+    assertEquals(3000, statistics.get(0).getLastAddedTimestamp());
+    assertEquals(2000, statistics.get(0).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testSaveObjectFactStatisticsCountsFactOncePerObject() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact = createFact(objectID, 1000, 1000);
+    fact.setBindings(ListUtils.list(
+            new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.FactIsSource),
+            new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.FactIsDestination)
+    ));
+
+    getObjectManager().saveObjectFactStatistics(ListUtils.list(fact));
+
+    assertEquals(1, getObjectManager().fetchObjectFactStatistics(ListUtils.list(objectID)).get(objectID).get(0).getFactCount());
+  }
+
+  @Test
+  public void testRefreshObjectFactStatistics() {
+    UUID objectID = UUID.randomUUID();
+    FactEntity fact = createFact(objectID, 1000, 1000);
+    getObjectManager().saveObjectFactStatistics(ListUtils.list(fact));
+
+    getObjectManager().refreshObjectFactStatistics(ListUtils.list(fact.clone().setLastSeenTimestamp(5000)));
+    // An older sighting must not overwrite the newer one.
+    getObjectManager().refreshObjectFactStatistics(ListUtils.list(fact.clone().setLastSeenTimestamp(4000)));
+
+    ObjectFactStatisticsEntity statistics = getObjectManager().fetchObjectFactStatistics(ListUtils.list(objectID)).get(objectID).get(0);
+    assertEquals(1, statistics.getFactCount());
+    assertEquals(1000, statistics.getLastAddedTimestamp());
+    assertEquals(5000, statistics.getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testFetchObjectFactStatisticsWithoutStatistics() {
+    assertTrue(getObjectManager().fetchObjectFactStatistics(null).isEmpty());
+    assertTrue(getObjectManager().fetchObjectFactStatistics(ListUtils.list(UUID.randomUUID())).isEmpty());
+  }
+
+  private FactEntity createFact(UUID objectID, long timestamp, long lastSeenTimestamp) {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased)
+            .setTimestamp(timestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(objectID).setDirection(Direction.BiDirectional)));
+  }
+
   private ObjectTypeEntity createObjectType() {
     return createObjectType("objectType");
   }
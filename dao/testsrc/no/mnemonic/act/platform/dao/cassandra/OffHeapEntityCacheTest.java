@@ -0,0 +1,322 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class OffHeapEntityCacheTest {
+
+  private static final long CAPACITY = 1024 * 1024;
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateCacheWithNegativeCapacity() {
+    new OffHeapEntityCache<>("test", -1, OffHeapEntityCodecs.OBJECT);
+  }
+
+  @Test
+  public void testDisabledCacheDoesNotCacheEntities() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 0, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+
+    assertFalse(cache.isEnabled());
+    assertSame(object, cache.put(object.getId(), object));
+    assertNull(cache.get(object.getId()));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testGetNonCachedEntityReturnsNull() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    assertNull(cache.get(null));
+    assertNull(cache.get(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testPutAndGetObject() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity expected = createObject();
+    cache.put(expected.getId(), expected);
+
+    ObjectEntity actual = cache.get(expected.getId());
+    assertNotSame(expected, actual);
+    assertObject(expected, actual);
+  }
+
+  @Test
+  public void testPutAndGetFact() {
+    OffHeapEntityCache<FactEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.FACT);
+    FactEntity expected = createFact();
+    cache.put(expected.getId(), expected);
+
+    FactEntity actual = cache.get(expected.getId());
+    assertNotSame(expected, actual);
+    assertFact(expected, actual);
+  }
+
+  @Test
+  public void testPutAndGetFactWithoutOptionalFields() {
+    OffHeapEntityCache<FactEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.FACT);
+    FactEntity expected = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID());
+    cache.put(expected.getId(), expected);
+
+    FactEntity actual = cache.get(expected.getId());
+    assertEquals(expected.getId(), actual.getId());
+    assertNull(actual.getValue());
+    assertNull(actual.getInReferenceToID());
+    assertNull(actual.getAccessMode());
+    assertNull(actual.getBindings());
+  }
+
+  @Test
+  public void testUpdateTimestampOfCachedFact() {
+    OffHeapEntityCache<FactEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.FACT);
+    FactEntity expected = createFact();
+    cache.put(expected.getId(), expected);
+    cache.updateTimestamp(expected.getId(), 42);
+
+    FactEntity actual = cache.get(expected.getId());
+    assertEquals(42, actual.getLastSeenTimestamp());
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testUpdateTimestampOfNonCachedFact() {
+    OffHeapEntityCache<FactEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.FACT);
+    cache.updateTimestamp(UUID.randomUUID(), 42);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testPutEvictsOldestEntries() {
+    // Two segments of 512 bytes each, thus, only a few Objects fit into the cache.
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 1024, OffHeapEntityCodecs.OBJECT);
+    List<ObjectEntity> objects = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      ObjectEntity object = createObject();
+      objects.add(object);
+      cache.put(object.getId(), object);
+    }
+
+    assertTrue(cache.size() < objects.size());
+    assertNull(cache.get(objects.get(0).getId()));
+    assertObject(objects.get(49), cache.get(objects.get(49).getId()));
+  }
+
+  @Test
+  public void testPutRetainsRecentlyReadEntries() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 1024, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity hot = createObject();
+    cache.put(hot.getId(), hot);
+    List<ObjectEntity> objects = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      ObjectEntity object = createObject();
+      objects.add(object);
+      cache.put(object.getId(), object);
+      // Read the hot entry after every other entry, thus, it gets a second chance whenever its segment is recycled.
+      assertObject(hot, cache.get(hot.getId()));
+    }
+
+    // The hot entry is never written again, but it survives while the other entries are evicted.
+    assertTrue(cache.size() < objects.size());
+    assertNull(cache.get(objects.get(0).getId()));
+    assertObject(hot, cache.get(hot.getId()));
+    assertObject(objects.get(49), cache.get(objects.get(49).getId()));
+  }
+
+  @Test
+  public void testPutKeepsEntriesWrittenAgainIntoNewerSegment() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 1024, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity refreshed = createObject();
+    List<ObjectEntity> objects = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      ObjectEntity object = createObject();
+      objects.add(object);
+      cache.put(object.getId(), object);
+      // Write the same entry again after every other entry, thus, it always lives in the newest segment.
+      cache.put(refreshed.getId(), refreshed);
+    }
+
+    assertNull(cache.get(objects.get(0).getId()));
+    assertObject(refreshed, cache.get(refreshed.getId()));
+  }
+
+  @Test
+  public void testPutIgnoresTooLargeEntity() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 1024, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject().setValue(String.join("", Collections.nCopies(1024, "x")));
+    cache.put(object.getId(), object);
+
+    assertNull(cache.get(object.getId()));
+  }
+
+  @Test
+  public void testClearRemovesAllEntries() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+    cache.put(object.getId(), object);
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertNull(cache.get(object.getId()));
+  }
+
+  @Test
+  public void testGetAllLoadsOnlyMissingEntities() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity cached = createObject();
+    ObjectEntity missing = createObject();
+    cache.put(cached.getId(), cached);
+
+    List<List<UUID>> requested = new ArrayList<>();
+    Function<List<UUID>, Iterator<ObjectEntity>> loader = ids -> {
+      requested.add(ids);
+      return ListUtils.list(missing).iterator();
+    };
+
+    // Request an ID which doesn't exist in-between in order to verify that it is skipped.
+    UUID nonExisting = UUID.randomUUID();
+    List<ObjectEntity> result = Lists.newArrayList(cache.getAll(ListUtils.list(cached.getId(), nonExisting, missing.getId()), loader, ObjectEntity::getId));
+
+    assertEquals(ListUtils.list(ListUtils.list(nonExisting, missing.getId())), requested);
+    assertEquals(2, result.size());
+    assertObject(cached, result.get(0));
+    assertSame(missing, result.get(1));
+    // Loaded entities are added to the cache.
+    assertObject(missing, cache.get(missing.getId()));
+  }
+
+  @Test
+  public void testGetAllWithAllEntitiesCached() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+    cache.put(object.getId(), object);
+
+    List<ObjectEntity> result = Lists.newArrayList(cache.getAll(ListUtils.list(object.getId(), object.getId()), ids -> {
+      fail();
+      return null;
+    }, ObjectEntity::getId));
+
+    assertEquals(1, result.size());
+    assertObject(object, result.get(0));
+  }
+
+  @Test
+  public void testGetAllWithDisabledCacheUsesLoader() {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 0, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+
+    List<ObjectEntity> result = Lists.newArrayList(cache.getAll(ListUtils.list(object.getId()), ids -> ListUtils.list(object).iterator(), ObjectEntity::getId));
+    assertEquals(ListUtils.list(object), result);
+  }
+
+  @Test
+  public void testGetAllAsyncLoadsOnlyMissingEntities() throws Exception {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity cached = createObject();
+    ObjectEntity missing = createObject();
+    cache.put(cached.getId(), cached);
+
+    List<List<UUID>> requested = new ArrayList<>();
+    Function<List<UUID>, ListenableFuture<List<ObjectEntity>>> loader = ids -> {
+      requested.add(ids);
+      return Futures.immediateFuture(ListUtils.list(missing));
+    };
+
+    UUID nonExisting = UUID.randomUUID();
+    List<ObjectEntity> result = cache.getAllAsync(ListUtils.list(missing.getId(), nonExisting, cached.getId()), loader, ObjectEntity::getId).get();
+
+    assertEquals(ListUtils.list(ListUtils.list(missing.getId(), nonExisting)), requested);
+    assertEquals(2, result.size());
+    assertSame(missing, result.get(0));
+    assertObject(cached, result.get(1));
+    // Loaded entities are added to the cache.
+    assertObject(missing, cache.get(missing.getId()));
+  }
+
+  @Test
+  public void testGetAllAsyncWithAllEntitiesCached() throws Exception {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", CAPACITY, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+    cache.put(object.getId(), object);
+
+    List<ObjectEntity> result = cache.getAllAsync(ListUtils.list(object.getId(), object.getId()), ids -> {
+      fail();
+      return null;
+    }, ObjectEntity::getId).get();
+
+    assertEquals(1, result.size());
+    assertObject(object, result.get(0));
+  }
+
+  @Test
+  public void testGetAllAsyncWithDisabledCacheUsesLoader() throws Exception {
+    OffHeapEntityCache<ObjectEntity> cache = new OffHeapEntityCache<>("test", 0, OffHeapEntityCodecs.OBJECT);
+    ObjectEntity object = createObject();
+
+    List<ObjectEntity> result = cache.getAllAsync(ListUtils.list(object.getId()), ids -> Futures.immediateFuture(ListUtils.list(object)), ObjectEntity::getId).get();
+    assertEquals(ListUtils.list(object), result);
+  }
+
+  private ObjectEntity createObject() {
+    return new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("value");
+  }
+
+  private FactEntity createFact() {
+    return new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(UUID.randomUUID())
+            .setValue("välue")
+            .setInReferenceToID(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setSourceID(UUID.randomUUID())
+            .setAccessMode(AccessMode.Explicit)
+            .setConfidenceLevel(3)
+            .setTimestamp(1)
+            .setLastSeenTimestamp(2)
+            .setBindings(ListUtils.list(
+                    new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID()).setDirection(Direction.FactIsSource),
+                    new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID()).setDirection(Direction.BiDirectional)));
+  }
+
+  private void assertObject(ObjectEntity expected, ObjectEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+  }
+
+  private void assertFact(FactEntity expected, FactEntity actual) {
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertEquals(expected.getInReferenceToID(), actual.getInReferenceToID());
+    assertEquals(expected.getOrganizationID(), actual.getOrganizationID());
+    assertEquals(expected.getSourceID(), actual.getSourceID());
+    assertEquals(expected.getAccessMode(), actual.getAccessMode());
+    assertEquals(expected.getConfidenceLevel(), actual.getConfidenceLevel());
+    assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    assertEquals(expected.getLastSeenTimestamp(), actual.getLastSeenTimestamp());
+    assertEquals(expected.getBindings().size(), actual.getBindings().size());
+    for (int i = 0; i < expected.getBindings().size(); i++) {
+      assertEquals(expected.getBindings().get(i).getObjectID(), actual.getBindings().get(i).getObjectID());
+      assertEquals(expected.getBindings().get(i).getDirection(), actual.getBindings().get(i).getDirection());
+    }
+  }
+
+}
@@ -0,0 +1,90 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.Futures;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ProfiledSessionTest {
+
+  private Session delegate;
+  private ProfiledSession session;
+
+  @Before
+  public void setUp() {
+    delegate = mock(Session.class);
+    session = new ProfiledSession(delegate, DriverProfile.builder()
+            .setReadConsistencyLevel(ConsistencyLevel.ONE)
+            .setWriteConsistencyLevel(ConsistencyLevel.QUORUM)
+            .build());
+  }
+
+  @Test
+  public void testPrepareReadStatement() {
+    PreparedStatement prepared = mockPreparedStatement("SELECT * FROM fact WHERE id = ?");
+    when(delegate.prepare(anyString())).thenReturn(prepared);
+
+    assertSame(prepared, session.prepare("SELECT * FROM fact WHERE id = ?"));
+    verify(prepared).setConsistencyLevel(ConsistencyLevel.ONE);
+    verify(prepared).setIdempotent(true);
+  }
+
+  @Test
+  public void testPrepareWriteStatement() {
+    PreparedStatement prepared = mockPreparedStatement("INSERT INTO fact (id) VALUES (?) IF NOT EXISTS");
+    when(delegate.prepareAsync(any(RegularStatement.class))).thenReturn(Futures.immediateFuture(prepared));
+
+    assertSame(prepared, FutureUtils.waitFor(session.prepareAsync(new SimpleStatement("INSERT INTO fact (id) VALUES (?) IF NOT EXISTS"))));
+    verify(prepared).setConsistencyLevel(ConsistencyLevel.QUORUM);
+    verify(prepared, never()).setIdempotent(anyBoolean());
+  }
+
+  @Test
+  public void testPrepareKeepsExplicitSettings() {
+    PreparedStatement prepared = mockPreparedStatement("select * from fact");
+    when(prepared.getConsistencyLevel()).thenReturn(ConsistencyLevel.ALL);
+    when(prepared.isIdempotent()).thenReturn(false);
+    when(delegate.prepareAsync(anyString())).thenReturn(Futures.immediateFuture(prepared));
+
+    FutureUtils.waitFor(session.prepareAsync("select * from fact"));
+    verify(prepared, never()).setConsistencyLevel(any());
+    verify(prepared, never()).setIdempotent(anyBoolean());
+  }
+
+  @Test
+  public void testExecuteRegularStatement() {
+    Statement read = new SimpleStatement("SELECT * FROM fact");
+    Statement write = new SimpleStatement("UPDATE fact SET last_seen_timestamp = 1 WHERE id = ?");
+    session.executeAsync(read);
+    session.execute(write);
+
+    verify(delegate).executeAsync(read);
+    verify(delegate).execute(write);
+    assertEquals(ConsistencyLevel.ONE, read.getConsistencyLevel());
+    assertTrue(read.isIdempotent());
+    assertEquals(ConsistencyLevel.QUORUM, write.getConsistencyLevel());
+    assertNull(write.isIdempotent());
+  }
+
+  @Test
+  public void testExecuteBoundStatementUnchanged() {
+    BoundStatement bound = mock(BoundStatement.class);
+    session.executeAsync(bound);
+
+    verify(delegate).executeAsync(bound);
+    verify(bound, never()).setConsistencyLevel(any());
+  }
+
+  private PreparedStatement mockPreparedStatement(String query) {
+    PreparedStatement prepared = mock(PreparedStatement.class);
+    when(prepared.getQueryString()).thenReturn(query);
+    when(prepared.isIdempotent()).thenReturn(null);
+    return prepared;
+  }
+
+}
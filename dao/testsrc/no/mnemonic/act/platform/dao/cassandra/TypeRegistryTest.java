@@ -0,0 +1,136 @@
+package no.mnemonic.act.platform.dao.cassandra;
+
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.handlers.EntityHandler;
+import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TypeRegistryTest extends AbstractManagerTest {
+
+  @Test
+  public void testStartComponentLoadsAllTypes() {
+    ObjectTypeEntity objectType = getObjectManager().saveObjectType(createObjectType("objectType"));
+    FactTypeEntity factType = getFactManager().saveFactType(createFactType("factType"));
+
+    TypeRegistry registry = createAndStartRegistry();
+    assertEquals(1, registry.getObjectTypes().size());
+    assertEquals(1, registry.getFactTypes().size());
+    assertEquals(objectType.getId(), registry.getObjectType(objectType.getName()).getId());
+    assertEquals(factType.getId(), registry.getFactType(factType.getName()).getId());
+  }
+
+  @Test
+  public void testGetTypeUnknownToRegistryFetchesTypeFromCassandra() {
+    TypeRegistry registry = createAndStartRegistry();
+    // The types are saved after the registry has been started, e.g. by another node.
+    ObjectTypeEntity objectType = getObjectManager().saveObjectType(createObjectType("objectType"));
+    FactTypeEntity factType = getFactManager().saveFactType(createFactType("factType"));
+
+    assertEquals(objectType.getName(), registry.getObjectType(objectType.getId()).getName());
+    assertEquals(factType.getName(), registry.getFactType(factType.getId()).getName());
+    // Afterwards the types are served from the registry.
+    assertSame(registry.getObjectType(objectType.getId()), registry.getObjectType(objectType.getName()));
+    assertSame(registry.getFactType(factType.getId()), registry.getFactType(factType.getName()));
+  }
+
+  @Test
+  public void testReloadPicksUpTypesChangedByOtherNode() {
+    TypeRegistry registry = createAndStartRegistry();
+    ObjectTypeEntity type = getObjectManager().saveObjectType(createObjectType("objectType"));
+    assertNotNull(registry.getObjectType(type.getName()));
+
+    // The type is renamed by another node, thus, the registry still serves the old type until it's reloaded.
+    getObjectManager().saveObjectType(createObjectType("renamed").setId(type.getId()));
+    assertEquals("objectType", registry.getObjectType(type.getId()).getName());
+
+    registry.reload();
+    assertEquals("renamed", registry.getObjectType(type.getId()).getName());
+    assertNull(registry.getObjectType("objectType"));
+    registry.stopComponent();
+  }
+
+  @Test
+  public void testGetUnknownTypeReturnsNull() {
+    assertNull(getTypeRegistry().getObjectType(UUID.randomUUID()));
+    assertNull(getTypeRegistry().getObjectType("unknown"));
+    assertNull(getTypeRegistry().getFactType(UUID.randomUUID()));
+    assertNull(getTypeRegistry().getFactType("unknown"));
+    assertNull(getTypeRegistry().getEntityHandler(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testReloadTypeReplacesName() {
+    ObjectTypeEntity type = getObjectManager().saveObjectType(createObjectType("objectType"));
+    getObjectManager().saveObjectType(createObjectType("renamed").setId(type.getId()));
+
+    assertNull(getTypeRegistry().getObjectType("objectType"));
+    assertEquals(type.getId(), getTypeRegistry().getObjectType("renamed").getId());
+    assertEquals(1, getTypeRegistry().getObjectTypes().size());
+  }
+
+  @Test
+  public void testGetEntityHandler() {
+    ObjectTypeEntity objectType = getObjectManager().saveObjectType(createObjectType("objectType"));
+    FactTypeEntity factType = getFactManager().saveFactType(createFactType("factType"));
+
+    assertSame(getEntityHandler(), getTypeRegistry().getEntityHandler(objectType.getId()));
+    assertSame(getEntityHandler(), getTypeRegistry().getEntityHandler(factType.getId()));
+    assertSame(getEntityHandler(), getTypeRegistry().getEntityHandlerForObjectType(objectType.getId()));
+    assertSame(getEntityHandler(), getTypeRegistry().getEntityHandlerForFactType(factType.getId()));
+    // The EntityHandler of an ObjectType must not be returned for a FactType and vice versa.
+    assertNull(getTypeRegistry().getEntityHandlerForFactType(objectType.getId()));
+    assertNull(getTypeRegistry().getEntityHandlerForObjectType(factType.getId()));
+  }
+
+  @Test
+  public void testEntityHandlerIsResolvedOnlyOnce() {
+    ObjectTypeEntity objectType = getObjectManager().saveObjectType(createObjectType("objectType"));
+
+    EntityHandlerFactory factory = mock(EntityHandlerFactory.class);
+    when(factory.get(any(), any())).thenReturn(getEntityHandler());
+    TypeRegistry registry = new TypeRegistry(getClusterManager(), factory);
+    registry.startComponent();
+
+    registry.getEntityHandler(objectType.getId());
+    registry.getEntityHandler(objectType.getId());
+    verify(factory, times(1)).get(objectType.getEntityHandler(), objectType.getEntityHandlerParameter());
+  }
+
+  private TypeRegistry createAndStartRegistry() {
+    EntityHandlerFactory factory = mock(EntityHandlerFactory.class);
+    EntityHandler handler = mock(EntityHandler.class);
+    when(factory.get(any(), any())).thenReturn(handler);
+
+    TypeRegistry registry = new TypeRegistry(getClusterManager(), factory);
+    registry.startComponent();
+    return registry;
+  }
+
+  private ObjectTypeEntity createObjectType(String name) {
+    return new ObjectTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName(name)
+            .setValidator("validator")
+            .setEntityHandler("entityHandler")
+            .setEntityHandlerParameter("entityHandlerParameter");
+  }
+
+  private FactTypeEntity createFactType(String name) {
+    return new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setNamespaceID(UUID.randomUUID())
+            .setName(name)
+            .setValidator("validator")
+            .setEntityHandler("entityHandler")
+            .setEntityHandlerParameter("entityHandlerParameter");
+  }
+
+}
@@ -0,0 +1,75 @@
+package no.mnemonic.act.platform.dao.cassandra.entity;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class FactBindingsCodecTest {
+
+  @Test
+  public void testEncodeAndDecodeBindings() {
+    List<FactEntity.FactObjectBinding> expected = ListUtils.list(
+            createFactObjectBinding(Direction.None),
+            createFactObjectBinding(Direction.FactIsSource),
+            createFactObjectBinding(Direction.FactIsDestination),
+            createFactObjectBinding(Direction.BiDirectional)
+    );
+
+    ByteBuffer encoded = FactBindingsCodec.encode(expected);
+    assertEquals(1 + 4 * 17, encoded.remaining());
+
+    List<FactEntity.FactObjectBinding> actual = FactBindingsCodec.decode(encoded);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getObjectID(), actual.get(i).getObjectID());
+      assertEquals(expected.get(i).getDirection(), actual.get(i).getDirection());
+    }
+    // Decoding must not consume the buffer.
+    assertEquals(1 + 4 * 17, encoded.remaining());
+  }
+
+  @Test
+  public void testEncodeWithoutBindings() {
+    assertNull(FactBindingsCodec.encode(null));
+    assertNull(FactBindingsCodec.encode(ListUtils.list()));
+  }
+
+  @Test
+  public void testEncodeBindingWithoutDirection() {
+    ByteBuffer encoded = FactBindingsCodec.encode(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(UUID.randomUUID())));
+    assertEquals(Direction.None, FactBindingsCodec.decode(encoded).get(0).getDirection());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEncodeBindingWithoutObject() {
+    FactBindingsCodec.encode(ListUtils.list(new FactEntity.FactObjectBinding().setDirection(Direction.None)));
+  }
+
+  @Test
+  public void testDecodeWithoutBindings() {
+    assertNull(FactBindingsCodec.decode(null));
+    assertNull(FactBindingsCodec.decode(ByteBuffer.allocate(0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeUnsupportedVersion() {
+    FactBindingsCodec.decode(ByteBuffer.wrap(new byte[]{42}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDecodeInvalidLength() {
+    FactBindingsCodec.decode(ByteBuffer.wrap(new byte[]{FactBindingsCodec.VERSION, 1, 2, 3}));
+  }
+
+  private FactEntity.FactObjectBinding createFactObjectBinding(Direction direction) {
+    return new FactEntity.FactObjectBinding()
+            .setObjectID(UUID.randomUUID())
+            .setDirection(direction);
+  }
+
+}
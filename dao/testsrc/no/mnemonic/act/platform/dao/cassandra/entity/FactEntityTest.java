@@ -6,13 +6,13 @@ import com.fasterxml.jackson.databind.ObjectReader;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.*;
 
 public class FactEntityTest {
   private static final ObjectMapper mapper = new ObjectMapper();
@@ -37,6 +37,46 @@ public class FactEntityTest {
     assertFactObjectBindings(entity.getBindings(), bindings);
   }
 
+  @Test
+  public void setBindingsEncodesBinaryFormat() {
+    List<FactEntity.FactObjectBinding> bindings = Collections.singletonList(createFactObjectBinding(Direction.FactIsSource));
+    FactEntity entity = new FactEntity().setBindings(bindings);
+
+    assertNotNull(entity.getBindingsBinary());
+    assertNull(entity.getBindingsJson());
+    assertFactObjectBindings(bindings, new FactEntity().setBindingsBinary(entity.getBindingsBinary()).getBindings());
+  }
+
+  @Test
+  public void setBindingsFromLegacyJson() throws IOException {
+    String bindings = "[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":1}]";
+    FactEntity entity = new FactEntity().setBindingsJson(bindings);
+
+    assertNull(entity.getBindingsBinary());
+    assertFactObjectBindings(entity.getBindings(), bindings);
+    assertFactObjectBindings(entity.getBindings(), entity.getBindingsStored());
+  }
+
+  @Test
+  public void setBindingsPrefersBinaryFormat() {
+    List<FactEntity.FactObjectBinding> bindings = Collections.singletonList(createFactObjectBinding(Direction.BiDirectional));
+    ByteBuffer binary = new FactEntity().setBindings(bindings).getBindingsBinary();
+    String json = "[{\"objectID\":\"ad35e1ec-e42f-4509-bbc8-6516a90b66e8\",\"direction\":0}]";
+
+    // The object mapper might call the setters in any order.
+    assertFactObjectBindings(bindings, new FactEntity().setBindingsJson(json).setBindingsBinary(binary).getBindings());
+    assertFactObjectBindings(bindings, new FactEntity().setBindingsBinary(binary).setBindingsJson(json).getBindings());
+  }
+
+  @Test
+  public void setBindingsWithoutBindings() {
+    FactEntity entity = new FactEntity().setBindings(Collections.emptyList());
+
+    assertNull(entity.getBindingsBinary());
+    assertNull(entity.getBindingsStored());
+    assertNull(new FactEntity().getBindings());
+  }
+
   @Test
   public void testCloneEntity() throws IOException {
     FactEntity original = createFact();
@@ -81,6 +121,14 @@ public class FactEntityTest {
     assertEquals(expected.getBindingsStored(), actual.getBindingsStored());
   }
 
+  private void assertFactObjectBindings(List<FactEntity.FactObjectBinding> expected, List<FactEntity.FactObjectBinding> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getObjectID(), actual.get(i).getObjectID());
+      assertEquals(expected.get(i).getDirection(), actual.get(i).getDirection());
+    }
+  }
+
   private void assertFactObjectBindings(List<FactEntity.FactObjectBinding> bindings, String json) throws IOException {
     JsonNode node = reader.readTree(json);
 
@@ -71,6 +71,10 @@ public abstract class AbstractManagerTest {
     clientFactory.stopComponent();
   }
 
+  protected ClientFactory getClientFactory() {
+    return clientFactory;
+  }
+
   protected FactSearchManager getFactSearchManager() {
     return factSearchManager;
   }
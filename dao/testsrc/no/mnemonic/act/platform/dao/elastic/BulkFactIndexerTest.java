@@ -0,0 +1,192 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.assertFactDocument;
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BulkFactIndexerTest extends AbstractManagerTest {
+
+  private BulkFactIndexer indexer;
+
+  @Before
+  public void setUp() {
+    indexer = BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .setFactSearchManager(getFactSearchManager())
+            .build();
+    indexer.startComponent();
+  }
+
+  @After
+  public void tearDown() {
+    indexer.stopComponent();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateIndexerWithoutClientFactory() {
+    BulkFactIndexer.builder()
+            .setFactSearchManager(getFactSearchManager())
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateIndexerWithoutFactSearchManager() {
+    BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateIndexerWithQueueSmallerThanBulk() {
+    BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .setFactSearchManager(getFactSearchManager())
+            .setBulkActions(100)
+            .setQueueSize(10)
+            .build();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIndexFactWithoutStartingIndexer() {
+    BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .setFactSearchManager(getFactSearchManager())
+            .build()
+            .index(createFactDocument());
+  }
+
+  @Test
+  public void testIndexFactNullFact() {
+    assertNull(indexer.index(null));
+  }
+
+  @Test
+  public void testIndexFactEmptyFact() {
+    assertNull(indexer.index(new FactDocument()));
+  }
+
+  @Test
+  public void testIndexAndGetFact() {
+    FactDocument fact = createFactDocument();
+    assertSame(fact, indexer.index(fact));
+    assertEquals(0, indexer.getPendingFacts());
+
+    FactDocument fetchedFact = getFactSearchManager().getFact(fact.getId());
+    assertNotNull(fetchedFact);
+    assertFactDocument(fact, fetchedFact);
+  }
+
+  @Test
+  public void testIndexFactRequiringMoreActionsThanQueueSize() {
+    BulkFactIndexer smallIndexer = BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .setFactSearchManager(getFactSearchManager())
+            .setBulkActions(1)
+            .setQueueSize(1)
+            .build();
+    smallIndexer.startComponent();
+
+    try {
+      // Indexing the Fact and its Object requires two actions, but the queue only has room for one.
+      FactDocument fact = createFactDocument();
+      assertSame(fact, smallIndexer.index(fact));
+      assertSame(fact, smallIndexer.index(fact));
+      assertEquals(0, smallIndexer.getPendingFacts());
+      assertNotNull(getFactSearchManager().getFact(fact.getId()));
+    } finally {
+      smallIndexer.stopComponent();
+    }
+  }
+
+  @Test
+  public void testIndexFactEncodesValues() {
+    indexer.index(createFactDocument());
+    verify(getEntityHandler(), times(2)).encode(any());
+  }
+
+  @Test
+  public void testMarkRetracted() {
+    FactDocument fact = createFactDocument();
+    indexer.index(fact);
+
+    FactDocument reference = new FactDocument().setId(fact.getId()).setTimestamp(fact.getTimestamp());
+    assertSame(reference, indexer.markRetracted(reference));
+    assertEquals(0, indexer.getPendingFacts());
+    assertTrue(getFactSearchManager().getFact(fact.getId()).isRetracted());
+  }
+
+  @Test
+  public void testAddAclEntries() {
+    FactDocument fact = createFactDocument();
+    indexer.index(fact);
+
+    UUID subject = UUID.randomUUID();
+    FactDocument reference = new FactDocument()
+            .setId(fact.getId())
+            .setTimestamp(fact.getTimestamp())
+            .setAccessMode(fact.getAccessMode())
+            .addAclEntry(subject);
+    assertSame(reference, indexer.addAclEntries(reference));
+    assertEquals(0, indexer.getPendingFacts());
+    assertTrue(getFactSearchManager().getFact(fact.getId()).getAcl().contains(subject));
+  }
+
+  @Test
+  public void testFailedActionIsRetriedAndReleasesPermits() throws Exception {
+    BulkFactIndexer retryingIndexer = BulkFactIndexer.builder()
+            .setClientFactory(getClientFactory())
+            .setFactSearchManager(getFactSearchManager())
+            .setRetryDelay(1)
+            .setMaxRetries(1)
+            .build();
+    retryingIndexer.startComponent();
+
+    try {
+      // The Fact was never indexed, thus, the update fails permanently.
+      FactDocument fact = createFactDocument();
+      retryingIndexer.markRetracted(new FactDocument().setId(fact.getId()).setTimestamp(fact.getTimestamp()));
+
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (retryingIndexer.getPendingFacts() > 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      assertEquals(0, retryingIndexer.getPendingFacts());
+      assertEquals(1, retryingIndexer.getFailedActions());
+    } finally {
+      retryingIndexer.stopComponent();
+    }
+  }
+
+  @Test
+  public void testSubmissionsForSameFactAreExecutedInOrder() {
+    FactDocument fact = createFactDocument();
+    indexer.index(fact);
+    indexer.markRetracted(new FactDocument().setId(fact.getId()).setTimestamp(fact.getTimestamp()));
+    indexer.stopComponent();
+
+    assertEquals(0, indexer.getFailedActions());
+    assertTrue(getFactSearchManager().getFact(fact.getId()).isRetracted());
+  }
+
+  @Test
+  public void testStopIndexerFlushesPendingFacts() {
+    FactDocument fact = createFactDocument();
+    indexer.index(fact);
+    indexer.stopComponent();
+
+    assertEquals(0, indexer.getPendingFacts());
+    assertNotNull(getFactSearchManager().getFact(fact.getId()));
+  }
+
+}
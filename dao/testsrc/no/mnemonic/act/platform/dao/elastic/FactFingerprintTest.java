@@ -0,0 +1,84 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createObjectDocument;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class FactFingerprintTest {
+
+  @Test
+  public void testFingerprintIsDeterministic() {
+    FactDocument fact = createFactDocument();
+    assertEquals(FactFingerprint.calculate(fact), FactFingerprint.calculate(fact.clone()));
+  }
+
+  @Test
+  public void testFingerprintIgnoresMutableFields() {
+    FactDocument fact = createFactDocument();
+    FactDocument other = fact.clone()
+            .setId(UUID.randomUUID())
+            .setRetracted(true)
+            .setLastSeenTimestamp(fact.getLastSeenTimestamp() + 1)
+            .addAclEntry(UUID.randomUUID());
+    assertEquals(FactFingerprint.calculate(fact), FactFingerprint.calculate(other));
+  }
+
+  @Test
+  public void testFingerprintIndependentOfObjectOrder() {
+    ObjectDocument object1 = createObjectDocument();
+    ObjectDocument object2 = createObjectDocument().setDirection(ObjectDocument.Direction.FactIsSource);
+    FactDocument fact = createFactDocument();
+
+    assertEquals(FactFingerprint.calculate(fact.clone().setObjects(SetUtils.set(object1, object2))),
+            FactFingerprint.calculate(fact.clone().setObjects(SetUtils.set(object2, object1))));
+  }
+
+  @Test
+  public void testFingerprintDiffersOnFactFields() {
+    FactDocument fact = createFactDocument();
+    String fingerprint = FactFingerprint.calculate(fact);
+
+    assertNotEquals(fingerprint, FactFingerprint.calculate(fact.clone().setValue("other")));
+    assertNotEquals(fingerprint, FactFingerprint.calculate(fact.clone().setTypeID(UUID.randomUUID())));
+    assertNotEquals(fingerprint, FactFingerprint.calculate(fact.clone().setSourceID(UUID.randomUUID())));
+    assertNotEquals(fingerprint, FactFingerprint.calculate(fact.clone().setOrganizationID(UUID.randomUUID())));
+    assertNotEquals(fingerprint, FactFingerprint.calculate(fact.clone().setAccessMode(FactDocument.AccessMode.Explicit)));
+  }
+
+  @Test
+  public void testFingerprintDiffersOnObjects() {
+    FactDocument fact = createFactDocument();
+    String fingerprint = FactFingerprint.calculate(fact);
+
+    FactDocument otherDirection = fact.clone();
+    otherDirection.getObjects().forEach(o -> o.setDirection(ObjectDocument.Direction.BiDirectional));
+    FactDocument additionalObject = fact.clone().addObject(createObjectDocument());
+
+    assertNotEquals(fingerprint, FactFingerprint.calculate(otherDirection));
+    assertNotEquals(fingerprint, FactFingerprint.calculate(additionalObject));
+  }
+
+  @Test
+  public void testFingerprintOfCriteriaMatchesDocument() {
+    FactDocument fact = createFactDocument();
+    FactExistenceSearchCriteria.Builder builder = FactExistenceSearchCriteria.builder()
+            .setFactValue("notUsed")
+            .setFactTypeID(fact.getTypeID())
+            .setSourceID(fact.getSourceID())
+            .setOrganizationID(fact.getOrganizationID())
+            .setAccessMode(fact.getAccessMode().name());
+    fact.getObjects().forEach(o -> builder.addObject(o.getId(), o.getDirection().name()));
+
+    assertEquals(FactFingerprint.calculate(fact), FactFingerprint.calculate(builder.build(), fact.getValue()));
+  }
+
+}
@@ -0,0 +1,108 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import org.elasticsearch.index.query.ConstantScoreQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class FactSearchManagerBuildQueryTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final UUID CURRENT_USER_ID = UUID.randomUUID();
+  private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+
+  // Neither the client nor the EntityHandlers are required for building queries.
+  private final FactSearchManager searchManager = new FactSearchManager(null, id -> null);
+
+  @Test
+  public void testBuildFactsQueryWithoutScoring() throws Exception {
+    JsonNode query = toJson(searchManager.buildFactsQuery(createCriteria(b -> b.addFactTypeID(UUID.randomUUID()))));
+
+    JsonNode filter = query.path("constant_score").path("filter");
+    assertTrue(filter.isObject());
+    assertTrue(filter.path("bool").path("must").isMissingNode() || filter.path("bool").path("must").size() == 0);
+    assertEquals(2, filter.path("bool").path("filter").size());
+  }
+
+  @Test
+  public void testBuildFactsQueryMergesNestedKeywordQueries() throws Exception {
+    JsonNode query = toJson(searchManager.buildFactsQuery(createCriteria(b -> b.setKeywords("keyword")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.objectValue)
+            .setKeywordMatchStrategy(FactSearchCriteria.MatchStrategy.any))));
+
+    List<JsonNode> nested = query.findValues("nested");
+    assertEquals(1, nested.size());
+    assertEquals("none", nested.get(0).path("score_mode").asText());
+    assertEquals(3, nested.get(0).path("query").path("bool").path("should").size());
+  }
+
+  @Test
+  public void testBuildFactsQueryKeepsNestedKeywordQueriesSeparateWhenMatchingAllFields() throws Exception {
+    JsonNode query = toJson(searchManager.buildFactsQuery(createCriteria(b -> b.setKeywords("keyword")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.objectValue)
+            .setKeywordMatchStrategy(FactSearchCriteria.MatchStrategy.all))));
+
+    List<JsonNode> nested = query.findValues("nested");
+    assertEquals(3, nested.size());
+    nested.forEach(n -> assertEquals("none", n.path("score_mode").asText()));
+  }
+
+  @Test
+  public void testBuildFactsQueryKeepsNestedObjectQueriesSeparate() throws Exception {
+    JsonNode query = toJson(searchManager.buildFactsQuery(createCriteria(b -> b.addObjectID(UUID.randomUUID())
+            .addObjectTypeID(UUID.randomUUID()))));
+
+    // Both criteria might be fulfilled by different Objects bound to the same Fact.
+    assertEquals(2, query.findValues("nested").size());
+  }
+
+  @Test
+  public void testBuildFactsQueryIsDeterministic() {
+    FactSearchCriteria criteria = createCriteria(b -> b.setKeywords("keyword")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.all)
+            .setStartTimestamp(1L)
+            .setEndTimestamp(2L));
+    assertEquals(searchManager.buildFactsQuery(criteria).toString(), searchManager.buildFactsQuery(criteria).toString());
+  }
+
+  @Test
+  public void testBuildFactsQueryCachesAccessControlQuery() {
+    // Without any other criteria only the access control query is applied.
+    QueryBuilder first = ((ConstantScoreQueryBuilder) searchManager.buildFactsQuery(createCriteria(b -> b))).innerQuery();
+    QueryBuilder second = ((ConstantScoreQueryBuilder) searchManager.buildFactsQuery(createCriteria(b -> b))).innerQuery();
+    QueryBuilder otherUser = ((ConstantScoreQueryBuilder) searchManager.buildFactsQuery(createCriteria(b -> b.setCurrentUserID(UUID.randomUUID())))).innerQuery();
+
+    assertSame(first, second);
+    assertNotSame(first, otherUser);
+  }
+
+  @Test
+  public void testBuildObjectsIndexQueryWithoutScoring() throws Exception {
+    JsonNode query = toJson(searchManager.buildObjectsIndexQuery(createCriteria(b -> b.setKeywords("keyword")
+            .addKeywordFieldStrategy(FactSearchCriteria.KeywordFieldStrategy.objectValue))));
+
+    JsonNode filter = query.path("constant_score").path("filter");
+    assertEquals(2, filter.path("bool").path("filter").size());
+    assertTrue(query.findValues("nested").isEmpty());
+  }
+
+  private FactSearchCriteria createCriteria(Function<FactSearchCriteria.Builder, FactSearchCriteria.Builder> modifier) {
+    FactSearchCriteria.Builder builder = FactSearchCriteria.builder()
+            .setCurrentUserID(CURRENT_USER_ID)
+            .addAvailableOrganizationID(ORGANIZATION_ID);
+    return modifier.apply(builder).build();
+  }
+
+  private JsonNode toJson(QueryBuilder query) throws Exception {
+    return MAPPER.readTree(query.toString());
+  }
+
+}
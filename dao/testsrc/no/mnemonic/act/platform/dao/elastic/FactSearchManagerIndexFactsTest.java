@@ -1,8 +1,13 @@
 package no.mnemonic.act.platform.dao.elastic;
 
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.UUID;
 
 import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.assertFactDocument;
@@ -78,4 +83,146 @@ public class FactSearchManagerIndexFactsTest extends AbstractManagerTest {
     verify(getEntityHandler(), times(2)).decode(any());
   }
 
+  @Test
+  public void testIndexFactsNullList() {
+    assertTrue(getFactSearchManager().indexFacts(null).isEmpty());
+  }
+
+  @Test
+  public void testIndexFactsSkipsEmptyFacts() {
+    assertTrue(getFactSearchManager().indexFacts(ListUtils.list(null, new FactDocument())).isEmpty());
+  }
+
+  @Test
+  public void testIndexFactsAndGetFacts() {
+    FactDocument fact1 = createFactDocument();
+    FactDocument fact2 = createFactDocument();
+
+    List<FactDocument> indexedFacts = getFactSearchManager().indexFacts(ListUtils.list(fact1, fact2));
+    assertEquals(2, indexedFacts.size());
+    assertSame(fact1, indexedFacts.get(0));
+    assertSame(fact2, indexedFacts.get(1));
+
+    assertFactDocument(fact1, getFactSearchManager().getFact(fact1.getId()));
+    assertFactDocument(fact2, getFactSearchManager().getFact(fact2.getId()));
+  }
+
+  @Test
+  public void testIndexFactsEncodesValues() {
+    getFactSearchManager().indexFacts(ListUtils.list(createFactDocument(), createFactDocument()));
+    verify(getEntityHandler(), times(4)).encode(any());
+  }
+
+  @Test
+  public void testUpdateLastSeenTimestampsNullList() {
+    assertTrue(getFactSearchManager().updateLastSeenTimestamps(null).isEmpty());
+  }
+
+  @Test
+  public void testUpdateLastSeenTimestamps() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    assertTrue(getFactSearchManager().updateLastSeenTimestamps(ListUtils.list(createSighting(fact, 987654321L))).isEmpty());
+    FactDocument updatedFact = getFactSearchManager().getFact(fact.getId());
+    assertEquals(987654321L, updatedFact.getLastSeenTimestamp());
+    // All other fields must be left untouched.
+    assertFactDocument(fact.setLastSeenTimestamp(987654321L), updatedFact);
+  }
+
+  @Test
+  public void testUpdateLastSeenTimestampsSkipsNonIndexedFacts() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    // Non-indexed Facts are not reported as failed.
+    assertTrue(getFactSearchManager().updateLastSeenTimestamps(ListUtils.list(
+            createSighting(fact, 987654321L), createSighting(createFactDocument(), 987654321L))).isEmpty());
+    assertEquals(987654321L, getFactSearchManager().getFact(fact.getId()).getLastSeenTimestamp());
+    assertNull(getFactSearchManager().getFact(UUID.randomUUID()));
+  }
+
+  @Test
+  public void testUpdateLastSeenTimestampsKeepsNewerTimestamp() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    getFactSearchManager().updateLastSeenTimestamps(ListUtils.list(createSighting(fact, 123L)));
+    assertEquals(fact.getLastSeenTimestamp(), getFactSearchManager().getFact(fact.getId()).getLastSeenTimestamp());
+  }
+
+  @Test
+  public void testMarkRetractedNullFact() {
+    assertFalse(getFactSearchManager().markRetracted(null));
+    assertFalse(getFactSearchManager().markRetracted(new FactDocument()));
+  }
+
+  @Test
+  public void testMarkRetracted() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    assertTrue(getFactSearchManager().markRetracted(createReference(fact)));
+    FactDocument updatedFact = getFactSearchManager().getFact(fact.getId());
+    assertTrue(updatedFact.isRetracted());
+    // All other fields must be left untouched.
+    assertFactDocument(fact.setRetracted(true), updatedFact);
+  }
+
+  @Test
+  public void testMarkRetractedNonIndexedFact() {
+    assertFalse(getFactSearchManager().markRetracted(createReference(createFactDocument())));
+  }
+
+  @Test
+  public void testAddAclEntriesNullFact() {
+    assertFalse(getFactSearchManager().addAclEntries(null));
+    assertFalse(getFactSearchManager().addAclEntries(new FactDocument().setId(UUID.randomUUID())));
+  }
+
+  @Test
+  public void testAddAclEntries() {
+    FactDocument fact = createFactDocument().setAccessMode(FactDocument.AccessMode.Explicit);
+    getFactSearchManager().indexFact(fact);
+
+    UUID subject = UUID.randomUUID();
+    assertTrue(getFactSearchManager().addAclEntries(createReference(fact).addAclEntry(subject)));
+    FactDocument updatedFact = getFactSearchManager().getFact(fact.getId());
+    assertEquals(SetUtils.union(fact.getAcl(), SetUtils.set(subject)), updatedFact.getAcl());
+    // All other fields must be left untouched.
+    assertFactDocument(fact.addAclEntry(subject), updatedFact);
+
+    // The bound Object must become accessible to the new Subject as well.
+    FactSearchCriteria criteria = FactSearchCriteria.builder()
+            .setCurrentUserID(subject)
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build();
+    assertEquals(1, getFactSearchManager().searchObjects(criteria).getCount());
+  }
+
+  @Test
+  public void testAddAclEntriesWithExistingEntry() {
+    FactDocument fact = createFactDocument();
+    getFactSearchManager().indexFact(fact);
+
+    assertTrue(getFactSearchManager().addAclEntries(createReference(fact).setAcl(fact.getAcl())));
+    assertEquals(fact.getAcl(), getFactSearchManager().getFact(fact.getId()).getAcl());
+  }
+
+  private FactDocument createReference(FactDocument fact) {
+    FactDocument reference = new FactDocument()
+            .setId(fact.getId())
+            .setTimestamp(fact.getTimestamp())
+            .setAccessMode(fact.getAccessMode());
+    fact.getObjects().forEach(object -> reference.addObject(new ObjectDocument().setId(object.getId())));
+    return reference;
+  }
+
+  private FactDocument createSighting(FactDocument fact, long lastSeenTimestamp) {
+    return new FactDocument()
+            .setId(fact.getId())
+            .setTimestamp(fact.getTimestamp())
+            .setLastSeenTimestamp(lastSeenTimestamp);
+  }
+
 }
@@ -0,0 +1,164 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.assertFactDocument;
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FactSearchManagerIndexPartitioningTest extends AbstractManagerTest {
+
+  private static final long MARCH = ZonedDateTime.of(2019, 3, 15, 12, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+  private static final long APRIL = ZonedDateTime.of(2019, 4, 15, 12, 0, 0, 0, ZoneOffset.UTC).toInstant().toEpochMilli();
+
+  @Test
+  public void testResolveFactsIndexByMonth() {
+    assertEquals("act-facts-2019.03", getFactSearchManager().resolveFactsIndex(MARCH));
+    assertEquals("act-facts-2019.04", getFactSearchManager().resolveFactsIndex(APRIL));
+  }
+
+  @Test
+  public void testIndexFactIntoPartition() throws Exception {
+    FactDocument fact = indexFact(d -> d.setTimestamp(MARCH));
+
+    assertTrue(indexExists("act-facts-2019.03"));
+    assertFactDocument(fact, getFactSearchManager().getFact(fact.getId()));
+  }
+
+  @Test
+  public void testSearchFactsAcrossPartitions() {
+    indexFact(d -> d.setTimestamp(MARCH));
+    indexFact(d -> d.setTimestamp(APRIL));
+
+    assertEquals(2, getFactSearchManager().searchFacts(createFactSearchCriteria(b -> b)).getCount());
+  }
+
+  @Test
+  public void testSearchFactsLimitedToPartitionsOfTimeRange() {
+    FactDocument accessibleFact = indexFact(d -> d.setTimestamp(MARCH).setLastSeenTimestamp(APRIL));
+    indexFact(d -> d.setTimestamp(APRIL).setLastSeenTimestamp(APRIL));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setStartTimestamp(MARCH - 1000)
+            .setEndTimestamp(MARCH + 1000)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp));
+    SearchResult<FactDocument> result = getFactSearchManager().searchFacts(criteria);
+    assertEquals(1, result.getCount());
+    assertFactDocument(accessibleFact, result.getValues().get(0));
+  }
+
+  @Test
+  public void testSearchFactsInMissingPartitions() {
+    indexFact(d -> d.setTimestamp(MARCH));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setStartTimestamp(APRIL - 1000)
+            .setEndTimestamp(APRIL + 1000)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp));
+    assertEquals(0, getFactSearchManager().searchFacts(criteria).getCount());
+  }
+
+  @Test
+  public void testResolveSearchIndicesWithEmptyTimeRange() {
+    // ElasticSearch would search all indices in the cluster if no index is given.
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setStartTimestamp(APRIL)
+            .setEndTimestamp(MARCH)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp));
+    assertArrayEquals(new String[]{"act-facts"}, getFactSearchManager().resolveSearchIndices(criteria));
+    assertEquals(0, getFactSearchManager().searchFacts(criteria).getCount());
+  }
+
+  @Test
+  public void testSearchFactsByLastSeenTimestampAcrossPartitions() {
+    FactDocument accessibleFact = indexFact(d -> d.setTimestamp(MARCH).setLastSeenTimestamp(APRIL));
+
+    // The Fact is stored in the partition of its 'timestamp', but matches on its 'lastSeenTimestamp'.
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setStartTimestamp(APRIL - 1000)
+            .setEndTimestamp(APRIL + 1000)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.lastSeenTimestamp));
+    SearchResult<FactDocument> result = getFactSearchManager().searchFacts(criteria);
+    assertEquals(1, result.getCount());
+    assertFactDocument(accessibleFact, result.getValues().get(0));
+  }
+
+  @Test
+  public void testLegacyIndexIsSearchedAndUpdated() throws Exception {
+    // Simulate an index created before partitioning was introduced.
+    FactDocument legacyFact = createLegacyIndexWithFact(createFactDocument().setTimestamp(MARCH));
+    FactSearchManager manager = new FactSearchManager(getClientFactory(), id -> getEntityHandler()).setTestEnvironment(true);
+    manager.startComponent();
+
+    // Old Facts are read from and updated in the legacy index, new Facts are indexed into partitions.
+    assertEquals("act", manager.resolveFactsIndex(MARCH));
+    long now = System.currentTimeMillis();
+    FactDocument newFact = manager.indexFact(createFactDocument().setTimestamp(now));
+    assertTrue(indexExists(manager.resolveFactsIndex(now)));
+
+    assertEquals(2, manager.searchFacts(createFactSearchCriteria(b -> b)).getCount());
+    assertFactDocument(legacyFact, manager.getFact(legacyFact.getId()));
+    assertFactDocument(newFact, manager.getFact(newFact.getId()));
+
+    assertTrue(manager.updateLastSeenTimestamps(ListUtils.list(new FactDocument()
+            .setId(legacyFact.getId())
+            .setTimestamp(legacyFact.getTimestamp())
+            .setLastSeenTimestamp(APRIL))).isEmpty());
+    assertEquals(APRIL, manager.getFact(legacyFact.getId()).getLastSeenTimestamp());
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setStartTimestamp(MARCH - 1000)
+            .setEndTimestamp(MARCH + 1000)
+            .addTimeFieldStrategy(FactSearchCriteria.TimeFieldStrategy.timestamp));
+    assertEquals(1, manager.searchFacts(criteria).getCount());
+  }
+
+  @Test
+  public void testLegacyIndexUsesStartOfPartitioningClaimedByOtherNode() throws Exception {
+    createLegacyIndexWithFact(createFactDocument().setTimestamp(MARCH));
+    // Simulate another node which claimed the start of partitioning concurrently.
+    getClientFactory().getLowLevelClient().performRequest("PUT", "act-partitioning/partitioning/partitionedSince/_create",
+            Collections.emptyMap(), new StringEntity("{\"partitionedSince\":" + APRIL + "}", ContentType.APPLICATION_JSON));
+
+    FactSearchManager manager = new FactSearchManager(getClientFactory(), id -> getEntityHandler()).setTestEnvironment(true);
+    manager.startComponent();
+    assertEquals("act", manager.resolveFactsIndex(APRIL - 1000));
+    assertEquals("act-facts-2019.04", manager.resolveFactsIndex(APRIL + 1000));
+
+    // A node starting later reads the stored value.
+    FactSearchManager otherManager = new FactSearchManager(getClientFactory(), id -> getEntityHandler()).setTestEnvironment(true);
+    otherManager.startComponent();
+    assertEquals("act", otherManager.resolveFactsIndex(APRIL - 1000));
+  }
+
+  private FactDocument createLegacyIndexWithFact(FactDocument fact) throws Exception {
+    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream("mappings.json")) {
+      getClientFactory().getLowLevelClient().performRequest("PUT", "act", Collections.emptyMap(),
+              new InputStreamEntity(payload, ContentType.APPLICATION_JSON));
+    }
+
+    IndexRequest request = new IndexRequest("act", "fact", fact.getId().toString())
+            .source(new ObjectMapper().writeValueAsBytes(fact), XContentType.JSON)
+            .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+    getClientFactory().getHighLevelClient().index(request);
+    return fact;
+  }
+
+  private boolean indexExists(String index) throws Exception {
+    return getClientFactory().getLowLevelClient().performRequest("HEAD", index).getStatusLine().getStatusCode() == 200;
+  }
+
+}
@@ -1,18 +1,32 @@
 package no.mnemonic.act.platform.dao.elastic;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.junit.Test;
 
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.assertFactDocument;
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
 import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createObjectDocument;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -40,6 +54,23 @@ public class FactSearchManagerRetrieveExistingFactsTest extends AbstractManagerT
     assertFactDocument(fact, result.getValues().get(0));
   }
 
+  @Test
+  public void testRetrieveExistingFactsReturnsAllExisting() {
+    // Index more logically identical Facts than returned by the first search request.
+    FactDocument fact = indexFact(d -> d);
+    Set<UUID> expectedID = new HashSet<>(Collections.singleton(fact.getId()));
+    for (int i = 0; i < 14; i++) {
+      expectedID.add(getFactSearchManager().indexFact(fact.setId(UUID.randomUUID())).getId());
+    }
+
+    SearchResult<FactDocument> result = getFactSearchManager().retrieveExistingFacts(createCriteriaWithObjects(fact, b -> b));
+    assertEquals(15, result.getCount());
+    assertEquals(expectedID, SetUtils.set(FactDocument::getId, result.getValues()));
+
+    List<SearchResult<FactDocument>> batch = getFactSearchManager().retrieveExistingFactsInBatch(ListUtils.list(createCriteriaWithObjects(fact, b -> b)));
+    assertEquals(expectedID, SetUtils.set(FactDocument::getId, batch.get(0).getValues()));
+  }
+
   @Test
   public void testRetrieveExistingFactsNoMatchOnFactValue() {
     testRetrieveExistingFactsNoMatch(b -> b.setFactValue("something"));
@@ -95,6 +126,111 @@ public class FactSearchManagerRetrieveExistingFactsTest extends AbstractManagerT
     testRetrieveExistingFactsNoMatch(criteria);
   }
 
+  @Test
+  public void testIndexFactCalculatesFingerprint() {
+    FactDocument fact = indexFact(d -> d);
+    assertNotNull(getFactSearchManager().getFact(fact.getId()).getFingerprint());
+  }
+
+  @Test
+  public void testRetrieveExistingFactsWithoutFingerprint() throws Exception {
+    createLegacyIndex();
+    FactDocument fact = indexFactWithoutFingerprint();
+    FactSearchManager manager = startFactSearchManager();
+
+    SearchResult<FactDocument> result = manager.retrieveExistingFacts(createCriteriaWithObjects(fact, b -> b));
+    assertEquals(1, result.getCount());
+    assertFactDocument(fact, result.getValues().get(0));
+  }
+
+  @Test
+  public void testRetrieveExistingFactsWithoutLegacyIndexOnlyUsesFingerprint() throws Exception {
+    // Without the legacy index all Facts are expected to have a fingerprint.
+    FactDocument fact = indexFactWithoutFingerprint();
+    assertEquals(0, getFactSearchManager().retrieveExistingFacts(createCriteriaWithObjects(fact, b -> b)).getCount());
+  }
+
+  @Test
+  public void testBackfillFingerprints() throws Exception {
+    createLegacyIndex();
+    FactDocument fact = indexFactWithoutFingerprint();
+    FactSearchManager manager = startFactSearchManager();
+    manager.indexFact(createFactDocument());
+
+    // Only the Fact without fingerprint is updated, and only once.
+    assertEquals(1, manager.backfillFingerprints());
+    assertEquals(0, manager.backfillFingerprints());
+
+    FactDocument updated = manager.getFact(fact.getId());
+    assertNotNull(updated.getFingerprint());
+    assertFactDocument(fact, updated);
+    assertEquals(1, manager.retrieveExistingFacts(createCriteriaWithObjects(fact, b -> b)).getCount());
+  }
+
+  @Test
+  public void testBackfillFingerprintsMarksLegacyIndexComplete() throws Exception {
+    createLegacyIndex();
+    indexFactWithoutFingerprint();
+    assertEquals(1, startFactSearchManager().backfillFingerprints());
+
+    // After a restart the legacy query isn't used any more, i.e. a Fact without fingerprint isn't found.
+    FactDocument fact = indexFactWithoutFingerprint();
+    FactSearchManager manager = startFactSearchManager();
+    assertEquals(0, manager.retrieveExistingFacts(createCriteriaWithObjects(fact, b -> b)).getCount());
+  }
+
+  @Test
+  public void testRetrieveExistingFactsInBatchWithNoCriteria() {
+    assertTrue(getFactSearchManager().retrieveExistingFactsInBatch(null).isEmpty());
+  }
+
+  @Test
+  public void testRetrieveExistingFactsInBatchKeepsOrder() {
+    FactDocument fact1 = indexFact(d -> d);
+    FactDocument fact2 = indexFact(d -> d);
+    List<SearchResult<FactDocument>> result = getFactSearchManager().retrieveExistingFactsInBatch(ListUtils.list(
+            createCriteriaWithObjects(fact2, b -> b),
+            createCriteriaWithObjects(fact1, b -> b.setFactValue("something")),
+            createCriteriaWithObjects(fact1, b -> b)
+    ));
+
+    assertEquals(3, result.size());
+    assertEquals(1, result.get(0).getCount());
+    assertFactDocument(fact2, result.get(0).getValues().get(0));
+    assertEquals(0, result.get(1).getCount());
+    assertEquals(1, result.get(2).getCount());
+    assertFactDocument(fact1, result.get(2).getValues().get(0));
+  }
+
+  private void createLegacyIndex() throws Exception {
+    // Facts indexed before fingerprints were introduced are stored in the legacy index.
+    try (InputStream payload = FactSearchManager.class.getClassLoader().getResourceAsStream("mappings.json")) {
+      getClientFactory().getLowLevelClient().performRequest("PUT", "act", Collections.emptyMap(),
+              new InputStreamEntity(payload, ContentType.APPLICATION_JSON));
+    }
+  }
+
+  private FactDocument indexFactWithoutFingerprint() throws Exception {
+    // Simulate a Fact indexed before fingerprints were introduced.
+    FactDocument fact = createFactDocument();
+    String index = getFactSearchManager().resolveFactsIndex(fact.getTimestamp());
+    if (getClientFactory().getLowLevelClient().performRequest("HEAD", "act").getStatusLine().getStatusCode() == 200) {
+      index = "act";
+    }
+    IndexRequest request = new IndexRequest(index, "fact", fact.getId().toString())
+            .source(new ObjectMapper().writeValueAsBytes(fact), XContentType.JSON)
+            .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+    getClientFactory().getHighLevelClient().index(request);
+    return fact;
+  }
+
+  private FactSearchManager startFactSearchManager() {
+    // Start a new manager in order to pick up the legacy index.
+    FactSearchManager manager = new FactSearchManager(getClientFactory(), id -> getEntityHandler()).setTestEnvironment(true);
+    manager.startComponent();
+    return manager;
+  }
+
   private void testRetrieveExistingFactsNoMatch(ObjectPreparation<FactExistenceSearchCriteria.Builder> criteriaPreparation) {
     FactDocument fact = indexFact(d -> d);
     FactExistenceSearchCriteria criteria = createCriteriaWithObjects(fact, criteriaPreparation);
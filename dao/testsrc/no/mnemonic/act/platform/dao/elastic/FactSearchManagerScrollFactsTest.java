@@ -0,0 +1,74 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ScrollingSearchResult;
+import org.junit.Test;
+
+import java.util.*;
+
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
+import static org.junit.Assert.*;
+
+public class FactSearchManagerScrollFactsTest extends AbstractManagerTest {
+
+  @Test
+  public void testScrollFactsWithNoCriteria() {
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().scrollFacts(null);
+    assertEquals(0, result.getCount());
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testScrollFactsWithoutMatchingFacts() {
+    indexFact(d -> d.setAccessMode(FactDocument.AccessMode.Explicit));
+
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().scrollFacts(createFactSearchCriteria(b -> b));
+    assertEquals(0, result.getCount());
+    assertFalse(result.hasNext());
+  }
+
+  @Test
+  public void testScrollFactsReturnsAllMatchingFactsInBatches() {
+    Set<UUID> expected = indexPublicFacts(2500);
+    // The limit only applies to searchFacts() but not to scrollFacts().
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.setLimit(10));
+
+    Set<UUID> actual = new HashSet<>();
+    int batches = 0;
+    try (ScrollingSearchResult<FactDocument> result = getFactSearchManager().scrollFacts(criteria)) {
+      assertEquals(2500, result.getCount());
+      while (result.hasNext()) {
+        result.next().forEach(document -> actual.add(document.getId()));
+        batches++;
+      }
+    }
+
+    assertEquals(3, batches);
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void testScrollFactsCloseEarly() {
+    indexPublicFacts(1500);
+
+    ScrollingSearchResult<FactDocument> result = getFactSearchManager().scrollFacts(createFactSearchCriteria(b -> b));
+    assertTrue(result.hasNext());
+    assertEquals(1000, result.next().size());
+    result.close();
+    assertFalse(result.hasNext());
+  }
+
+  private Set<UUID> indexPublicFacts(int numberOfFacts) {
+    List<FactDocument> documents = new ArrayList<>();
+    for (int i = 0; i < numberOfFacts; i++) {
+      documents.add(createFactDocument().setAccessMode(FactDocument.AccessMode.Public));
+    }
+    getFactSearchManager().indexFacts(documents);
+
+    Set<UUID> id = new HashSet<>();
+    documents.forEach(document -> id.add(document.getId()));
+    return id;
+  }
+
+}
@@ -11,8 +11,7 @@ import java.util.UUID;
 import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.assertObjectDocument;
 import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createObjectDocument;
 import static no.mnemonic.commons.utilities.collections.SetUtils.set;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.*;
 
 public class FactSearchManagerSearchObjectsTest extends AbstractManagerTest {
 
@@ -198,11 +197,68 @@ public class FactSearchManagerSearchObjectsTest extends AbstractManagerTest {
     assertEquals(2, result.getValues().size());
   }
 
+  @Test
+  public void testSearchObjectsFilterByFactCriteria() {
+    ObjectDocument accessibleObject = createObjectDocument();
+    FactDocument accessibleFact = indexFact(d -> d.setTypeID(UUID.randomUUID()).setObjects(set(accessibleObject)));
+    indexFact(d -> d.setTypeID(UUID.randomUUID()));
+
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b.addFactTypeID(accessibleFact.getTypeID()));
+    SearchResult<ObjectDocument> result = getFactSearchManager().searchObjects(criteria);
+    assertEquals(1, result.getCount());
+    assertObjectDocument(accessibleObject, result.getValues().get(0));
+  }
+
+  @Test
+  public void testSearchObjectsAccessViaAnyBoundFact() {
+    ObjectDocument object = createObjectDocument();
+    FactDocument explicitFact = indexFact(d -> d.setAccessMode(FactDocument.AccessMode.Explicit).setObjects(set(object)));
+    FactDocument roleBasedFact = indexFact(d -> d.setAccessMode(FactDocument.AccessMode.RoleBased).setObjects(set(object)));
+
+    testSearchObjects(FactSearchCriteria.builder()
+            .setCurrentUserID(first(explicitFact.getAcl()))
+            .addAvailableOrganizationID(UUID.randomUUID())
+            .build(), object);
+    testSearchObjects(FactSearchCriteria.builder()
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(roleBasedFact.getOrganizationID())
+            .build(), object);
+    assertEquals(0, getFactSearchManager().searchObjects(createFactSearchCriteria(b -> b)).getCount());
+  }
+
+  @Test
+  public void testSearchObjectsAfterBackfillingObjectsIndex() throws Exception {
+    ObjectDocument object = createObjectDocument();
+    indexFact(d -> d.setObjects(set(object)));
+    indexFact(d -> d.setObjects(set(object)));
+
+    // Simulate an index created before the Objects index was introduced.
+    getClientFactory().getLowLevelClient().performRequest("DELETE", "act-objects");
+    FactSearchManager manager = new FactSearchManager(getClientFactory(), id -> getEntityHandler()).setTestEnvironment(true);
+    manager.startComponent();
+
+    // Before the backfill the Objects are aggregated from the Facts index.
+    FactSearchCriteria criteria = createFactSearchCriteria(b -> b);
+    assertEquals(1, manager.searchObjects(criteria).getCount());
+    assertEquals(2, manager.backfillObjects());
+    assertEquals(1, manager.searchObjects(criteria).getCount());
+    assertObjectDocumentWithoutDirection(object, manager.searchObjects(criteria).getValues().get(0));
+  }
+
   private void testSearchObjects(FactSearchCriteria criteria, ObjectDocument accessibleObject) {
     SearchResult<ObjectDocument> result = getFactSearchManager().searchObjects(criteria);
     assertEquals(1, result.getCount());
     assertEquals(1, result.getValues().size());
-    assertObjectDocument(accessibleObject, result.getValues().get(0));
+    assertObjectDocumentWithoutDirection(accessibleObject, result.getValues().get(0));
+  }
+
+  private void assertObjectDocumentWithoutDirection(ObjectDocument expected, ObjectDocument actual) {
+    // Objects returned from the Objects index don't have a direction because it depends on the bound Fact.
+    assertEquals(expected.getId(), actual.getId());
+    assertEquals(expected.getTypeID(), actual.getTypeID());
+    assertEquals(expected.getTypeName(), actual.getTypeName());
+    assertEquals(expected.getValue(), actual.getValue());
+    assertNull(actual.getDirection());
   }
 
 }
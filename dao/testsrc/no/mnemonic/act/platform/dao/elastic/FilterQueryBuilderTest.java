@@ -0,0 +1,133 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import org.apache.lucene.search.join.ScoreMode;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MatchAllQueryBuilder;
+import org.elasticsearch.index.query.NestedQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.junit.Test;
+
+import static org.elasticsearch.index.query.QueryBuilders.*;
+import static org.junit.Assert.*;
+
+public class FilterQueryBuilderTest {
+
+  @Test
+  public void testBuildWithoutClausesMatchesAll() {
+    assertTrue(FilterQueryBuilder.all().build() instanceof MatchAllQueryBuilder);
+    assertTrue(FilterQueryBuilder.any().build() instanceof MatchAllQueryBuilder);
+  }
+
+  @Test
+  public void testBuildDropsUnrestrictedClauses() {
+    QueryBuilder query = FilterQueryBuilder.all()
+            .add(null)
+            .add(matchAllQuery())
+            .add(boolQuery())
+            .build();
+    assertTrue(query instanceof MatchAllQueryBuilder);
+  }
+
+  @Test
+  public void testBuildAnyWithUnrestrictedClauseMatchesAll() {
+    QueryBuilder query = FilterQueryBuilder.any()
+            .add(termQuery("a", "a"))
+            .add(boolQuery())
+            .build();
+    assertTrue(query instanceof MatchAllQueryBuilder);
+  }
+
+  @Test
+  public void testBuildSingleClauseIsNotWrapped() {
+    QueryBuilder clause = termQuery("a", "a");
+    assertSame(clause, FilterQueryBuilder.all().add(clause).build());
+    assertSame(clause, FilterQueryBuilder.any().add(clause).build());
+  }
+
+  @Test
+  public void testBuildAllAddsClausesInFilterContext() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.all()
+            .add(termQuery("a", "a"))
+            .add(termQuery("b", "b"))
+            .build();
+    assertEquals(2, query.filter().size());
+    assertTrue(query.must().isEmpty());
+    assertTrue(query.should().isEmpty());
+  }
+
+  @Test
+  public void testBuildAnyRequiresOneClause() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.any()
+            .add(termQuery("a", "a"))
+            .add(termQuery("b", "b"))
+            .build();
+    assertEquals(2, query.should().size());
+    assertEquals("1", query.minimumShouldMatch());
+  }
+
+  @Test
+  public void testBuildAllInlinesRequiredClauses() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.all()
+            .add(boolQuery().filter(termQuery("a", "a")).must(termQuery("b", "b")))
+            .add(termQuery("c", "c"))
+            .build();
+    assertEquals(3, query.filter().size());
+    assertTrue(query.must().isEmpty());
+  }
+
+  @Test
+  public void testBuildAllKeepsAlternativeClauses() {
+    QueryBuilder alternatives = boolQuery().should(termQuery("a", "a")).should(termQuery("b", "b"));
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.all()
+            .add(alternatives)
+            .add(termQuery("c", "c"))
+            .build();
+    assertEquals(2, query.filter().size());
+    assertSame(alternatives, query.filter().get(0));
+  }
+
+  @Test
+  public void testBuildAnyInlinesAlternativeClauses() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.any()
+            .add(boolQuery().should(termQuery("a", "a")).should(termQuery("b", "b")))
+            .add(termQuery("c", "c"))
+            .build();
+    assertEquals(3, query.should().size());
+  }
+
+  @Test
+  public void testBuildAllKeepsNestedClausesSeparate() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.all()
+            .addNested("objects", termQuery("objects.a", "a"))
+            .addNested("objects", termQuery("objects.b", "b"))
+            .build();
+    assertEquals(2, query.filter().size());
+    query.filter().forEach(clause -> assertEquals(ScoreMode.None, ((NestedQueryBuilder) clause).scoreMode()));
+  }
+
+  @Test
+  public void testBuildAnyMergesNestedClausesOnSamePath() {
+    BoolQueryBuilder query = (BoolQueryBuilder) FilterQueryBuilder.any()
+            .addNested("objects", termQuery("objects.a", "a"))
+            .add(termQuery("b", "b"))
+            .addNested("objects", termQuery("objects.c", "c"))
+            .build();
+    assertEquals(2, query.should().size());
+
+    NestedQueryBuilder nested = (NestedQueryBuilder) query.should().get(1);
+    assertEquals(ScoreMode.None, nested.scoreMode());
+    BoolQueryBuilder nestedQuery = (BoolQueryBuilder) nested.query();
+    assertEquals(2, nestedQuery.should().size());
+    assertEquals("1", nestedQuery.minimumShouldMatch());
+  }
+
+  @Test
+  public void testBuildNestedClauseMatchingAllNestedDocumentsIsKept() {
+    NestedQueryBuilder query = (NestedQueryBuilder) FilterQueryBuilder.any()
+            .addNested("objects", matchAllQuery())
+            .addNested("objects", termQuery("objects.a", "a"))
+            .build();
+    assertTrue(query.query() instanceof MatchAllQueryBuilder);
+  }
+
+}
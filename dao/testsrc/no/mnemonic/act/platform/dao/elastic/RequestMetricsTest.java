@@ -0,0 +1,73 @@
+package no.mnemonic.act.platform.dao.elastic;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.unit.TimeValue;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static no.mnemonic.act.platform.dao.elastic.RequestMetrics.REQUESTS_METRIC;
+import static no.mnemonic.act.platform.dao.elastic.RequestMetrics.TOOK_METRIC;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestMetricsTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+  private final RequestMetrics metrics = new RequestMetrics(registry);
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateWithoutRegistryThrowsException() {
+    new RequestMetrics(null);
+  }
+
+  @Test
+  public void testExecuteRecordsLatency() throws IOException {
+    assertEquals("response", metrics.execute("operation", () -> "response"));
+
+    Timer timer = registry.find(REQUESTS_METRIC).tags("operation", "operation", "outcome", "success").timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+    assertNull(registry.find(TOOK_METRIC).timer());
+  }
+
+  @Test
+  public void testExecuteRecordsTookOfSearchResponse() throws IOException {
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getTook()).thenReturn(TimeValue.timeValueMillis(42));
+
+    assertSame(response, metrics.execute("search", () -> response));
+
+    Timer took = registry.find(TOOK_METRIC).tags("operation", "search").timer();
+    assertNotNull(took);
+    assertEquals(1, took.count());
+    assertEquals(42, took.totalTime(TimeUnit.MILLISECONDS), 0.0);
+    assertEquals(1, registry.find(REQUESTS_METRIC).tags("operation", "search").timer().count());
+  }
+
+  @Test
+  public void testExecuteRecordsFailure() {
+    try {
+      metrics.execute("operation", () -> {
+        throw new IOException();
+      });
+      fail();
+    } catch (IOException ignored) {
+      // Expected.
+    }
+
+    assertEquals(1, registry.find(REQUESTS_METRIC).tags("outcome", "IOException").timer().count());
+  }
+
+  @Test
+  public void testRecordTookIgnoresMissingTook() {
+    metrics.recordTook("operation", null);
+    assertNull(registry.find(TOOK_METRIC).timer());
+  }
+
+}
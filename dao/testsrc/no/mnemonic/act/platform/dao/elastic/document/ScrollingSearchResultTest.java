@@ -0,0 +1,84 @@
+package no.mnemonic.act.platform.dao.elastic.document;
+
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static no.mnemonic.act.platform.dao.elastic.document.DocumentTestUtils.createFactDocument;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+public class ScrollingSearchResultTest {
+
+  private final Function<String, ScrollingSearchResult.ScrollBatch<FactDocument>> fetchNextBatch = mock(Function.class);
+  private final Consumer<String> closeScroll = mock(Consumer.class);
+
+  @Test
+  public void testEmptyResult() {
+    ScrollingSearchResult<FactDocument> result = ScrollingSearchResult.<FactDocument>builder().build();
+    assertEquals(0, result.getCount());
+    assertFalse(result.hasNext());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testNextOnEmptyResultThrowsException() {
+    ScrollingSearchResult.<FactDocument>builder().build().next();
+  }
+
+  @Test
+  public void testIterateOverAllBatches() {
+    List<FactDocument> batch1 = ListUtils.list(createFactDocument(), createFactDocument());
+    List<FactDocument> batch2 = ListUtils.list(createFactDocument());
+    when(fetchNextBatch.apply("scroll1")).thenReturn(new ScrollingSearchResult.ScrollBatch<>("scroll2", batch2));
+    when(fetchNextBatch.apply("scroll2")).thenReturn(new ScrollingSearchResult.ScrollBatch<>("scroll3", null));
+
+    ScrollingSearchResult<FactDocument> result = createResult(batch1);
+    assertEquals(3, result.getCount());
+    assertTrue(result.hasNext());
+    assertEquals(batch1, result.next());
+    assertTrue(result.hasNext());
+    assertEquals(batch2, result.next());
+    assertFalse(result.hasNext());
+
+    // The scroll is released automatically after the last batch.
+    verify(closeScroll).accept("scroll3");
+  }
+
+  @Test
+  public void testHasNextDoesNotFetchBatchTwice() {
+    when(fetchNextBatch.apply(any())).thenReturn(new ScrollingSearchResult.ScrollBatch<>("scroll2", ListUtils.list(createFactDocument())));
+
+    ScrollingSearchResult<FactDocument> result = createResult(ListUtils.list(createFactDocument()));
+    result.next();
+    assertTrue(result.hasNext());
+    assertTrue(result.hasNext());
+    verify(fetchNextBatch, times(1)).apply("scroll1");
+  }
+
+  @Test
+  public void testCloseReleasesScrollOnlyOnce() {
+    ScrollingSearchResult<FactDocument> result = createResult(ListUtils.list(createFactDocument()));
+    result.close();
+    result.close();
+
+    assertFalse(result.hasNext());
+    verify(closeScroll, times(1)).accept("scroll1");
+    verifyZeroInteractions(fetchNextBatch);
+  }
+
+  private ScrollingSearchResult<FactDocument> createResult(List<FactDocument> initialBatch) {
+    return ScrollingSearchResult.<FactDocument>builder()
+            .setCount(3)
+            .setInitialBatch(new ScrollingSearchResult.ScrollBatch<>("scroll1", initialBatch))
+            .setFetchNextBatch(fetchNextBatch)
+            .setCloseScroll(closeScroll)
+            .build();
+  }
+
+}
@@ -79,6 +79,12 @@ abstract class AbstractGraphTest {
             .setLastSeenTimestamp(987654321)
             .setBindings(ObjectUtils.ifNotNull(binding, ListUtils::list, ListUtils.list()))
     );
+    when(factManager.getFactAccessInfo(factID)).thenReturn(new FactAccessInfo()
+            .setId(factID)
+            .setTypeID(typeID)
+            .setOrganizationID(UUID.fromString("00000000-0000-0000-0000-000000000002"))
+            .setAccessMode(AccessMode.Public)
+    );
 
     when(factManager.getFactType(typeID)).thenReturn(new FactTypeEntity()
             .setId(typeID)
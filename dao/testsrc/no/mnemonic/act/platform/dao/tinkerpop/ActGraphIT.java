@@ -3,6 +3,7 @@ package no.mnemonic.act.platform.dao.tinkerpop;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.TypeRegistry;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.handlers.DefaultEntityHandlerFactory;
 import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
@@ -26,6 +27,7 @@ import static org.junit.Assert.*;
 public class ActGraphIT {
 
   private static ClusterManager clusterManager;
+  private static TypeRegistry typeRegistry;
   private static FactManager factManager;
   private static ObjectManager objectManager;
   private static ObjectEntity ip;
@@ -49,9 +51,11 @@ public class ActGraphIT {
             .setPort(cassandra.getExposedHostPort(9042))
             .addContactPoint("127.0.0.1")
             .build();
-    objectManager = new ObjectManager(clusterManager, factory);
-    factManager = new FactManager(clusterManager, factory);
+    typeRegistry = new TypeRegistry(clusterManager, factory);
+    objectManager = new ObjectManager(clusterManager, typeRegistry);
+    factManager = new FactManager(clusterManager, typeRegistry);
     clusterManager.startComponent();
+    typeRegistry.startComponent();
     objectManager.startComponent();
     factManager.startComponent();
 
@@ -107,6 +111,7 @@ public class ActGraphIT {
   public static void teardown() {
     ObjectUtils.ifNotNullDo(factManager, FactManager::stopComponent);
     ObjectUtils.ifNotNullDo(objectManager, ObjectManager::stopComponent);
+    ObjectUtils.ifNotNullDo(typeRegistry, TypeRegistry::stopComponent);
     ObjectUtils.ifNotNullDo(clusterManager, ClusterManager::stopComponent);
   }
 
@@ -2,6 +2,7 @@ package no.mnemonic.act.platform.dao.tinkerpop;
 
 import no.mnemonic.act.platform.dao.cassandra.entity.Direction;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
 import no.mnemonic.commons.utilities.collections.MapUtils;
@@ -19,7 +20,8 @@ import static no.mnemonic.commons.utilities.collections.ListUtils.list;
 import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
 import static org.apache.tinkerpop.gremlin.structure.Direction.*;
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 public class ObjectVertexTest extends AbstractGraphTest {
 
@@ -54,6 +56,43 @@ public class ObjectVertexTest extends AbstractGraphTest {
     assertSame(getActGraph(), vertex.graph());
   }
 
+  @Test
+  public void testCreateVertexDoesNotFetchBindings() {
+    new ObjectVertex(getActGraph(), mockObject());
+    verify(getObjectManager(), never()).fetchObjectFactBindings(any());
+  }
+
+  @Test
+  public void testEdgesFetchesBindingsOnlyOnce() {
+    UUID objectID = mockObjectWithFact(Direction.BiDirectional);
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+
+    assertTrue(vertex.edges(BOTH).hasNext());
+    assertTrue(vertex.edges(BOTH).hasNext());
+    verify(getObjectManager()).fetchObjectFactBindings(objectID);
+  }
+
+  @Test
+  public void testEdgesSkipsNonMatchingLabelsWithoutFetchingFact() {
+    UUID objectID = mockObject();
+    UUID factTypeID = UUID.randomUUID();
+    when(getFactManager().getFactType(factTypeID)).thenReturn(new FactTypeEntity()
+            .setId(factTypeID)
+            .setName("type")
+    );
+    when(getObjectManager().fetchObjectFactBindings(objectID)).thenReturn(list(new ObjectFactBindingEntity()
+            .setObjectID(objectID)
+            .setFactID(UUID.randomUUID())
+            .setFactTypeID(factTypeID)
+            .setDirection(Direction.BiDirectional)
+    ));
+
+    Vertex vertex = new ObjectVertex(getActGraph(), objectID);
+
+    assertFalse(vertex.edges(BOTH, "other").hasNext());
+    verify(getFactManager(), never()).getFact(any());
+  }
+
   @Test
   public void testEdgesWithDirectionBiDirectional() {
     UUID objectID = mockObjectWithFact(Direction.BiDirectional);
@@ -14,7 +14,8 @@ import org.mockito.Mock;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 public class ElementFactoryTest {
@@ -70,6 +71,9 @@ public class ElementFactoryTest {
     mockFact(inBinding.getFactID(), outBinding);
 
     assertTrue(factory.createEdges(inBinding).isEmpty());
+    // Access is denied based on the FactAccessInfo, thus, the whole Fact isn't fetched.
+    verify(factManager).getFactAccessInfo(inBinding.getFactID());
+    verify(factManager, never()).getFact(any());
   }
 
   @Test
@@ -140,6 +144,59 @@ public class ElementFactoryTest {
     assertSame(first, second);
   }
 
+  @Test
+  public void testCreateEdgesFromDenormalizedBindingDoesNotFetchFact() {
+    FactEntity.FactObjectBinding outBinding = createOutBinding(Direction.FactIsSource);
+    ObjectFactBindingEntity inBinding = createDenormalizedInBinding(Direction.FactIsDestination, outBinding);
+    mockObject(inBinding);
+    mockObject(outBinding.getObjectID());
+    mockFactType(inBinding.getFactTypeID());
+
+    Edge edge = elementFactory.createEdges(inBinding).iterator().next();
+
+    assertEquals(inBinding.getObjectID(), edge.inVertex().id());
+    assertEquals(outBinding.getObjectID(), edge.outVertex().id());
+    assertEquals("type", edge.label());
+    verify(factManager, never()).getFact(any());
+  }
+
+  @Test
+  public void testCreateEdgesFromDenormalizedBindingChecksAccessWithPartialFact() {
+    ActGraph graph = ActGraph.builder()
+            .setObjectManager(objectManager)
+            .setFactManager(factManager)
+            .setHasFactAccess(fact -> {
+              assertEquals(AccessMode.RoleBased, fact.getAccessMode());
+              assertNotNull(fact.getOrganizationID());
+              return false;
+            })
+            .build();
+    ElementFactory factory = ElementFactory.builder().setOwner(graph).build();
+
+    FactEntity.FactObjectBinding outBinding = createOutBinding(Direction.None);
+    ObjectFactBindingEntity inBinding = createDenormalizedInBinding(Direction.None, outBinding);
+
+    assertTrue(factory.createEdges(inBinding).isEmpty());
+    verify(factManager, never()).getFact(any());
+  }
+
+  @Test
+  public void testEdgeFetchesFactOnlyWhenPropertiesAccessed() {
+    FactEntity.FactObjectBinding outBinding = createOutBinding(Direction.None);
+    ObjectFactBindingEntity inBinding = createDenormalizedInBinding(Direction.None, outBinding);
+    mockObject(inBinding);
+    mockObject(outBinding.getObjectID());
+    mockFact(inBinding.getFactID(), outBinding);
+    mockFactType(inBinding.getFactTypeID());
+
+    Edge edge = elementFactory.createEdges(inBinding).iterator().next();
+    verify(factManager, never()).getFact(any());
+
+    assertTrue(edge.properties().hasNext());
+    assertTrue(edge.properties().hasNext());
+    verify(factManager).getFact(inBinding.getFactID());
+  }
+
   @Test
   public void testGetEdgeWithNullId() {
     assertNull(elementFactory.getEdge(null));
@@ -226,6 +283,10 @@ public class ElementFactoryTest {
             .setValue("value")
             .setBindings(ListUtils.list(outBinding))
     );
+    when(factManager.getFactAccessInfo(factID)).thenReturn(new FactAccessInfo()
+            .setId(factID)
+            .setTypeID(typeID)
+    );
 
     when(factManager.getFactType(typeID)).thenReturn(new FactTypeEntity()
             .setId(typeID)
@@ -233,6 +294,27 @@ public class ElementFactoryTest {
     );
   }
 
+  private void mockFactType(UUID typeID) {
+    when(factManager.getFactType(typeID)).thenReturn(new FactTypeEntity()
+            .setId(typeID)
+            .setName("type")
+    );
+  }
+
+  private ObjectFactBindingEntity createDenormalizedInBinding(Direction inDirection, FactEntity.FactObjectBinding outBinding) {
+    ObjectFactBindingEntity inBinding = createInBinding(inDirection);
+    FactEntity fact = new FactEntity().setBindings(ListUtils.list(
+            new FactEntity.FactObjectBinding().setObjectID(inBinding.getObjectID()).setDirection(inDirection),
+            outBinding
+    ));
+
+    return inBinding
+            .setFactTypeID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased)
+            .setOrganizationID(UUID.randomUUID())
+            .setFactBindingsStored(fact.getBindingsStored());
+  }
+
   private ObjectFactBindingEntity createInBinding(Direction inDirection) {
     return new ObjectFactBindingEntity()
             .setObjectID(UUID.randomUUID())
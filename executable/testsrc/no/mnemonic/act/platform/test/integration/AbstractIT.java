@@ -9,10 +9,13 @@ import com.google.inject.Injector;
 import com.google.inject.name.Names;
 import no.mnemonic.act.platform.api.request.ValidatingRequest;
 import no.mnemonic.act.platform.auth.properties.PropertiesBasedAccessController;
+import no.mnemonic.act.platform.dao.FactSightingBuffer;
 import no.mnemonic.act.platform.dao.cassandra.ClusterManager;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.TypeRegistry;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.ClientFactory;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
@@ -51,10 +54,13 @@ public abstract class AbstractIT {
   private static PropertiesBasedAccessController accessController;
   private static InMemoryQueueWorker triggerEventConsumer;
   private static ClusterManager clusterManager;
+  private static TypeRegistry typeRegistry;
   private static ObjectManager objectManager;
   private static FactManager factManager;
   private static ClientFactory clientFactory;
   private static FactSearchManager factSearchManager;
+  private static BulkFactIndexer bulkFactIndexer;
+  private static FactSightingBuffer factSightingBuffer;
   private static ApiServer apiServer;
 
   @ClassRule
@@ -84,10 +90,13 @@ public abstract class AbstractIT {
     accessController = (PropertiesBasedAccessController) injector.getInstance(AccessController.class);
     triggerEventConsumer = (InMemoryQueueWorker) injector.getInstance(TriggerEventConsumer.class);
     clusterManager = injector.getInstance(ClusterManager.class);
+    typeRegistry = injector.getInstance(TypeRegistry.class);
     objectManager = injector.getInstance(ObjectManager.class);
     factManager = injector.getInstance(FactManager.class);
     clientFactory = injector.getInstance(ClientFactory.class);
     factSearchManager = injector.getInstance(FactSearchManager.class);
+    bulkFactIndexer = injector.getInstance(BulkFactIndexer.class);
+    factSightingBuffer = injector.getInstance(FactSightingBuffer.class);
     apiServer = injector.getInstance(ApiServer.class);
 
     factSearchManager.setTestEnvironment(true);
@@ -96,10 +105,13 @@ public abstract class AbstractIT {
     accessController.startComponent();
     triggerEventConsumer.startComponent();
     clusterManager.startComponent();
+    typeRegistry.startComponent();
     objectManager.startComponent();
     factManager.startComponent();
     clientFactory.startComponent();
     factSearchManager.startComponent();
+    bulkFactIndexer.startComponent();
+    factSightingBuffer.startComponent();
     apiServer.startComponent();
   }
 
@@ -107,10 +119,13 @@ public abstract class AbstractIT {
   public void teardown() {
     // Stop everything in correct order.
     apiServer.stopComponent();
+    factSightingBuffer.stopComponent();
+    bulkFactIndexer.stopComponent();
     factSearchManager.stopComponent();
     clientFactory.stopComponent();
     factManager.stopComponent();
     objectManager.stopComponent();
+    typeRegistry.stopComponent();
     clusterManager.stopComponent();
     triggerEventConsumer.stopComponent();
     accessController.stopComponent();
@@ -290,9 +305,48 @@ public abstract class AbstractIT {
       bind(String.class).annotatedWith(Names.named("trigger.administration.service.configuration.directory")).toInstance(RESOURCES_FOLDER);
       bind(String.class).annotatedWith(Names.named("cassandra.cluster.name")).toInstance("ActIntegrationTest");
       bind(String.class).annotatedWith(Names.named("cassandra.contact.points")).toInstance("localhost");
+      bind(String.class).annotatedWith(Names.named("cassandra.fetch.strategy")).toInstance("PointReads");
+      bind(String.class).annotatedWith(Names.named("cassandra.fetch.batch.size")).toInstance("100");
+      bind(String.class).annotatedWith(Names.named("cassandra.fetch.concurrency")).toInstance("32");
+      bind(String.class).annotatedWith(Names.named("cassandra.write.mode.fact")).toInstance("Idempotent");
+      bind(String.class).annotatedWith(Names.named("cassandra.write.mode.fact.acl")).toInstance("Idempotent");
+      bind(String.class).annotatedWith(Names.named("cassandra.write.mode.fact.comment")).toInstance("Idempotent");
+      bind(String.class).annotatedWith(Names.named("cassandra.write.mode.object")).toInstance("LightweightTransaction");
+      bind(String.class).annotatedWith(Names.named("cassandra.write.mode.object.fact.binding")).toInstance("Idempotent");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.cache.size")).toInstance("100000");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.cache.expiration")).toInstance("600000");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.cache.missing.expiration")).toInstance("10000");
+      bind(String.class).annotatedWith(Names.named("cassandra.entity.cache.fact.capacity")).toInstance("16");
+      bind(String.class).annotatedWith(Names.named("cassandra.entity.cache.object.capacity")).toInstance("16");
+      bind(String.class).annotatedWith(Names.named("cassandra.fact.bindings.migration.enabled")).toInstance("false");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.fact.binding.page.size")).toInstance("1000");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.fact.binding.buckets")).toInstance("0");
+      bind(String.class).annotatedWith(Names.named("cassandra.object.fact.statistics.enabled")).toInstance("true");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.local.datacenter")).toInstance("");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.connections.core")).toInstance("1");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.connections.max")).toInstance("2");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.connections.max.requests")).toInstance("1024");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.compression")).toInstance("LZ4");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.speculative.execution.delay")).toInstance("100");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.speculative.execution.max.attempts")).toInstance("2");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.latency.aware")).toInstance("true");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.consistency.read")).toInstance("LOCAL_QUORUM");
+      bind(String.class).annotatedWith(Names.named("cassandra.driver.consistency.write")).toInstance("LOCAL_QUORUM");
       bind(String.class).annotatedWith(Names.named("cassandra.port")).toInstance(String.valueOf(cassandra.getExposedHostPort(9042)));
       bind(String.class).annotatedWith(Names.named("elasticsearch.contact.points")).toInstance("localhost");
       bind(String.class).annotatedWith(Names.named("elasticsearch.port")).toInstance(String.valueOf(elastic.getExposedHostPort(9200)));
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.actions")).toInstance("1000");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.size")).toInstance("5242880");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.flush.interval")).toInstance("1000");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.concurrent.requests")).toInstance("1");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.queue.size")).toInstance("10000");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.retry.delay")).toInstance("50");
+      bind(String.class).annotatedWith(Names.named("elasticsearch.bulk.max.retries")).toInstance("8");
+      bind(String.class).annotatedWith(Names.named("fact.sightings.flush.interval")).toInstance("1000");
+      bind(String.class).annotatedWith(Names.named("fact.sightings.flush.batch.size")).toInstance("1000");
+      bind(String.class).annotatedWith(Names.named("fact.sightings.max.pending")).toInstance("100000");
+      bind(String.class).annotatedWith(Names.named("object.access.cache.size")).toInstance("10000");
+      bind(String.class).annotatedWith(Names.named("object.access.cache.expiration")).toInstance("60000");
       bind(String.class).annotatedWith(Names.named("api.server.port")).toInstance(String.valueOf(API_SERVER_PORT));
     }
   }
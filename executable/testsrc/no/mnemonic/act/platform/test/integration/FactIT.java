@@ -106,6 +106,34 @@ public class FactIT extends AbstractIT {
     assertTrue(Instant.parse(payload1.get("lastSeenTimestamp").textValue()).isBefore(Instant.parse(payload2.get("lastSeenTimestamp").textValue())));
   }
 
+  @Test
+  public void testCreateFacts() throws Exception {
+    ObjectTypeEntity objectType = createObjectType();
+    FactTypeEntity factType = createFactType(objectType.getId());
+
+    // Create multiple Facts via the REST API, where the first and the last Fact are the same ...
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createCreateFactRequest(objectType, factType))
+            .addFact(createCreateFactRequest(objectType, factType).setValue("otherValue"))
+            .addFact(createCreateFactRequest(objectType, factType));
+    Response response = request("/v1/fact/batch").post(Entity.json(request));
+    assertEquals(201, response.getStatus());
+
+    // ... and check that only two Facts end up in the database.
+    ArrayNode data = (ArrayNode) getPayload(response);
+    assertEquals(3, data.size());
+    assertEquals(getIdFromModel(data.get(0)), getIdFromModel(data.get(2)));
+    for (int i = 0; i < 2; i++) {
+      UUID id = getIdFromModel(data.get(i));
+      assertNotNull(getFactManager().getFact(id));
+      assertNotNull(getFactSearchManager().getFact(id));
+      assertEquals(1, getObjectManager().fetchObjectFactBindings(getFactManager().getFact(id).getBindings().get(0).getObjectID())
+              .stream()
+              .filter(b -> Objects.equals(b.getFactID(), id))
+              .count());
+    }
+  }
+
   @Test
   public void testCreateFactWithAclAndComment() throws Exception {
     ObjectTypeEntity objectType = createObjectType();
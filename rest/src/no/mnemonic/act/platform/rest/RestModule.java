@@ -2,7 +2,16 @@ package no.mnemonic.act.platform.rest;
 
 import com.google.common.reflect.ClassPath;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.swagger.jaxrs.config.BeanConfig;
 import io.swagger.jaxrs.listing.SwaggerSerializers;
 import no.mnemonic.act.platform.rest.api.ResultStash;
@@ -29,6 +38,18 @@ public class RestModule extends AbstractModule {
     bind(ApiServer.class).in(Scopes.SINGLETON);
   }
 
+  @Provides
+  @Singleton
+  PrometheusMeterRegistry providePrometheusMeterRegistry() {
+    PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    new ClassLoaderMetrics().bindTo(registry);
+    new JvmGcMetrics().bindTo(registry);
+    new JvmMemoryMetrics().bindTo(registry);
+    new JvmThreadMetrics().bindTo(registry);
+    new ProcessorMetrics().bindTo(registry);
+    return registry;
+  }
+
   private void bindAnnotatedClasses(String packageName, Class<? extends Annotation> annotationClass) {
     try {
       ClassPath.from(ClassLoader.getSystemClassLoader())
@@ -1,19 +1,27 @@
 package no.mnemonic.act.platform.rest.api;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import no.mnemonic.act.platform.api.service.v1.RequestHeader;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.auth.properties.model.SubjectCredentials;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.Collection;
+import java.util.Iterator;
 
 public abstract class AbstractEndpoint {
 
   private static final String ACT_USER_ID_HEADER = "ACT-User-ID";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
 
   @Context
   private HttpHeaders headers;
@@ -39,6 +47,39 @@ public abstract class AbstractEndpoint {
             .buildResponse();
   }
 
+  /**
+   * Streams the values of a {@link StreamingResultSet} to the client. The response has the same format as a response
+   * containing a {@link ResultStash}, but the values are written one by one while they are produced by the service,
+   * i.e. they are never held in memory all at once. Because the number of returned values is only known at the end,
+   * the 'size' field is written after the 'data' field.
+   */
+  protected <T> Response buildResponse(StreamingResultSet<T> result) {
+    StreamingOutput output = stream -> {
+      try (StreamingResultSet<T> ignored = result;
+           JsonGenerator generator = MAPPER.getFactory().createGenerator(stream, JsonEncoding.UTF8)) {
+        generator.writeStartObject();
+        generator.writeNumberField("responseCode", Response.Status.OK.getStatusCode());
+        generator.writeNumberField("limit", result.getLimit());
+        generator.writeNumberField("count", result.getCount());
+        generator.writeNullField("messages");
+        generator.writeArrayFieldStart("data");
+
+        int size = 0;
+        Iterator<T> values = result.getValues();
+        while (values.hasNext()) {
+          generator.writeObject(values.next());
+          size++;
+        }
+
+        generator.writeEndArray();
+        generator.writeNumberField("size", size);
+        generator.writeEndObject();
+      }
+    };
+
+    return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+  }
+
   private SubjectCredentials resolveSubjectCredentials() {
     String header = headers.getHeaderString(ACT_USER_ID_HEADER);
     if (StringUtils.isBlank(header) || parseUserID(header) == -1) {
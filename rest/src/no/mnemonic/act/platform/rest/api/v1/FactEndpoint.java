@@ -9,6 +9,7 @@ import no.mnemonic.act.platform.api.model.v1.AclEntry;
 import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.FactComment;
 import no.mnemonic.act.platform.api.request.v1.*;
+import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.rest.api.AbstractEndpoint;
 import no.mnemonic.act.platform.rest.api.ResultStash;
@@ -23,6 +24,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.UUID;
 
 @Path("/v1/fact")
@@ -96,6 +98,31 @@ public class FactEndpoint extends AbstractEndpoint {
     return buildResponse(service.searchFacts(getHeader(), request));
   }
 
+  @POST
+  @Path("/search/stream")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Search for Facts and stream the results.",
+          notes = "This operation accepts the same request as the normal search for Facts, but instead of returning " +
+                  "a limited number of Facts at once all matching Facts are streamed to the client. The number of " +
+                  "returned Facts is not capped by the maximum result window of Elasticsearch. If no 'limit' is " +
+                  "specified in the request all matching Facts will be returned. Only the Facts a user has access to " +
+                  "will be returned.",
+          response = Fact.class,
+          responseContainer = "list"
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response streamFacts(
+          @ApiParam(value = "Request to search for Facts.") @NotNull @Valid SearchFactRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return buildResponse(service.streamFacts(getHeader(), request));
+  }
+
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
@@ -126,6 +153,41 @@ public class FactEndpoint extends AbstractEndpoint {
             .buildResponse();
   }
 
+  @POST
+  @Path("/batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  @ApiOperation(
+          value = "Create multiple new Facts in one batch.",
+          notes = "This operation creates and returns multiple new Facts. Every Fact is handled exactly the same as when " +
+                  "creating a single Fact, i.e. it must conform to its FactType, missing Objects will be created " +
+                  "automatically and existing Facts will only be refreshed.\n\n" +
+                  "The whole batch is validated before any Fact is stored. If any requested Fact is invalid no Fact " +
+                  "will be created and all validation errors will be returned. The created Facts are returned in the " +
+                  "same order as requested. Use this operation when adding many Facts at once in order to reduce the " +
+                  "overhead of one request per Fact.",
+          response = Fact.class,
+          responseContainer = "list",
+          code = 201
+  )
+  @ApiResponses({
+          @ApiResponse(code = 401, message = "User could not be authenticated."),
+          @ApiResponse(code = 403, message = "User is not allowed to perform this operation."),
+          @ApiResponse(code = 412, message = "Any parameter has an invalid format.")
+  })
+  public Response createFacts(
+          @ApiParam(value = "Request to create multiple Facts.") @NotNull @Valid CreateFactsRequest request
+  ) throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    ResultSet<Fact> result = service.createFacts(getHeader(), request);
+    return ResultStash.builder()
+            .setStatus(Response.Status.CREATED)
+            .setLimit(result.getLimit())
+            .setCount(result.getCount())
+            .setSize(ObjectUtils.ifNotNull(result.getValues(), Collection::size, 0))
+            .setData(result.getValues())
+            .buildResponse();
+  }
+
   @POST
   @Path("/uuid/{fact}/retract")
   @Consumes(MediaType.APPLICATION_JSON)
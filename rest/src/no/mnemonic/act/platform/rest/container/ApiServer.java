@@ -1,8 +1,11 @@
 package no.mnemonic.act.platform.rest.container;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import no.mnemonic.commons.component.LifecycleAspect;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
 import org.jboss.resteasy.plugins.guice.GuiceResteasyBootstrapServletContextListener;
 import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
 
@@ -13,21 +16,29 @@ public class ApiServer implements LifecycleAspect {
 
   private final int port;
   private final GuiceResteasyBootstrapServletContextListener listener;
+  private final PrometheusMeterRegistry registry;
   private Server server;
 
   @Inject
-  public ApiServer(@Named("api.server.port") String port, GuiceResteasyBootstrapServletContextListener listener) {
+  public ApiServer(@Named("api.server.port") String port, GuiceResteasyBootstrapServletContextListener listener,
+                   PrometheusMeterRegistry registry) {
     this.port = Integer.parseInt(port);
     this.listener = listener;
+    this.registry = registry;
   }
 
   @Override
   public void startComponent() {
+    // Collect all metrics recorded by the application into the registry exposed by the server.
+    Metrics.addRegistry(registry);
+
     // Initialize servlet using RESTEasy and it's Guice bridge.
     // The listener must be injected by the same Guice module which also binds the REST endpoints.
     ServletContextHandler servletHandler = new ServletContextHandler();
     servletHandler.addEventListener(listener);
     servletHandler.addServlet(HttpServletDispatcher.class, "/*");
+    // Serve metrics separately from the REST API (more specific servlet mapping takes precedence).
+    servletHandler.addServlet(new ServletHolder(new MetricsServlet(registry)), "/metrics");
 
     // Starting up Jetty to serve the REST API.
     server = new Server(port);
@@ -47,6 +58,8 @@ public class ApiServer implements LifecycleAspect {
       if (server != null) server.stop();
     } catch (Exception e) {
       throw new RuntimeException(e);
+    } finally {
+      Metrics.removeRegistry(registry);
     }
   }
 
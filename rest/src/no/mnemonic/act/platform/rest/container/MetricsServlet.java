@@ -0,0 +1,35 @@
+package no.mnemonic.act.platform.rest.container;
+
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Servlet exposing all metrics recorded in a {@link PrometheusMeterRegistry} in the Prometheus text format.
+ */
+class MetricsServlet extends HttpServlet {
+
+  private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final PrometheusMeterRegistry registry;
+
+  MetricsServlet(PrometheusMeterRegistry registry) {
+    this.registry = ObjectUtils.notNull(registry, "'registry' is null!");
+  }
+
+  @Override
+  protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    resp.setStatus(HttpServletResponse.SC_OK);
+    resp.setContentType(CONTENT_TYPE);
+
+    try (Writer writer = resp.getWriter()) {
+      writer.write(registry.scrape());
+    }
+  }
+
+}
@@ -57,6 +57,11 @@ public class AbstractEndpointTest {
     return mapper.readTree(response.readEntity(String.class)).get("data");
   }
 
+  protected JsonNode readResultStash(Response response) throws IOException {
+    // Return the whole returned ResultStash.
+    return mapper.readTree(response.readEntity(String.class));
+  }
+
   protected ArrayNode getMessages(Response response) throws IOException {
     // Return the "messages" field of the returned ResultStash.
     return (ArrayNode) mapper.readTree(response.readEntity(String.class)).get("messages");
@@ -6,6 +6,7 @@ import no.mnemonic.act.platform.api.model.v1.Fact;
 import no.mnemonic.act.platform.api.model.v1.FactComment;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.rest.AbstractEndpointTest;
 import org.junit.Test;
 
@@ -51,6 +52,29 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getTiService(), times(1)).searchFacts(any(), isA(SearchFactRequest.class));
   }
 
+  @Test
+  public void testStreamFacts() throws Exception {
+    Runnable onClose = mock(Runnable.class);
+    when(getTiService().streamFacts(any(), isA(SearchFactRequest.class))).then(i -> StreamingResultSet.<Fact>builder()
+            .setCount(3)
+            .setValues(createFacts().iterator())
+            .setOnClose(onClose)
+            .build());
+
+    Response response = target("/v1/fact/search/stream").request().post(Entity.json(new SearchFactRequest()));
+    JsonNode stash = readResultStash(response);
+    assertEquals(200, response.getStatus());
+    assertEquals(200, stash.get("responseCode").intValue());
+    assertEquals(3, stash.get("count").intValue());
+    assertEquals(3, stash.get("size").intValue());
+    assertTrue(stash.get("data").isArray());
+    assertEquals(3, stash.get("data").size());
+    assertTrue(stash.get("data").get(0).has("id"));
+
+    verify(getTiService(), times(1)).streamFacts(any(), isA(SearchFactRequest.class));
+    verify(onClose).run();
+  }
+
   @Test
   public void testCreateFact() throws Exception {
     UUID id = UUID.randomUUID();
@@ -63,6 +87,25 @@ public class FactEndpointTest extends AbstractEndpointTest {
     verify(getTiService(), times(1)).createFact(any(), isA(CreateFactRequest.class));
   }
 
+  @Test
+  public void testCreateFacts() throws Exception {
+    when(getTiService().createFacts(any(), isA(CreateFactsRequest.class))).then(i -> {
+      assertEquals(2, i.<CreateFactsRequest>getArgument(1).getFacts().size());
+      return ResultSet.<Fact>builder().setCount(3).setValues(createFacts()).build();
+    });
+
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createCreateFactRequest())
+            .addFact(createCreateFactRequest());
+    Response response = target("/v1/fact/batch").request().post(Entity.json(request));
+    JsonNode payload = getPayload(response);
+    assertEquals(201, response.getStatus());
+    assertTrue(payload.isArray());
+    assertEquals(3, payload.size());
+
+    verify(getTiService(), times(1)).createFacts(any(), isA(CreateFactsRequest.class));
+  }
+
   @Test
   public void testRetractFact() throws Exception {
     UUID oldFact = UUID.randomUUID();
@@ -0,0 +1,28 @@
+package no.mnemonic.act.platform.rest.container;
+
+import io.micrometer.core.instrument.Metrics;
+import no.mnemonic.act.platform.rest.AbstractEndpointTest;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsServletTest extends AbstractEndpointTest {
+
+  @Test
+  public void testScrapeMetrics() {
+    Metrics.counter("act.test.counter").increment();
+
+    Response response = target("/metrics").request().get();
+    assertEquals(200, response.getStatus());
+    assertTrue(response.getMediaType().toString().startsWith("text/plain"));
+
+    String payload = response.readEntity(String.class);
+    // Metrics recorded in the global registry are exposed, in addition to JVM metrics.
+    assertTrue(payload.contains("act_test_counter_total"));
+    assertTrue(payload.contains("jvm_memory_used_bytes"));
+  }
+
+}
@@ -6,10 +6,13 @@ import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.auth.properties.module.PropertiesBasedAccessControllerModule;
 import no.mnemonic.act.platform.dao.DaoModule;
 import no.mnemonic.act.platform.service.aspects.AuthenticationAspect;
+import no.mnemonic.act.platform.service.aspects.MetricsAspect;
 import no.mnemonic.act.platform.service.aspects.RequestContextAspect;
 import no.mnemonic.act.platform.service.aspects.TriggerContextAspect;
 import no.mnemonic.act.platform.service.aspects.ValidationAspect;
 import no.mnemonic.act.platform.service.ti.ThreatIntelligenceServiceImpl;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCache;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCacheProvider;
 import no.mnemonic.act.platform.service.validators.DefaultValidatorFactory;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.services.triggers.api.service.v1.TriggerAdministrationService;
@@ -23,6 +26,7 @@ public class ServiceModule extends AbstractModule {
   protected void configure() {
     install(new DaoModule());
     install(new PropertiesBasedAccessControllerModule());
+    install(new MetricsAspect());
     install(new AuthenticationAspect());
     install(new RequestContextAspect());
     install(new ValidationAspect());
@@ -30,6 +34,7 @@ public class ServiceModule extends AbstractModule {
     bind(TriggerEventConsumer.class).to(InMemoryQueueWorker.class).in(Scopes.SINGLETON);
     bind(TriggerAdministrationService.class).to(TriggerAdministrationServiceImpl.class).in(Scopes.SINGLETON);
     bind(ValidatorFactory.class).to(DefaultValidatorFactory.class).in(Scopes.SINGLETON);
+    bind(ObjectAccessCache.class).toProvider(ObjectAccessCacheProvider.class).in(Scopes.SINGLETON);
     bind(ThreatIntelligenceService.class).to(ThreatIntelligenceServiceImpl.class).in(Scopes.SINGLETON);
   }
 
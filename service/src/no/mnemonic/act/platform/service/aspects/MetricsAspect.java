@@ -0,0 +1,79 @@
+package no.mnemonic.act.platform.service.aspects;
+
+import com.google.inject.matcher.Matchers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import no.mnemonic.act.platform.service.Service;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The MetricsAspect records metrics for every service call:
+ * <ul>
+ * <li>'act.service.calls': Latency histogram per service method, tagged with the outcome of the call.</li>
+ * <li>'act.service.errors': Number of failed calls per service method, tagged with the type of the thrown exception.</li>
+ * <li>'act.service.inflight': Number of calls per service method currently in progress.</li>
+ * </ul>
+ * The aspect should be installed before all other aspects in order to include their overhead in the measured latency.
+ */
+public class MetricsAspect extends AbstractAspect {
+
+  static final String CALLS_METRIC = "act.service.calls";
+  static final String ERRORS_METRIC = "act.service.errors";
+  static final String INFLIGHT_METRIC = "act.service.inflight";
+
+  private final MeterRegistry registry;
+  // Holds strong references to the in-flight counters because gauges only keep weak references.
+  private final Map<String, AtomicInteger> inflightCounters = new ConcurrentHashMap<>();
+
+  public MetricsAspect() {
+    this(Metrics.globalRegistry);
+  }
+
+  public MetricsAspect(MeterRegistry registry) {
+    this.registry = ObjectUtils.notNull(registry, "'registry' is null!");
+  }
+
+  @Override
+  protected void configure() {
+    bindInterceptor(Matchers.subclassesOf(Service.class), matchServiceMethod(), this);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    String service = invocation.getMethod().getDeclaringClass().getSimpleName();
+    String method = invocation.getMethod().getName();
+    AtomicInteger inflight = resolveInflightCounter(service, method);
+
+    String outcome = "success";
+    long start = System.nanoTime();
+    inflight.incrementAndGet();
+    try {
+      return invocation.proceed();
+    } catch (Throwable ex) {
+      outcome = ex.getClass().getSimpleName();
+      registry.counter(ERRORS_METRIC, "service", service, "method", method, "exception", outcome).increment();
+      throw ex;
+    } finally {
+      inflight.decrementAndGet();
+      Timer.builder(CALLS_METRIC)
+              .tags("service", service, "method", method, "outcome", outcome)
+              .publishPercentileHistogram()
+              .register(registry)
+              .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private AtomicInteger resolveInflightCounter(String service, String method) {
+    return inflightCounters.computeIfAbsent(service + "." + method,
+            key -> registry.gauge(INFLIGHT_METRIC, Tags.of("service", service, "method", method), new AtomicInteger()));
+  }
+
+}
@@ -0,0 +1,59 @@
+package no.mnemonic.act.platform.service.contexts;
+
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Iterator which makes the {@link SecurityContext} and {@link RequestContext} of a service call available while
+ * iterating over a lazily produced result. Such a result is consumed after the service call has returned, i.e. outside
+ * of the aspects which set up the contexts. The contexts active when the iterator is created are captured and set for
+ * the duration of every call to {@link #hasNext()} and {@link #next()}, unless they are already set on the current thread.
+ *
+ * @param <T> Type of iterated values
+ */
+public class ContextPropagatingIterator<T> implements Iterator<T> {
+
+  private final Iterator<T> delegate;
+  private final SecurityContext securityContext;
+  private final RequestContext requestContext;
+
+  /**
+   * Create a new iterator capturing the contexts of the current thread.
+   *
+   * @param delegate Iterator producing the values
+   * @throws IllegalStateException If SecurityContext or RequestContext is not set.
+   */
+  public ContextPropagatingIterator(Iterator<T> delegate) {
+    this.delegate = ObjectUtils.notNull(delegate, "'delegate' is required!");
+    this.securityContext = SecurityContext.get();
+    this.requestContext = RequestContext.get();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return withContexts(delegate::hasNext);
+  }
+
+  @Override
+  public T next() {
+    return withContexts(delegate::next);
+  }
+
+  private <R> R withContexts(Supplier<R> action) {
+    boolean setSecurityContext = !SecurityContext.isSet();
+    boolean setRequestContext = !RequestContext.isSet();
+
+    try {
+      if (setSecurityContext) SecurityContext.set(securityContext);
+      if (setRequestContext) RequestContext.set(requestContext);
+      return action.get();
+    } finally {
+      // Only remove the contexts set by this iterator.
+      if (setRequestContext) RequestContext.clear();
+      if (setSecurityContext) SecurityContext.clear();
+    }
+  }
+
+}
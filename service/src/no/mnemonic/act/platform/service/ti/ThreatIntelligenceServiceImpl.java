@@ -1,19 +1,23 @@
 package no.mnemonic.act.platform.service.ti;
 
+import com.google.common.collect.Iterators;
 import no.mnemonic.act.platform.api.exceptions.*;
 import no.mnemonic.act.platform.api.model.v1.*;
 import no.mnemonic.act.platform.api.model.v1.Object;
 import no.mnemonic.act.platform.api.request.v1.*;
 import no.mnemonic.act.platform.api.service.v1.RequestHeader;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
 import no.mnemonic.act.platform.api.service.v1.ThreatIntelligenceService;
 import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
+import no.mnemonic.act.platform.dao.FactSightingBuffer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
-import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactBindingEntity;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 import no.mnemonic.act.platform.service.Service;
@@ -23,6 +27,7 @@ import no.mnemonic.act.platform.service.ti.converters.*;
 import no.mnemonic.act.platform.service.ti.delegates.*;
 import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
 import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCache;
 import no.mnemonic.act.platform.service.ti.helpers.ObjectResolver;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.commons.utilities.ObjectUtils;
@@ -41,6 +46,8 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
 
   public static final UUID GLOBAL_NAMESPACE = UUID.fromString("00000000-0000-0000-0000-000000000000");
 
+  private static final int FACTS_BOUND_TO_OBJECT_BATCH_SIZE = 100;
+
   private final AccessController accessController;
   private final IdentityResolver identityResolver;
   private final OrganizationResolver organizationResolver;
@@ -48,6 +55,8 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
   private final FactManager factManager;
   private final ObjectManager objectManager;
   private final FactSearchManager factSearchManager;
+  private final BulkFactIndexer bulkFactIndexer;
+  private final FactSightingBuffer factSightingBuffer;
   private final EntityHandlerFactory entityHandlerFactory;
   private final ValidatorFactory validatorFactory;
   private final ObjectTypeConverter objectTypeConverter;
@@ -56,12 +65,15 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
   private final FactConverter factConverter;
   private final AclEntryConverter aclEntryConverter;
   private final FactCommentConverter factCommentConverter;
+  private final ObjectAccessCache objectAccessCache;
 
   @Inject
   public ThreatIntelligenceServiceImpl(AccessController accessController, IdentityResolver identityResolver,
                                        OrganizationResolver organizationResolver, SubjectResolver subjectResolver,
                                        FactManager factManager, ObjectManager objectManager, FactSearchManager factSearchManager,
-                                       EntityHandlerFactory entityHandlerFactory, ValidatorFactory validatorFactory) {
+                                       BulkFactIndexer bulkFactIndexer, FactSightingBuffer factSightingBuffer,
+                                       EntityHandlerFactory entityHandlerFactory, ValidatorFactory validatorFactory,
+                                       ObjectAccessCache objectAccessCache) {
     this.accessController = accessController;
     this.identityResolver = identityResolver;
     this.organizationResolver = organizationResolver;
@@ -69,8 +81,12 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     this.factManager = factManager;
     this.objectManager = objectManager;
     this.factSearchManager = factSearchManager;
+    this.bulkFactIndexer = bulkFactIndexer;
+    this.factSightingBuffer = factSightingBuffer;
     this.entityHandlerFactory = entityHandlerFactory;
     this.validatorFactory = validatorFactory;
+    // Shared between requests in order to avoid re-evaluating access to Objects with many bound Facts.
+    this.objectAccessCache = objectAccessCache;
     this.objectTypeConverter = ObjectTypeConverter.builder()
             .setNamespaceConverter(createNamespaceConverter())
             .build();
@@ -91,6 +107,7 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .setObjectConverter(createObjectByIdConverter())
             .setFactEntityResolver(factManager::getFact)
             .setAccessChecker(fact -> TiSecurityContext.get().hasReadPermission(fact))
+            .setSightingMerger(factSightingBuffer::merge)
             .build();
     this.aclEntryConverter = AclEntryConverter.builder()
             .setSourceConverter(createSourceConverter())
@@ -110,7 +127,9 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .setSubjectResolver(subjectResolver)
             .setCredentials(credentials)
             .setAclResolver(factManager::fetchFactAcl)
+            .setBulkAclResolver(factManager::fetchFactAcls)
             .setFactsBoundToObjectResolver(createFactsBoundToObjectResolver())
+            .setObjectAccessCache(objectAccessCache)
             .build();
   }
 
@@ -120,6 +139,8 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .setFactManager(factManager)
             .setObjectManager(objectManager)
             .setFactSearchManager(factSearchManager)
+            .setBulkFactIndexer(bulkFactIndexer)
+            .setFactSightingBuffer(factSightingBuffer)
             .setEntityHandlerFactory(entityHandlerFactory)
             .setValidatorFactory(validatorFactory)
             .setObjectTypeConverter(objectTypeConverter)
@@ -215,6 +236,12 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return FactSearchDelegate.create().handle(request);
   }
 
+  @Override
+  public StreamingResultSet<Fact> streamFacts(RequestHeader rh, SearchFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return FactStreamDelegate.create().handle(request);
+  }
+
   @Override
   public Fact createFact(RequestHeader rh, CreateFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
@@ -226,6 +253,17 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
             .handle(request);
   }
 
+  @Override
+  public ResultSet<Fact> createFacts(RequestHeader rh, CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    return FactCreateBatchDelegate.builder()
+            .setFactTypeResolver(new FactTypeResolver(factManager))
+            .setObjectResolver(new ObjectResolver(objectManager, validatorFactory))
+            .setFactStorageHelper(new FactStorageHelper(factManager, () -> SecurityContext.get().getCurrentUserID()))
+            .build()
+            .handle(request);
+  }
+
   @Override
   public Fact retractFact(RequestHeader rh, RetractFactRequest request)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException, ObjectNotFoundException {
@@ -315,16 +353,32 @@ public class ThreatIntelligenceServiceImpl implements Service, ThreatIntelligenc
     return id -> ObjectUtils.ifNotNull(objectManager.getObject(id), objectConverter, Object.builder().setId(id).setValue("N/A").build());
   }
 
-  private Function<UUID, Iterator<FactEntity>> createFactsBoundToObjectResolver() {
+  private Function<UUID, Iterator<FactAccessInfo>> createFactsBoundToObjectResolver() {
     return objectID -> {
-      // Look up bindings for the given Object ID ...
-      List<UUID> factID = objectManager.fetchObjectFactBindings(objectID)
-              .stream()
-              .map(ObjectFactBindingEntity::getFactID)
-              .collect(Collectors.toList());
-      // ... and use those to fetch the bound Facts.
-      return factManager.getFacts(factID);
+      // Look up bindings for the given Object ID and resolve the access information of the bound Facts in batches.
+      // Both happens lazily, thus, for Objects bound to a lot of Facts only as many bindings and Facts are fetched
+      // as the caller consumes.
+      Iterator<List<ObjectFactBindingEntity>> batches = Iterators.partition(objectManager.getObjectFactBindings(objectID), FACTS_BOUND_TO_OBJECT_BATCH_SIZE);
+      return Iterators.concat(Iterators.transform(batches, this::resolveFactAccessInfo));
     };
   }
 
+  private Iterator<FactAccessInfo> resolveFactAccessInfo(List<ObjectFactBindingEntity> bindings) {
+    // Most bindings contain the denormalized access information of the bound Fact ...
+    List<FactAccessInfo> denormalized = bindings.stream()
+            .filter(binding -> binding.getAccessMode() != null)
+            .map(binding -> new FactAccessInfo()
+                    .setId(binding.getFactID())
+                    .setTypeID(binding.getFactTypeID())
+                    .setAccessMode(binding.getAccessMode())
+                    .setOrganizationID(binding.getOrganizationID()))
+            .collect(Collectors.toList());
+    // ... only for bindings stored before this information was added it needs to be fetched (without the whole Fact).
+    List<UUID> missing = bindings.stream()
+            .filter(binding -> binding.getAccessMode() == null)
+            .map(ObjectFactBindingEntity::getFactID)
+            .collect(Collectors.toList());
+    return Iterators.concat(denormalized.iterator(), factManager.getFactAccessInfos(missing));
+  }
+
 }
@@ -2,9 +2,11 @@ package no.mnemonic.act.platform.service.ti;
 
 import no.mnemonic.act.platform.api.model.v1.*;
 import no.mnemonic.act.platform.api.model.v1.Object;
+import no.mnemonic.act.platform.dao.FactSightingBuffer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 import no.mnemonic.act.platform.service.contexts.RequestContext;
@@ -21,6 +23,8 @@ public class TiRequestContext extends RequestContext {
   private final ObjectManager objectManager;
   private final FactManager factManager;
   private final FactSearchManager factSearchManager;
+  private final BulkFactIndexer bulkFactIndexer;
+  private final FactSightingBuffer factSightingBuffer;
   private final EntityHandlerFactory entityHandlerFactory;
   private final ValidatorFactory validatorFactory;
   private final Function<ObjectTypeEntity, ObjectType> objectTypeConverter;
@@ -31,6 +35,7 @@ public class TiRequestContext extends RequestContext {
   private final Function<FactCommentEntity, FactComment> factCommentConverter;
 
   private TiRequestContext(ObjectManager objectManager, FactManager factManager, FactSearchManager factSearchManager,
+                           BulkFactIndexer bulkFactIndexer, FactSightingBuffer factSightingBuffer,
                            EntityHandlerFactory entityHandlerFactory, ValidatorFactory validatorFactory,
                            Function<ObjectTypeEntity, ObjectType> objectTypeConverter,
                            Function<FactTypeEntity, FactType> factTypeConverter,
@@ -41,6 +46,8 @@ public class TiRequestContext extends RequestContext {
     this.objectManager = objectManager;
     this.factManager = factManager;
     this.factSearchManager = factSearchManager;
+    this.bulkFactIndexer = bulkFactIndexer;
+    this.factSightingBuffer = factSightingBuffer;
     this.entityHandlerFactory = entityHandlerFactory;
     this.validatorFactory = validatorFactory;
     this.objectTypeConverter = objectTypeConverter;
@@ -67,6 +74,14 @@ public class TiRequestContext extends RequestContext {
     return ObjectUtils.notNull(factSearchManager, "FactSearchManager not set in RequestContext.");
   }
 
+  public BulkFactIndexer getBulkFactIndexer() {
+    return ObjectUtils.notNull(bulkFactIndexer, "BulkFactIndexer not set in RequestContext.");
+  }
+
+  public FactSightingBuffer getFactSightingBuffer() {
+    return ObjectUtils.notNull(factSightingBuffer, "FactSightingBuffer not set in RequestContext.");
+  }
+
   public EntityHandlerFactory getEntityHandlerFactory() {
     return ObjectUtils.notNull(entityHandlerFactory, "EntityHandlerFactory not set in RequestContext.");
   }
@@ -107,6 +122,8 @@ public class TiRequestContext extends RequestContext {
     private ObjectManager objectManager;
     private FactManager factManager;
     private FactSearchManager factSearchManager;
+    private BulkFactIndexer bulkFactIndexer;
+    private FactSightingBuffer factSightingBuffer;
     private EntityHandlerFactory entityHandlerFactory;
     private ValidatorFactory validatorFactory;
     private Function<ObjectTypeEntity, ObjectType> objectTypeConverter;
@@ -120,7 +137,7 @@ public class TiRequestContext extends RequestContext {
     }
 
     public TiRequestContext build() {
-      return new TiRequestContext(objectManager, factManager, factSearchManager, entityHandlerFactory, validatorFactory,
+      return new TiRequestContext(objectManager, factManager, factSearchManager, bulkFactIndexer, factSightingBuffer, entityHandlerFactory, validatorFactory,
               objectTypeConverter, factTypeConverter, objectConverter, factConverter, aclEntryConverter, factCommentConverter);
     }
 
@@ -139,6 +156,16 @@ public class TiRequestContext extends RequestContext {
       return this;
     }
 
+    public Builder setBulkFactIndexer(BulkFactIndexer bulkFactIndexer) {
+      this.bulkFactIndexer = bulkFactIndexer;
+      return this;
+    }
+
+    public Builder setFactSightingBuffer(FactSightingBuffer factSightingBuffer) {
+      this.factSightingBuffer = factSightingBuffer;
+      return this;
+    }
+
     public Builder setEntityHandlerFactory(EntityHandlerFactory entityHandlerFactory) {
       this.entityHandlerFactory = entityHandlerFactory;
       return this;
@@ -7,20 +7,21 @@ import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCache;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Specific SecurityContext for the ThreatIntelligenceService.
@@ -28,15 +29,23 @@ import java.util.function.Function;
 public class TiSecurityContext extends SecurityContext {
 
   private final Function<UUID, List<FactAclEntity>> aclResolver;
-  private final Function<UUID, Iterator<FactEntity>> factsBoundToObjectResolver;
+  private final Function<Collection<UUID>, Map<UUID, List<FactAclEntity>>> bulkAclResolver;
+  private final Function<UUID, Iterator<FactAccessInfo>> factsBoundToObjectResolver;
+  private final ObjectAccessCache objectAccessCache;
+  // A SecurityContext only lives for the duration of one request, thus, it's safe to remember fetched ACLs.
+  private final Map<UUID, List<FactAclEntity>> aclCache = new ConcurrentHashMap<>();
 
   private TiSecurityContext(AccessController accessController, IdentityResolver identityResolver,
                             OrganizationResolver organizationResolver, SubjectResolver subjectResolver,
                             Credentials credentials, Function<UUID, List<FactAclEntity>> aclResolver,
-                            Function<UUID, Iterator<FactEntity>> factsBoundToObjectResolver) {
+                            Function<Collection<UUID>, Map<UUID, List<FactAclEntity>>> bulkAclResolver,
+                            Function<UUID, Iterator<FactAccessInfo>> factsBoundToObjectResolver,
+                            ObjectAccessCache objectAccessCache) {
     super(accessController, identityResolver, organizationResolver, subjectResolver, credentials);
     this.aclResolver = aclResolver;
+    this.bulkAclResolver = bulkAclResolver;
     this.factsBoundToObjectResolver = factsBoundToObjectResolver;
+    this.objectAccessCache = objectAccessCache;
   }
 
   public static TiSecurityContext get() {
@@ -56,31 +65,49 @@ public class TiSecurityContext extends SecurityContext {
    */
   public void checkReadPermission(FactEntity fact) throws AccessDeniedException, AuthenticationFailedException {
     if (fact == null) throw new AccessDeniedException("No access to Fact.");
+    checkFactReadPermission(fact.getId(), fact.getAccessMode(), fact.getOrganizationID());
+  }
+
+  /**
+   * Check if a user is allowed to view a specific Fact based on the Fact's AccessMode. Works exactly like
+   * {@link #checkReadPermission(FactEntity)} but only requires the information fetched with a {@link FactAccessInfo}.
+   *
+   * @param fact Access information of Fact to verify access to.
+   * @throws AccessDeniedException         If the user is not allowed to view the Fact.
+   * @throws AuthenticationFailedException If the user could not be authenticated.
+   */
+  public void checkReadPermission(FactAccessInfo fact) throws AccessDeniedException, AuthenticationFailedException {
+    if (fact == null) throw new AccessDeniedException("No access to Fact.");
+    checkFactReadPermission(fact.getId(), fact.getAccessMode(), fact.getOrganizationID());
+  }
 
-    if (fact.getAccessMode() == AccessMode.Public) {
+  private void checkFactReadPermission(UUID factID, AccessMode accessMode, UUID organizationID)
+          throws AccessDeniedException, AuthenticationFailedException {
+    if (accessMode == AccessMode.Public) {
       // Only verify that user has general permission to view Facts.
       checkPermission(TiFunctionConstants.viewFactObjects);
       // Access allowed because user is generally allowed to view Facts.
       return;
     }
 
-    if (isInAcl(fact)) {
+    if (isInAcl(factID)) {
       // Access allowed because user is in the Fact's ACL.
       return;
     }
 
-    if (fact.getAccessMode() == AccessMode.Explicit) {
+    if (accessMode == AccessMode.Explicit) {
       // User is not in ACL of the Fact but explicit access is required.
-      throw new AccessDeniedException(String.format("No access to Fact with id = %s.", fact.getId()));
+      throw new AccessDeniedException(String.format("No access to Fact with id = %s.", factID));
     }
 
     // Fallback to role-based access control and verify that user has access to Facts of a specific organization.
     // This also catches the case where AccessMode == RoleBased and user is not in the Fact's ACL.
-    checkPermission(TiFunctionConstants.viewFactObjects, fact.getOrganizationID());
+    checkPermission(TiFunctionConstants.viewFactObjects, organizationID);
   }
 
   /**
    * Check if a user is allowed to view a specific Object. The user needs access to at least one Fact bound to the Object.
+   * If an {@link ObjectAccessCache} is configured the decision is cached per user and Object.
    *
    * @param object Object to verify access to.
    * @throws AccessDeniedException         If the user is not allowed to view the Object.
@@ -92,17 +119,68 @@ public class TiSecurityContext extends SecurityContext {
       throw new AccessDeniedException("No access to Object.");
     }
 
-    // Iterate through all bound Facts and return the first accessible Fact.
-    // The user needs access to at least one bound Fact to have access to the Object.
-    Optional<FactEntity> accessibleFact = Streams.stream(factsBoundToObjectResolver.apply(object.getId()))
-            .filter(this::hasReadPermission)
-            .findFirst();
-    if (!accessibleFact.isPresent()) {
+    boolean accessible = objectAccessCache != null
+            ? objectAccessCache.resolve(getCurrentUserID(), object.getId(), () -> hasAccessToBoundFact(object))
+            : hasAccessToBoundFact(object);
+    if (!accessible) {
       // User does not have access to any Facts bound to this Object.
       throw new AccessDeniedException("No access to Object.");
     }
   }
 
+  /**
+   * Fetch the access control lists of multiple Facts at once. Subsequent permission checks for those Facts won't need
+   * to fetch the ACLs one by one. This is a NOOP if no bulk ACL resolver is configured.
+   *
+   * @param facts Facts which will be checked for access
+   */
+  public void prefetchAcl(Collection<FactEntity> facts) {
+    if (bulkAclResolver == null || CollectionUtils.isEmpty(facts)) return;
+
+    // The ACL of public Facts is never checked.
+    prefetchAclByID(facts.stream()
+            .filter(fact -> fact != null && fact.getAccessMode() != AccessMode.Public)
+            .map(FactEntity::getId)
+            .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Works exactly like {@link #prefetchAcl(Collection)} but only requires the information fetched with a {@link FactAccessInfo}.
+   *
+   * @param facts Access information of Facts which will be checked for access
+   */
+  public void prefetchAclForAccessInfos(Collection<FactAccessInfo> facts) {
+    if (bulkAclResolver == null || CollectionUtils.isEmpty(facts)) return;
+
+    // The ACL of public Facts is never checked.
+    prefetchAclByID(facts.stream()
+            .filter(fact -> fact != null && fact.getAccessMode() != AccessMode.Public)
+            .map(FactAccessInfo::getId)
+            .collect(Collectors.toSet()));
+  }
+
+  private void prefetchAclByID(Set<UUID> factID) {
+    Set<UUID> missingID = factID.stream()
+            .filter(id -> id != null && !aclCache.containsKey(id))
+            .collect(Collectors.toSet());
+    if (missingID.isEmpty()) return;
+
+    Map<UUID, List<FactAclEntity>> acls = bulkAclResolver.apply(missingID);
+    for (UUID id : missingID) {
+      aclCache.put(id, ObjectUtils.ifNull(ObjectUtils.ifNotNull(acls, a -> a.get(id)), Collections.emptyList()));
+    }
+  }
+
+  /**
+   * Invalidate any cached access decisions for an Object. Must be called when a new Fact is bound to the Object or
+   * the ACL of a bound Fact is changed because this might grant access to the Object.
+   *
+   * @param objectID ID of Object
+   */
+  public void invalidateObjectAccess(UUID objectID) {
+    ObjectUtils.ifNotNullDo(objectAccessCache, cache -> cache.invalidate(objectID));
+  }
+
   /**
    * Check if a user is allowed to view a specific Fact based on the Fact's AccessMode.
    *
@@ -118,6 +196,21 @@ public class TiSecurityContext extends SecurityContext {
     }
   }
 
+  /**
+   * Check if a user is allowed to view a specific Fact based on the Fact's AccessMode.
+   *
+   * @param fact Access information of Fact to verify access to.
+   * @return True if user has access to the Fact.
+   */
+  public boolean hasReadPermission(FactAccessInfo fact) {
+    try {
+      checkReadPermission(fact);
+      return true;
+    } catch (AccessDeniedException | AuthenticationFailedException ignored) {
+      return false;
+    }
+  }
+
   /**
    * Check if a user is allowed to view a specific Object. The user needs access to at least one Fact bound to the Object.
    *
@@ -133,11 +226,34 @@ public class TiSecurityContext extends SecurityContext {
     }
   }
 
-  private boolean isInAcl(FactEntity fact) {
-    List<FactAclEntity> acl = aclResolver.apply(fact.getId());
+  private boolean hasAccessToBoundFact(ObjectEntity object) {
+    // Iterate through all bound Facts and return the first accessible Fact.
+    // The user needs access to at least one bound Fact to have access to the Object.
+    // Only the access information of the bound Facts is required, the complete Facts are never fetched.
+    Optional<FactAccessInfo> accessibleFact = Streams.stream(factsBoundToObjectResolver.apply(object.getId()))
+            .filter(this::hasReadPermission)
+            .findFirst();
+    return accessibleFact.isPresent();
+  }
+
+  private boolean isInAcl(UUID factID) {
+    List<FactAclEntity> acl = resolveAcl(factID);
+
     return !CollectionUtils.isEmpty(acl) && acl.stream().anyMatch(entry -> getCurrentUserID().equals(entry.getSubjectID()));
   }
 
+  private List<FactAclEntity> resolveAcl(UUID factID) {
+    if (factID == null) return aclResolver.apply(null);
+
+    List<FactAclEntity> acl = aclCache.get(factID);
+    if (acl == null) {
+      acl = aclResolver.apply(factID);
+      ObjectUtils.ifNotNullDo(acl, a -> aclCache.put(factID, a));
+    }
+
+    return acl;
+  }
+
   public static class Builder {
     private AccessController accessController;
     private IdentityResolver identityResolver;
@@ -145,7 +261,9 @@ public class TiSecurityContext extends SecurityContext {
     private SubjectResolver subjectResolver;
     private Credentials credentials;
     private Function<UUID, List<FactAclEntity>> aclResolver;
-    private Function<UUID, Iterator<FactEntity>> factsBoundToObjectResolver;
+    private Function<Collection<UUID>, Map<UUID, List<FactAclEntity>>> bulkAclResolver;
+    private Function<UUID, Iterator<FactAccessInfo>> factsBoundToObjectResolver;
+    private ObjectAccessCache objectAccessCache;
 
     private Builder() {
     }
@@ -153,7 +271,7 @@ public class TiSecurityContext extends SecurityContext {
     public TiSecurityContext build() {
       ObjectUtils.notNull(aclResolver, "'aclResolver' not set in SecurityContext.");
       ObjectUtils.notNull(factsBoundToObjectResolver, "'factsBoundToObjectResolver' not set in SecurityContext.");
-      return new TiSecurityContext(accessController, identityResolver, organizationResolver, subjectResolver, credentials, aclResolver, factsBoundToObjectResolver);
+      return new TiSecurityContext(accessController, identityResolver, organizationResolver, subjectResolver, credentials, aclResolver, bulkAclResolver, factsBoundToObjectResolver, objectAccessCache);
     }
 
     public Builder setAccessController(AccessController accessController) {
@@ -186,10 +304,20 @@ public class TiSecurityContext extends SecurityContext {
       return this;
     }
 
-    public Builder setFactsBoundToObjectResolver(Function<UUID, Iterator<FactEntity>> factsBoundToObjectResolver) {
+    public Builder setBulkAclResolver(Function<Collection<UUID>, Map<UUID, List<FactAclEntity>>> bulkAclResolver) {
+      this.bulkAclResolver = bulkAclResolver;
+      return this;
+    }
+
+    public Builder setFactsBoundToObjectResolver(Function<UUID, Iterator<FactAccessInfo>> factsBoundToObjectResolver) {
       this.factsBoundToObjectResolver = factsBoundToObjectResolver;
       return this;
     }
+
+    public Builder setObjectAccessCache(ObjectAccessCache objectAccessCache) {
+      this.objectAccessCache = objectAccessCache;
+      return this;
+    }
   }
 
 }
@@ -19,16 +19,19 @@ public class FactConverter implements Converter<FactEntity, Fact> {
   private final Function<UUID, Object> objectConverter;
   private final Function<UUID, FactEntity> factEntityResolver;
   private final Predicate<FactEntity> accessChecker;
+  private final Function<FactEntity, FactEntity> sightingMerger;
 
   private FactConverter(Function<UUID, FactType> factTypeConverter, Function<UUID, Organization> organizationConverter,
                         Function<UUID, Source> sourceConverter, Function<UUID, Object> objectConverter,
-                        Function<UUID, FactEntity> factEntityResolver, Predicate<FactEntity> accessChecker) {
+                        Function<UUID, FactEntity> factEntityResolver, Predicate<FactEntity> accessChecker,
+                        Function<FactEntity, FactEntity> sightingMerger) {
     this.factTypeConverter = factTypeConverter;
     this.organizationConverter = organizationConverter;
     this.sourceConverter = sourceConverter;
     this.objectConverter = objectConverter;
     this.factEntityResolver = factEntityResolver;
     this.accessChecker = accessChecker;
+    this.sightingMerger = sightingMerger;
   }
 
   @Override
@@ -42,8 +45,10 @@ public class FactConverter implements Converter<FactEntity, Fact> {
   }
 
   @Override
-  public Fact apply(FactEntity entity) {
-    if (entity == null) return null;
+  public Fact apply(FactEntity source) {
+    if (source == null) return null;
+    // The persisted 'lastSeenTimestamp' might be outdated if a refresh of the Fact hasn't been written yet.
+    FactEntity entity = sightingMerger.apply(source);
     return Fact.builder()
             .setId(entity.getId())
             .setType(factTypeConverter.apply(entity.getTypeID()).toInfo())
@@ -92,6 +97,7 @@ public class FactConverter implements Converter<FactEntity, Fact> {
     private Function<UUID, Object> objectConverter;
     private Function<UUID, FactEntity> factEntityResolver;
     private Predicate<FactEntity> accessChecker;
+    private Function<FactEntity, FactEntity> sightingMerger = Function.identity();
 
     private Builder() {
     }
@@ -103,7 +109,8 @@ public class FactConverter implements Converter<FactEntity, Fact> {
       ObjectUtils.notNull(objectConverter, "Cannot instantiate FactConverter without 'objectConverter'.");
       ObjectUtils.notNull(factEntityResolver, "Cannot instantiate FactConverter without 'factEntityResolver'.");
       ObjectUtils.notNull(accessChecker, "Cannot instantiate FactConverter without 'accessChecker'.");
-      return new FactConverter(factTypeConverter, organizationConverter, sourceConverter, objectConverter, factEntityResolver, accessChecker);
+      return new FactConverter(factTypeConverter, organizationConverter, sourceConverter, objectConverter, factEntityResolver, accessChecker,
+              sightingMerger);
     }
 
     public Builder setFactTypeConverter(Function<UUID, FactType> factTypeConverter) {
@@ -135,6 +142,14 @@ public class FactConverter implements Converter<FactEntity, Fact> {
       this.accessChecker = accessChecker;
       return this;
     }
+
+    /**
+     * Function applying pending sightings to a Fact before conversion (defaults to no changes).
+     */
+    public Builder setSightingMerger(Function<FactEntity, FactEntity> sightingMerger) {
+      this.sightingMerger = ObjectUtils.notNull(sightingMerger, "'sightingMerger' is required!");
+      return this;
+    }
   }
 
 }
@@ -1,20 +1,29 @@
 package no.mnemonic.act.platform.service.ti.delegates;
 
-import com.google.common.collect.Streams;
+import com.google.common.collect.Lists;
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.exceptions.ObjectNotFoundException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.model.v1.Organization;
 import no.mnemonic.act.platform.api.request.v1.FactObjectBindingDefinition;
 import no.mnemonic.act.platform.api.service.v1.ResultSet;
 import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.ObjectDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
 import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.TiServiceEvent;
+import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
 
 import java.util.Collection;
@@ -212,15 +221,96 @@ abstract class AbstractDelegate {
     return ObjectUtils.ifNull(sourceID, SecurityContext.get().getCurrentUserID());
   }
 
+  /**
+   * Validate that a Fact value passes validation against its FactType.
+   *
+   * @param type  FactType of Fact
+   * @param value Value of Fact
+   * @throws InvalidArgumentException Thrown if the value does not pass validation
+   */
+  void validateFactValue(FactTypeEntity type, String value) throws InvalidArgumentException {
+    Validator validator = TiRequestContext.get().getValidatorFactory().get(type.getValidator(), type.getValidatorParameter());
+    if (!validator.validate(value)) {
+      throw new InvalidArgumentException()
+              .addValidationError("Fact did not pass validation against FactType.", "fact.not.valid", "value", value);
+    }
+  }
+
+  /**
+   * Resolve a Fact referenced by a new Fact. The referenced Fact must exist and the user must have access to it.
+   *
+   * @param inReferenceToID ID of referenced Fact (can be NULL)
+   * @return ID of referenced Fact
+   * @throws InvalidArgumentException      Thrown if the referenced Fact does not exist
+   * @throws AccessDeniedException         Thrown if the user does not have access to the referenced Fact
+   * @throws AuthenticationFailedException Thrown if the user could not be authenticated
+   */
+  UUID resolveInReferenceTo(UUID inReferenceToID)
+          throws InvalidArgumentException, AccessDeniedException, AuthenticationFailedException {
+    if (inReferenceToID != null) {
+      FactEntity inReferenceTo = TiRequestContext.get().getFactManager().getFact(inReferenceToID);
+      if (inReferenceTo == null) {
+        // Referenced Fact must exist.
+        throw new InvalidArgumentException()
+                .addValidationError("Referenced Fact does not exist.", "referenced.fact.not.exist", "inReferenceTo", inReferenceToID.toString());
+      }
+      // User must have access to referenced Fact.
+      TiSecurityContext.get().checkReadPermission(inReferenceTo);
+    }
+    // Everything ok, just return ID.
+    return inReferenceToID;
+  }
+
+  /**
+   * Register a TriggerEvent for a newly added Fact.
+   *
+   * @param addedFact Added Fact
+   */
+  void registerFactAddedEvent(Fact addedFact) {
+    TiServiceEvent event = TiServiceEvent.forEvent(TiServiceEvent.EventName.FactAdded)
+            .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
+            .setAccessMode(addedFact.getAccessMode())
+            .addContextParameter(TiServiceEvent.ContextParameter.AddedFact.name(), addedFact)
+            .build();
+    TriggerContext.get().registerTriggerEvent(event);
+  }
+
+  /**
+   * Invalidate cached access decisions of all Objects bound to a Fact. Call this method after a new Fact was created
+   * or the ACL of an existing Fact was changed, because this might grant access to the bound Objects.
+   *
+   * @param fact Created or changed Fact
+   */
+  void invalidateObjectAccess(FactEntity fact) {
+    if (fact == null) return;
+    for (FactEntity.FactObjectBinding binding : ListUtils.list(fact.getBindings())) {
+      TiSecurityContext.get().invalidateObjectAccess(binding.getObjectID());
+    }
+  }
+
   /**
    * Index a newly created Fact into ElasticSearch. Only call this method after a Fact and its related data were
-   * persisted to Cassandra.
+   * persisted to Cassandra. The Fact is indexed asynchronously using the {@link BulkFactIndexer}.
    *
    * @param fact     Fact to index
    * @param factType FactType of Fact to index
    * @param acl      Full access control list of Fact to index (list of Subject IDs)
    */
   void indexCreatedFact(FactEntity fact, FactTypeEntity factType, List<UUID> acl) {
+    FactDocument document = createFactDocument(fact, factType, acl, TiRequestContext.get().getObjectManager()::getObject);
+    TiRequestContext.get().getBulkFactIndexer().index(document);
+  }
+
+  /**
+   * Create the document representing a newly created Fact in ElasticSearch.
+   *
+   * @param fact           Fact to index
+   * @param factType       FactType of Fact to index
+   * @param acl            Full access control list of Fact to index (list of Subject IDs)
+   * @param objectResolver Function to resolve the Objects bound to the Fact by their IDs
+   * @return Document to index
+   */
+  FactDocument createFactDocument(FactEntity fact, FactTypeEntity factType, List<UUID> acl, Function<UUID, ObjectEntity> objectResolver) {
     // TODO: Resolve and index organizationName and sourceName.
     FactDocument document = new FactDocument()
             .setId(fact.getId())
@@ -237,7 +327,7 @@ abstract class AbstractDelegate {
             .setAcl(SetUtils.set(acl));
 
     for (FactEntity.FactObjectBinding objectBinding : fact.getBindings()) {
-      ObjectEntity object = TiRequestContext.get().getObjectManager().getObject(objectBinding.getObjectID());
+      ObjectEntity object = objectResolver.apply(objectBinding.getObjectID());
       ObjectTypeEntity objectType = TiRequestContext.get().getObjectManager().getObjectType(object.getTypeID());
       document.addObject(new ObjectDocument()
               .setId(object.getId())
@@ -248,19 +338,30 @@ abstract class AbstractDelegate {
       );
     }
 
-    TiRequestContext.get().getFactSearchManager().indexFact(document);
+    return document;
   }
 
   /**
-   * Re-index an already existing Fact in ElasticSearch. If Fact is not found in ElasticSearch the Fact won't be indexed.
+   * Mark an already existing Fact as retracted in ElasticSearch. Only the 'retracted' flag of the indexed Fact is
+   * updated. The update is executed asynchronously using the {@link BulkFactIndexer}.
    *
-   * @param factID          UUID of Fact to re-index
-   * @param documentUpdater Callback for updating the indexed document before re-indexing
+   * @param fact Fact to mark as retracted
    */
-  void reindexExistingFact(UUID factID, Function<FactDocument, FactDocument> documentUpdater) {
-    FactDocument document = TiRequestContext.get().getFactSearchManager().getFact(factID);
-    // 'document' should usually not be NULL. In this case skip updating Fact because it isn't indexed.
-    ObjectUtils.ifNotNullDo(document, d -> TiRequestContext.get().getFactSearchManager().indexFact(documentUpdater.apply(d)));
+  void markFactRetracted(FactEntity fact) {
+    TiRequestContext.get().getBulkFactIndexer().markRetracted(createFactReference(fact));
+  }
+
+  /**
+   * Add ACL entries to an already existing Fact in ElasticSearch. The Subjects are added to the indexed Fact and its
+   * Objects without re-indexing the whole Fact. The update is executed asynchronously using the {@link BulkFactIndexer}.
+   *
+   * @param fact Fact to add ACL entries to
+   * @param acl  Subjects added to the ACL of the Fact
+   */
+  void addAclEntriesToIndexedFact(FactEntity fact, List<UUID> acl) {
+    if (CollectionUtils.isEmpty(acl)) return;
+    FactDocument document = createFactReference(fact).setAcl(SetUtils.set(acl));
+    TiRequestContext.get().getBulkFactIndexer().addAclEntries(document);
   }
 
   /**
@@ -280,7 +381,10 @@ abstract class AbstractDelegate {
 
     // Use the Fact IDs to look up the authoritative data in Cassandra,
     // and make sure that a user has access to all returned Facts.
-    List<Fact> facts = Streams.stream(TiRequestContext.get().getFactManager().getFacts(factID))
+    List<FactEntity> entities = Lists.newArrayList(TiRequestContext.get().getFactManager().getFacts(factID));
+    // Fetch all ACLs at once instead of one by one during the access check.
+    TiSecurityContext.get().prefetchAcl(entities);
+    List<Fact> facts = entities.stream()
             .filter(fact -> TiSecurityContext.get().hasReadPermission(fact))
             .map(TiRequestContext.get().getFactConverter())
             .collect(Collectors.toList());
@@ -292,4 +396,16 @@ abstract class AbstractDelegate {
             .build();
   }
 
+  private FactDocument createFactReference(FactEntity fact) {
+    // Partial updates only require the fields identifying the indexed Fact and its access information.
+    FactDocument document = new FactDocument()
+            .setId(fact.getId())
+            .setTimestamp(fact.getTimestamp())
+            .setAccessMode(ObjectUtils.ifNotNull(fact.getAccessMode(), mode -> FactDocument.AccessMode.valueOf(mode.name())));
+    for (FactEntity.FactObjectBinding objectBinding : ListUtils.list(fact.getBindings())) {
+      document.addObject(new ObjectDocument().setId(objectBinding.getObjectID()));
+    }
+    return document;
+  }
+
 }
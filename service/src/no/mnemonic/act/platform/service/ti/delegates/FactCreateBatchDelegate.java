@@ -0,0 +1,460 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
+import no.mnemonic.act.platform.api.request.v1.CreateFactsRequest;
+import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
+import no.mnemonic.act.platform.dao.cassandra.entity.*;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiRequestContext;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
+import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectResolver;
+import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delegate for creating multiple Facts in one batch. It performs the same steps as the {@link FactCreateDelegate} for
+ * each requested Fact, but FactTypes and Objects are only resolved once per batch, the existence of all Facts is
+ * determined together, and the storage and indexing of all Facts is performed with batched requests.
+ */
+public class FactCreateBatchDelegate extends AbstractDelegate {
+
+  private final FactTypeResolver factTypeResolver;
+  private final ObjectResolver objectResolver;
+  private final FactStorageHelper factStorageHelper;
+
+  // A delegate instance only handles one batch, thus, it's safe to cache resolved entities for the duration of the batch.
+  private final Map<String, FactTypeEntity> factTypeCache = new HashMap<>();
+  private final Map<String, ObjectEntity> objectCache = new HashMap<>();
+  private final Map<UUID, ObjectEntity> objectByIdCache = new HashMap<>();
+
+  private FactCreateBatchDelegate(FactTypeResolver factTypeResolver, ObjectResolver objectResolver, FactStorageHelper factStorageHelper) {
+    this.factTypeResolver = factTypeResolver;
+    this.objectResolver = objectResolver;
+    this.factStorageHelper = factStorageHelper;
+  }
+
+  public ResultSet<Fact> handle(CreateFactsRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    // Verify all requested Facts before anything is written.
+    List<PendingFact> pendingFacts = resolvePendingFacts(request.getFacts());
+    resolveExistingFacts(pendingFacts);
+    resolveDuplicatedFacts(pendingFacts);
+    verifyInReferenceTo(pendingFacts);
+
+    saveNewFacts(pendingFacts);
+    refreshExistingFacts(pendingFacts);
+
+    List<Fact> addedFacts = new ArrayList<>();
+    for (PendingFact pending : pendingFacts) {
+      // The new Fact or ACL entries might grant access to the bound Objects.
+      invalidateObjectAccess(pending.getFact());
+
+      // Always add provided comment.
+      factStorageHelper.saveCommentForFact(pending.getFact(), pending.getRequest().getComment());
+
+      // Register TriggerEvent for each added Fact.
+      Fact addedFact = TiRequestContext.get().getFactConverter().apply(pending.getFact());
+      registerFactAddedEvent(addedFact);
+      addedFacts.add(addedFact);
+    }
+
+    return ResultSet.<Fact>builder()
+            .setCount(addedFacts.size())
+            .setLimit(0)
+            .setValues(addedFacts)
+            .build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private FactTypeResolver factTypeResolver;
+    private ObjectResolver objectResolver;
+    private FactStorageHelper factStorageHelper;
+
+    private Builder() {
+    }
+
+    public FactCreateBatchDelegate build() {
+      ObjectUtils.notNull(factTypeResolver, "Cannot instantiate FactCreateBatchDelegate without 'factTypeResolver'.");
+      ObjectUtils.notNull(objectResolver, "Cannot instantiate FactCreateBatchDelegate without 'objectResolver'.");
+      ObjectUtils.notNull(factStorageHelper, "Cannot instantiate FactCreateBatchDelegate without 'factStorageHelper'.");
+      return new FactCreateBatchDelegate(factTypeResolver, objectResolver, factStorageHelper);
+    }
+
+    public Builder setFactTypeResolver(FactTypeResolver factTypeResolver) {
+      this.factTypeResolver = factTypeResolver;
+      return this;
+    }
+
+    public Builder setObjectResolver(ObjectResolver objectResolver) {
+      this.objectResolver = objectResolver;
+      return this;
+    }
+
+    public Builder setFactStorageHelper(FactStorageHelper factStorageHelper) {
+      this.factStorageHelper = factStorageHelper;
+      return this;
+    }
+  }
+
+  private List<PendingFact> resolvePendingFacts(List<CreateFactRequest> requests)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    List<PendingFact> pendingFacts = new ArrayList<>();
+    InvalidArgumentException ex = new InvalidArgumentException();
+
+    for (int i = 0; i < requests.size(); i++) {
+      try {
+        pendingFacts.add(resolvePendingFact(requests.get(i)));
+      } catch (InvalidArgumentException e) {
+        // Validate all requested Facts and report all validation errors at once.
+        addValidationErrors(ex, e, i);
+      }
+    }
+
+    if (!CollectionUtils.isEmpty(ex.getValidationErrors())) {
+      throw ex;
+    }
+
+    return pendingFacts;
+  }
+
+  private PendingFact resolvePendingFact(CreateFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    // Verify that user is allowed to add Facts for the requested organization.
+    TiSecurityContext.get().checkPermission(TiFunctionConstants.addFactObjects, resolveOrganization(request.getOrganization()));
+
+    // Validate that requested Fact matches its FactType.
+    FactTypeEntity type = resolveFactType(request.getType());
+    validateFactValue(type, request.getValue());
+
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())  // Need to provide client-generated ID.
+            .setTypeID(type.getId())
+            .setValue(request.getValue())
+            .setAccessMode(AccessMode.valueOf(request.getAccessMode().name()))
+            .setInReferenceToID(request.getInReferenceTo())
+            .setOrganizationID(resolveOrganization(request.getOrganization()))
+            .setSourceID(resolveSource(request.getSource()))
+            .setBindings(resolveFactObjectBindings(type, request.getBindings()))
+            .setTimestamp(System.currentTimeMillis())
+            .setLastSeenTimestamp(System.currentTimeMillis());
+
+    return new PendingFact(request, type, fact);
+  }
+
+  private FactTypeEntity resolveFactType(String type) throws InvalidArgumentException {
+    FactTypeEntity typeEntity = factTypeCache.get(type);
+    if (typeEntity == null) {
+      typeEntity = factTypeResolver.resolveFactType(type);
+      factTypeCache.put(type, typeEntity);
+    }
+
+    return typeEntity;
+  }
+
+  private List<FactEntity.FactObjectBinding> resolveFactObjectBindings(FactTypeEntity type, List<CreateFactRequest.FactObjectBinding> requestedBindings)
+          throws InvalidArgumentException {
+    List<FactEntity.FactObjectBinding> entityBindings = new ArrayList<>();
+    InvalidArgumentException ex = new InvalidArgumentException();
+
+    for (int i = 0; i < requestedBindings.size(); i++) {
+      CreateFactRequest.FactObjectBinding requested = requestedBindings.get(i);
+      ObjectEntity object = resolveObject(requested);
+
+      // Check requested binding against all definitions.
+      boolean valid = type.getRelevantObjectBindings()
+              .stream()
+              .anyMatch(b -> Objects.equals(b.getObjectTypeID(), object.getTypeID()) && Objects.equals(b.getDirection().name(), requested.getDirection().name()));
+      if (!valid) {
+        // Requested binding is invalid, add to exception and continue to validate other bindings.
+        ex.addValidationError("Requested binding between Fact and Object is not allowed.", "invalid.fact.object.binding", "bindings." + i, requested.toString());
+        continue;
+      }
+
+      entityBindings.add(new FactEntity.FactObjectBinding()
+              .setObjectID(object.getId())
+              .setDirection(Direction.valueOf(requested.getDirection().name())));
+    }
+
+    if (!CollectionUtils.isEmpty(ex.getValidationErrors())) {
+      throw ex;
+    }
+
+    return entityBindings;
+  }
+
+  private ObjectEntity resolveObject(CreateFactRequest.FactObjectBinding requested) throws InvalidArgumentException {
+    String key = String.format("%s;%s;%s", requested.getObjectID(), requested.getObjectType(), requested.getObjectValue());
+    ObjectEntity object = objectCache.get(key);
+    if (object == null) {
+      object = objectResolver.resolveObject(requested.getObjectID(), requested.getObjectType(), requested.getObjectValue());
+      objectCache.put(key, object);
+      objectByIdCache.put(object.getId(), object);
+    }
+
+    return object;
+  }
+
+  private void resolveExistingFacts(List<PendingFact> pendingFacts) {
+    // Skip confidenceLevel for now as it's currently not provided in the request.
+    List<FactExistenceSearchCriteria> criteria = pendingFacts.stream()
+            .map(this::createFactExistenceSearchCriteria)
+            .collect(Collectors.toList());
+
+    // Try to fetch any existing Facts from ElasticSearch, all criteria are searched for at once.
+    List<SearchResult<FactDocument>> results = TiRequestContext.get().getFactSearchManager().retrieveExistingFactsInBatch(criteria);
+    List<UUID> candidateID = results.stream()
+            .flatMap(result -> result.getValues().stream())
+            .map(FactDocument::getId)
+            .distinct()
+            .collect(Collectors.toList());
+    if (candidateID.isEmpty()) {
+      return; // No results, need to create all Facts.
+    }
+
+    // Fetch the access information of all candidates from Cassandra with one query and apply permission check.
+    // All ACLs are fetched at once instead of one by one during the access check.
+    List<FactAccessInfo> candidates = Lists.newArrayList(TiRequestContext.get().getFactManager().getFactAccessInfos(candidateID));
+    TiSecurityContext.get().prefetchAclForAccessInfos(candidates);
+    Set<UUID> accessibleID = candidates.stream()
+            .filter(info -> TiSecurityContext.get().hasReadPermission(info))
+            .map(FactAccessInfo::getId)
+            .collect(Collectors.toSet());
+
+    // Pick the first accessible candidate for each requested Fact.
+    List<UUID> existingID = results.stream()
+            .map(result -> result.getValues()
+                    .stream()
+                    .map(FactDocument::getId)
+                    .filter(accessibleID::contains)
+                    .findFirst()
+                    .orElse(null))
+            .collect(Collectors.toList());
+    List<UUID> chosenID = existingID.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+    if (chosenID.isEmpty()) {
+      return; // No accessible results, need to create all Facts.
+    }
+
+    // Only fetch the chosen Facts completely.
+    Map<UUID, FactEntity> existingFacts = Streams.stream(TiRequestContext.get().getFactManager().getFacts(chosenID))
+            .collect(Collectors.toMap(FactEntity::getId, Function.identity()));
+    for (int i = 0; i < pendingFacts.size(); i++) {
+      FactEntity existing = existingFacts.get(existingID.get(i));
+      if (existing != null) {
+        pendingFacts.get(i).setExistingFact(existing);
+      }
+    }
+  }
+
+  private FactExistenceSearchCriteria createFactExistenceSearchCriteria(PendingFact pending) {
+    FactExistenceSearchCriteria.Builder criteriaBuilder = FactExistenceSearchCriteria.builder()
+            .setFactValue(pending.getFact().getValue())
+            .setFactTypeID(pending.getFact().getTypeID())
+            .setSourceID(pending.getFact().getSourceID())
+            .setOrganizationID(pending.getFact().getOrganizationID())
+            .setAccessMode(pending.getFact().getAccessMode().name());
+    for (FactEntity.FactObjectBinding binding : pending.getFact().getBindings()) {
+      criteriaBuilder.addObject(binding.getObjectID(), binding.getDirection().name());
+    }
+
+    return criteriaBuilder.build();
+  }
+
+  private void resolveDuplicatedFacts(List<PendingFact> pendingFacts) {
+    // The same logical Fact might be requested multiple times inside one batch. Only create it once and
+    // treat all other occurrences like refreshing an existing Fact.
+    Map<String, PendingFact> uniqueFacts = new HashMap<>();
+    for (PendingFact pending : pendingFacts) {
+      if (!pending.isNew()) continue;
+
+      PendingFact first = uniqueFacts.putIfAbsent(createFactKey(pending.getFact()), pending);
+      if (first != null) {
+        pending.setDuplicateOf(first);
+      }
+    }
+  }
+
+  private String createFactKey(FactEntity fact) {
+    String bindings = fact.getBindings()
+            .stream()
+            .map(b -> b.getObjectID() + ":" + b.getDirection())
+            .sorted()
+            .collect(Collectors.joining(","));
+    return String.format("%s;%s;%s;%s;%s;%s", fact.getTypeID(), fact.getValue(), fact.getSourceID(),
+            fact.getOrganizationID(), fact.getAccessMode(), bindings);
+  }
+
+  private void verifyInReferenceTo(List<PendingFact> pendingFacts)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    InvalidArgumentException ex = new InvalidArgumentException();
+
+    // Referenced Facts are only verified for new Facts, the same as when creating a single Fact.
+    for (int i = 0; i < pendingFacts.size(); i++) {
+      PendingFact pending = pendingFacts.get(i);
+      if (!pending.isNew()) continue;
+
+      try {
+        resolveInReferenceTo(pending.getRequest().getInReferenceTo());
+      } catch (InvalidArgumentException e) {
+        addValidationErrors(ex, e, i);
+      }
+    }
+
+    if (!CollectionUtils.isEmpty(ex.getValidationErrors())) {
+      throw ex;
+    }
+  }
+
+  private void saveNewFacts(List<PendingFact> pendingFacts) {
+    List<FactEntity> newFacts = new ArrayList<>();
+    List<ObjectFactBindingEntity> bindings = new ArrayList<>();
+    Map<UUID, Set<UUID>> requestedSubjects = new HashMap<>();
+
+    for (PendingFact pending : pendingFacts) {
+      FactEntity fact = pending.getFact();
+      // Duplicated Facts inside the batch contribute to the ACL of the Fact created first.
+      requestedSubjects.computeIfAbsent(fact.getId(), id -> new LinkedHashSet<>())
+              .addAll(ListUtils.list(pending.getRequest().getAcl()));
+      if (!pending.isNew()) continue;
+
+      newFacts.add(fact);
+      // Save all bindings between Objects and the created Facts.
+      for (FactEntity.FactObjectBinding binding : fact.getBindings()) {
+        bindings.add(new ObjectFactBindingEntity()
+                .setObjectID(binding.getObjectID())
+                .setFactID(fact.getId())
+                .setDirection(binding.getDirection())
+                .setFactTypeID(fact.getTypeID())
+                .setAccessMode(fact.getAccessMode())
+                .setOrganizationID(fact.getOrganizationID())
+                .setFactBindingsStored(fact.getBindingsStored()));
+      }
+    }
+
+    if (newFacts.isEmpty()) {
+      return;
+    }
+
+    TiRequestContext.get().getFactManager().saveFacts(newFacts);
+    TiRequestContext.get().getObjectManager().saveObjectFactBindings(bindings);
+    TiRequestContext.get().getObjectManager().saveObjectFactStatistics(newFacts);
+    Map<UUID, List<UUID>> requestedAcl = requestedSubjects.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> new ArrayList<>(e.getValue())));
+    Map<UUID, List<UUID>> acl = factStorageHelper.saveInitialAclForNewFacts(newFacts, requestedAcl);
+
+    // Index the new Facts the same way as a single Fact. The BulkFactIndexer sends the documents of all Facts
+    // together and retries indexing on failure.
+    for (PendingFact pending : pendingFacts) {
+      if (!pending.isNew()) continue;
+      FactEntity fact = pending.getFact();
+      TiRequestContext.get().getBulkFactIndexer().index(createFactDocument(fact, pending.getType(), acl.get(fact.getId()), this::resolveObjectById));
+    }
+  }
+
+  private void refreshExistingFacts(List<PendingFact> pendingFacts) {
+    // Multiple requested Facts might resolve to the same existing Fact. Group them by the existing Fact in order
+    // to refresh each existing Fact only once.
+    Map<UUID, List<PendingFact>> pendingByExistingFact = new LinkedHashMap<>();
+    for (PendingFact pending : pendingFacts) {
+      // Duplicates of new Facts were already handled when saving the new Facts.
+      if (pending.isNew() || pending.isDuplicate()) continue;
+      pendingByExistingFact.computeIfAbsent(pending.getFact().getId(), id -> new ArrayList<>()).add(pending);
+    }
+
+    for (List<PendingFact> group : pendingByExistingFact.values()) {
+      // Refresh an existing Fact. The new 'lastSeenTimestamp' is written to Cassandra and ElasticSearch in the background.
+      FactEntity fact = TiRequestContext.get().getFactSightingBuffer().recordSighting(group.get(0).getFact());
+      List<UUID> requestedAcl = group.stream()
+              .flatMap(pending -> ListUtils.list(pending.getRequest().getAcl()).stream())
+              .distinct()
+              .collect(Collectors.toList());
+      List<UUID> subjectsAddedToAcl = factStorageHelper.saveAdditionalAclForFact(fact, requestedAcl);
+      group.forEach(pending -> pending.setExistingFact(fact));
+      // The indexed document only needs to be updated if the ACL has changed. The updates of all refreshed Facts
+      // are sent together by the BulkFactIndexer.
+      addAclEntriesToIndexedFact(fact, subjectsAddedToAcl);
+    }
+  }
+
+  private ObjectEntity resolveObjectById(UUID id) {
+    // All bound Objects were resolved while validating the request.
+    return objectByIdCache.computeIfAbsent(id, TiRequestContext.get().getObjectManager()::getObject);
+  }
+
+  private void addValidationErrors(InvalidArgumentException target, InvalidArgumentException source, int index) {
+    // Prefix properties with the position of the requested Fact inside the batch.
+    for (InvalidArgumentException.ValidationError error : source.getValidationErrors()) {
+      target.addValidationError(error.getMessage(), error.getMessageTemplate(),
+              String.format("facts[%d].%s", index, error.getProperty()), error.getValue());
+    }
+  }
+
+  private static class PendingFact {
+    private final CreateFactRequest request;
+    private final FactTypeEntity type;
+    private FactEntity fact;
+    private boolean isNew = true;
+    private boolean isDuplicate = false;
+
+    private PendingFact(CreateFactRequest request, FactTypeEntity type, FactEntity fact) {
+      this.request = request;
+      this.type = type;
+      this.fact = fact;
+    }
+
+    private CreateFactRequest getRequest() {
+      return request;
+    }
+
+    private FactTypeEntity getType() {
+      return type;
+    }
+
+    private FactEntity getFact() {
+      return fact;
+    }
+
+    private boolean isNew() {
+      return isNew;
+    }
+
+    private boolean isDuplicate() {
+      return isDuplicate;
+    }
+
+    private void setExistingFact(FactEntity existing) {
+      this.fact = existing;
+      this.isNew = false;
+    }
+
+    private void setDuplicateOf(PendingFact first) {
+      this.fact = first.getFact();
+      this.isNew = false;
+      this.isDuplicate = true;
+    }
+  }
+
+}
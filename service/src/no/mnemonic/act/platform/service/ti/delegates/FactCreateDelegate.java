@@ -1,28 +1,24 @@
 package no.mnemonic.act.platform.service.ti.delegates;
 
-import com.google.common.collect.Streams;
+import com.google.common.collect.Lists;
 import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
 import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
 import no.mnemonic.act.platform.api.model.v1.Fact;
-import no.mnemonic.act.platform.api.model.v1.Organization;
 import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
 import no.mnemonic.act.platform.dao.api.FactExistenceSearchCriteria;
 import no.mnemonic.act.platform.dao.cassandra.entity.*;
 import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
-import no.mnemonic.act.platform.service.contexts.TriggerContext;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
-import no.mnemonic.act.platform.service.ti.TiServiceEvent;
 import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
 import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
 import no.mnemonic.act.platform.service.ti.helpers.ObjectResolver;
-import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
-import no.mnemonic.commons.utilities.collections.SetUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -50,29 +46,35 @@ public class FactCreateDelegate extends AbstractDelegate {
     // Validate that requested Fact matches its FactType.
     FactTypeEntity type = factTypeResolver.resolveFactType(request.getType());
     validateFactValue(type, request.getValue());
-    validateFactObjectBindings(type, request.getBindings());
+    // Resolve all bound Objects only once, existing Objects are fetched in parallel.
+    List<ObjectEntity> objects = objectResolver.resolveObjects(request.getBindings());
+    validateFactObjectBindings(type, request.getBindings(), objects);
+    List<FactEntity.FactObjectBinding> bindings = createFactObjectBindings(request.getBindings(), objects);
 
-    FactEntity fact = resolveExistingFact(request, type);
+    FactEntity fact = resolveExistingFact(request, type, bindings);
     if (fact != null) {
-      // Refresh an existing Fact.
-      fact = TiRequestContext.get().getFactManager().refreshFact(fact.getId());
+      // Refresh an existing Fact. The new 'lastSeenTimestamp' is written to Cassandra and ElasticSearch in the background.
+      fact = TiRequestContext.get().getFactSightingBuffer().recordSighting(fact);
       List<UUID> subjectsAddedToAcl = factStorageHelper.saveAdditionalAclForFact(fact, request.getAcl());
-      // Reindex existing Fact in ElasticSearch.
-      reindexExistingFact(fact, subjectsAddedToAcl);
+      // Add new ACL entries to existing Fact in ElasticSearch (skipped if its ACL hasn't changed).
+      addAclEntriesToIndexedFact(fact, subjectsAddedToAcl);
     } else {
       // Or create a new Fact.
-      fact = saveFact(request, type);
+      fact = saveFact(request, type, bindings);
       List<UUID> subjectsAddedToAcl = factStorageHelper.saveInitialAclForNewFact(fact, request.getAcl());
       // Index new Fact into ElasticSearch.
       indexCreatedFact(fact, type, subjectsAddedToAcl);
     }
 
+    // The new Fact or ACL entries might grant access to the bound Objects.
+    invalidateObjectAccess(fact);
+
     // Always add provided comment.
     factStorageHelper.saveCommentForFact(fact, request.getComment());
 
     // Register TriggerEvent before returning added Fact.
     Fact addedFact = TiRequestContext.get().getFactConverter().apply(fact);
-    registerTriggerEvent(addedFact);
+    registerFactAddedEvent(addedFact);
 
     return addedFact;
   }
@@ -112,21 +114,13 @@ public class FactCreateDelegate extends AbstractDelegate {
     }
   }
 
-  private void validateFactValue(FactTypeEntity type, String value) throws InvalidArgumentException {
-    Validator validator = TiRequestContext.get().getValidatorFactory().get(type.getValidator(), type.getValidatorParameter());
-    if (!validator.validate(value)) {
-      throw new InvalidArgumentException()
-              .addValidationError("Fact did not pass validation against FactType.", "fact.not.valid", "value", value);
-    }
-  }
-
-  private void validateFactObjectBindings(FactTypeEntity type, List<CreateFactRequest.FactObjectBinding> requestedBindings)
-          throws InvalidArgumentException {
+  private void validateFactObjectBindings(FactTypeEntity type, List<CreateFactRequest.FactObjectBinding> requestedBindings,
+                                          List<ObjectEntity> objects) throws InvalidArgumentException {
     InvalidArgumentException ex = new InvalidArgumentException();
 
     for (int i = 0; i < requestedBindings.size(); i++) {
       CreateFactRequest.FactObjectBinding requested = requestedBindings.get(i);
-      ObjectEntity object = objectResolver.resolveObject(requested.getObjectID(), requested.getObjectType(), requested.getObjectValue());
+      ObjectEntity object = objects.get(i);
 
       // Check requested binding against all definitions.
       boolean valid = type.getRelevantObjectBindings()
@@ -143,7 +137,7 @@ public class FactCreateDelegate extends AbstractDelegate {
     }
   }
 
-  private FactEntity resolveExistingFact(CreateFactRequest request, FactTypeEntity type) throws InvalidArgumentException {
+  private FactEntity resolveExistingFact(CreateFactRequest request, FactTypeEntity type, List<FactEntity.FactObjectBinding> bindings) {
     // Skip confidenceLevel for now as it's currently not provided in the request.
     FactExistenceSearchCriteria.Builder criteriaBuilder = FactExistenceSearchCriteria.builder()
             .setFactValue(request.getValue())
@@ -151,8 +145,8 @@ public class FactCreateDelegate extends AbstractDelegate {
             .setSourceID(resolveSource(request.getSource()))
             .setOrganizationID(resolveOrganization(request.getOrganization()))
             .setAccessMode(request.getAccessMode().name());
-    // Need to resolve bindings in order to get the correct objectID if this isn't provided in the request.
-    for (FactEntity.FactObjectBinding binding : resolveFactObjectBindings(request.getBindings())) {
+    // Need to use resolved bindings in order to get the correct objectID if this isn't provided in the request.
+    for (FactEntity.FactObjectBinding binding : bindings) {
       criteriaBuilder.addObject(binding.getObjectID(), binding.getDirection().name());
     }
 
@@ -163,14 +157,20 @@ public class FactCreateDelegate extends AbstractDelegate {
     }
 
     // Fetch the authorative data from Cassandra, apply permission check and return existing Fact if accessible.
+    // The permission check only requires the access information of the candidates, thus, only fetch the first
+    // accessible Fact completely.
     List<UUID> factID = result.getValues().stream().map(FactDocument::getId).collect(Collectors.toList());
-    return Streams.stream(TiRequestContext.get().getFactManager().getFacts(factID))
-            .filter(fact -> TiSecurityContext.get().hasReadPermission(fact))
+    List<FactAccessInfo> candidates = Lists.newArrayList(TiRequestContext.get().getFactManager().getFactAccessInfos(factID));
+    // Fetch all ACLs at once instead of one by one during the access check.
+    TiSecurityContext.get().prefetchAclForAccessInfos(candidates);
+    return candidates.stream()
+            .filter(info -> TiSecurityContext.get().hasReadPermission(info))
             .findFirst()
+            .map(info -> TiRequestContext.get().getFactManager().getFact(info.getId()))
             .orElse(null);
   }
 
-  private FactEntity saveFact(CreateFactRequest request, FactTypeEntity type)
+  private FactEntity saveFact(CreateFactRequest request, FactTypeEntity type, List<FactEntity.FactObjectBinding> bindings)
           throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
     FactEntity fact = new FactEntity()
             .setId(UUID.randomUUID())  // Need to provide client-generated ID.
@@ -180,7 +180,7 @@ public class FactCreateDelegate extends AbstractDelegate {
             .setInReferenceToID(resolveInReferenceTo(request.getInReferenceTo()))
             .setOrganizationID(resolveOrganization(request.getOrganization()))
             .setSourceID(resolveSource(request.getSource()))
-            .setBindings(resolveFactObjectBindings(request.getBindings()))
+            .setBindings(bindings)
             .setTimestamp(System.currentTimeMillis())
             .setLastSeenTimestamp(System.currentTimeMillis());
 
@@ -190,35 +190,25 @@ public class FactCreateDelegate extends AbstractDelegate {
       ObjectFactBindingEntity entity = new ObjectFactBindingEntity()
               .setObjectID(binding.getObjectID())
               .setFactID(fact.getId())
-              .setDirection(binding.getDirection());
+              .setDirection(binding.getDirection())
+              .setFactTypeID(fact.getTypeID())
+              .setAccessMode(fact.getAccessMode())
+              .setOrganizationID(fact.getOrganizationID())
+              .setFactBindingsStored(fact.getBindingsStored());
       TiRequestContext.get().getObjectManager().saveObjectFactBinding(entity);
     }
+    TiRequestContext.get().getObjectManager().saveObjectFactStatistics(ListUtils.list(fact));
 
     return fact;
   }
 
-  private UUID resolveInReferenceTo(UUID inReferenceToID)
-          throws InvalidArgumentException, AccessDeniedException, AuthenticationFailedException {
-    if (inReferenceToID != null) {
-      FactEntity inReferenceTo = TiRequestContext.get().getFactManager().getFact(inReferenceToID);
-      if (inReferenceTo == null) {
-        // Referenced Fact must exist.
-        throw new InvalidArgumentException()
-                .addValidationError("Referenced Fact does not exist.", "referenced.fact.not.exist", "inReferenceTo", inReferenceToID.toString());
-      }
-      // User must have access to referenced Fact.
-      TiSecurityContext.get().checkReadPermission(inReferenceTo);
-    }
-    // Everything ok, just return ID.
-    return inReferenceToID;
-  }
-
-  private List<FactEntity.FactObjectBinding> resolveFactObjectBindings(List<CreateFactRequest.FactObjectBinding> requestedBindings)
-          throws InvalidArgumentException {
+  private List<FactEntity.FactObjectBinding> createFactObjectBindings(List<CreateFactRequest.FactObjectBinding> requestedBindings,
+                                                                      List<ObjectEntity> objects) {
     List<FactEntity.FactObjectBinding> entityBindings = new ArrayList<>();
 
-    for (CreateFactRequest.FactObjectBinding requested : requestedBindings) {
-      ObjectEntity object = objectResolver.resolveObject(requested.getObjectID(), requested.getObjectType(), requested.getObjectValue());
+    for (int i = 0; i < requestedBindings.size(); i++) {
+      CreateFactRequest.FactObjectBinding requested = requestedBindings.get(i);
+      ObjectEntity object = objects.get(i);
       FactEntity.FactObjectBinding entity = new FactEntity.FactObjectBinding()
               .setObjectID(object.getId())
               .setDirection(Direction.valueOf(requested.getDirection().name()));
@@ -228,22 +218,4 @@ public class FactCreateDelegate extends AbstractDelegate {
     return entityBindings;
   }
 
-  private void reindexExistingFact(FactEntity fact, List<UUID> acl) {
-    reindexExistingFact(fact.getId(), document -> {
-      // Only 'lastSeenTimestamp' and potentially the ACL have been changed when refreshing a Fact.
-      document.setLastSeenTimestamp(fact.getLastSeenTimestamp());
-      document.setAcl(SetUtils.union(document.getAcl(), SetUtils.set(acl)));
-      return document;
-    });
-  }
-
-  private void registerTriggerEvent(Fact addedFact) {
-    TiServiceEvent event = TiServiceEvent.forEvent(TiServiceEvent.EventName.FactAdded)
-            .setOrganization(ObjectUtils.ifNotNull(addedFact.getOrganization(), Organization.Info::getId))
-            .setAccessMode(addedFact.getAccessMode())
-            .addContextParameter(TiServiceEvent.ContextParameter.AddedFact.name(), addedFact)
-            .build();
-    TriggerContext.get().registerTriggerEvent(event);
-  }
-
 }
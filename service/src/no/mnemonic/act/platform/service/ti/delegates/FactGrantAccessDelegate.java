@@ -13,6 +13,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.commons.utilities.ObjectUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 
 import java.util.UUID;
 
@@ -40,7 +41,9 @@ public class FactGrantAccessDelegate extends AbstractDelegate {
     FactAclEntity aclEntry = ObjectUtils.ifNull(findExistingAclEntry(fact, request.getSubject()), () -> {
       FactAclEntity entry = saveNewAclEntry(fact, request.getSubject());
       // Also add entry to ElasticSearch to allow searching for Fact.
-      reindexExistingFact(fact.getId(), d -> d.addAclEntry(entry.getSubjectID()));
+      addAclEntriesToIndexedFact(fact, ListUtils.list(entry.getSubjectID()));
+      // The new ACL entry might grant access to the Objects bound to the Fact.
+      invalidateObjectAccess(fact);
       return entry;
     });
 
@@ -56,9 +56,11 @@ public class FactRetractDelegate extends AbstractDelegate {
     FactEntity retractionFact = saveRetractionFact(request, factToRetract);
     List<UUID> subjectsAddedToAcl = factStorageHelper.saveInitialAclForNewFact(retractionFact, request.getAcl());
     factStorageHelper.saveCommentForFact(retractionFact, request.getComment());
+    // The Retraction Fact is bound to the same Objects as the retracted Fact and might grant access to them.
+    invalidateObjectAccess(factToRetract);
     // Index everything into ElasticSearch.
     indexCreatedFact(retractionFact, factTypeResolver.resolveRetractionFactType(), subjectsAddedToAcl);
-    reindexExistingFact(factToRetract.getId(), d -> d.setRetracted(true));
+    markFactRetracted(factToRetract);
 
     // Register TriggerEvent before returning Retraction Fact.
     Fact retractionFactParameter = TiRequestContext.get().getFactConverter().apply(retractionFact);
@@ -115,9 +117,14 @@ public class FactRetractDelegate extends AbstractDelegate {
       ObjectFactBindingEntity retractionFactBinding = new ObjectFactBindingEntity()
               .setFactID(retractionFact.getId())
               .setObjectID(binding.getObjectID())
-              .setDirection(Direction.None);
+              .setDirection(Direction.None)
+              .setFactTypeID(retractionFact.getTypeID())
+              .setAccessMode(retractionFact.getAccessMode())
+              .setOrganizationID(retractionFact.getOrganizationID())
+              .setFactBindingsStored(retractionFact.getBindingsStored());
       TiRequestContext.get().getObjectManager().saveObjectFactBinding(retractionFactBinding);
     }
+    TiRequestContext.get().getObjectManager().saveObjectFactStatistics(ListUtils.list(retractionFact));
 
     return retractionFact;
   }
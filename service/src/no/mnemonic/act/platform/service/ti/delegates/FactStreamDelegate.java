@@ -0,0 +1,77 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.AuthenticationFailedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.request.v1.SearchFactRequest;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.dao.api.FactSearchCriteria;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ScrollingSearchResult;
+import no.mnemonic.act.platform.service.contexts.ContextPropagatingIterator;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.TiRequestContext;
+import no.mnemonic.act.platform.service.ti.TiSecurityContext;
+import no.mnemonic.act.platform.service.ti.converters.SearchFactRequestConverter;
+import no.mnemonic.commons.utilities.ObjectUtils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class FactStreamDelegate extends AbstractDelegate {
+
+  public static FactStreamDelegate create() {
+    return new FactStreamDelegate();
+  }
+
+  public StreamingResultSet<Fact> handle(SearchFactRequest request)
+          throws AccessDeniedException, AuthenticationFailedException, InvalidArgumentException {
+    TiSecurityContext.get().checkPermission(TiFunctionConstants.viewFactObjects);
+
+    // When streaming all Facts are returned by default, i.e. a limit of 0 means unlimited.
+    int limit = ObjectUtils.ifNull(request.getLimit(), 0);
+    ScrollingSearchResult<FactDocument> pages = TiRequestContext.get().getFactSearchManager().scrollFacts(toCriteria(request));
+
+    // Every page is resolved against Cassandra only once the previous page has been consumed.
+    Iterator<Fact> facts = Iterators.concat(Iterators.transform(pages, this::resolvePage));
+    if (limit > 0) {
+      facts = Iterators.limit(facts, limit);
+    }
+
+    return StreamingResultSet.<Fact>builder()
+            .setLimit(limit)
+            .setCount(pages.getCount())
+            .setValues(new ContextPropagatingIterator<>(facts))
+            .setOnClose(pages::close)
+            .build();
+  }
+
+  private Iterator<Fact> resolvePage(List<FactDocument> page) {
+    List<UUID> factID = page.stream()
+            .map(FactDocument::getId)
+            .collect(Collectors.toList());
+
+    List<FactEntity> entities = Lists.newArrayList(TiRequestContext.get().getFactManager().getFacts(factID));
+    TiSecurityContext.get().prefetchAcl(entities);
+    return entities.stream()
+            .filter(fact -> TiSecurityContext.get().hasReadPermission(fact))
+            .map(TiRequestContext.get().getFactConverter())
+            .collect(Collectors.toList())
+            .iterator();
+  }
+
+  private FactSearchCriteria toCriteria(SearchFactRequest request) {
+    return SearchFactRequestConverter.builder()
+            .setCurrentUserIdSupplier(() -> TiSecurityContext.get().getCurrentUserID())
+            .setAvailableOrganizationIdSupplier(() -> TiSecurityContext.get().getAvailableOrganizationID())
+            .build()
+            .apply(request);
+  }
+
+}
@@ -14,6 +14,7 @@ import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectStatisticsCalculator;
 
 public class ObjectGetDelegate extends AbstractDelegate {
 
@@ -54,7 +55,9 @@ public class ObjectGetDelegate extends AbstractDelegate {
                       .setCurrentUserID(TiSecurityContext.get().getCurrentUserID())
                       .setAvailableOrganizationID(TiSecurityContext.get().getAvailableOrganizationID())
                       .build();
-              return TiRequestContext.get().getFactSearchManager().calculateObjectStatistics(criteria).getStatistics(id);
+              return new ObjectStatisticsCalculator(TiRequestContext.get().getObjectManager(), TiRequestContext.get().getFactSearchManager())
+                      .calculateObjectStatistics(criteria)
+                      .getStatistics(id);
             })
             .build();
   }
@@ -18,6 +18,7 @@ import no.mnemonic.act.platform.service.ti.TiRequestContext;
 import no.mnemonic.act.platform.service.ti.TiSecurityContext;
 import no.mnemonic.act.platform.service.ti.converters.ObjectConverter;
 import no.mnemonic.act.platform.service.ti.converters.SearchObjectRequestConverter;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectStatisticsCalculator;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.commons.utilities.collections.SetUtils;
@@ -51,13 +52,13 @@ public class ObjectSearchDelegate extends AbstractDelegate {
               .build();
     }
 
-    // Use the Object IDs to retrieve the Fact statistics for all Objects from ElasticSearch.
+    // Use the Object IDs to retrieve the Fact statistics for all Objects.
     ObjectStatisticsCriteria criteria = ObjectStatisticsCriteria.builder()
             .setObjectID(SetUtils.set(objectID))
             .setCurrentUserID(TiSecurityContext.get().getCurrentUserID())
             .setAvailableOrganizationID(TiSecurityContext.get().getAvailableOrganizationID())
             .build();
-    ObjectStatisticsResult statisticsResult = TiRequestContext.get().getFactSearchManager().calculateObjectStatistics(criteria);
+    ObjectStatisticsResult statisticsResult = createObjectStatisticsCalculator().calculateObjectStatistics(criteria);
 
     // Use the Object IDs to look up the authoritative data in Cassandra. This relies exclusively on access control
     // implemented in ElasticSearch. Explicitly checking access to each Object would be too expensive because this
@@ -82,6 +83,10 @@ public class ObjectSearchDelegate extends AbstractDelegate {
             .apply(request);
   }
 
+  private ObjectStatisticsCalculator createObjectStatisticsCalculator() {
+    return new ObjectStatisticsCalculator(TiRequestContext.get().getObjectManager(), TiRequestContext.get().getFactSearchManager());
+  }
+
   private ObjectConverter createObjectConverter(ObjectStatisticsResult statistics) {
     return ObjectConverter.builder()
             .setObjectTypeConverter(id -> {
@@ -5,12 +5,12 @@ import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactCommentEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.commons.utilities.ObjectUtils;
 import no.mnemonic.commons.utilities.StringUtils;
 import no.mnemonic.commons.utilities.collections.CollectionUtils;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -35,20 +35,35 @@ public class FactStorageHelper {
    * @return IDs of Subjects actually added to ACL
    */
   public List<UUID> saveInitialAclForNewFact(FactEntity fact, List<UUID> acl) {
-    if (fact == null || fact.getAccessMode() == AccessMode.Public) {
-      // It doesn't make sense to have an ACL when Fact is public.
-      return ListUtils.list();
-    }
+    List<UUID> initialAcl = resolveInitialAcl(fact, acl);
+    initialAcl.stream()
+            .map(subject -> createAclEntry(fact, subject))
+            .forEach(factManager::saveFactAclEntry);
+    return initialAcl;
+  }
 
-    List<UUID> copiedAcl = ListUtils.list(acl); // Don't change provided ACL.
-    UUID currentUser = currentUserResolver.get();
-    if (fact.getAccessMode() == AccessMode.Explicit && !copiedAcl.contains(currentUser)) {
-      // Make sure that current user is in the ACL with 'Explicit' AccessMode.
-      // With 'RoleBased' AccessMode current user has access to Fact via the Organization.
-      copiedAcl.add(currentUser);
+  /**
+   * Same as {@link #saveInitialAclForNewFact(FactEntity, List)} but for multiple newly created Facts at once. All ACL
+   * entries are stored together which avoids one round trip to the database per entry.
+   *
+   * @param facts Facts the ACLs belong to
+   * @param acl   Map from Fact ID to list of Subject IDs
+   * @return Map from Fact ID to IDs of Subjects actually added to the Fact's ACL
+   */
+  public Map<UUID, List<UUID>> saveInitialAclForNewFacts(List<FactEntity> facts, Map<UUID, List<UUID>> acl) {
+    Map<UUID, List<UUID>> initialAcl = new HashMap<>();
+    List<FactAclEntity> entries = new ArrayList<>();
+
+    for (FactEntity fact : ListUtils.list(facts)) {
+      if (fact == null) continue;
+      List<UUID> subjects = resolveInitialAcl(fact, ObjectUtils.ifNotNull(acl, a -> a.get(fact.getId())));
+      subjects.forEach(subject -> entries.add(createAclEntry(fact, subject)));
+      initialAcl.put(fact.getId(), subjects);
     }
 
-    return saveAclEntries(fact, copiedAcl);
+    factManager.saveFactAclEntries(entries);
+
+    return initialAcl;
   }
 
   /**
@@ -101,20 +116,39 @@ public class FactStorageHelper {
     factManager.saveFactComment(commentEntity);
   }
 
+  private List<UUID> resolveInitialAcl(FactEntity fact, List<UUID> acl) {
+    if (fact == null || fact.getAccessMode() == AccessMode.Public) {
+      // It doesn't make sense to have an ACL when Fact is public.
+      return ListUtils.list();
+    }
+
+    List<UUID> copiedAcl = ListUtils.list(acl); // Don't change provided ACL.
+    UUID currentUser = currentUserResolver.get();
+    if (fact.getAccessMode() == AccessMode.Explicit && !copiedAcl.contains(currentUser)) {
+      // Make sure that current user is in the ACL with 'Explicit' AccessMode.
+      // With 'RoleBased' AccessMode current user has access to Fact via the Organization.
+      copiedAcl.add(currentUser);
+    }
+
+    return copiedAcl;
+  }
+
   private List<UUID> saveAclEntries(FactEntity fact, List<UUID> subjects) {
     // TODO: Verify that subjects exist.
     for (UUID subject : subjects) {
-      FactAclEntity entry = new FactAclEntity()
-              .setId(UUID.randomUUID()) // Need to provide client-generated ID.
-              .setFactID(fact.getId())
-              .setSourceID(fact.getSourceID())
-              .setSubjectID(subject)
-              .setTimestamp(System.currentTimeMillis());
-
-      factManager.saveFactAclEntry(entry);
+      factManager.saveFactAclEntry(createAclEntry(fact, subject));
     }
 
     return subjects;
   }
 
+  private FactAclEntity createAclEntry(FactEntity fact, UUID subject) {
+    return new FactAclEntity()
+            .setId(UUID.randomUUID()) // Need to provide client-generated ID.
+            .setFactID(fact.getId())
+            .setSourceID(fact.getSourceID())
+            .setSubjectID(subject)
+            .setTimestamp(System.currentTimeMillis());
+  }
+
 }
@@ -0,0 +1,98 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cache of access decisions for Objects. Deciding whether a user has access to an Object requires checking the Facts
+ * bound to the Object which is expensive for Objects with many bound Facts. The cache is bounded by the number of
+ * Objects and every decision expires after a configured time.
+ * <p>
+ * Adding a new Fact or ACL entry can only grant additional access to an Object, thus, the decisions for an Object must
+ * be invalidated using {@link #invalidate(UUID)} whenever a Fact bound to the Object is created or its ACL is changed.
+ */
+public class ObjectAccessCache {
+
+  private final Cache<UUID, Map<UUID, Boolean>> decisionsByObject;
+
+  private ObjectAccessCache(long maximumSize, long expireAfterWrite) {
+    if (maximumSize <= 0) throw new IllegalArgumentException("'maximumSize' must be positive!");
+    if (expireAfterWrite <= 0) throw new IllegalArgumentException("'expireAfterWrite' must be positive!");
+    this.decisionsByObject = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS)
+            .build();
+  }
+
+  /**
+   * Returns the cached access decision of a user for an Object. If no decision is cached it is computed using the
+   * provided 'decision' and stored in the cache.
+   *
+   * @param subjectID ID of user
+   * @param objectID  ID of Object
+   * @param decision  Computes whether the user has access to the Object
+   * @return True if the user has access to the Object
+   */
+  public boolean resolve(UUID subjectID, UUID objectID, BooleanSupplier decision) {
+    Map<UUID, Boolean> decisions = decisionsByObject.asMap().computeIfAbsent(objectID, id -> new ConcurrentHashMap<>());
+
+    Boolean cached = decisions.get(subjectID);
+    if (cached != null) return cached;
+
+    // If the Object is invalidated while the decision is computed 'decisions' is not part of the cache any more,
+    // thus, a possibly outdated decision is discarded.
+    boolean accessible = decision.getAsBoolean();
+    decisions.put(subjectID, accessible);
+
+    return accessible;
+  }
+
+  /**
+   * Removes all cached access decisions for an Object.
+   *
+   * @param objectID ID of Object
+   */
+  public void invalidate(UUID objectID) {
+    if (objectID == null) return;
+    decisionsByObject.invalidate(objectID);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static class Builder {
+    private long maximumSize = 10_000;
+    private long expireAfterWrite = 60_000;
+
+    private Builder() {
+    }
+
+    public ObjectAccessCache build() {
+      return new ObjectAccessCache(maximumSize, expireAfterWrite);
+    }
+
+    /**
+     * Maximum number of Objects for which access decisions are cached.
+     */
+    public Builder setMaximumSize(long maximumSize) {
+      this.maximumSize = maximumSize;
+      return this;
+    }
+
+    /**
+     * Time in milliseconds after which cached access decisions expire.
+     */
+    public Builder setExpireAfterWrite(long expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+      return this;
+    }
+  }
+
+}
@@ -0,0 +1,27 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+
+/**
+ * Provider class for instantiating a configured {@link ObjectAccessCache}.
+ */
+public class ObjectAccessCacheProvider implements Provider<ObjectAccessCache> {
+
+  @Inject
+  @Named("object.access.cache.size")
+  private String maximumSize;
+  @Inject
+  @Named("object.access.cache.expiration")
+  private String expireAfterWrite;
+
+  @Override
+  public ObjectAccessCache get() {
+    return ObjectAccessCache.builder()
+            .setMaximumSize(Long.parseLong(maximumSize))
+            .setExpireAfterWrite(Long.parseLong(expireAfterWrite))
+            .build();
+  }
+
+}
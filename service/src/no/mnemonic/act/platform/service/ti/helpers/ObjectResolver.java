@@ -1,12 +1,23 @@
 package no.mnemonic.act.platform.service.ti.helpers;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
+import no.mnemonic.act.platform.dao.cassandra.FutureUtils;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 
+import no.mnemonic.commons.utilities.collections.CollectionUtils;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public class ObjectResolver {
@@ -51,6 +62,41 @@ public class ObjectResolver {
     return objectEntity;
   }
 
+  /**
+   * Resolves the ObjectEntities of all requested bindings between a Fact and Objects. Each Object is resolved in the
+   * same way as with {@link #resolveObject(UUID, String, String)}, but all existing Objects are fetched in parallel.
+   * Only missing Objects are created one after another.
+   *
+   * @param bindings Requested bindings between a Fact and Objects
+   * @return Resolved ObjectEntities in the same order as the requested bindings
+   * @throws InvalidArgumentException If an existing Object cannot be resolved and creating a new Object fails
+   */
+  public List<ObjectEntity> resolveObjects(List<CreateFactRequest.FactObjectBinding> bindings) throws InvalidArgumentException {
+    if (CollectionUtils.isEmpty(bindings)) return ListUtils.list();
+
+    List<ListenableFuture<ObjectEntity>> futures = new ArrayList<>();
+    for (CreateFactRequest.FactObjectBinding binding : bindings) {
+      futures.add(fetchObjectAsync(binding.getObjectID(), binding.getObjectType(), binding.getObjectValue()));
+    }
+
+    List<ObjectEntity> objects = new ArrayList<>(FutureUtils.waitForAll(futures));
+    for (int i = 0; i < objects.size(); i++) {
+      if (objects.get(i) == null) {
+        // Object doesn't exist yet. Resolve it again because it might have been created for a previous binding.
+        CreateFactRequest.FactObjectBinding binding = bindings.get(i);
+        objects.set(i, resolveObject(binding.getObjectID(), binding.getObjectType(), binding.getObjectValue()));
+      }
+    }
+
+    return objects;
+  }
+
+  private ListenableFuture<ObjectEntity> fetchObjectAsync(UUID objectID, String objectType, String objectValue) {
+    // If the Object can't be fetched by ID try to fetch it by type and value.
+    return Futures.transformAsync(objectManager.getObjectAsync(objectID), object -> object != null ?
+            Futures.immediateFuture(object) : objectManager.getObjectAsync(objectType, objectValue), MoreExecutors.directExecutor());
+  }
+
   private ObjectEntity createObject(String type, String value) throws InvalidArgumentException {
     ObjectTypeEntity typeEntity = objectManager.getObjectType(type);
     if (typeEntity == null) {
@@ -69,7 +115,12 @@ public class ObjectResolver {
             .setTypeID(typeEntity.getId())
             .setValue(value);
 
-    return objectManager.saveObject(objectEntity);
+    try {
+      return objectManager.saveObject(objectEntity);
+    } catch (ImmutableViolationException ex) {
+      // The same Object was created concurrently by another request, use that Object instead.
+      return objectManager.getObject(type, value);
+    }
   }
 
 }
@@ -0,0 +1,91 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactStatisticsEntity;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+
+import java.util.*;
+
+/**
+ * Calculates the statistics about Facts bound to Objects. If enabled the statistics maintained in Cassandra are used
+ * which only requires reading one partition per Object. Those statistics are kept per Organization and AccessMode of
+ * the bound Facts. Public Facts and RoleBased Facts of an available Organization are accessible without looking at
+ * the individual Facts. For Objects bound to any other Facts access depends on the ACLs of the Facts, thus, their
+ * statistics are calculated with ElasticSearch instead.
+ */
+public class ObjectStatisticsCalculator {
+
+  private final ObjectManager objectManager;
+  private final FactSearchManager factSearchManager;
+
+  public ObjectStatisticsCalculator(ObjectManager objectManager, FactSearchManager factSearchManager) {
+    this.objectManager = objectManager;
+    this.factSearchManager = factSearchManager;
+  }
+
+  /**
+   * Calculate the statistics about Facts bound to the Objects specified in the criteria. Only Facts accessible to
+   * the calling user are included in the statistics.
+   *
+   * @param criteria Criteria to specify for which Objects statistics should be calculated
+   * @return Result container with the calculated statistics for each Object
+   */
+  public ObjectStatisticsResult calculateObjectStatistics(ObjectStatisticsCriteria criteria) {
+    if (!objectManager.isObjectFactStatisticsEnabled()) return factSearchManager.calculateObjectStatistics(criteria);
+
+    Map<UUID, List<ObjectFactStatisticsEntity>> statistics = objectManager.fetchObjectFactStatistics(criteria.getObjectID());
+    ObjectStatisticsResult.Builder result = ObjectStatisticsResult.builder();
+    Set<UUID> undecided = new HashSet<>();
+
+    for (UUID objectID : criteria.getObjectID()) {
+      List<ObjectFactStatisticsEntity> buckets = ListUtils.list(statistics.get(objectID));
+      if (buckets.stream().anyMatch(bucket -> !isAccessible(bucket, criteria.getAvailableOrganizationID()))) {
+        undecided.add(objectID);
+        continue;
+      }
+
+      mergeBuckets(buckets).forEach(statistic -> result.addStatistic(objectID, statistic));
+    }
+
+    if (!undecided.isEmpty()) {
+      // Fall back to ElasticSearch which applies access control per Fact.
+      ObjectStatisticsResult fallback = factSearchManager.calculateObjectStatistics(ObjectStatisticsCriteria.builder()
+              .setObjectID(undecided)
+              .setCurrentUserID(criteria.getCurrentUserID())
+              .setAvailableOrganizationID(criteria.getAvailableOrganizationID())
+              .build());
+      undecided.forEach(objectID -> fallback.getStatistics(objectID).forEach(statistic -> result.addStatistic(objectID, statistic)));
+    }
+
+    return result.build();
+  }
+
+  private boolean isAccessible(ObjectFactStatisticsEntity bucket, Set<UUID> availableOrganizationID) {
+    // Explicit Facts and RoleBased Facts of other Organizations are only accessible via their ACLs.
+    return bucket.getAccessMode() == AccessMode.Public ||
+            (bucket.getAccessMode() == AccessMode.RoleBased && availableOrganizationID.contains(bucket.getOrganizationID()));
+  }
+
+  private Collection<ObjectStatisticsResult.FactStatistic> mergeBuckets(List<ObjectFactStatisticsEntity> buckets) {
+    Map<UUID, ObjectStatisticsResult.FactStatistic> statisticsPerType = new HashMap<>();
+    for (ObjectFactStatisticsEntity bucket : buckets) {
+      statisticsPerType.merge(bucket.getFactTypeID(), toFactStatistic(bucket), (a, b) -> new ObjectStatisticsResult.FactStatistic(
+              a.getFactTypeID(),
+              a.getFactCount() + b.getFactCount(),
+              Math.max(a.getLastAddedTimestamp(), b.getLastAddedTimestamp()),
+              Math.max(a.getLastSeenTimestamp(), b.getLastSeenTimestamp())
+      ));
+    }
+    return statisticsPerType.values();
+  }
+
+  private ObjectStatisticsResult.FactStatistic toFactStatistic(ObjectFactStatisticsEntity bucket) {
+    return new ObjectStatisticsResult.FactStatistic(bucket.getFactTypeID(), (int) bucket.getFactCount(),
+            bucket.getLastAddedTimestamp(), bucket.getLastSeenTimestamp());
+  }
+
+}
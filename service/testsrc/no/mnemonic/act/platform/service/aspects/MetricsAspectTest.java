@@ -0,0 +1,87 @@
+package no.mnemonic.act.platform.service.aspects;
+
+import com.google.inject.Guice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import no.mnemonic.act.platform.api.service.v1.RequestHeader;
+import no.mnemonic.act.platform.service.Service;
+import no.mnemonic.act.platform.service.TestSecurityContext;
+import no.mnemonic.act.platform.service.contexts.RequestContext;
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.services.common.auth.model.Credentials;
+import org.junit.Test;
+
+import static no.mnemonic.act.platform.service.aspects.MetricsAspect.*;
+import static org.junit.Assert.*;
+
+public class MetricsAspectTest {
+
+  private final MeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  public void testRecordSuccessfulCall() {
+    TestService service = createService();
+    assertEquals("Called!", service.method(RequestHeader.builder().build(), "Called!"));
+
+    Timer timer = registry.find(CALLS_METRIC)
+            .tags("service", "TestService", "method", "method", "outcome", "success")
+            .timer();
+    assertNotNull(timer);
+    assertEquals(1, timer.count());
+    assertNull(registry.find(ERRORS_METRIC).counter());
+  }
+
+  @Test
+  public void testRecordFailedCall() {
+    TestService service = createService();
+    try {
+      service.method(RequestHeader.builder().build(), null);
+      fail();
+    } catch (IllegalArgumentException ignored) {
+      // Expected.
+    }
+
+    assertEquals(1, registry.find(CALLS_METRIC).tags("outcome", "IllegalArgumentException").timer().count());
+    assertEquals(1, registry.find(ERRORS_METRIC).tags("exception", "IllegalArgumentException").counter().count(), 0.0);
+  }
+
+  @Test
+  public void testRecordInflightCalls() {
+    TestService service = createService();
+    service.setCallback(() -> assertEquals(1, registry.find(INFLIGHT_METRIC).tags("method", "method").gauge().value(), 0.0));
+    service.method(RequestHeader.builder().build(), "Called!");
+
+    assertEquals(0, registry.find(INFLIGHT_METRIC).tags("method", "method").gauge().value(), 0.0);
+  }
+
+  private TestService createService() {
+    return Guice.createInjector(new MetricsAspect(registry)).getInstance(TestService.class);
+  }
+
+  static class TestService implements Service {
+    private Runnable callback = () -> {
+    };
+
+    String method(RequestHeader rh, String something) {
+      callback.run();
+      if (something == null) throw new IllegalArgumentException();
+      return something;
+    }
+
+    void setCallback(Runnable callback) {
+      this.callback = callback;
+    }
+
+    @Override
+    public SecurityContext createSecurityContext(Credentials credentials) {
+      return new TestSecurityContext();
+    }
+
+    @Override
+    public RequestContext createRequestContext() {
+      return new RequestContext();
+    }
+  }
+
+}
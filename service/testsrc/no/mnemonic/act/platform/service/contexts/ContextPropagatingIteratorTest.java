@@ -0,0 +1,82 @@
+package no.mnemonic.act.platform.service.contexts;
+
+import no.mnemonic.act.platform.service.TestSecurityContext;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class ContextPropagatingIteratorTest {
+
+  private SecurityContext securityContext;
+  private RequestContext requestContext;
+
+  @Before
+  public void setUp() {
+    securityContext = SecurityContext.set(new TestSecurityContext());
+    requestContext = RequestContext.set(new RequestContext());
+  }
+
+  @After
+  public void cleanUp() {
+    SecurityContext.clear();
+    RequestContext.clear();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateIteratorWithoutDelegate() {
+    new ContextPropagatingIterator<>(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCreateIteratorWithoutContext() {
+    SecurityContext.clear();
+    new ContextPropagatingIterator<>(ListUtils.list("a").iterator());
+  }
+
+  @Test
+  public void testIterateOutsideContextSetsCapturedContexts() {
+    Iterator<String> iterator = new ContextPropagatingIterator<>(new ContextAssertingIterator());
+    cleanUp();
+
+    assertTrue(iterator.hasNext());
+    assertEquals("a", iterator.next());
+    // Contexts are removed after every call.
+    assertFalse(SecurityContext.isSet());
+    assertFalse(RequestContext.isSet());
+  }
+
+  @Test
+  public void testIterateInsideContextKeepsExistingContexts() {
+    Iterator<String> iterator = new ContextPropagatingIterator<>(new ContextAssertingIterator());
+
+    assertTrue(iterator.hasNext());
+    assertEquals("a", iterator.next());
+    assertSame(securityContext, SecurityContext.get());
+    assertSame(requestContext, RequestContext.get());
+  }
+
+  private class ContextAssertingIterator implements Iterator<String> {
+    @Override
+    public boolean hasNext() {
+      assertContexts();
+      return true;
+    }
+
+    @Override
+    public String next() {
+      assertContexts();
+      return "a";
+    }
+
+    private void assertContexts() {
+      assertSame(securityContext, SecurityContext.get());
+      assertSame(requestContext, RequestContext.get());
+    }
+  }
+
+}
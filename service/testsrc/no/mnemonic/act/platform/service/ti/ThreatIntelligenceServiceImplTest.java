@@ -3,10 +3,13 @@ package no.mnemonic.act.platform.service.ti;
 import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
+import no.mnemonic.act.platform.dao.FactSightingBuffer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCache;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
@@ -37,6 +40,10 @@ public class ThreatIntelligenceServiceImplTest {
   @Mock
   private FactSearchManager factSearchManager;
   @Mock
+  private BulkFactIndexer bulkFactIndexer;
+  @Mock
+  private FactSightingBuffer factSightingBuffer;
+  @Mock
   private EntityHandlerFactory entityHandlerFactory;
   @Mock
   private ValidatorFactory validatorFactory;
@@ -46,7 +53,7 @@ public class ThreatIntelligenceServiceImplTest {
   @Before
   public void initialize() {
     initMocks(this);
-    service = new ThreatIntelligenceServiceImpl(accessController, identityResolver, organizationResolver, subjectResolver, factManager, objectManager, factSearchManager, entityHandlerFactory, validatorFactory);
+    service = new ThreatIntelligenceServiceImpl(accessController, identityResolver, organizationResolver, subjectResolver, factManager, objectManager, factSearchManager, bulkFactIndexer, factSightingBuffer, entityHandlerFactory, validatorFactory, ObjectAccessCache.builder().build());
   }
 
   @Test
@@ -67,6 +74,8 @@ public class ThreatIntelligenceServiceImplTest {
     assertSame(factManager, context.getFactManager());
     assertSame(objectManager, context.getObjectManager());
     assertSame(factSearchManager, context.getFactSearchManager());
+    assertSame(bulkFactIndexer, context.getBulkFactIndexer());
+    assertSame(factSightingBuffer, context.getFactSightingBuffer());
     assertSame(entityHandlerFactory, context.getEntityHandlerFactory());
     assertSame(validatorFactory, context.getValidatorFactory());
   }
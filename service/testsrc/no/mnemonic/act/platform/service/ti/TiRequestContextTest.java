@@ -19,6 +19,11 @@ public class TiRequestContextTest {
     TiRequestContext.builder().build().getFactSearchManager();
   }
 
+  @Test(expected = RuntimeException.class)
+  public void testFactSightingBufferNotSetInContextThrowsException() {
+    TiRequestContext.builder().build().getFactSightingBuffer();
+  }
+
   @Test(expected = RuntimeException.class)
   public void testEntityHandlerFactoryNotSetInContextThrowsException() {
     TiRequestContext.builder().build().getEntityHandlerFactory();
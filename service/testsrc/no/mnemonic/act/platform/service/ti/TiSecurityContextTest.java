@@ -6,9 +6,11 @@ import no.mnemonic.act.platform.auth.IdentityResolver;
 import no.mnemonic.act.platform.auth.OrganizationResolver;
 import no.mnemonic.act.platform.auth.SubjectResolver;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectAccessCache;
 import no.mnemonic.commons.utilities.collections.ListUtils;
 import no.mnemonic.services.common.auth.AccessController;
 import no.mnemonic.services.common.auth.model.Credentials;
@@ -17,10 +19,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.function.Function;
 
 import static no.mnemonic.act.platform.service.ti.TiFunctionConstants.viewFactObjects;
@@ -47,7 +46,9 @@ public class TiSecurityContextTest {
   @Mock
   private Function<UUID, List<FactAclEntity>> aclResolver;
   @Mock
-  private Function<UUID, Iterator<FactEntity>> factsBoundToObjectResolver;
+  private Function<Collection<UUID>, Map<UUID, List<FactAclEntity>>> bulkAclResolver;
+  @Mock
+  private Function<UUID, Iterator<FactAccessInfo>> factsBoundToObjectResolver;
 
   private TiSecurityContext context;
 
@@ -134,6 +135,88 @@ public class TiSecurityContextTest {
     verify(accessController, never()).hasPermission(credentials, viewFactObjects, organization);
   }
 
+  @Test
+  public void testCheckReadPermissionCachesAcl() throws Exception {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setAccessMode(AccessMode.Explicit);
+    UUID currentUserID = UUID.randomUUID();
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(currentUserID).build());
+    when(aclResolver.apply(any())).thenReturn(ListUtils.list(new FactAclEntity().setSubjectID(currentUserID)));
+
+    assertTrue(context.hasReadPermission(fact));
+    assertTrue(context.hasReadPermission(fact));
+    verify(aclResolver).apply(fact.getId());
+  }
+
+  @Test
+  public void testPrefetchAclWithoutBulkAclResolver() throws Exception {
+    FactEntity fact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setAccessMode(AccessMode.Explicit);
+    context.prefetchAcl(ListUtils.list(fact));
+    verifyZeroInteractions(bulkAclResolver);
+  }
+
+  @Test
+  public void testPrefetchAclFetchesAclsAtOnce() throws Exception {
+    TiSecurityContext bulkContext = TiSecurityContext.builder()
+            .setAccessController(accessController)
+            .setIdentityResolver(identityResolver)
+            .setOrganizationResolver(organizationResolver)
+            .setSubjectResolver(subjectResolver)
+            .setCredentials(credentials)
+            .setAclResolver(aclResolver)
+            .setBulkAclResolver(bulkAclResolver)
+            .setFactsBoundToObjectResolver(factsBoundToObjectResolver)
+            .build();
+    FactEntity accessibleFact = new FactEntity().setId(UUID.randomUUID()).setAccessMode(AccessMode.Explicit);
+    FactEntity inaccessibleFact = new FactEntity().setId(UUID.randomUUID()).setAccessMode(AccessMode.Explicit);
+    FactEntity publicFact = new FactEntity().setId(UUID.randomUUID()).setAccessMode(AccessMode.Public);
+    UUID currentUserID = UUID.randomUUID();
+    Map<UUID, List<FactAclEntity>> acls = new HashMap<>();
+    acls.put(accessibleFact.getId(), ListUtils.list(new FactAclEntity().setSubjectID(currentUserID)));
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(currentUserID).build());
+    when(bulkAclResolver.apply(any())).thenReturn(acls);
+
+    bulkContext.prefetchAcl(ListUtils.list(accessibleFact, inaccessibleFact, publicFact));
+    bulkContext.prefetchAcl(ListUtils.list(accessibleFact, inaccessibleFact));
+    assertTrue(bulkContext.hasReadPermission(accessibleFact));
+    assertFalse(bulkContext.hasReadPermission(inaccessibleFact));
+
+    verify(bulkAclResolver).apply(argThat(id -> id.size() == 2 && id.contains(accessibleFact.getId()) && id.contains(inaccessibleFact.getId())));
+    verifyZeroInteractions(aclResolver);
+  }
+
+  @Test
+  public void testPrefetchAclForAccessInfosFetchesAclsAtOnce() throws Exception {
+    TiSecurityContext bulkContext = TiSecurityContext.builder()
+            .setAccessController(accessController)
+            .setIdentityResolver(identityResolver)
+            .setOrganizationResolver(organizationResolver)
+            .setSubjectResolver(subjectResolver)
+            .setCredentials(credentials)
+            .setAclResolver(aclResolver)
+            .setBulkAclResolver(bulkAclResolver)
+            .setFactsBoundToObjectResolver(factsBoundToObjectResolver)
+            .build();
+    FactAccessInfo accessibleFact = new FactAccessInfo().setId(UUID.randomUUID()).setAccessMode(AccessMode.Explicit);
+    FactAccessInfo inaccessibleFact = new FactAccessInfo().setId(UUID.randomUUID()).setAccessMode(AccessMode.Explicit);
+    FactAccessInfo publicFact = new FactAccessInfo().setId(UUID.randomUUID()).setAccessMode(AccessMode.Public);
+    UUID currentUserID = UUID.randomUUID();
+    Map<UUID, List<FactAclEntity>> acls = new HashMap<>();
+    acls.put(accessibleFact.getId(), ListUtils.list(new FactAclEntity().setSubjectID(currentUserID)));
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(currentUserID).build());
+    when(bulkAclResolver.apply(any())).thenReturn(acls);
+
+    bulkContext.prefetchAclForAccessInfos(ListUtils.list(accessibleFact, inaccessibleFact, publicFact));
+    assertTrue(bulkContext.hasReadPermission(accessibleFact));
+    assertFalse(bulkContext.hasReadPermission(inaccessibleFact));
+
+    verify(bulkAclResolver).apply(argThat(id -> id.size() == 2 && id.contains(accessibleFact.getId()) && id.contains(inaccessibleFact.getId())));
+    verifyZeroInteractions(aclResolver);
+  }
+
   @Test(expected = AccessDeniedException.class)
   public void testCheckReadPermissionWithAccessModeRoleBasedNoAccess() throws Exception {
     FactEntity fact = new FactEntity()
@@ -192,6 +275,45 @@ public class TiSecurityContextTest {
     assertFalse(context.hasReadPermission(new FactEntity().setAccessMode(AccessMode.Public)));
   }
 
+  @Test(expected = AccessDeniedException.class)
+  public void testCheckReadPermissionWithoutFactAccessInfo() throws Exception {
+    context.checkReadPermission((FactAccessInfo) null);
+  }
+
+  @Test
+  public void testCheckReadPermissionWithFactAccessInfoRoleBased() throws Exception {
+    FactAccessInfo fact = new FactAccessInfo()
+            .setId(UUID.randomUUID())
+            .setOrganizationID(UUID.randomUUID())
+            .setAccessMode(AccessMode.RoleBased);
+
+    mockHasPermission(fact.getOrganizationID(), true);
+    context.checkReadPermission(fact);
+    verify(aclResolver).apply(fact.getId());
+    verify(accessController).hasPermission(credentials, viewFactObjects, organization);
+  }
+
+  @Test
+  public void testHasReadPermissionWithFactAccessInfoExplicitUserInAcl() throws Exception {
+    FactAccessInfo fact = new FactAccessInfo()
+            .setId(UUID.randomUUID())
+            .setAccessMode(AccessMode.Explicit);
+    UUID currentUserID = UUID.randomUUID();
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(currentUserID).build());
+    when(aclResolver.apply(any())).thenReturn(ListUtils.list(new FactAclEntity().setSubjectID(currentUserID)));
+
+    assertTrue(context.hasReadPermission(fact));
+    verify(accessController, never()).hasPermission(credentials, viewFactObjects, organization);
+  }
+
+  @Test
+  public void testHasReadPermissionWithFactAccessInfoExplicitNoAccess() throws Exception {
+    FactAccessInfo fact = new FactAccessInfo()
+            .setId(UUID.randomUUID())
+            .setAccessMode(AccessMode.Explicit);
+    assertFalse(context.hasReadPermission(fact));
+  }
+
   @Test(expected = AccessDeniedException.class)
   public void testCheckReadPermissionForObjectWithoutObject() throws Exception {
     context.checkReadPermission((ObjectEntity) null);
@@ -220,7 +342,7 @@ public class TiSecurityContextTest {
   @Test
   public void testCheckReadPermissionForObjectWithAccessToSecondFact() throws Exception {
     ObjectEntity object = new ObjectEntity().setId(UUID.randomUUID());
-    FactEntity fact = new FactEntity().setAccessMode(AccessMode.Public);
+    FactAccessInfo fact = new FactAccessInfo().setAccessMode(AccessMode.Public);
     when(factsBoundToObjectResolver.apply(object.getId())).thenReturn(ListUtils.list(fact, fact, fact).iterator());
     when(accessController.hasPermission(credentials, viewFactObjects)).thenReturn(false, true, false);
     context.checkReadPermission(object);
@@ -239,9 +361,64 @@ public class TiSecurityContextTest {
     assertFalse(context.hasReadPermission(object));
   }
 
+  @Test
+  public void testCheckReadPermissionForObjectCachesDecision() throws Exception {
+    TiSecurityContext cachingContext = createCachingContext();
+    ObjectEntity object = mockCheckPermissionForObject(true);
+
+    assertTrue(cachingContext.hasReadPermission(object));
+    assertTrue(cachingContext.hasReadPermission(object));
+    verify(factsBoundToObjectResolver).apply(object.getId());
+  }
+
+  @Test
+  public void testCheckReadPermissionForObjectCachesDecisionPerUser() throws Exception {
+    TiSecurityContext cachingContext = createCachingContext();
+    ObjectEntity object = mockCheckPermissionForObject(false);
+
+    assertFalse(cachingContext.hasReadPermission(object));
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(UUID.randomUUID()).build());
+    when(factsBoundToObjectResolver.apply(object.getId())).thenReturn(ListUtils.list(new FactAccessInfo().setAccessMode(AccessMode.Public)).iterator());
+    assertFalse(cachingContext.hasReadPermission(object));
+    verify(factsBoundToObjectResolver, times(2)).apply(object.getId());
+  }
+
+  @Test
+  public void testInvalidateObjectAccessDiscardsCachedDecision() throws Exception {
+    TiSecurityContext cachingContext = createCachingContext();
+    ObjectEntity object = mockCheckPermissionForObject(false);
+    assertFalse(cachingContext.hasReadPermission(object));
+
+    cachingContext.invalidateObjectAccess(object.getId());
+    mockCheckPermissionForObject(object, true);
+    assertTrue(cachingContext.hasReadPermission(object));
+  }
+
+  @Test
+  public void testInvalidateObjectAccessWithoutCache() {
+    context.invalidateObjectAccess(UUID.randomUUID());
+  }
+
+  private TiSecurityContext createCachingContext() throws Exception {
+    when(subjectResolver.resolveCurrentUser(any())).thenReturn(Subject.builder().setId(UUID.randomUUID()).build());
+    return TiSecurityContext.builder()
+            .setAccessController(accessController)
+            .setIdentityResolver(identityResolver)
+            .setOrganizationResolver(organizationResolver)
+            .setSubjectResolver(subjectResolver)
+            .setCredentials(credentials)
+            .setAclResolver(aclResolver)
+            .setFactsBoundToObjectResolver(factsBoundToObjectResolver)
+            .setObjectAccessCache(ObjectAccessCache.builder().build())
+            .build();
+  }
+
   private ObjectEntity mockCheckPermissionForObject(boolean result) throws Exception {
-    ObjectEntity object = new ObjectEntity().setId(UUID.randomUUID());
-    FactEntity fact = new FactEntity().setAccessMode(AccessMode.Public);
+    return mockCheckPermissionForObject(new ObjectEntity().setId(UUID.randomUUID()), result);
+  }
+
+  private ObjectEntity mockCheckPermissionForObject(ObjectEntity object, boolean result) throws Exception {
+    FactAccessInfo fact = new FactAccessInfo().setAccessMode(AccessMode.Public);
     when(factsBoundToObjectResolver.apply(object.getId())).thenReturn(ListUtils.list(fact).iterator());
     mockHasPermission(result); // Mock access to public Fact.
     return object;
@@ -61,6 +61,29 @@ public class FactConverterTest {
     assertNull(converter.apply(createEntity()).getInReferenceTo());
   }
 
+  @Test
+  public void testConvertFactAppliesPendingSighting() {
+    FactConverter converter = FactConverter.builder()
+            .setFactTypeConverter(factTypeConverter)
+            .setOrganizationConverter(organizationConverter)
+            .setSourceConverter(sourceConverter)
+            .setObjectConverter(objectConverter)
+            .setFactEntityResolver(factEntityResolver)
+            .setAccessChecker(accessChecker)
+            .setSightingMerger(fact -> fact.clone().setLastSeenTimestamp(999999999))
+            .build();
+    FactEntity entity = createEntity();
+
+    assertEquals(999999999, converter.apply(entity).getLastSeenTimestamp());
+    // The converted entity must not be changed.
+    assertEquals(987654321, entity.getLastSeenTimestamp());
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateConverterWithNullSightingMergerThrowsException() {
+    FactConverter.builder().setSightingMerger(null);
+  }
+
   @Test(expected = RuntimeException.class)
   public void testCreateConverterWithoutFactTypeConverterThrowsException() {
     FactConverter.builder()
@@ -1,7 +1,9 @@
 package no.mnemonic.act.platform.service.ti.delegates;
 
+import no.mnemonic.act.platform.dao.FactSightingBuffer;
 import no.mnemonic.act.platform.dao.cassandra.FactManager;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.elastic.BulkFactIndexer;
 import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
 import no.mnemonic.act.platform.dao.handlers.EntityHandlerFactory;
 import no.mnemonic.act.platform.service.contexts.RequestContext;
@@ -30,6 +32,10 @@ abstract class AbstractDelegateTest {
   @Mock
   private FactSearchManager factSearchManager;
   @Mock
+  private BulkFactIndexer bulkFactIndexer;
+  @Mock
+  private FactSightingBuffer factSightingBuffer;
+  @Mock
   private EntityHandlerFactory entityHandlerFactory;
   @Mock
   private ValidatorFactory validatorFactory;
@@ -54,6 +60,8 @@ abstract class AbstractDelegateTest {
             .setObjectManager(objectManager)
             .setFactManager(factManager)
             .setFactSearchManager(factSearchManager)
+            .setBulkFactIndexer(bulkFactIndexer)
+            .setFactSightingBuffer(factSightingBuffer)
             .setEntityHandlerFactory(entityHandlerFactory)
             .setValidatorFactory(validatorFactory)
             .setObjectTypeConverter(objectTypeConverter)
@@ -96,6 +104,14 @@ abstract class AbstractDelegateTest {
     return factSearchManager;
   }
 
+  BulkFactIndexer getBulkFactIndexer() {
+    return bulkFactIndexer;
+  }
+
+  FactSightingBuffer getFactSightingBuffer() {
+    return factSightingBuffer;
+  }
+
   EntityHandlerFactory getEntityHandlerFactory() {
     return entityHandlerFactory;
   }
@@ -0,0 +1,338 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.model.v1.Organization;
+import no.mnemonic.act.platform.api.request.v1.AccessMode;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
+import no.mnemonic.act.platform.api.request.v1.CreateFactsRequest;
+import no.mnemonic.act.platform.api.request.v1.Direction;
+import no.mnemonic.act.platform.api.service.v1.ResultSet;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactAccessInfo;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.SearchResult;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.act.platform.service.ti.helpers.FactStorageHelper;
+import no.mnemonic.act.platform.service.ti.helpers.FactTypeResolver;
+import no.mnemonic.act.platform.service.ti.helpers.ObjectResolver;
+import no.mnemonic.act.platform.service.validators.Validator;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class FactCreateBatchDelegateTest extends AbstractDelegateTest {
+
+  @Mock
+  private FactTypeResolver factTypeResolver;
+  @Mock
+  private ObjectResolver objectResolver;
+  @Mock
+  private FactStorageHelper factStorageHelper;
+
+  private FactCreateBatchDelegate delegate;
+  private ObjectEntity object;
+
+  @Before
+  public void setup() throws Exception {
+    // initMocks() will be called by base class.
+    delegate = FactCreateBatchDelegate.builder()
+            .setFactTypeResolver(factTypeResolver)
+            .setObjectResolver(objectResolver)
+            .setFactStorageHelper(factStorageHelper)
+            .build();
+
+    // Mock stuff needed for validation.
+    UUID objectTypeID = UUID.randomUUID();
+    mockFetchingFactType(objectTypeID);
+    object = mockFetchingObject(objectTypeID);
+    mockValidator(true);
+
+    // Mock stuff needed for saving Facts.
+    when(getFactSearchManager().retrieveExistingFactsInBatch(any())).then(i -> i.<List<?>>getArgument(0)
+            .stream()
+            .map(c -> SearchResult.<FactDocument>builder().build())
+            .collect(Collectors.toList()));
+    when(factStorageHelper.saveInitialAclForNewFacts(any(), any())).then(i -> i.getArgument(1));
+    mockFactConverter();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateDelegateWithoutFactTypeResolver() {
+    FactCreateBatchDelegate.builder()
+            .setObjectResolver(objectResolver)
+            .setFactStorageHelper(factStorageHelper)
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateDelegateWithoutObjectResolver() {
+    FactCreateBatchDelegate.builder()
+            .setFactTypeResolver(factTypeResolver)
+            .setFactStorageHelper(factStorageHelper)
+            .build();
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testCreateDelegateWithoutFactStorageHelper() {
+    FactCreateBatchDelegate.builder()
+            .setObjectResolver(objectResolver)
+            .setFactTypeResolver(factTypeResolver)
+            .build();
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testCreateFactsWithoutAddPermission() throws Exception {
+    CreateFactRequest request = createRequest("value");
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.addFactObjects, request.getOrganization());
+    delegate.handle(new CreateFactsRequest().addFact(request));
+  }
+
+  @Test
+  public void testCreateFactsReportsAllValidationErrors() throws Exception {
+    Validator validator = mockValidator(true);
+    when(validator.validate("invalid")).thenReturn(false);
+
+    try {
+      delegate.handle(new CreateFactsRequest()
+              .addFact(createRequest("invalid"))
+              .addFact(createRequest("value"))
+              .addFact(createRequest("invalid")));
+      fail();
+    } catch (InvalidArgumentException ex) {
+      Set<String> properties = ex.getValidationErrors()
+              .stream()
+              .map(InvalidArgumentException.ValidationError::getProperty)
+              .collect(Collectors.toSet());
+      assertEquals(SetUtils.set("facts[0].value", "facts[2].value"), properties);
+    }
+
+    verify(getFactManager(), never()).saveFacts(any());
+    verify(getBulkFactIndexer(), never()).index(any());
+  }
+
+  @Test
+  public void testCreateFacts() throws Exception {
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value1"))
+            .addFact(createRequest("value2"));
+
+    ResultSet<Fact> result = delegate.handle(request);
+    assertEquals(2, result.getCount());
+    assertEquals(2, result.getValues().size());
+
+    // FactType and Object are only resolved once per batch.
+    verify(factTypeResolver).resolveFactType("factType");
+    verify(objectResolver).resolveObject(any(), any(), any());
+    // All Facts are written and indexed together.
+    verify(getFactSearchManager()).retrieveExistingFactsInBatch(argThat(criteria -> criteria.size() == 2));
+    verify(getFactManager()).saveFacts(argThat(facts -> facts.size() == 2));
+    verify(getObjectManager()).saveObjectFactBindings(argThat(bindings -> bindings.size() == 2 &&
+            bindings.stream().allMatch(b -> Objects.equals(object.getId(), b.getObjectID()) && b.getFactBindingsStored() != null)));
+    verify(getObjectManager()).saveObjectFactStatistics(argThat(facts -> facts.size() == 2));
+    verify(factStorageHelper).saveInitialAclForNewFacts(argThat(facts -> facts.size() == 2), any());
+    verify(getBulkFactIndexer(), times(2)).index(argThat(document -> document.getObjects().size() == 1));
+    verify(getFactSearchManager(), never()).indexFacts(any());
+    verify(getFactManager(), never()).saveFact(any());
+    verify(getFactSearchManager(), never()).indexFact(any());
+    verify(factStorageHelper, times(2)).saveCommentForFact(any(), eq("Hello World!"));
+    verify(getSecurityContext(), times(2)).invalidateObjectAccess(object.getId());
+    verify(getTriggerContext(), times(2)).registerTriggerEvent(any());
+  }
+
+  @Test
+  public void testCreateFactsWithDuplicatedFact() throws Exception {
+    CreateFactsRequest request = new CreateFactsRequest()
+            .addFact(createRequest("value"))
+            .addFact(createRequest("value"));
+    // Make the second request identical to the first one.
+    request.getFacts().get(1)
+            .setOrganization(request.getFacts().get(0).getOrganization())
+            .setSource(request.getFacts().get(0).getSource());
+
+    List<Fact> result = new ArrayList<>(delegate.handle(request).getValues());
+    assertEquals(2, result.size());
+    assertEquals(result.get(0).getId(), result.get(1).getId());
+
+    verify(getFactManager()).saveFacts(argThat(facts -> facts.size() == 1));
+    verify(factStorageHelper).saveInitialAclForNewFacts(any(), argThat(acl -> acl.size() == 1 &&
+            acl.values().iterator().next().size() == 2));
+    verify(getBulkFactIndexer()).index(any());
+    verify(getFactSightingBuffer(), never()).recordSighting(any());
+  }
+
+  @Test
+  public void testCreateFactsRefreshesExistingFact() throws Exception {
+    CreateFactRequest request = createRequest("value");
+    FactEntity existingFact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setAccessMode(no.mnemonic.act.platform.dao.cassandra.entity.AccessMode.RoleBased)
+            .setOrganizationID(request.getOrganization())
+            .setLastSeenTimestamp(123);
+
+    mockFetchingExistingFact(existingFact, 1);
+
+    // Mock stuff needed for refreshing Fact.
+    when(getFactSightingBuffer().recordSighting(existingFact)).thenReturn(existingFact);
+    when(factStorageHelper.saveAdditionalAclForFact(existingFact, request.getAcl())).thenReturn(request.getAcl());
+
+    delegate.handle(new CreateFactsRequest().addFact(request));
+
+    verify(getSecurityContext()).prefetchAclForAccessInfos(argThat(infos -> infos.size() == 1));
+    verify(getFactSightingBuffer()).recordSighting(existingFact);
+    verify(getFactManager(), never()).refreshFact(any());
+    verify(factStorageHelper).saveAdditionalAclForFact(same(existingFact), eq(request.getAcl()));
+    verify(getBulkFactIndexer()).addAclEntries(argThat(document -> Objects.equals(existingFact.getId(), document.getId()) &&
+            Objects.equals(document.getAcl(), SetUtils.set(request.getAcl()))));
+    verify(getBulkFactIndexer(), never()).index(any());
+    verify(getFactSearchManager(), never()).getFact(any());
+    verify(getFactManager(), never()).saveFacts(any());
+    verify(getFactConverter()).apply(same(existingFact));
+  }
+
+  @Test
+  public void testCreateFactsRefreshesExistingFactOnlyOnce() throws Exception {
+    CreateFactRequest request1 = createRequest("value");
+    CreateFactRequest request2 = createRequest("value");
+    FactEntity existingFact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setAccessMode(no.mnemonic.act.platform.dao.cassandra.entity.AccessMode.RoleBased)
+            .setOrganizationID(request1.getOrganization())
+            .setLastSeenTimestamp(123);
+
+    // Both requested Facts resolve to the same existing Fact.
+    mockFetchingExistingFact(existingFact, 2);
+    when(getFactSightingBuffer().recordSighting(existingFact)).thenReturn(existingFact);
+    when(factStorageHelper.saveAdditionalAclForFact(same(existingFact), any())).then(i -> i.getArgument(1));
+
+    List<Fact> result = new ArrayList<>(delegate.handle(new CreateFactsRequest().addFact(request1).addFact(request2)).getValues());
+    assertEquals(2, result.size());
+    assertEquals(existingFact.getId(), result.get(0).getId());
+    assertEquals(existingFact.getId(), result.get(1).getId());
+
+    List<UUID> requestedAcl = new ArrayList<>(request1.getAcl());
+    requestedAcl.addAll(request2.getAcl());
+    verify(getFactManager()).getFacts(ListUtils.list(existingFact.getId()));
+    verify(getFactSightingBuffer()).recordSighting(existingFact);
+    verify(factStorageHelper).saveAdditionalAclForFact(same(existingFact), eq(requestedAcl));
+    verify(getBulkFactIndexer()).addAclEntries(argThat(document -> Objects.equals(existingFact.getId(), document.getId()) &&
+            Objects.equals(document.getAcl(), SetUtils.set(requestedAcl))));
+    verify(getFactManager(), never()).saveFacts(any());
+    verify(factStorageHelper, times(2)).saveCommentForFact(same(existingFact), eq("Hello World!"));
+  }
+
+  @Test
+  public void testCreateFactsSkipsInaccessibleExistingFact() throws Exception {
+    CreateFactRequest request = createRequest("value");
+    FactAccessInfo info = new FactAccessInfo()
+            .setId(UUID.randomUUID())
+            .setAccessMode(no.mnemonic.act.platform.dao.cassandra.entity.AccessMode.Explicit);
+
+    when(getFactSearchManager().retrieveExistingFactsInBatch(any())).thenReturn(ListUtils.list(SearchResult.<FactDocument>builder()
+            .setCount(1)
+            .addValue(new FactDocument().setId(info.getId()))
+            .build()));
+    when(getFactManager().getFactAccessInfos(ListUtils.list(info.getId()))).thenReturn(ListUtils.list(info).iterator());
+    when(getSecurityContext().hasReadPermission(info)).thenReturn(false);
+
+    delegate.handle(new CreateFactsRequest().addFact(request));
+
+    // The inaccessible Fact is never fetched completely, instead a new Fact is created.
+    verify(getFactManager(), never()).getFacts(any());
+    verify(getFactSightingBuffer(), never()).recordSighting(any());
+    verify(getFactManager()).saveFacts(argThat(facts -> facts.size() == 1));
+    verify(getBulkFactIndexer()).index(any());
+  }
+
+  private void mockFetchingExistingFact(FactEntity existingFact, int numberOfRequests) {
+    FactAccessInfo info = new FactAccessInfo()
+            .setId(existingFact.getId())
+            .setTypeID(existingFact.getTypeID())
+            .setOrganizationID(existingFact.getOrganizationID())
+            .setAccessMode(existingFact.getAccessMode());
+    SearchResult<FactDocument> result = SearchResult.<FactDocument>builder()
+            .setCount(1)
+            .addValue(new FactDocument().setId(existingFact.getId()))
+            .build();
+
+    when(getFactSearchManager().retrieveExistingFactsInBatch(any())).thenReturn(Collections.nCopies(numberOfRequests, result));
+    when(getFactManager().getFactAccessInfos(ListUtils.list(existingFact.getId()))).thenReturn(ListUtils.list(info).iterator());
+    when(getSecurityContext().hasReadPermission(info)).thenReturn(true);
+    when(getFactManager().getFacts(ListUtils.list(existingFact.getId()))).thenReturn(ListUtils.list(existingFact).iterator());
+  }
+
+  private void mockFetchingFactType(UUID objectTypeID) throws Exception {
+    FactTypeEntity.FactObjectBindingDefinition definition = new FactTypeEntity.FactObjectBindingDefinition()
+            .setObjectTypeID(objectTypeID)
+            .setDirection(no.mnemonic.act.platform.dao.cassandra.entity.Direction.BiDirectional);
+    FactTypeEntity type = new FactTypeEntity()
+            .setId(UUID.randomUUID())
+            .setName("factType")
+            .setValidator("validator")
+            .setValidatorParameter("validatorParameter")
+            .setRelevantObjectBindings(ListUtils.list(definition));
+
+    when(factTypeResolver.resolveFactType(type.getName())).thenReturn(type);
+  }
+
+  private ObjectEntity mockFetchingObject(UUID objectTypeID) throws Exception {
+    ObjectEntity object = new ObjectEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(objectTypeID)
+            .setValue("objectValue");
+
+    when(getObjectManager().getObjectType(objectTypeID)).thenReturn(new ObjectTypeEntity().setId(objectTypeID).setName("objectType"));
+    when(objectResolver.resolveObject(any(), any(), any())).thenReturn(object);
+
+    return object;
+  }
+
+  private Validator mockValidator(boolean valid) {
+    Validator validator = mock(Validator.class);
+
+    when(validator.validate(anyString())).thenReturn(valid);
+    when(getValidatorFactory().get(anyString(), anyString())).thenReturn(validator);
+
+    return validator;
+  }
+
+  private void mockFactConverter() {
+    // Mock FactConverter needed for registering TriggerEvent.
+    when(getFactConverter().apply(any())).then(i -> {
+      FactEntity entity = i.getArgument(0);
+      return Fact.builder()
+              .setId(entity.getId())
+              .setAccessMode(no.mnemonic.act.platform.api.model.v1.AccessMode.valueOf(entity.getAccessMode().name()))
+              .setOrganization(Organization.builder().setId(entity.getOrganizationID()).build().toInfo())
+              .build();
+    });
+  }
+
+  private CreateFactRequest createRequest(String value) {
+    return new CreateFactRequest()
+            .setType("factType")
+            .setValue(value)
+            .setOrganization(UUID.randomUUID())
+            .setSource(UUID.randomUUID())
+            .setComment("Hello World!")
+            .setAccessMode(AccessMode.RoleBased)
+            .setAcl(ListUtils.list(UUID.randomUUID()))
+            .addBinding(new CreateFactRequest.FactObjectBinding()
+                    .setObjectType("objectType")
+                    .setObjectValue("objectValue")
+                    .setDirection(Direction.BiDirectional));
+  }
+
+}
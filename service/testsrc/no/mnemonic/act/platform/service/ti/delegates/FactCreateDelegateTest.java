@@ -23,8 +23,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -124,11 +126,14 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
 
     delegate.handle(request);
 
+    verify(objectResolver).resolveObjects(request.getBindings());
     verify(getFactManager()).saveFact(matchFactEntity(request));
     verify(getObjectManager()).saveObjectFactBinding(matchObjectFactBindingEntity(request.getBindings().get(0)));
+    verify(getObjectManager()).saveObjectFactStatistics(argThat(facts -> facts.size() == 1 && facts.get(0).getId() != null));
     verify(factStorageHelper).saveInitialAclForNewFact(matchFactEntity(request), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(matchFactEntity(request), eq(request.getComment()));
-    verify(getFactSearchManager()).indexFact(matchFactDocument(request));
+    verify(getBulkFactIndexer()).index(matchFactDocument(request));
+    verify(getSecurityContext()).invalidateObjectAccess(notNull());
     verify(getFactConverter()).apply(matchFactEntity(request));
   }
 
@@ -217,27 +222,76 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
                     .setCount(1)
                     .addValue(new FactDocument().setId(existingFact.getId()))
                     .build());
-    when(getFactManager().getFacts(ListUtils.list(existingFact.getId()))).thenReturn(ListUtils.list(existingFact).iterator());
-    when(getSecurityContext().hasReadPermission(existingFact)).thenReturn(true);
+    mockFetchingExistingFact(existingFact);
 
     // Mock stuff needed for refreshing Fact.
-    when(getFactManager().refreshFact(existingFact.getId())).thenReturn(existingFact);
-    when(getFactSearchManager().getFact(existingFact.getId())).thenReturn(new FactDocument());
+    when(getFactSightingBuffer().recordSighting(existingFact)).thenReturn(existingFact);
     when(factStorageHelper.saveAdditionalAclForFact(existingFact, request.getAcl())).thenReturn(request.getAcl());
 
     mockFactConverter();
 
     delegate.handle(request);
 
-    verify(getFactManager()).refreshFact(existingFact.getId());
+    verify(getSecurityContext()).prefetchAclForAccessInfos(argThat(infos -> infos.size() == 1));
+    verify(getFactSightingBuffer()).recordSighting(existingFact);
+    verify(getFactManager(), never()).refreshFact(any());
     verify(factStorageHelper).saveAdditionalAclForFact(same(existingFact), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(same(existingFact), eq(request.getComment()));
-    verify(getFactSearchManager()).indexFact(argThat(document -> document.getLastSeenTimestamp() > 0 &&
+    // Only the new ACL entries are sent to ElasticSearch instead of re-indexing the whole Fact.
+    verify(getBulkFactIndexer()).addAclEntries(argThat(document -> Objects.equals(existingFact.getId(), document.getId()) &&
             Objects.equals(document.getAcl(), SetUtils.set(request.getAcl()))));
+    verify(getBulkFactIndexer(), never()).index(any());
     verify(getFactManager(), never()).saveFact(any());
     verify(getFactConverter()).apply(same(existingFact));
   }
 
+  @Test
+  public void testRefreshExistingFactWithoutChangedAclSkipsReindexing() throws Exception {
+    CreateFactRequest.FactObjectBinding binding = createBindingRequest();
+    CreateFactRequest request = createRequest().addBinding(binding);
+
+    // Mock stuff needed for validation.
+    UUID objectTypeID = UUID.randomUUID();
+    FactTypeEntity type = mockFetchingFactType(objectTypeID);
+    mockFetchingObject(binding.getObjectID(), objectTypeID);
+    mockValidator(true);
+
+    FactEntity existingFact = new FactEntity()
+            .setId(UUID.randomUUID())
+            .setTypeID(type.getId())
+            .setValue(request.getValue())
+            .setSourceID(request.getSource())
+            .setOrganizationID(request.getOrganization())
+            .setAccessMode(no.mnemonic.act.platform.dao.cassandra.entity.AccessMode.valueOf(request.getAccessMode().name()))
+            .setLastSeenTimestamp(123)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding()
+                    .setObjectID(binding.getObjectID())
+                    .setDirection(no.mnemonic.act.platform.dao.cassandra.entity.Direction.valueOf(binding.getDirection().name()))
+            ));
+
+    // Mock fetching of existing Fact.
+    when(getFactSearchManager().retrieveExistingFacts(matchFactExistenceSearchCriteria(request)))
+            .thenReturn(SearchResult.<FactDocument>builder()
+                    .setCount(1)
+                    .addValue(new FactDocument().setId(existingFact.getId()))
+                    .build());
+    mockFetchingExistingFact(existingFact);
+
+    // Mock stuff needed for refreshing Fact.
+    when(getFactSightingBuffer().recordSighting(existingFact)).thenReturn(existingFact);
+    when(factStorageHelper.saveAdditionalAclForFact(existingFact, request.getAcl())).thenReturn(ListUtils.list());
+
+    mockFactConverter();
+
+    delegate.handle(request);
+
+    verify(getFactSightingBuffer()).recordSighting(existingFact);
+    // 'lastSeenTimestamp' is updated by the FactSightingBuffer, thus, no need to re-index the Fact.
+    verify(getBulkFactIndexer(), never()).addAclEntries(any());
+    verify(getBulkFactIndexer(), never()).index(any());
+    verify(getFactConverter()).apply(same(existingFact));
+  }
+
   private CreateFactRequest mockCreateFact() throws Exception {
     // Create request object.
     CreateFactRequest.FactObjectBinding binding = createBindingRequest();
@@ -288,7 +342,10 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
 
     when(getObjectManager().getObject(id)).thenReturn(object);
     when(getObjectManager().getObjectType(objectTypeID)).thenReturn(new ObjectTypeEntity().setId(objectTypeID).setName("objectType"));
-    when(objectResolver.resolveObject(any(), any(), any())).thenReturn(object);
+    when(objectResolver.resolveObjects(any())).then(i -> i.<List<?>>getArgument(0)
+            .stream()
+            .map(binding -> object)
+            .collect(Collectors.toList()));
   }
 
   private Validator mockValidator(boolean valid) {
@@ -332,6 +389,17 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
             .setDirection(Direction.BiDirectional);
   }
 
+  private void mockFetchingExistingFact(FactEntity existingFact) {
+    FactAccessInfo info = new FactAccessInfo()
+            .setId(existingFact.getId())
+            .setTypeID(existingFact.getTypeID())
+            .setOrganizationID(existingFact.getOrganizationID())
+            .setAccessMode(existingFact.getAccessMode());
+    when(getFactManager().getFactAccessInfos(ListUtils.list(existingFact.getId()))).thenReturn(ListUtils.list(info).iterator());
+    when(getSecurityContext().hasReadPermission(info)).thenReturn(true);
+    when(getFactManager().getFact(existingFact.getId())).thenReturn(existingFact);
+  }
+
   private FactEntity matchFactEntity(CreateFactRequest request) {
     return argThat(entity -> {
       assertNotNull(entity.getId());
@@ -379,6 +447,9 @@ public class FactCreateDelegateTest extends AbstractDelegateTest {
       assertNotNull(entity.getFactID());
       assertEquals(requestedBinding.getObjectID(), entity.getObjectID());
       assertEquals(requestedBinding.getDirection().name(), entity.getDirection().name());
+      assertNotNull(entity.getFactTypeID());
+      assertNotNull(entity.getAccessMode());
+      assertNotNull(entity.getFactBindingsStored());
       return true;
     });
   }
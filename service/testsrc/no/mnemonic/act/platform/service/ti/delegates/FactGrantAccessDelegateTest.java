@@ -7,11 +7,12 @@ import no.mnemonic.act.platform.api.request.v1.GrantFactAccessRequest;
 import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactAclEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
-import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
 import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
 import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
 import org.junit.Test;
 
+import java.util.Objects;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -62,23 +63,28 @@ public class FactGrantAccessDelegateTest extends AbstractDelegateTest {
     FactGrantAccessDelegate.create().handle(request);
 
     verify(getFactManager(), never()).saveFactAclEntry(any());
-    verify(getFactSearchManager(), never()).indexFact(any());
+    verify(getBulkFactIndexer(), never()).addAclEntries(any());
+    verify(getSecurityContext(), never()).invalidateObjectAccess(any());
     verify(getAclEntryConverter()).apply(matchFactAclEntity(request, existingEntry.getSourceID()));
   }
 
   @Test
   public void testGrantFactAccess() throws Exception {
     UUID currentUser = UUID.randomUUID();
+    UUID objectID = UUID.randomUUID();
     GrantFactAccessRequest request = createGrantAccessRequest();
-    when(getFactManager().getFact(request.getFact())).thenReturn(createFactEntity(request));
-    when(getFactSearchManager().getFact(request.getFact())).thenReturn(new FactDocument());
+    when(getFactManager().getFact(request.getFact())).thenReturn(createFactEntity(request)
+            .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(objectID))));
     when(getFactManager().saveFactAclEntry(any())).then(i -> i.getArgument(0));
     when(getSecurityContext().getCurrentUserID()).thenReturn(currentUser);
 
     FactGrantAccessDelegate.create().handle(request);
 
     verify(getFactManager()).saveFactAclEntry(matchFactAclEntity(request, currentUser));
-    verify(getFactSearchManager()).indexFact(argThat(document -> document.getAcl().contains(request.getSubject())));
+    verify(getBulkFactIndexer()).addAclEntries(argThat(document -> Objects.equals(request.getFact(), document.getId())
+            && Objects.equals(SetUtils.set(request.getSubject()), document.getAcl())
+            && document.getObjects().iterator().next().getId().equals(objectID)));
+    verify(getSecurityContext()).invalidateObjectAccess(objectID);
     verify(getAclEntryConverter()).apply(matchFactAclEntity(request, currentUser));
   }
 
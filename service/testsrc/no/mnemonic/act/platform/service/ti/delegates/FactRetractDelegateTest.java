@@ -96,6 +96,9 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
     verify(getFactManager()).saveFact(matchFactEntity(request));
     verify(factStorageHelper).saveInitialAclForNewFact(matchFactEntity(request), eq(request.getAcl()));
     verify(factStorageHelper).saveCommentForFact(matchFactEntity(request), eq(request.getComment()));
+    // Access to the Objects bound to the retracted Fact might have changed.
+    UUID objectID = getFactManager().getFact(request.getFact()).getBindings().get(0).getObjectID();
+    verify(getSecurityContext()).invalidateObjectAccess(objectID);
     verify(getFactConverter(), times(2)).apply(matchFactEntity(request));
   }
 
@@ -151,8 +154,12 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
       assertNotNull(binding.getFactID());
       assertNotNull(binding.getObjectID());
       assertEquals(Direction.None, binding.getDirection());
+      assertNotNull(binding.getFactTypeID());
+      assertNotNull(binding.getAccessMode());
       return true;
     }));
+    verify(getObjectManager()).saveObjectFactStatistics(argThat(facts -> facts.size() == 1
+            && Objects.equals(request.getFact(), facts.get(0).getInReferenceToID())));
   }
 
   @Test
@@ -161,7 +168,9 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
 
     delegate.handle(request);
 
-    verify(getFactSearchManager(), times(2)).indexFact(matchFactDocument(request));
+    verify(getBulkFactIndexer()).index(matchFactDocument(request));
+    // The retracted Fact is only marked as retracted instead of being re-indexed.
+    verify(getBulkFactIndexer()).markRetracted(argThat(document -> Objects.equals(request.getFact(), document.getId())));
   }
 
   @Test
@@ -193,7 +202,6 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
             .setBindings(ListUtils.list(new FactEntity.FactObjectBinding().setObjectID(object.getId()).setDirection(Direction.None)));
 
     // Needed for indexing into ElasticSearch.
-    when(getFactSearchManager().getFact(request.getFact())).thenReturn(new FactDocument().setId(request.getFact()));
     when(getObjectManager().getObject(object.getId())).thenReturn(object);
     when(getObjectManager().getObjectType(object.getTypeID())).thenReturn(new ObjectTypeEntity().setId(object.getTypeID()).setName("objectType"));
 
@@ -248,12 +256,6 @@ public class FactRetractDelegateTest extends AbstractDelegateTest {
 
   private FactDocument matchFactDocument(RetractFactRequest request) {
     return argThat(document -> {
-      // Verify that the retracted Fact is updated correctly.
-      if (Objects.equals(request.getFact(), document.getId())) {
-        assertTrue(document.isRetracted());
-        return true;
-      }
-
       // Verify that retraction Fact is index correctly.
       assertNotNull(document.getId());
       assertFalse(document.isRetracted());
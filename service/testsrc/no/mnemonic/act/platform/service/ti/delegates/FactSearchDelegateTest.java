@@ -81,6 +81,7 @@ public class FactSearchDelegateTest extends AbstractDelegateTest {
 
     verify(getFactSearchManager()).searchFacts(any());
     verify(getFactManager()).getFacts(any());
+    verify(getSecurityContext()).prefetchAcl(argThat(facts -> facts.size() == 1));
     verify(getFactConverter()).apply(any());
     verify(getSecurityContext()).hasReadPermission(isA(FactEntity.class));
   }
@@ -0,0 +1,147 @@
+package no.mnemonic.act.platform.service.ti.delegates;
+
+import com.google.common.collect.Lists;
+import no.mnemonic.act.platform.api.exceptions.AccessDeniedException;
+import no.mnemonic.act.platform.api.model.v1.Fact;
+import no.mnemonic.act.platform.api.request.v1.SearchFactRequest;
+import no.mnemonic.act.platform.api.service.v1.StreamingResultSet;
+import no.mnemonic.act.platform.dao.cassandra.entity.FactEntity;
+import no.mnemonic.act.platform.dao.elastic.document.FactDocument;
+import no.mnemonic.act.platform.dao.elastic.document.ScrollingSearchResult;
+import no.mnemonic.act.platform.service.contexts.RequestContext;
+import no.mnemonic.act.platform.service.contexts.SecurityContext;
+import no.mnemonic.act.platform.service.ti.TiFunctionConstants;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class FactStreamDelegateTest extends AbstractDelegateTest {
+
+  private final List<UUID> page1 = ListUtils.list(UUID.randomUUID(), UUID.randomUUID());
+  private final List<UUID> page2 = ListUtils.list(UUID.randomUUID());
+  @SuppressWarnings("unchecked")
+  private final Consumer<String> closeScroll = mock(Consumer.class);
+
+  @Before
+  public void setup() {
+    when(getSecurityContext().getCurrentUserID()).thenReturn(UUID.randomUUID());
+    when(getSecurityContext().getAvailableOrganizationID()).thenReturn(Collections.singleton(UUID.randomUUID()));
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(true);
+    when(getFactSearchManager().scrollFacts(any())).then(i -> createScrollingResult());
+    when(getFactManager().getFacts(any())).then(i -> i.<List<UUID>>getArgument(0)
+            .stream()
+            .map(id -> new FactEntity().setId(id))
+            .iterator());
+    when(getFactConverter().apply(any())).then(i -> Fact.builder().setId(i.<FactEntity>getArgument(0).getId()).build());
+  }
+
+  @Test(expected = AccessDeniedException.class)
+  public void testStreamFactsWithoutViewPermission() throws Exception {
+    doThrow(AccessDeniedException.class).when(getSecurityContext()).checkPermission(TiFunctionConstants.viewFactObjects);
+    FactStreamDelegate.create().handle(new SearchFactRequest());
+  }
+
+  @Test
+  public void testStreamFactsPopulateCriteria() throws Exception {
+    FactStreamDelegate.create().handle(new SearchFactRequest().addFactValue("value"));
+    verify(getFactSearchManager()).scrollFacts(argThat(criteria -> {
+      assertNotNull(criteria.getCurrentUserID());
+      assertNotNull(criteria.getAvailableOrganizationID());
+      assertNotNull(criteria.getFactValue());
+      return true;
+    }));
+  }
+
+  @Test
+  public void testStreamFactsResolvesPagesLazily() throws Exception {
+    StreamingResultSet<Fact> result = FactStreamDelegate.create().handle(new SearchFactRequest());
+    assertEquals(0, result.getLimit());
+    assertEquals(3, result.getCount());
+    verifyZeroInteractions(getFactManager());
+
+    Iterator<Fact> values = result.getValues();
+    assertEquals(page1.get(0), values.next().getId());
+    verify(getFactManager()).getFacts(page1);
+    verify(getFactManager(), never()).getFacts(page2);
+
+    assertEquals(page1.get(1), values.next().getId());
+    assertEquals(page2.get(0), values.next().getId());
+    assertFalse(values.hasNext());
+    verify(getFactManager()).getFacts(page2);
+    verify(getSecurityContext(), times(2)).prefetchAcl(any());
+  }
+
+  @Test
+  public void testStreamFactsFilterNonAccessibleFacts() throws Exception {
+    when(getSecurityContext().hasReadPermission(isA(FactEntity.class))).thenReturn(false);
+    StreamingResultSet<Fact> result = FactStreamDelegate.create().handle(new SearchFactRequest());
+    assertFalse(result.getValues().hasNext());
+  }
+
+  @Test
+  public void testStreamFactsWithLimit() throws Exception {
+    StreamingResultSet<Fact> result = FactStreamDelegate.create().handle(new SearchFactRequest().setLimit(2));
+    assertEquals(2, result.getLimit());
+    assertEquals(page1, toIDs(result.getValues()));
+    verify(getFactManager(), never()).getFacts(page2);
+  }
+
+  @Test
+  public void testStreamFactsOutsideServiceCall() throws Exception {
+    StreamingResultSet<Fact> result = FactStreamDelegate.create().handle(new SearchFactRequest());
+    // Simulate that the result is consumed after the service call has returned.
+    SecurityContext securityContext = SecurityContext.clear();
+    RequestContext requestContext = RequestContext.clear();
+
+    try {
+      assertEquals(ListUtils.list(page1.get(0), page1.get(1), page2.get(0)), toIDs(result.getValues()));
+    } finally {
+      SecurityContext.set(securityContext);
+      RequestContext.set(requestContext);
+    }
+  }
+
+  @Test
+  public void testCloseStreamReleasesScroll() throws Exception {
+    StreamingResultSet<Fact> result = FactStreamDelegate.create().handle(new SearchFactRequest());
+    result.close();
+    assertFalse(result.getValues().hasNext());
+    verify(closeScroll).accept("scroll1");
+  }
+
+  private List<UUID> toIDs(Iterator<Fact> facts) {
+    return Lists.newArrayList(facts)
+            .stream()
+            .map(Fact::getId)
+            .collect(Collectors.toList());
+  }
+
+  private ScrollingSearchResult<FactDocument> createScrollingResult() {
+    Map<String, ScrollingSearchResult.ScrollBatch<FactDocument>> batches = new HashMap<>();
+    batches.put("scroll1", createBatch("scroll2", page2));
+    batches.put("scroll2", createBatch("scroll3", ListUtils.list()));
+
+    return ScrollingSearchResult.<FactDocument>builder()
+            .setCount(3)
+            .setInitialBatch(createBatch("scroll1", page1))
+            .setFetchNextBatch(batches::get)
+            .setCloseScroll(closeScroll)
+            .build();
+  }
+
+  private ScrollingSearchResult.ScrollBatch<FactDocument> createBatch(String scrollID, List<UUID> factID) {
+    return new ScrollingSearchResult.ScrollBatch<>(scrollID, factID.stream()
+            .map(id -> new FactDocument().setId(id))
+            .collect(Collectors.toList()));
+  }
+
+}
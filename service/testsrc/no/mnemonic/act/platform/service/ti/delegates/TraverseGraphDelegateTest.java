@@ -321,6 +321,9 @@ public class TraverseGraphDelegateTest extends AbstractDelegateTest {
             .setTypeID(factType.getId())
             .setValue("factValue");
     when(getFactManager().getFact(fact.getId())).thenReturn(fact);
+    when(getFactManager().getFactAccessInfo(fact.getId())).thenReturn(new FactAccessInfo()
+            .setId(fact.getId())
+            .setTypeID(fact.getTypeID()));
     when(getFactConverter().apply(any())).thenReturn(Fact.builder().setId(fact.getId()).build());
 
     return fact;
@@ -10,6 +10,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -61,6 +64,34 @@ public class FactStorageHelperTest {
     verify(factManager).saveFactAclEntry(matchFactAclEntity(fact, currentUser));
   }
 
+  @Test
+  public void testSaveInitialAclForNewFacts() throws Exception {
+    FactEntity publicFact = createFact().setAccessMode(AccessMode.Public);
+    FactEntity roleBasedFact = createFact().setAccessMode(AccessMode.RoleBased);
+    FactEntity explicitFact = createFact().setAccessMode(AccessMode.Explicit);
+    UUID user = UUID.randomUUID();
+    UUID currentUser = UUID.randomUUID();
+    when(currentUserResolver.get()).thenReturn(currentUser);
+
+    Map<UUID, List<UUID>> acl = new HashMap<>();
+    acl.put(publicFact.getId(), ListUtils.list(user));
+    acl.put(roleBasedFact.getId(), ListUtils.list(user));
+
+    Map<UUID, List<UUID>> result = helper.saveInitialAclForNewFacts(ListUtils.list(publicFact, roleBasedFact, explicitFact), acl);
+    assertEquals(ListUtils.list(), result.get(publicFact.getId()));
+    assertEquals(ListUtils.list(user), result.get(roleBasedFact.getId()));
+    assertEquals(ListUtils.list(currentUser), result.get(explicitFact.getId()));
+    verify(factManager).saveFactAclEntries(argThat(entries -> {
+      assertEquals(2, entries.size());
+      assertEquals(roleBasedFact.getId(), entries.get(0).getFactID());
+      assertEquals(user, entries.get(0).getSubjectID());
+      assertEquals(explicitFact.getId(), entries.get(1).getFactID());
+      assertEquals(currentUser, entries.get(1).getSubjectID());
+      return true;
+    }));
+    verify(factManager, never()).saveFactAclEntry(any());
+  }
+
   @Test
   public void testSaveAdditionalAclSkipWithoutFact() {
     assertEquals(ListUtils.list(), helper.saveAdditionalAclForFact(null, ListUtils.list(UUID.randomUUID())));
@@ -0,0 +1,95 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ObjectAccessCacheTest {
+
+  private final ObjectAccessCache cache = ObjectAccessCache.builder().build();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateCacheWithInvalidMaximumSize() {
+    ObjectAccessCache.builder().setMaximumSize(0).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateCacheWithInvalidExpireAfterWrite() {
+    ObjectAccessCache.builder().setExpireAfterWrite(0).build();
+  }
+
+  @Test
+  public void testResolveCachesDecision() {
+    UUID subject = UUID.randomUUID();
+    UUID object = UUID.randomUUID();
+    BooleanSupplier decision = mockDecision(true);
+
+    assertTrue(cache.resolve(subject, object, decision));
+    assertTrue(cache.resolve(subject, object, decision));
+    verify(decision).getAsBoolean();
+  }
+
+  @Test
+  public void testResolveCachesNegativeDecision() {
+    UUID subject = UUID.randomUUID();
+    UUID object = UUID.randomUUID();
+    BooleanSupplier decision = mockDecision(false);
+
+    assertFalse(cache.resolve(subject, object, decision));
+    assertFalse(cache.resolve(subject, object, decision));
+    verify(decision).getAsBoolean();
+  }
+
+  @Test
+  public void testResolveDistinguishesSubjectsAndObjects() {
+    UUID subject = UUID.randomUUID();
+    UUID object = UUID.randomUUID();
+
+    assertTrue(cache.resolve(subject, object, mockDecision(true)));
+    assertFalse(cache.resolve(UUID.randomUUID(), object, mockDecision(false)));
+    assertFalse(cache.resolve(subject, UUID.randomUUID(), mockDecision(false)));
+  }
+
+  @Test
+  public void testInvalidateRemovesDecisionsForObject() {
+    UUID subject = UUID.randomUUID();
+    UUID object = UUID.randomUUID();
+    UUID otherObject = UUID.randomUUID();
+    BooleanSupplier decision = mockDecision(false);
+    BooleanSupplier otherDecision = mockDecision(false);
+
+    cache.resolve(subject, object, decision);
+    cache.resolve(subject, otherObject, otherDecision);
+    cache.invalidate(object);
+    cache.invalidate(null);
+
+    assertTrue(cache.resolve(subject, object, mockDecision(true)));
+    assertFalse(cache.resolve(subject, otherObject, otherDecision));
+    verify(otherDecision).getAsBoolean();
+  }
+
+  @Test
+  public void testInvalidateDuringResolveDiscardsDecision() {
+    UUID subject = UUID.randomUUID();
+    UUID object = UUID.randomUUID();
+
+    // Simulate that the Object is invalidated while the decision is computed.
+    assertFalse(cache.resolve(subject, object, () -> {
+      cache.invalidate(object);
+      return false;
+    }));
+    assertTrue(cache.resolve(subject, object, mockDecision(true)));
+  }
+
+  private BooleanSupplier mockDecision(boolean result) {
+    BooleanSupplier decision = mock(BooleanSupplier.class);
+    when(decision.getAsBoolean()).thenReturn(result);
+    return decision;
+  }
+
+}
@@ -1,15 +1,20 @@
 package no.mnemonic.act.platform.service.ti.helpers;
 
+import com.google.common.util.concurrent.Futures;
 import no.mnemonic.act.platform.api.exceptions.InvalidArgumentException;
+import no.mnemonic.act.platform.api.request.v1.CreateFactRequest;
 import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectEntity;
 import no.mnemonic.act.platform.dao.cassandra.entity.ObjectTypeEntity;
+import no.mnemonic.act.platform.dao.cassandra.exceptions.ImmutableViolationException;
 import no.mnemonic.act.platform.service.validators.Validator;
 import no.mnemonic.act.platform.service.validators.ValidatorFactory;
+import no.mnemonic.commons.utilities.collections.ListUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -77,6 +82,20 @@ public class ObjectResolverTest {
     }));
   }
 
+  @Test
+  public void testCreateMissingObjectCreatedConcurrently() throws Exception {
+    String value = "ObjectValue";
+    ObjectTypeEntity type = mockFetchObjectType();
+    ObjectEntity object = new ObjectEntity();
+    mockValidator(true);
+
+    when(objectManager.saveObject(any())).thenThrow(ImmutableViolationException.class);
+    when(objectManager.getObject(type.getName(), value)).thenReturn(null, object);
+
+    assertSame(object, resolver.resolveObject(null, type.getName(), value));
+    verify(objectManager, times(2)).getObject(type.getName(), value);
+  }
+
   @Test
   public void testCreateMissingObjectFailsOnMissingObjectType() throws Exception {
     try {
@@ -102,6 +121,54 @@ public class ObjectResolverTest {
     }
   }
 
+  @Test
+  public void testResolveObjectsWithEmptyInput() throws Exception {
+    assertEquals(0, resolver.resolveObjects(null).size());
+    assertEquals(0, resolver.resolveObjects(ListUtils.list()).size());
+    verifyNoMoreInteractions(objectManager);
+  }
+
+  @Test
+  public void testResolveObjectsFetchesExistingObjects() throws Exception {
+    UUID id = UUID.randomUUID();
+    ObjectEntity objectById = new ObjectEntity();
+    ObjectEntity objectByTypeValue = new ObjectEntity();
+
+    when(objectManager.getObjectAsync(id)).thenReturn(Futures.immediateFuture(objectById));
+    when(objectManager.getObjectAsync((UUID) null)).thenReturn(Futures.immediateFuture(null));
+    when(objectManager.getObjectAsync("ObjectType", "ObjectValue")).thenReturn(Futures.immediateFuture(objectByTypeValue));
+
+    List<ObjectEntity> objects = resolver.resolveObjects(ListUtils.list(
+            new CreateFactRequest.FactObjectBinding().setObjectID(id),
+            new CreateFactRequest.FactObjectBinding().setObjectType("ObjectType").setObjectValue("ObjectValue")
+    ));
+    assertEquals(2, objects.size());
+    assertSame(objectById, objects.get(0));
+    assertSame(objectByTypeValue, objects.get(1));
+
+    verify(objectManager, never()).getObject(any(UUID.class));
+    verify(objectManager, never()).saveObject(any());
+  }
+
+  @Test
+  public void testResolveObjectsCreatesMissingObject() throws Exception {
+    String value = "ObjectValue";
+    ObjectTypeEntity type = mockFetchObjectType();
+    mockValidator(true);
+
+    when(objectManager.getObjectAsync((UUID) null)).thenReturn(Futures.immediateFuture(null));
+    when(objectManager.getObjectAsync(type.getName(), value)).thenReturn(Futures.immediateFuture(null));
+    when(objectManager.saveObject(any())).thenAnswer(i -> i.getArgument(0));
+
+    List<ObjectEntity> objects = resolver.resolveObjects(ListUtils.list(
+            new CreateFactRequest.FactObjectBinding().setObjectType(type.getName()).setObjectValue(value)
+    ));
+    assertEquals(1, objects.size());
+    assertObjectEntity(objects.get(0), type.getId(), value);
+
+    verify(objectManager).saveObject(any());
+  }
+
   private void mockValidator(boolean valid) {
     Validator validator = mock(Validator.class);
     when(validator.validate(anyString())).thenReturn(valid);
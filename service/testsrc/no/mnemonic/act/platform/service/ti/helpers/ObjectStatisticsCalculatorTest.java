@@ -0,0 +1,132 @@
+package no.mnemonic.act.platform.service.ti.helpers;
+
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsCriteria;
+import no.mnemonic.act.platform.dao.api.ObjectStatisticsResult;
+import no.mnemonic.act.platform.dao.cassandra.ObjectManager;
+import no.mnemonic.act.platform.dao.cassandra.entity.AccessMode;
+import no.mnemonic.act.platform.dao.cassandra.entity.ObjectFactStatisticsEntity;
+import no.mnemonic.act.platform.dao.elastic.FactSearchManager;
+import no.mnemonic.commons.utilities.collections.ListUtils;
+import no.mnemonic.commons.utilities.collections.MapUtils;
+import no.mnemonic.commons.utilities.collections.SetUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import static no.mnemonic.commons.utilities.collections.MapUtils.Pair.T;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ObjectStatisticsCalculatorTest {
+
+  private static final UUID OBJECT_ID = UUID.randomUUID();
+  private static final UUID FACT_TYPE_ID = UUID.randomUUID();
+  private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+
+  @Mock
+  private ObjectManager objectManager;
+  @Mock
+  private FactSearchManager factSearchManager;
+
+  private ObjectStatisticsCalculator calculator;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+    when(objectManager.isObjectFactStatisticsEnabled()).thenReturn(true);
+    when(factSearchManager.calculateObjectStatistics(any())).thenReturn(ObjectStatisticsResult.builder().build());
+    calculator = new ObjectStatisticsCalculator(objectManager, factSearchManager);
+  }
+
+  @Test
+  public void testCalculateWithElasticSearchIfDisabled() {
+    ObjectStatisticsCriteria criteria = createCriteria();
+    when(objectManager.isObjectFactStatisticsEnabled()).thenReturn(false);
+
+    calculator.calculateObjectStatistics(criteria);
+
+    verify(factSearchManager).calculateObjectStatistics(criteria);
+    verify(objectManager, never()).fetchObjectFactStatistics(any());
+  }
+
+  @Test
+  public void testCalculateMergesAccessibleBuckets() {
+    when(objectManager.fetchObjectFactStatistics(SetUtils.set(OBJECT_ID))).thenReturn(MapUtils.map(T(OBJECT_ID, ListUtils.list(
+            createBucket(AccessMode.Public, UUID.randomUUID(), 2, 10, 30),
+            createBucket(AccessMode.RoleBased, ORGANIZATION_ID, 3, 20, 25)
+    ))));
+
+    Collection<ObjectStatisticsResult.FactStatistic> statistics = calculator.calculateObjectStatistics(createCriteria()).getStatistics(OBJECT_ID);
+    assertEquals(1, statistics.size());
+    ObjectStatisticsResult.FactStatistic statistic = statistics.iterator().next();
+    assertEquals(FACT_TYPE_ID, statistic.getFactTypeID());
+    assertEquals(5, statistic.getFactCount());
+    assertEquals(20, statistic.getLastAddedTimestamp());
+    assertEquals(30, statistic.getLastSeenTimestamp());
+    verifyZeroInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testCalculateWithoutStatistics() {
+    assertEquals(0, calculator.calculateObjectStatistics(createCriteria()).getStatistics(OBJECT_ID).size());
+    verifyZeroInteractions(factSearchManager);
+  }
+
+  @Test
+  public void testCalculateFallsBackForExplicitBucket() {
+    assertFallback(createBucket(AccessMode.Explicit, ORGANIZATION_ID, 1, 10, 10));
+  }
+
+  @Test
+  public void testCalculateFallsBackForRoleBasedBucketOfOtherOrganization() {
+    assertFallback(createBucket(AccessMode.RoleBased, UUID.randomUUID(), 1, 10, 10));
+  }
+
+  private void assertFallback(ObjectFactStatisticsEntity bucket) {
+    UUID otherObjectID = UUID.randomUUID();
+    ObjectStatisticsResult.FactStatistic fallback = new ObjectStatisticsResult.FactStatistic(FACT_TYPE_ID, 42, 1, 2);
+    when(objectManager.fetchObjectFactStatistics(SetUtils.set(OBJECT_ID, otherObjectID))).thenReturn(MapUtils.map(
+            T(OBJECT_ID, ListUtils.list(bucket)),
+            T(otherObjectID, ListUtils.list(createBucket(AccessMode.Public, ORGANIZATION_ID, 1, 10, 10)))
+    ));
+    when(factSearchManager.calculateObjectStatistics(any())).thenReturn(ObjectStatisticsResult.builder()
+            .addStatistic(OBJECT_ID, fallback)
+            .build());
+
+    ObjectStatisticsResult result = calculator.calculateObjectStatistics(ObjectStatisticsCriteria.builder()
+            .setObjectID(SetUtils.set(OBJECT_ID, otherObjectID))
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(ORGANIZATION_ID)
+            .build());
+    assertEquals(SetUtils.set(fallback), result.getStatistics(OBJECT_ID));
+    assertEquals(1, result.getStatistics(otherObjectID).size());
+    // Only the undecided Object is calculated with ElasticSearch.
+    verify(factSearchManager).calculateObjectStatistics(argThat(criteria -> SetUtils.set(OBJECT_ID).equals(criteria.getObjectID())));
+  }
+
+  private ObjectStatisticsCriteria createCriteria() {
+    return ObjectStatisticsCriteria.builder()
+            .addObjectID(OBJECT_ID)
+            .setCurrentUserID(UUID.randomUUID())
+            .addAvailableOrganizationID(ORGANIZATION_ID)
+            .build();
+  }
+
+  private ObjectFactStatisticsEntity createBucket(AccessMode accessMode, UUID organizationID, long factCount,
+                                                  long lastAddedTimestamp, long lastSeenTimestamp) {
+    return new ObjectFactStatisticsEntity()
+            .setObjectID(OBJECT_ID)
+            .setFactTypeID(FACT_TYPE_ID)
+            .setOrganizationID(organizationID)
+            .setAccessMode(accessMode)
+            .setFactCount(factCount)
+            .setLastAddedTimestamp(lastAddedTimestamp)
+            .setLastSeenTimestamp(lastSeenTimestamp);
+  }
+
+}